@@ -0,0 +1,154 @@
+package controller;
+
+import model.Board;
+import model.BoardSolver;
+import model.CellType;
+import model.RandomSource;
+import model.SolverResult;
+
+/**
+ * Bot policies for the batch simulator ({@link Simulator}).
+ * A policy only looks at what a player can see: revealed cells, their numbers,
+ * revealed mines and the mines-left counter.
+ *
+ * {@link #choose} returns a cell index (see {@link Board#toIndex}) to reveal,
+ * or {@code ~index} to place a flag on it.
+ */
+public enum BotPolicy {
+
+    /** Reveals a random hidden cell. */
+    RANDOM {
+        @Override
+        public int choose(Board board, RandomSource rnd) {
+            return randomHidden(board, rnd);
+        }
+    },
+
+    /** Reveals a cell proven safe by a single number when there is one, otherwise a random one. */
+    SAFE_FIRST {
+        @Override
+        public int choose(Board board, RandomSource rnd) {
+            int safe = provenSafe(board);
+            return safe >= 0 ? safe : randomHidden(board, rnd);
+        }
+    },
+
+    /**
+     * Full constraint solver ({@link BoardSolver}): flags proven mines (+1 point and
+     * an extra turn), reveals proven safe cells, and otherwise guesses the cell with
+     * the lowest exact mine probability.
+     */
+    SOLVER {
+        @Override
+        public int choose(Board board, RandomSource rnd) {
+            return choose(board, rnd, new BoardSolver());
+        }
+
+        @Override
+        public int choose(Board board, RandomSource rnd, BoardSolver solver) {
+            SolverResult res = solver.update(board.snapshot());
+            if (res.mineCells.length > 0) return ~res.mineCells[0];
+            if (res.safeCells.length > 0) return res.safeCells[0];
+            return res.bestGuess >= 0 ? res.bestGuess : randomHidden(board, rnd);
+        }
+    };
+
+    public abstract int choose(Board board, RandomSource rnd);
+
+    /**
+     * Same as {@link #choose(Board, RandomSource)}, reusing a solver that has
+     * followed this board so far (one solver per board keeps updates incremental).
+     * Policies that do not need a solver ignore it.
+     */
+    public int choose(Board board, RandomSource rnd, BoardSolver solver) {
+        return choose(board, rnd);
+    }
+
+    /** Parses "random", "safe-first" / "safe", "solver". */
+    public static BotPolicy parse(String s) {
+        return switch (s.toLowerCase()) {
+            case "random" -> RANDOM;
+            case "safe", "safe-first", "safe_first" -> SAFE_FIRST;
+            case "solver" -> SOLVER;
+            default -> throw new IllegalArgumentException("Unknown policy: " + s);
+        };
+    }
+
+    // Helpers
+
+    private static boolean isHidden(Board board, int i) {
+        return !board.isRevealedAt(i) && !board.isFlaggedAt(i);
+    }
+
+    /** Uniformly random hidden cell, or -1 if there is none. */
+    static int randomHidden(Board board, RandomSource rnd) {
+        int rows = board.getRows();
+        int cols = board.getCols();
+        int n = rows * cols;
+
+        // a few blind tries first – cheap while most of the board is still closed
+        for (int tries = 0; tries < 8; tries++) {
+            int i = rnd.nextInt(n);
+            if (isHidden(board, i)) return i;
+        }
+
+        int hidden = 0;
+        for (int i = 0; i < n; i++) {
+            if (isHidden(board, i)) hidden++;
+        }
+        if (hidden == 0) return -1;
+
+        int k = rnd.nextInt(hidden);
+        for (int i = 0; i < n; i++) {
+            if (isHidden(board, i) && k-- == 0) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * A hidden cell proven safe by a single number (its count is already matched by
+     * revealed mines), or -1 if there is none.
+     */
+    static int provenSafe(Board board) {
+        int rows = board.getRows();
+        int cols = board.getCols();
+        int n = rows * cols;
+
+        // one pass over the board: HIDDEN / KNOWN_MINE / OTHER, or the number of a revealed cell
+        int[] view = new int[n];
+        for (int i = 0; i < n; i++) {
+            if (!board.isRevealedAt(i)) {
+                view[i] = board.isFlaggedAt(i) ? OTHER : HIDDEN;
+            } else if (board.typeAt(i) == CellType.MINE) {
+                view[i] = KNOWN_MINE;
+            } else {
+                view[i] = board.adjacentAt(i);
+            }
+        }
+
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                int number = view[r * cols + c];
+                if (number < 0) continue;
+
+                int knownMines = 0;
+                int firstHidden = -1;
+                for (int dr = -1; dr <= 1; dr++) {
+                    for (int dc = -1; dc <= 1; dc++) {
+                        int nr = r + dr, nc = c + dc;
+                        if ((dr == 0 && dc == 0) || nr < 0 || nc < 0 || nr >= rows || nc >= cols) continue;
+                        int i = nr * cols + nc;
+                        if (view[i] == KNOWN_MINE) knownMines++;
+                        else if (view[i] == HIDDEN && firstHidden < 0) firstHidden = i;
+                    }
+                }
+                if (firstHidden >= 0 && knownMines == number) return firstHidden;
+            }
+        }
+        return -1;
+    }
+
+    private static final int HIDDEN = -1;
+    private static final int KNOWN_MINE = -2;
+    private static final int OTHER = -3;   // flagged but not revealed
+}
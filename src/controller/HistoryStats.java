@@ -0,0 +1,83 @@
+package controller;
+
+import model.HistoryColumns;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+
+/**
+ * Imports history.csv into the columnar store ({@link HistoryColumns}) and prints
+ * aggregate statistics over it.
+ *
+ * Usage:
+ *   java controller.HistoryStats [--rebuild] [--from yyyy/MM/dd] [--to yyyy/MM/dd] [history.csv]
+ *
+ * The store lives next to the CSV (history.csv.cols). Without --rebuild only rows
+ * appended since the last import are copied; --to is exclusive.
+ */
+public final class HistoryStats {
+
+    private static final DateTimeFormatter DAY = DateTimeFormatter.ofPattern("yyyy/MM/dd");
+
+    private HistoryStats() { }
+
+    public static void main(String[] args) throws IOException {
+        String csv = "history.csv";
+        boolean rebuild = false;
+        LocalDateTime from = null, to = null;
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                String a = args[i];
+                switch (a) {
+                    case "--rebuild" -> rebuild = true;
+                    case "--from" -> from = LocalDate.parse(args[++i], DAY).atStartOfDay();
+                    case "--to" -> to = LocalDate.parse(args[++i], DAY).atStartOfDay();
+                    default -> {
+                        if (a.startsWith("--")) throw new IllegalArgumentException("Unknown option: " + a);
+                        csv = a;
+                    }
+                }
+            }
+        } catch (IllegalArgumentException | DateTimeParseException | ArrayIndexOutOfBoundsException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Usage: HistoryStats [--rebuild] [--from yyyy/MM/dd] [--to yyyy/MM/dd] [history.csv]");
+            System.exit(2);
+        }
+
+        Path source = Path.of(csv);
+        Path store = Path.of(csv + ".cols");
+
+        long t0 = System.nanoTime();
+        HistoryColumns columns;
+        if (rebuild) {
+            columns = HistoryColumns.importCsv(source, store);
+        } else {
+            columns = HistoryColumns.open(store);
+            columns.sync(source);
+        }
+        long t1 = System.nanoTime();
+
+        long games = columns.games(from, to);
+        Map<String, Double> avgScore = columns.averageScoreByDifficulty(from, to);
+        Map<String, Double> winRate = columns.winRateByPlayer(from, to);
+        double median = columns.medianDuration(from, to);
+        long t2 = System.nanoTime();
+
+        System.out.printf("%d games in store, %d in range (import %.1f ms, queries %.1f ms)%n",
+                columns.rowCount(), games, (t1 - t0) / 1e6, (t2 - t1) / 1e6);
+        System.out.println();
+        System.out.println("Average score per difficulty:");
+        avgScore.forEach((d, v) -> System.out.printf("  %-20s %8.1f%n", d.isEmpty() ? "(none)" : d, v));
+        System.out.println();
+        System.out.println("Win rate per player:");
+        winRate.forEach((p, v) -> System.out.printf("  %-20s %7.1f%%%n", p, v * 100));
+        System.out.println();
+        System.out.printf("Median duration: %s%n", Double.isNaN(median) ? "-" : String.format("%.1f sec", median));
+    }
+}
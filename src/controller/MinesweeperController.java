@@ -4,21 +4,39 @@ import model.*;
 import view.MinesweeperGUI;
 import view.QuestionDialog;
 
+import javax.swing.SwingWorker;
 import javax.swing.Timer;
-import java.awt.Point;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 
 public class MinesweeperController {
 
-    private final Board board1;
-    private final Board board2;
+    private final GameEngine engine;
     private final GameSession session;
     private final MinesweeperGUI view;
 
-    private boolean player1Turn = true;
+    // קסקייד / מתנה באמצע אנימציה – לא מקבלים קליקים
+    private boolean animating = false;
+    private boolean disposed = false;
+
+    // running Swing timers (cascade, delayed sounds) – stopped by dispose()
+    private final List<Timer> timers = new ArrayList<>();
 
     private static final int OVERLAY_SECONDS = 3;
 
+    // Cascade animation timing
+    private static final int CASCADE_FRAME_MS = 16;   // ~60fps
+    private static final int CASCADE_CELL_MS  = 40;   // קצב פתיחה לקסקייד קטן
+    private static final int CASCADE_MAX_MS   = 1200; // קסקייד גדול לא נמשך יותר מזה
+
+    // Replay: recorded gaps are played this many times faster, within these bounds
+    private static final int REPLAY_SPEED       = 8;
+    private static final int REPLAY_MIN_STEP_MS = 40;
+    private static final int REPLAY_MAX_STEP_MS = 600;
+
+    private boolean replaying = false;
+
     // Timer / Pause fields
     private boolean paused = false;
     private long gameStartMillis = 0L;
@@ -29,16 +47,115 @@ public class MinesweeperController {
                                  Board board2,
                                  GameSession session,
                                  MinesweeperGUI view) {
-        this.board1 = board1;
-        this.board2 = board2;
-        this.session = session;
+        this(new GameEngine(board1, board2, session), view);
+    }
+
+    public MinesweeperController(GameEngine engine, MinesweeperGUI view) {
+        this.engine = engine;
+        this.session = engine.getSession();
         this.view = view;
     }
 
-    public Board getBoard1() { return board1; }
-    public Board getBoard2() { return board2; }
+    public GameEngine getEngine() { return engine; }
+    public Board getBoard1() { return engine.getBoard1(); }
+    public Board getBoard2() { return engine.getBoard2(); }
     public GameSession getSession() { return session; }
-    public boolean isPlayer1Turn() { return player1Turn; }
+    public boolean isPlayer1Turn() { return engine.isPlayer1Turn(); }
+
+    /**
+     * Ends this controller's part in the screen (the screen is being reused for a
+     * new match): running cascades and delayed sounds are stopped, and a board
+     * placement still running in the background is ignored when it finishes.
+     */
+    public void dispose() {
+        disposed = true;
+        for (Timer t : timers) t.stop();
+        timers.clear();
+        engine.closeLog();
+    }
+
+    // Move log + replay
+
+    /**
+     * Records every command of this game to a new file in {@link MoveLog#DIRECTORY}.
+     * Off with -Djellyfish.moveLog=false.
+     */
+    public void startRecording(String players) {
+        if (!Boolean.parseBoolean(System.getProperty("jellyfish.moveLog", "true"))) return;
+        try {
+            engine.startLog(MoveLog.newFile(engine.getSeed()), players);
+        } catch (IOException e) {
+            System.err.println("Move log disabled: " + e.getMessage());
+        }
+    }
+
+    /** The game was saved to history.csv: closes the move log with the final score and the row's date. */
+    public void gameSaved(String historyDate) {
+        engine.endLog(historyDate);
+    }
+
+    public boolean isReplaying() { return replaying; }
+
+    /**
+     * Plays a recorded game back on this screen (fast-forward), on an engine from
+     * {@link Replay#newEngine}. Clicks are ignored while it runs.
+     */
+    public void replay(MoveLog.Recording recording) {
+        replaying = true;
+        List<MoveLog.Move> moves = recording.moves;
+        int[] next = {0};
+        Timer[] step = new Timer[1];
+        step[0] = timer(REPLAY_MIN_STEP_MS, e -> {
+            if (next[0] >= moves.size() || engine.isOver()) return;
+            MoveLog.Move move = moves.get(next[0]++);
+            replayMove(move);
+            if (engine.isOver() || next[0] >= moves.size()) return;
+
+            long gap = moves.get(next[0]).timeMillis - move.timeMillis;
+            int delay = (int) Math.max(REPLAY_MIN_STEP_MS, Math.min(REPLAY_MAX_STEP_MS, gap / REPLAY_SPEED));
+            step[0].setInitialDelay(delay);
+            step[0].start();
+        });
+        step[0].setRepeats(false);
+        step[0].start();
+    }
+
+    private void replayMove(MoveLog.Move move) {
+        switch (move.type) {
+            case MoveLog.REVEAL -> {
+                MoveResult res = engine.reveal(move.firstBoard, move.row, move.col);
+                if (!res.isAccepted()) return;
+                showMineToastIfChanged(res);
+                afterTurn();
+            }
+            case MoveLog.FLAG -> placeFlag(move.firstBoard, move.row, move.col);
+            case MoveLog.ACTIVATE -> {
+                SpecialResult res = engine.activateSpecial(move.firstBoard, move.row, move.col);
+                if (res.kind == SpecialResult.Kind.SURPRISE) {
+                    view.showToast(res.good ? "Good surprise 🎁" : "Bad surprise 💣", 1200);
+                    afterTurn();
+                } else if (res.kind == SpecialResult.Kind.QUESTION_PENDING) {
+                    view.showToast("Question (" + res.question.getLevel() + ")", 1200);
+                    view.refreshView();
+                }
+            }
+            case MoveLog.ANSWER -> {
+                if (engine.getPendingQuestion() == null) return;
+                SpecialResult res = engine.answerQuestion(move.correct);
+                view.showToast(res.good ? "Correct answer ✅" : "Wrong answer ❌", 1200);
+                afterTurn();
+            }
+            default -> { }
+        }
+    }
+
+    /** A Swing timer that dispose() will stop. */
+    private Timer timer(int delayMs, java.awt.event.ActionListener action) {
+        timers.removeIf(t -> !t.isRunning());
+        Timer t = new Timer(delayMs, action);
+        timers.add(t);
+        return t;
+    }
 
     // Timer API
     public void startGameTimer() {
@@ -67,6 +184,7 @@ public class MinesweeperController {
             pausedAtMillis = 0L;
             sm.playGameLoop();
         }
+        engine.logPause(paused);
     }
 
     public boolean isPaused() { return paused; }
@@ -80,66 +198,84 @@ public class MinesweeperController {
         return Math.max(0L, elapsed);
     }
 
-    // Click handling
+    // Click handling – כל הלוגיקה ב-GameEngine, כאן רק הצגה
     public void handleLeftClick(boolean firstBoard, int row, int col) {
-        if (paused) return;
-
-        Board board = firstBoard ? board1 : board2;
-        Cell cell = board.getCell(row, col);
-
-        if (cell.isRevealed() && !board.canActivateSpecial(row, col)) return;
+        if (paused || animating || disposed || replaying) return;
+        // a board is only materialized for a move the engine will take (keeps replays exact)
+        if (!engine.canMove(firstBoard)) return;
 
-        // activate question/surprise
+        Board board = engine.getBoard(firstBoard);
         if (board.canActivateSpecial(row, col)) {
+            activateSpecial(firstBoard, board, row, col);
+            return;
+        }
 
-            if (!session.canPayForPower()) {
-                boolean isQuestionTile = (cell.getType() == CellType.QUESTION);
-                int cost = session.getDifficulty().getPowerCost();
-                int current = session.getScore();
+        // ===== פתיחה רגילה – עכשיו עם אופציה לאנימציית קסקייד =====
+        // לוח עצל: פיזור המוקשים (בלי התא שנלחץ והשכנים שלו) ב-thread רקע
+        whenMaterialized(board, row, col, () -> startCascadeOpen(firstBoard, row, col));
+    }
 
-                view.showNotEnoughPointsOverlay(isQuestionTile, cost, current);
-                view.refreshView();
-                return;
+    /**
+     * מריץ את action אחרי שהלוח פוזר.
+     * בלוח עצל שעוד לא פוזר – הפיזור רץ ב-SwingWorker (לא תוקע את ה-EDT בלוח ענק),
+     * ובינתיים לא מקבלים קליקים.
+     */
+    private void whenMaterialized(Board board, int safeRow, int safeCol, Runnable action) {
+        if (board.isMaterialized()) {
+            action.run();
+            return;
+        }
+
+        animating = true;
+        new SwingWorker<Void, Void>() {
+            @Override
+            protected Void doInBackground() {
+                board.materialize(safeRow, safeCol);
+                return null;
             }
 
-            // Question bank empty?
-            if (cell.getType() == CellType.QUESTION) {
-                Question test = QuestionBank.getInstance().getRandomQuestion();
-                if (test == null) {
-                    view.showResultOverlay(
-                            MinesweeperGUI.OverlayType.INFO,
-                            "NO QUESTIONS",
-                            "questions.csv missing or empty",
-                            OVERLAY_SECONDS
-                    );
-                    view.refreshView();
-                    return;
-                }
+            @Override
+            protected void done() {
+                if (disposed) return;
+                animating = false;
+                action.run();
             }
+        }.execute();
+    }
 
-            // Pay activation cost first
-            int scoreBeforePay = session.getScore();
-            int livesBeforePay = session.getLives();
-            session.payForPower();
-            int scoreAfterPay = session.getScore();
-            int livesAfterPay = session.getLives();
+    private void activateSpecial(boolean firstBoard, Board board, int row, int col) {
+        boolean isQuestionTile = board.getCell(row, col).getType() == CellType.QUESTION;
 
-            int payDeltaScore = scoreAfterPay - scoreBeforePay;
-            int payDeltaLives = livesAfterPay - livesBeforePay; // usually 0
+        SpecialResult res = engine.activateSpecial(firstBoard, row, col);
 
-            // ===== SURPRISE =====
-            if (cell.getType() == CellType.SURPRISE) {
-                boolean good = Math.random() < 0.5;
+        switch (res.kind) {
+            case REJECTED -> { return; }
 
-                session.applySurpriseOutcome(good);
-                board.markSpecialUsed(row, col);
+            case NOT_ENOUGH_POINTS -> {
+                view.showNotEnoughPointsOverlay(isQuestionTile,
+                        session.getSpec().getPowerCost(), session.getScore());
+                view.refreshView();
+                return;
+            }
 
-                int outcomeDeltaScore = session.getScore() - scoreAfterPay;
-                int outcomeDeltaLives = session.getLives() - livesAfterPay;
+            case NO_QUESTIONS -> {
+                view.showResultOverlay(
+                        MinesweeperGUI.OverlayType.INFO,
+                        "NO QUESTIONS",
+                        "questions.csv missing or empty",
+                        OVERLAY_SECONDS
+                );
+                view.refreshView();
+                return;
+            }
+
+            // ===== SURPRISE =====
+            case SURPRISE -> {
+                boolean good = res.good;
 
                 SoundManager sm = SoundManager.getInstance();
                 int SOUND_DELAY_MS = 350;
-                Timer soundTimer = new Timer(SOUND_DELAY_MS, e -> {
+                Timer soundTimer = timer(SOUND_DELAY_MS, e -> {
                     if (good) sm.playGoodSurpriseThenResumeGame();
                     else sm.playBadSurpriseThenResumeGame();
                     ((Timer) e.getSource()).stop();
@@ -147,115 +283,93 @@ public class MinesweeperController {
                 soundTimer.setRepeats(false);
                 soundTimer.start();
 
+                animating = true;
                 view.playGiftCenterAndShowOverlay(
                         good ? MinesweeperGUI.OverlayType.GOOD : MinesweeperGUI.OverlayType.BAD,
                         good ? "GOOD SURPRISE!" : "BAD SURPRISE!",
-                        formatPowerSubtitle(payDeltaScore, payDeltaLives, outcomeDeltaScore, outcomeDeltaLives, null),
+                        formatPowerSubtitle(res.payScoreDelta, res.payLivesDelta,
+                                res.outcomeScoreDelta, res.outcomeLivesDelta, null),
                         OVERLAY_SECONDS,
-                        this::endTurn
+                        () -> {
+                            animating = false;
+                            afterTurn();
+                        }
                 );
-
-                return;
             }
 
             // ===== QUESTION =====
-            if (cell.getType() == CellType.QUESTION) {
-
+            case QUESTION_PENDING -> {
                 SoundManager sm = SoundManager.getInstance();
 
                 sm.playQuestionLoop();
 
-                Question q = QuestionBank.getInstance().getRandomQuestion();
-                boolean correct = QuestionDialog.showQuestionDialog(view, q);
+                boolean correct = QuestionDialog.showQuestionDialog(view, res.question);
 
                 if (correct) sm.playCorrectFor5SecondsThenResumeGame();
                 else sm.playWrongThenResumeGame();
 
-                QuestionBonusEffect bonus = session.applyQuestionResult(q.getLevel(), correct);
-
-                if (bonus == QuestionBonusEffect.REVEAL_MINE) {
-                    board.revealRandomMine();
-                } else if (bonus == QuestionBonusEffect.REVEAL_3X3) {
-                    board.revealBest3x3(session);
-                }
-
-                board.markSpecialUsed(row, col);
-
-                int outcomeDeltaScore = session.getScore() - scoreAfterPay;
-                int outcomeDeltaLives = session.getLives() - livesAfterPay;
+                SpecialResult answered = engine.answerQuestion(correct);
 
                 view.refreshView();
                 view.showQuestionResultOverlay(
                         correct ? MinesweeperGUI.OverlayType.GOOD : MinesweeperGUI.OverlayType.BAD,
                         correct ? "CORRECT ANSWER!" : "WRONG ANSWER!",
-                        formatPowerSubtitle(payDeltaScore, payDeltaLives, outcomeDeltaScore, outcomeDeltaLives, bonus),
+                        formatPowerSubtitle(answered.payScoreDelta, answered.payLivesDelta,
+                                answered.outcomeScoreDelta, answered.outcomeLivesDelta, answered.bonus),
                         OVERLAY_SECONDS
                 );
-                endTurn();
-                return;
+                afterTurn();
             }
 
-            // fallback
-            view.showResultOverlay(
-                    MinesweeperGUI.OverlayType.INFO,
-                    "CANNOT ACTIVATE",
-                    "Try another cell",
-                    OVERLAY_SECONDS
-            );
-            view.refreshView();
-            endTurn();
-            return;
+            default -> view.refreshView();
         }
-
-        // ===== פתיחה רגילה – עכשיו עם אופציה לאנימציית קסקייד =====
-        startCascadeOpen(board, row, col);
     }
 
     /**
      * פתיחת תא עם אנימציית קסקייד:
-     * - אם אין קסקייד אמיתי (תא אחד בלבד) → openCell רגיל.
-     * - אם יש קסקייד – פתיחה תא-תא עם Timer מהיר.
+     * - אם אין קסקייד אמיתי (תא אחד בלבד) → reveal רגיל של המנוע.
+     * - אם יש קסקייד – פתיחה תא-תא עם Timer מהיר (revealStep), ובסוף finishReveal.
      */
-    private void startCascadeOpen(Board board, int row, int col) {
-
-        int minesBefore = countRevealedMines(board1) + countRevealedMines(board2);
-        int livesBefore = session.getLives();
-        int scoreBefore = session.getScore();
+    private void startCascadeOpen(boolean firstBoard, int row, int col) {
 
-        List<Point> cascade = board.computeCascadeOrder(row, col);
+        int[] cascade = engine.beginReveal(firstBoard, row, col);
+        if (cascade == null) return;
 
-        if (cascade == null || cascade.size() <= 1) {
-            board.openCell(row, col, session);
+        if (cascade.length <= 1) {
+            for (int cell : cascade) engine.revealStep(cell);
+            MoveResult res = engine.finishReveal();
 
-            int minesAfter = countRevealedMines(board1) + countRevealedMines(board2);
-            int livesAfter = session.getLives();
-            int scoreAfter = session.getScore();
-
-            showMineToastIfChanged(minesBefore, minesAfter, livesBefore, livesAfter, scoreBefore, scoreAfter);
-            endTurn();
+            showMineToastIfChanged(res);
+            afterTurn();
             return;
         }
 
+        // אנימציה לפי זמן שעבר ולא לפי מספר ה-ticks:
+        // תא כל CASCADE_CELL_MS, אבל כל הקסקייד נגמר תוך CASCADE_MAX_MS לכל היותר.
+        // בכל frame נפתחים כל התאים שהגיע זמנם, ו-refreshView מצייר רק אותם.
         final int[] index = {0};
-        int delayMs = 40; // אנימציה מהירה
-
-        Timer t = new Timer(delayMs, e -> {
+        final long startNanos = System.nanoTime();
+        final double msPerCell = Math.min(CASCADE_CELL_MS, (double) CASCADE_MAX_MS / cascade.length);
 
-            if (index[0] >= cascade.size()) {
-                ((Timer) e.getSource()).stop();
+        animating = true;
+        Timer t = timer(CASCADE_FRAME_MS, e -> {
 
-                int minesAfter = countRevealedMines(board1) + countRevealedMines(board2);
-                int livesAfter = session.getLives();
-                int scoreAfter = session.getScore();
+            long elapsedMs = (System.nanoTime() - startNanos) / 1_000_000L;
+            int target = (int) Math.min(cascade.length, 1 + (long) (elapsedMs / msPerCell));
 
-                showMineToastIfChanged(minesBefore, minesAfter, livesBefore, livesAfter, scoreBefore, scoreAfter);
-                endTurn();
-                return;
+            while (index[0] < target) {
+                engine.revealStep(cascade[index[0]++]);
             }
-
-            Point p = cascade.get(index[0]++);
-            board.revealSingleCell(p.x, p.y, session);
             view.refreshView();
+
+            if (index[0] >= cascade.length) {
+                ((Timer) e.getSource()).stop();
+                animating = false;
+
+                MoveResult res = engine.finishReveal();
+                showMineToastIfChanged(res);
+                afterTurn();
+            }
         });
 
         t.setRepeats(true);
@@ -263,62 +377,45 @@ public class MinesweeperController {
     }
 
     public void handleRightClick(boolean firstBoard, int row, int col) {
-        if (paused) return;
-
-        Board board = firstBoard ? board1 : board2;
-        Cell cell = board.getCell(row, col);
+        if (paused || animating || disposed || replaying) return;
+        if (!engine.canMove(firstBoard)) return;
 
-        if (cell.isRevealed()) return;
-        if (cell.isPowerUsed()) return;
-
-        boolean wasFlagged = cell.isFlagged();
-
-        int minesBefore = countRevealedMines(board1) + countRevealedMines(board2);
-        int livesBefore = session.getLives();
-        int scoreBefore = session.getScore();
-
-        board.toggleFlag(row, col, session);
-
-        int minesAfter = countRevealedMines(board1) + countRevealedMines(board2);
-        int livesAfter = session.getLives();
-        int scoreAfter = session.getScore();
+        // mines are only placed by the first reveal (so it is always safe) – nothing to flag before that
+        if (!engine.getBoard(firstBoard).isMaterialized()) {
+            view.showToast("Reveal a cell first – the first reveal is always safe 🙂", 1600);
+            return;
+        }
+        placeFlag(firstBoard, row, col);
+    }
 
-        showMineToastIfChanged(minesBefore, minesAfter, livesBefore, livesAfter, scoreBefore, scoreAfter);
+    private void placeFlag(boolean firstBoard, int row, int col) {
+        MoveResult res = engine.flag(firstBoard, row, col);
+        if (!res.isAccepted()) return;
 
-        boolean revealedMineNow = (minesAfter > minesBefore);
-        boolean isUnflag = wasFlagged && !cell.isFlagged() && !cell.isRevealed();
+        showMineToastIfChanged(res);
 
-        if (!isUnflag && !revealedMineNow) {
-            int d = scoreAfter - scoreBefore;
-            if (d < 0) view.showToast("Wrong flag ❌ (" + d + " score)", 1600);
-            else view.showToast("Flag placed 🚩", 1200);
-        } else if (isUnflag) {
+        if (res.kind == MoveResult.Kind.FLAG_REMOVED) {
             view.showToast("Flag removed 🚫  Keep going!", 1200);
+        } else if (res.minesRevealed == 0) {
+            if (res.scoreDelta < 0) view.showToast("Wrong flag ❌ (" + res.scoreDelta + " score)", 1600);
+            else view.showToast("Flag placed 🚩", 1200);
         }
 
         view.refreshView();
 
-        if (isUnflag) return;
-        if (revealedMineNow) return;
-
-        endTurn();
+        if (res.turnEnded || engine.isOver()) afterTurn();
     }
 
-    private void endTurn() {
+    /** אחרי שהמנוע סיים תור: סוף משחק או החלפת הדגשת התור. */
+    private void afterTurn() {
         view.refreshView();
 
-        if (board1.allMinesRevealed() || board2.allMinesRevealed()) {
-            SoundManager.getInstance().stopBgm();
-            view.showGameOver(true);
-            return;
-        }
-        if (session.isOutOfLives()) {
+        if (engine.isOver()) {
             SoundManager.getInstance().stopBgm();
-            view.showGameOver(false);
+            view.showGameOver(engine.getStatus() == GameEngine.Status.WON);
             return;
         }
 
-        player1Turn = !player1Turn;
         view.updateTurnHighlight();
         view.refreshView();
     }
@@ -369,28 +466,13 @@ public class MinesweeperController {
         };
     }
 
-    private int countRevealedMines(Board b) {
-        int count = 0;
-        for (int r = 0; r < b.getRows(); r++) {
-            for (int c = 0; c < b.getCols(); c++) {
-                Cell cell = b.getCell(r, c);
-                if (cell.getType() == CellType.MINE && cell.isRevealed()) count++;
-            }
-        }
-        return count;
-    }
-
-    private void showMineToastIfChanged(int minesBefore, int minesAfter, int livesBefore, int livesAfter, int scoreBefore, int scoreAfter) {
-        int dMines  = minesAfter - minesBefore;
-        int dLives  = livesAfter - livesBefore;
-        int dScore  = scoreAfter - scoreBefore;
-
-        if (dMines <= 0) return; // no new mine revealed
+    private void showMineToastIfChanged(MoveResult res) {
+        if (res.minesRevealed <= 0) return; // no new mine revealed
 
-        if (dLives < 0) {
+        if (res.livesDelta < 0) {
             view.showToast("Oops! You hit a mine 💥  (-1 life)", 1700);
-        } else if (dScore > 0) {
-            view.showToast("Nice! Mine flagged 💎 (+" + dScore + " score) Keep going!", 1800);
+        } else if (res.scoreDelta > 0) {
+            view.showToast("Nice! Mine flagged 💎 (+" + res.scoreDelta + " score) Keep going!", 1800);
         } else {
             view.showToast("Mine revealed 💥", 1400);
         }
@@ -0,0 +1,81 @@
+package controller;
+
+import model.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Headless check of recorded games: every move log is re-executed on a fresh
+ * {@link GameEngine} ({@link Replay}) and the final score is compared with the
+ * log's END record and with the game's row in history.csv.
+ *
+ * Usage:
+ *   java controller.ReplayVerifier [--history history.csv] [log.moves | dir]...
+ *
+ * With no logs given, every log in {@link MoveLog#DIRECTORY} is checked.
+ * Exit code 0 when all logs match, 1 otherwise.
+ */
+public final class ReplayVerifier {
+
+    private ReplayVerifier() { }
+
+    public static void main(String[] args) throws IOException {
+        String historyFile = "history.csv";
+        List<Path> inputs = new ArrayList<>();
+
+        for (int i = 0; i < args.length; i++) {
+            String a = args[i];
+            if (a.equals("--history")) {
+                historyFile = args[++i];
+            } else if (a.startsWith("--")) {
+                System.err.println("Unknown option: " + a);
+                System.err.println("Usage: ReplayVerifier [--history history.csv] [log.moves | dir]...");
+                System.exit(2);
+            } else {
+                inputs.add(Path.of(a));
+            }
+        }
+        if (inputs.isEmpty()) inputs.add(Path.of(MoveLog.DIRECTORY));
+
+        List<GameHistoryEntry> history = GameHistory.read(historyFile);
+
+        int checked = 0, failed = 0;
+        for (Path log : logs(inputs)) {
+            checked++;
+            String line;
+            try {
+                MoveLog.Recording rec = MoveLog.read(log);
+                Replay.Verification v = Replay.verify(rec, history);
+                if (!v.ok) failed++;
+                line = (v.ok ? "OK   " : "FAIL ") + log.getFileName() + "  " + rec.header.players
+                        + "  " + rec.moves.size() + " records  " + v.message;
+            } catch (IOException | RuntimeException e) {
+                failed++;
+                line = "FAIL " + log.getFileName() + "  " + e;
+            }
+            System.out.println(line);
+        }
+        System.out.println();
+        System.out.println(checked + " logs, " + (checked - failed) + " verified, " + failed + " failed");
+        System.exit(failed == 0 ? 0 : 1);
+    }
+
+    private static List<Path> logs(List<Path> inputs) throws IOException {
+        List<Path> logs = new ArrayList<>();
+        for (Path p : inputs) {
+            if (!Files.isDirectory(p)) {
+                logs.add(p);
+                continue;
+            }
+            try (Stream<Path> files = Files.list(p)) {
+                files.filter(f -> f.toString().endsWith(MoveLog.EXTENSION)).sorted().forEach(logs::add);
+            }
+        }
+        return logs;
+    }
+}
@@ -0,0 +1,310 @@
+package controller;
+
+import model.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Monte-Carlo batch simulator for scoring balance.
+ * Plays many headless games ({@link GameEngine}) with a bot policy on all cores
+ * and prints score / lives / moves / win-rate distributions per Difficulty.
+ *
+ * Usage:
+ *   java controller.Simulator [--games N] [--policy random|safe-first|solver]
+ *                             [--difficulty EASY|MEDIUM|HARD|ALL] [--seed S]
+ *                             [--accuracy 0..1] [--no-specials] [--threads T]
+ *
+ * The same seed always gives the same numbers, whatever the thread count:
+ * every game gets its own RandomSource seeded from (seed, game index).
+ */
+public final class Simulator {
+
+    private static final int SPLIT_GAMES = 1024;       // games per fork-join leaf
+    private static final int MAX_MOVES_PER_GAME = 100_000;
+
+    // Synthetic questions, one per level (the bot decides right/wrong by --accuracy)
+    private static final Question[] QUESTIONS = new Question[QuestionLevel.values().length];
+    static {
+        for (QuestionLevel level : QuestionLevel.values()) {
+            QUESTIONS[level.ordinal()] = new Question("sim", new String[]{"a", "b", "c", "d"}, 0, level) {
+                @Override protected void applyEffect(boolean correct, GameSession session) { }
+            };
+        }
+    }
+
+    private final Difficulty difficulty;
+    private final BotPolicy policy;
+    private final double accuracy;
+    private final boolean useSpecials;
+
+    public Simulator(Difficulty difficulty, BotPolicy policy, double accuracy, boolean useSpecials) {
+        this.difficulty = difficulty;
+        this.policy = policy;
+        this.accuracy = accuracy;
+        this.useSpecials = useSpecials;
+    }
+
+    // Running
+
+    /** Plays games [0, games) in parallel on the given pool. */
+    public Stats run(long games, long seed, ForkJoinPool pool) {
+        return pool.invoke(new Batch(seed, 0, games));
+    }
+
+    private final class Batch extends RecursiveTask<Stats> {
+        private final long seed;
+        private final long from;
+        private final long to;
+
+        Batch(long seed, long from, long to) {
+            this.seed = seed;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Stats compute() {
+            if (to - from <= SPLIT_GAMES) {
+                Stats stats = new Stats();
+                for (long g = from; g < to; g++) {
+                    playOne(gameSeed(seed, g), stats);
+                }
+                return stats;
+            }
+            long mid = (from + to) >>> 1;
+            Batch left = new Batch(seed, from, mid);
+            left.fork();
+            Stats right = new Batch(seed, mid, to).compute();
+            return left.join().merge(right);
+        }
+    }
+
+    /** Plays one full game and records it. */
+    void playOne(long gameSeed, Stats stats) {
+        // same split layout as GameEngine.newGame, but with synthetic questions
+        RandomSource root = new RandomSource(gameSeed);
+        Board b1 = Board.lazy(difficulty, root.split());
+        Board b2 = Board.lazy(difficulty, root.split());
+        GameSession session = new GameSession(difficulty, root.split());
+        RandomSource questionRnd = root.split();
+        GameEngine engine = new GameEngine(b1, b2, session,
+                () -> QUESTIONS[questionRnd.nextInt(QUESTIONS.length)],
+                root.split());
+        RandomSource rnd = root.split(); // the bot's own stream
+        BoardSolver solver1 = new BoardSolver();
+        BoardSolver solver2 = new BoardSolver();
+
+        int moves = 0;
+        while (!engine.isOver() && moves < MAX_MOVES_PER_GAME) {
+            boolean first = engine.isPlayer1Turn();
+            Board board = engine.getBoard(first);
+
+            if (useSpecials && session.canPayForPower() && activateAnySpecial(engine, first, board, rnd)) {
+                moves++;
+                continue;
+            }
+
+            int move = policy.choose(board, rnd, first ? solver1 : solver2);
+            if (move == -1) break; // nothing left to open (cannot happen while PLAYING)
+
+            MoveResult res = (move >= 0)
+                    ? engine.reveal(first, board.rowOf(move), board.colOf(move))
+                    : engine.flag(first, board.rowOf(~move), board.colOf(~move));
+            if (!res.isAccepted()) break;
+            moves++;
+        }
+
+        int livesAtEnd = session.getLives();
+        int score = engine.finishGame();
+        stats.add(engine.getStatus() == GameEngine.Status.WON, score, livesAtEnd, moves);
+    }
+
+    /** Activates the first revealed, unused special on the board (answering by --accuracy). */
+    private boolean activateAnySpecial(GameEngine engine, boolean first, Board board, RandomSource rnd) {
+        if (board.getUnusedSpecialCount() == 0) return false;
+
+        for (int r = 0; r < board.getRows(); r++) {
+            for (int c = 0; c < board.getCols(); c++) {
+                if (!board.canActivateSpecial(r, c)) continue;
+
+                SpecialResult res = engine.activateSpecial(first, r, c);
+                if (res.kind == SpecialResult.Kind.QUESTION_PENDING) {
+                    engine.answerQuestion(rnd.nextDouble() < accuracy);
+                    return true;
+                }
+                return res.kind == SpecialResult.Kind.SURPRISE;
+            }
+        }
+        return false;
+    }
+
+    /** Per-game seed: a SplitMix64 step of (seed, index), independent of scheduling. */
+    static long gameSeed(long seed, long index) {
+        long z = seed + (index + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    // Statistics
+
+    /** Win count plus score / lives / moves histograms; merged across fork-join leaves. */
+    public static final class Stats {
+        long games;
+        long wins;
+        final Histogram score = new Histogram();
+        final Histogram lives = new Histogram();
+        final Histogram moves = new Histogram();
+
+        void add(boolean won, int score, int lives, int moves) {
+            games++;
+            if (won) wins++;
+            this.score.add(score);
+            this.lives.add(lives);
+            this.moves.add(moves);
+        }
+
+        Stats merge(Stats o) {
+            games += o.games;
+            wins += o.wins;
+            score.merge(o.score);
+            lives.merge(o.lives);
+            moves.merge(o.moves);
+            return this;
+        }
+
+        public long getGames() { return games; }
+        public double getWinRate() { return games == 0 ? 0 : (double) wins / games; }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "games %d  wins %d%n  score %s%n  lives %s%n  moves %s",
+                    games, wins, score.describe(), lives.describe(), moves.describe());
+        }
+    }
+
+    /** Dense int histogram that grows in both directions. */
+    static final class Histogram {
+        private long[] counts = new long[64];
+        private int offset = Integer.MIN_VALUE; // value of counts[0]
+        private long n;
+        private double sum;
+        private double sumSq;
+
+        void add(int v) {
+            add(v, 1);
+        }
+
+        private void add(int v, long k) {
+            if (offset == Integer.MIN_VALUE) offset = v - counts.length / 2;
+            if (v < offset || v >= offset + counts.length) grow(v);
+            counts[v - offset] += k;
+            n += k;
+            sum += (double) v * k;
+            sumSq += (double) v * v * k;
+        }
+
+        private void grow(int v) {
+            int lo = Math.min(offset, v);
+            int hi = Math.max(offset + counts.length - 1, v);
+            int size = Math.max(counts.length * 2, hi - lo + 1);
+            int newOffset = (v < offset) ? hi - size + 1 : lo;
+            long[] next = new long[size];
+            System.arraycopy(counts, 0, next, offset - newOffset, counts.length);
+            counts = next;
+            offset = newOffset;
+        }
+
+        void merge(Histogram o) {
+            for (int i = 0; i < o.counts.length; i++) {
+                if (o.counts[i] != 0) add(o.offset + i, o.counts[i]);
+            }
+        }
+
+        double mean() { return n == 0 ? 0 : sum / n; }
+
+        double stddev() {
+            if (n == 0) return 0;
+            double m = mean();
+            return Math.sqrt(Math.max(0, sumSq / n - m * m));
+        }
+
+        /** Smallest value v with at least q*n samples <= v. */
+        int quantile(double q) {
+            long target = Math.max(1, (long) Math.ceil(q * n));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= target) return offset + i;
+            }
+            return offset + counts.length - 1;
+        }
+
+        String describe() {
+            if (n == 0) return "-";
+            return String.format(Locale.ROOT,
+                    "mean %8.2f  sd %7.2f  min %5d  p10 %5d  p50 %5d  p90 %5d  max %5d",
+                    mean(), stddev(), quantile(0), quantile(0.10), quantile(0.50), quantile(0.90), quantile(1));
+        }
+    }
+
+    // Command line
+
+    public static void main(String[] args) {
+        long games = 100_000;
+        long seed = 42L;
+        double accuracy = 0.6;
+        boolean specials = true;
+        int threads = Runtime.getRuntime().availableProcessors();
+        BotPolicy policy = BotPolicy.SOLVER;
+        List<Difficulty> difficulties = new ArrayList<>(List.of(Difficulty.values()));
+
+        for (int i = 0; i < args.length; i++) {
+            String a = args[i];
+            switch (a) {
+                case "--games"      -> games = Long.parseLong(args[++i].replace("_", ""));
+                case "--seed"       -> seed = Long.parseLong(args[++i]);
+                case "--accuracy"   -> accuracy = Double.parseDouble(args[++i]);
+                case "--threads"    -> threads = Integer.parseInt(args[++i]);
+                case "--policy"     -> policy = BotPolicy.parse(args[++i]);
+                case "--no-specials" -> specials = false;
+                case "--difficulty" -> {
+                    String d = args[++i].toUpperCase(Locale.ROOT);
+                    difficulties = d.equals("ALL") ? List.of(Difficulty.values()) : List.of(Difficulty.valueOf(d));
+                }
+                default -> {
+                    System.err.println("Unknown option: " + a);
+                    System.err.println("Usage: Simulator [--games N] [--policy random|safe-first|solver]"
+                            + " [--difficulty EASY|MEDIUM|HARD|ALL] [--seed S] [--accuracy 0..1]"
+                            + " [--no-specials] [--threads T]");
+                    System.exit(2);
+                }
+            }
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            System.out.printf(Locale.ROOT, "policy=%s games=%d seed=%d accuracy=%.2f specials=%s threads=%d%n%n",
+                    policy, games, seed, accuracy, specials, threads);
+
+            for (Difficulty d : difficulties) {
+                long start = System.nanoTime();
+                Stats s = new Simulator(d, policy, accuracy, specials).run(games, seed, pool);
+                double sec = (System.nanoTime() - start) / 1e9;
+
+                System.out.printf(Locale.ROOT, "%s  (%.2f s, %.0f games/min)%n", d, sec, s.games / sec * 60);
+                System.out.printf(Locale.ROOT, "  win rate  %6.2f %%%n", 100 * s.getWinRate());
+                System.out.println("  score     " + s.score.describe());
+                System.out.println("  lives     " + s.lives.describe());
+                System.out.println("  moves     " + s.moves.describe());
+                System.out.println();
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -1,128 +1,516 @@
 package model;
 
-import java.awt.Point;  // *** חדש: בשביל רשימת נקודות לקסקייד ***
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-import java.util.Random;
-
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * לוח המשחק.
+ * המצב של כל התאים נשמר בצורה דחוסה: ביטים (long[]) למוקש/חשוף/דגל/הופעל,
+ * ומערכי byte לסוג התא ולמספר השכנים. אין יותר אובייקט Cell לכל משבצת –
+ * {@link #getCell(int, int)} מחזירה view קל שקורא/כותב ישירות למערכים.
+ */
 public class Board {
 
+    private static final CellType[] TYPES = CellType.values();
+
+    // 8 השכנים, באותו סדר של הלולאות dr/dc המקוריות
+    private static final int[] NEIGHBOUR_DR = {-1, -1, -1,  0, 0,  1, 1, 1};
+    private static final int[] NEIGHBOUR_DC = {-1,  0,  1, -1, 1, -1, 0, 1};
+
     private final int rows;
     private final int cols;
     private final int totalMines;
     private final int questionCount;
     private final int surpriseCount;
 
-    private final Cell[][] grid;
-    private final Random random = new Random();
+    // ---------- מצב דחוס: תא (r,c) נמצא באינדקס r*cols+c ----------
+    private final int cellCount;
+    private final long[] mineBits;      // 1 = מוקש
+    private final long[] revealedBits;  // 1 = חשוף
+    private final long[] flaggedBits;   // 1 = מסומן בדגל
+    private final long[] usedBits;      // 1 = שאלה/הפתעה שכבר הופעלה
+    private final byte[] types;         // CellType.ordinal()
+    private final byte[] adjacent;      // מספר מוקשים מסביב
+
+    // ---------- מונים חיים – מתעדכנים ב-O(1) בכל שינוי מצב ----------
+    private int mineCount;            // מוקשים שהונחו בפועל
+    private int revealedMineCount;    // מוקשים חשופים (כולל מוקש שסומן בדגל)
+    private int revealedSafeCount;    // תאים חשופים שאינם מוקש
+    private int flagCount;            // דגלים על הלוח
+    private int unusedSpecialCount;   // שאלות/הפתעות שעוד לא הופעלו
+
+    // ---------- מעקב שינויים (ל-GUI: מציירים מחדש רק תאים שהשתנו) ----------
+    private final long[] dirtyBits;
+    private int[] dirtyList = new int[64];
+    private int dirtyCount;
+    private boolean allDirty;         // revealAllCells – כל הלוח השתנה
+
+    // ---------- buffers לקסקייד (מוקצים פעם אחת ללוח, נעשה בהם שימוש חוזר) ----------
+    private int[] cascadeStack;     // frame = (cell << 4) | השכן הבא לבדיקה
+    private int[] cascadeOut;       // סדר החשיפה
+    private long[] cascadeVisited;  // רק ל-computeCascadeOrder (שלא משנה את הלוח)
+
+    private final RandomSource random;
+    private boolean materialized;     // לוח עצל: false עד החשיפה הראשונה
+    private int startCell = -1;       // לוח "בלי ניחוש": תא ההתחלה (נפתח בחינם), או ‎-1
+    private boolean guessFree;        // המחולל הוכיח שמתא ההתחלה אין צורך לנחש
 
     public Board(Difficulty difficulty) {
-        this.rows = difficulty.getRows();
-        this.cols = difficulty.getCols();
-        this.totalMines    = difficulty.getMines();
-        this.questionCount = difficulty.getQuestionCount();
-        this.surpriseCount = difficulty.getSurpriseCount();
+        this(difficulty, new RandomSource());
+    }
 
-        this.grid = new Cell[rows][cols];
+    /** לוח עם מקור אקראיות נתון – אותו seed נותן אותו לוח (סימולציה, בדיקות). */
+    public Board(Difficulty difficulty, RandomSource random) {
+        this(difficulty.getRows(), difficulty.getCols(), difficulty.getMines(),
+                difficulty.getQuestionCount(), difficulty.getSurpriseCount(), random);
+    }
 
-        initEmptyCells();          // כל התאים מתחילים EMPTY
-        placeMinesRandomly();      // מפזרים מוקשים
-        calculateAdjacentMines();  // הופכים EMPTY->NUMBER כשצריך
-        placeSpecialTiles();       // הופכים חלק מה-EMPTY ל-QUESTION/SURPRISE
+    /** לוח לפי הגדרה מלאה (רמת קושי או לוח מותאם, ראו {@link BoardSpec}). */
+    public Board(BoardSpec spec, RandomSource random) {
+        this(spec.getRows(), spec.getCols(), spec.getMines(),
+                spec.getQuestionCount(), spec.getSurpriseCount(), random);
     }
 
-    // ---------- בניית הלוח ----------
+    /** לוח בגודל חופשי (למשל לבדיקות עומס על לוחות ענקיים). */
+    public Board(int rows, int cols, int mines, int questionCount, int surpriseCount) {
+        this(rows, cols, mines, questionCount, surpriseCount, new RandomSource());
+    }
 
-    private void initEmptyCells() {
-        for (int r = 0; r < rows; r++) {
-            for (int c = 0; c < cols; c++) {
-//                grid[r][c] = new Cell(CellType.EMPTY);
-                grid[r][c] = CellFactory.createCell(CellType.EMPTY);
-            }
+    public Board(int rows, int cols, int mines, int questionCount, int surpriseCount, RandomSource random) {
+        this(rows, cols, mines, questionCount, surpriseCount, random, false);
+    }
+
+    /**
+     * לוח "עצל": המוקשים לא מפוזרים עכשיו אלא בחשיפה הראשונה,
+     * והתא שנלחץ + השכנים שלו לא יכולים להיות מוקש (ראו {@link #materialize(int, int)}).
+     * עד אז הלוח ריק, allMinesRevealed() מחזירה false, ו-getTotalMines() את המספר המתוכנן.
+     */
+    public static Board lazy(Difficulty difficulty, RandomSource random) {
+        return lazy(difficulty.getRows(), difficulty.getCols(), difficulty.getMines(),
+                difficulty.getQuestionCount(), difficulty.getSurpriseCount(), random);
+    }
+
+    public static Board lazy(BoardSpec spec, RandomSource random) {
+        return lazy(spec.getRows(), spec.getCols(), spec.getMines(),
+                spec.getQuestionCount(), spec.getSurpriseCount(), random);
+    }
+
+    public static Board lazy(int rows, int cols, int mines, int questionCount, int surpriseCount,
+                             RandomSource random) {
+        return new Board(rows, cols, mines, questionCount, surpriseCount, random, true);
+    }
+
+    private Board(int rows, int cols, int mines, int questionCount, int surpriseCount,
+                  RandomSource random, boolean lazy) {
+        if (rows <= 0 || cols <= 0 || (long) rows * cols > (1 << 27)) {
+            throw new IllegalArgumentException("Invalid board size: " + rows + "x" + cols);
+        }
+        if (mines < 0 || mines > rows * cols) {
+            throw new IllegalArgumentException("Invalid mine count: " + mines);
+        }
+        this.rows = rows;
+        this.cols = cols;
+        this.totalMines    = mines;
+        this.questionCount = questionCount;
+        this.surpriseCount = surpriseCount;
+        this.random = random;
+
+        this.cellCount = rows * cols;
+        int words = (cellCount + 63) >>> 6;
+        this.mineBits     = new long[words];
+        this.revealedBits = new long[words];
+        this.flaggedBits  = new long[words];
+        this.usedBits     = new long[words];
+        this.dirtyBits    = new long[words];
+        this.types    = new byte[cellCount];   // 0 == EMPTY
+        this.adjacent = new byte[cellCount];
+
+        // לוח חדש – כולו "השתנה", לא צריך לעקוב אחרי כל תא בבנייה
+        this.allDirty = true;
+
+        if (!lazy) {
+            generate(-1);
+        }
+    }
+
+    // ---------- לוח עצל ----------
+
+    /** האם המוקשים כבר פוזרו (לוח רגיל – תמיד true). */
+    public boolean isMaterialized() {
+        return materialized;
+    }
+
+    /**
+     * פיזור המוקשים של לוח עצל, כשהתא (row, col) והשכנים שלו בטוחים.
+     * בלוח צפוף מדי מוותרים קודם על השכנים ואז גם על התא עצמו.
+     * לא נוגע בתאים חשופים/דגלים/מעקב שינויים – לכן מותר להריץ
+     * ב-thread רקע לפני החשיפה הראשונה (ה-GUI מצייר רק תאים סגורים עד אז).
+     */
+    public void materialize(int row, int col) {
+        if (materialized) return;
+        if (!isInBounds(row, col)) {
+            throw new IllegalArgumentException("Cell out of bounds");
         }
+        generate(indexOf(row, col));
+    }
+
+    /** פיזור בלי תא בטוח (סוף משחק או אפקט לפני חשיפה ראשונה). */
+    public void materialize() {
+        if (!materialized) generate(-1);
+    }
+
+    /** ה-seed של מקור האקראיות של הלוח (ליומן המהלכים, ראו {@link BoardPool#rebuild}). */
+    long getSeed() {
+        return random.getSeed();
+    }
+
+    /** תא ההתחלה של לוח "בלי ניחוש" ({@link NoGuessGenerator}), או ‎-1. */
+    public int getStartCell() {
+        return startCell;
+    }
+
+    void setStartCell(int i) {
+        startCell = i;
+    }
+
+    /**
+     * האם {@link NoGuessGenerator} הוכיח שהלוח פתיר מתא ההתחלה בלי ניחוש.
+     * false בלוח רגיל, וגם כשהמחולל ויתר ({@link NoGuessGenerator#generate}) – אז יש תא התחלה, בלי הבטחה.
+     */
+    public boolean isGuessFree() {
+        return guessFree;
+    }
+
+    void setGuessFree(boolean guessFree) {
+        this.guessFree = guessFree;
     }
 
-    // מפזר מוקשים באקראי בלי כפילויות
-    private void placeMinesRandomly() {
-        int minesPlaced = 0;
+    /** פותח את תא ההתחלה (אם יש) בחינם – בלי ניקוד ובלי לגעת בחיים. */
+    public void openStartCell() {
+        if (startCell >= 0) reveal(startCell, null, false, true, false);
+    }
 
-        while (minesPlaced < totalMines) {
-            int r = random.nextInt(rows);
-            int c = random.nextInt(cols);
+    private void generate(int safeCell) {
+        placeMinesRandomly(safeCell);  // מפזרים מוקשים
+        calculateAdjacentMines();      // הופכים EMPTY->NUMBER כשצריך
+        placeSpecialTiles();           // הופכים חלק מה-EMPTY ל-QUESTION/SURPRISE
+        materialized = true;
+    }
+
+    // ---------- גישה למצב הדחוס ----------
+
+    private static boolean bit(long[] bits, int i) {
+        return (bits[i >>> 6] & (1L << i)) != 0;
+    }
+
+    private static void setBit(long[] bits, int i, boolean value) {
+        if (value) bits[i >>> 6] |= (1L << i);
+        else       bits[i >>> 6] &= ~(1L << i);
+    }
+
+    /** מסכה של הביטים החוקיים במילה האחרונה (שאר הביטים תמיד 0). */
+    private long lastWordMask() {
+        int rem = cellCount & 63;
+        return rem == 0 ? -1L : (1L << rem) - 1;
+    }
+
+    private int indexOf(int row, int col) {
+        return row * cols + col;
+    }
+
+    /** אינדקס דחוס של תא (r*cols+c) – הפורמט של המערך מ-computeCascadeOrder. */
+    public int toIndex(int row, int col) {
+        if (!isInBounds(row, col)) {
+            throw new IllegalArgumentException("Cell out of bounds");
+        }
+        return indexOf(row, col);
+    }
 
-            if (grid[r][c].getType() != CellType.MINE) {
-                grid[r][c].setType(CellType.MINE);
-                minesPlaced++;
+    public int rowOf(int index) {
+        return index / cols;
+    }
+
+    public int colOf(int index) {
+        return index % cols;
+    }
+
+    /**
+     * קריאה לפי אינדקס דחוס (r*cols+c, ראו {@link #toIndex}) – בלי ליצור {@link Cell}.
+     * בשביל לולאות חמות כמו הציור של הלוח; האינדקס לא נבדק.
+     */
+    public CellType typeAt(int i) {
+        return TYPES[types[i]];
+    }
+
+    void setTypeAt(int i, CellType type) {
+        boolean wasMine = isMineAt(i);
+        boolean isMine = type == CellType.MINE;
+
+        if (isUnusedSpecial(i)) unusedSpecialCount--;
+
+        types[i] = (byte) type.ordinal();
+        setBit(mineBits, i, isMine);
+        markDirty(i);
+
+        if (isUnusedSpecial(i)) unusedSpecialCount++;
+
+        if (wasMine != isMine) {
+            mineCount += isMine ? 1 : -1;
+            if (isRevealedAt(i)) {
+                revealedMineCount += isMine ? 1 : -1;
+                revealedSafeCount += isMine ? -1 : 1;
             }
         }
     }
 
-    // מחשב לכל תא non-mine כמה מוקשים יש סביבו
-    // ומחליט אם הוא EMPTY (0 שכנים) או NUMBER (1–8 שכנים)
-    private void calculateAdjacentMines() {
-        for (int r = 0; r < rows; r++) {
-            for (int c = 0; c < cols; c++) {
+    boolean isMineAt(int i)            { return bit(mineBits, i); }
+    public boolean isRevealedAt(int i) { return bit(revealedBits, i); }
+    public boolean isFlaggedAt(int i)  { return bit(flaggedBits, i); }
+    public boolean isPowerUsedAt(int i){ return bit(usedBits, i); }
+    public int adjacentAt(int i)       { return adjacent[i]; }
 
-                if (grid[r][c].getType() == CellType.MINE) {
-                    continue;
-                }
+    void setRevealedAt(int i, boolean value) {
+        if (isRevealedAt(i) == value) return;
+        setBit(revealedBits, i, value);
+        markDirty(i);
 
-                int count = 0;
+        int delta = value ? 1 : -1;
+        if (isMineAt(i)) revealedMineCount += delta;
+        else             revealedSafeCount += delta;
+    }
 
-                for (int dr = -1; dr <= 1; dr++) {
-                    for (int dc = -1; dc <= 1; dc++) {
+    void setFlaggedAt(int i, boolean value) {
+        if (isFlaggedAt(i) == value) return;
+        setBit(flaggedBits, i, value);
+        markDirty(i);
+        flagCount += value ? 1 : -1;
+    }
 
-                        if (dr == 0 && dc == 0) continue;
+    void setPowerUsedAt(int i, boolean value) {
+        if (isUnusedSpecial(i)) unusedSpecialCount--;
+        setBit(usedBits, i, value);
+        if (isUnusedSpecial(i)) unusedSpecialCount++;
+        markDirty(i);
+    }
 
-                        int nr = r + dr;
-                        int nc = c + dc;
+    void setAdjacentAt(int i, int count) {
+        adjacent[i] = (byte) count;
+        markDirty(i);
+    }
 
-                        if (isInBounds(nr, nc) &&
-                                grid[nr][nc].getType() == CellType.MINE) {
-                            count++;
-                        }
-                    }
-                }
+    // ---------- מעקב שינויים ----------
 
-                if (count == 0) {
-                    grid[r][c].setAdjacentMines(0);
-                    grid[r][c].setType(CellType.EMPTY);
-                } else {
-                    grid[r][c].setAdjacentMines(count);
-                    grid[r][c].setType(CellType.NUMBER);
+    private void markDirty(int i) {
+        if (allDirty || bit(dirtyBits, i)) return;
+        setBit(dirtyBits, i, true);
+
+        if (dirtyCount == dirtyList.length) {
+            dirtyList = Arrays.copyOf(dirtyList, Math.min(cellCount, dirtyCount * 2));
+        }
+        dirtyList[dirtyCount++] = i;
+    }
+
+    /**
+     * מעבירה ל-sink את כל התאים (אינדקס r*cols+c) שהמצב שלהם השתנה
+     * מאז הקריאה הקודמת, כל תא פעם אחת, ומאפסת את הרשימה.
+     * כך ה-GUI מעדכן רק את הכפתורים שבאמת השתנו.
+     *
+     * @return כמה תאים הועברו
+     */
+    public int drainChangedCells(IntConsumer sink) {
+        if (allDirty) {
+            allDirty = false;
+            clearDirty();
+            for (int i = 0; i < cellCount; i++) sink.accept(i);
+            return cellCount;
+        }
+
+        int n = dirtyCount;
+        for (int k = 0; k < n; k++) sink.accept(dirtyList[k]);
+        clearDirty();
+        return n;
+    }
+
+    private void clearDirty() {
+        for (int k = 0; k < dirtyCount; k++) {
+            setBit(dirtyBits, dirtyList[k], false);
+        }
+        dirtyCount = 0;
+    }
+
+    private boolean isUnusedSpecial(int i) {
+        CellType type = TYPES[types[i]];
+        return (type == CellType.QUESTION || type == CellType.SURPRISE) && !isPowerUsedAt(i);
+    }
+
+    /** תא "חוסם" קסקייד: כבר חשוף, מסומן בדגל, או מוקש. */
+    private boolean blocksCascade(int i) {
+        int w = i >>> 6;
+        long m = 1L << i;
+        return ((revealedBits[w] | flaggedBits[w] | mineBits[w]) & m) != 0;
+    }
+
+    // ---------- בניית הלוח ----------
+    // עלות הבנייה לינארית במוקשים + תאים, ולא תלויה בצפיפות:
+    // אין דגימה-ודחייה, אין סריקת 8 שכנים לכל תא, ואין List<int[]> של תאים ריקים.
+
+    /**
+     * מפזר מוקשים בלי כפילויות: Fisher-Yates חלקי על מערך האינדקסים המותרים.
+     * בלוח צפוף (יותר מחצי מוקשים) מגרילים דווקא את התאים הבטוחים,
+     * כך שמספר ההחלפות הוא min(מוקשים, תאים בטוחים) – גם בלוח כמעט מלא.
+     *
+     * @param safeCell תא שהוא והשכנים שלו לא יהיו מוקש (‎-1 = אין)
+     */
+    private void placeMinesRandomly(int safeCell) {
+        // רדיוס ההחרגה: 3x3 אם יש מספיק מקום, אחרת רק התא, אחרת כלום
+        int radius = -1;
+        if (safeCell >= 0) {
+            if (cellCount - excludedCount(safeCell, 1) >= totalMines) radius = 1;
+            else if (cellCount - 1 >= totalMines) radius = 0;
+        }
+        int sr = (radius >= 0) ? safeCell / cols : 0;
+        int sc = (radius >= 0) ? safeCell % cols : 0;
+
+        int[] pool = new int[cellCount];
+        int candidates = 0;
+        for (int i = 0; i < cellCount; i++) {
+            if (radius >= 0 && Math.abs(i / cols - sr) <= radius && Math.abs(i % cols - sc) <= radius) continue;
+            pool[candidates++] = i;
+        }
+
+        boolean dense = totalMines > candidates / 2;
+        int picks = dense ? candidates - totalMines : totalMines;
+
+        for (int k = 0; k < picks; k++) {
+            int j = k + random.nextInt(candidates - k);
+            int cell = pool[j];
+            pool[j] = pool[k];
+            pool[k] = cell;
+        }
+
+        // רק הביטים – סוג התא נקבע ב-calculateAdjacentMines
+        if (!dense) {
+            for (int k = 0; k < picks; k++) setBit(mineBits, pool[k], true);
+        } else {
+            // כל המועמדים מוקשים, ואז "חורים" בתאים שהוגרלו
+            for (int k = picks; k < candidates; k++) setBit(mineBits, pool[k], true);
+        }
+        mineCount = totalMines;
+    }
+
+    /** כמה תאים בלוח נמצאים ברדיוס radius סביב cell. */
+    private int excludedCount(int cell, int radius) {
+        int r = cell / cols, c = cell % cols;
+        int h = Math.min(rows - 1, r + radius) - Math.max(0, r - radius) + 1;
+        int w = Math.min(cols - 1, c + radius) - Math.max(0, c - radius) + 1;
+        return h * w;
+    }
+
+    private boolean isDense() {
+        return totalMines > cellCount / 2;
+    }
+
+    /**
+     * מספר השכנים בלי סריקה של 8 שכנים לכל תא:
+     * 1) scatter – כל תא "מוגרל" (מוקש בלוח דליל, תא בטוח בלוח צפוף) מוסיף 1 לשכנים שלו.
+     *    עוברים לפי סדר הביטים (גישה רציפה לזיכרון) ובלי תנאים בלולאה הפנימית.
+     *    עלות: O(8 * min(מוקשים, תאים בטוחים)).
+     * 2) מעבר לינארי אחד שקובע adjacent ו-EMPTY/NUMBER/MINE לכל תא, בלי הסתעפויות
+     *    (בצפיפות 50% תנאי "האם מוקש" היה נכשל בחיזוי כל פעם שנייה).
+     */
+    private void calculateAdjacentMines() {
+        boolean dense = isDense();
+        long last = lastWordMask();
+
+        // 1) scatter
+        for (int w = 0; w < mineBits.length; w++) {
+            long bits = dense ? ~mineBits[w] : mineBits[w];
+            if (w == mineBits.length - 1) bits &= last;
+
+            while (bits != 0) {
+                int cell = (w << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+
+                int r = cell / cols;
+                int c = cell - r * cols;
+
+                if (r > 0 && c > 0 && r < rows - 1 && c < cols - 1) {
+                    // תא פנימי – כל 8 השכנים קיימים
+                    int up = cell - cols, down = cell + cols;
+                    adjacent[up - 1]++;   adjacent[up]++;   adjacent[up + 1]++;
+                    adjacent[cell - 1]++;                   adjacent[cell + 1]++;
+                    adjacent[down - 1]++; adjacent[down]++; adjacent[down + 1]++;
+                    continue;
+                }
+                for (int n = 0; n < 8; n++) {
+                    int nr = r + NEIGHBOUR_DR[n];
+                    int nc = c + NEIGHBOUR_DC[n];
+                    if (isInBounds(nr, nc)) adjacent[nr * cols + nc]++;
                 }
             }
         }
-    }
 
-    // משבצות ריקות שנשארו הופכות אקראית לשאלה/הפתעה
-    private void placeSpecialTiles() {
-        List<int[]> emptyCells = new ArrayList<>();
+        // 2) adjacent לתאים בטוחים, 0 למוקשים; סוג התא לפי שני הביטים
+        int mineOrdinal = CellType.MINE.ordinal();
+        int numberOrdinal = CellType.NUMBER.ordinal();   // EMPTY == 0
 
         for (int r = 0; r < rows; r++) {
+            int rowNeighbours = (r > 0 ? 1 : 0) + (r < rows - 1 ? 1 : 0) + 1;
             for (int c = 0; c < cols; c++) {
-                if (grid[r][c].getType() == CellType.EMPTY) {
-                    emptyCells.add(new int[]{r, c});
+                int i = r * cols + c;
+                int mine = (int) (mineBits[i >>> 6] >>> i) & 1;
+
+                int count = adjacent[i];
+                if (dense) {
+                    // count = שכנים בטוחים → מוקשים = שכנים בלוח פחות שכנים בטוחים
+                    int colNeighbours = (c > 0 ? 1 : 0) + (c < cols - 1 ? 1 : 0) + 1;
+                    count = rowNeighbours * colNeighbours - 1 - count;
                 }
+                count &= mine - 1;                          // מוקש → 0
+
+                adjacent[i] = (byte) count;
+                types[i] = (byte) (mine * mineOrdinal + ((count + 7) >>> 3) * numberOrdinal);
             }
         }
+    }
+
+    // משבצות ריקות שנשארו הופכות אקראית לשאלה/הפתעה:
+    // reservoir sampling במעבר אחד על הלוח, לתוך int[] קטן (בלי boxing)
+    private void placeSpecialTiles() {
+        int wanted = questionCount + surpriseCount;
+        if (wanted <= 0) return;
 
-        Collections.shuffle(emptyCells, random);
+        int[] reservoir = new int[wanted];
+        int seen = 0;
+        int emptyOrdinal = CellType.EMPTY.ordinal();
 
-        int idx = 0;
+        for (int i = 0; i < cellCount; i++) {
+            if (types[i] != emptyOrdinal) continue;
 
-        // שאלות
-        for (int i = 0; i < questionCount && idx < emptyCells.size(); i++, idx++) {
-            int[] pos = emptyCells.get(idx);
-            grid[pos[0]][pos[1]].setType(CellType.QUESTION);
+            if (seen < wanted) {
+                reservoir[seen] = i;
+            } else {
+                int j = random.nextInt(seen + 1);
+                if (j < wanted) reservoir[j] = i;
+            }
+            seen++;
         }
 
-        // הפתעות
-        for (int i = 0; i < surpriseCount && idx < emptyCells.size(); i++, idx++) {
-            int[] pos = emptyCells.get(idx);
-            grid[pos[0]][pos[1]].setType(CellType.SURPRISE);
+        int picked = Math.min(seen, wanted);
+
+        // המקומות ב-reservoir תלויים בסדר הסריקה – מערבבים לפני החלוקה לשאלות/הפתעות
+        for (int k = picked - 1; k > 0; k--) {
+            int j = random.nextInt(k + 1);
+            int tmp = reservoir[k];
+            reservoir[k] = reservoir[j];
+            reservoir[j] = tmp;
         }
+
+        for (int k = 0; k < picked; k++) {
+            CellType type = (k < questionCount) ? CellType.QUESTION : CellType.SURPRISE;
+            types[reservoir[k]] = (byte) type.ordinal();
+        }
+        unusedSpecialCount = picked;
     }
 
     private boolean isInBounds(int r, int c) {
@@ -139,11 +527,68 @@ public class Board {
         return cols;
     }
 
+    /** מספר המוקשים על הלוח. */
+    public int getTotalMines() {
+        return materialized ? mineCount : totalMines;
+    }
+
+    /** מוקשים שכבר נחשפו (פגיעה, דגל נכון או בונוס). */
+    public int getRevealedMineCount() {
+        return revealedMineCount;
+    }
+
+    /** מוקשים שעדיין מוסתרים. */
+    public int getHiddenMineCount() {
+        return getTotalMines() - revealedMineCount;
+    }
+
+    /** תאים חשופים שאינם מוקש. */
+    public int getRevealedSafeCount() {
+        return revealedSafeCount;
+    }
+
+    public int getFlagCount() {
+        return flagCount;
+    }
+
+    /** שאלות/הפתעות שעוד לא הופעלו (חשופות או לא). */
+    public int getUnusedSpecialCount() {
+        return unusedSpecialCount;
+    }
+
+    /**
+     * תמונת מצב בלתי-משתנה של מה שרואים על הלוח (ל-{@link BoardSolver}, רמזים, בוטים).
+     * O(תאים) – עובר מילה-מילה על הביטים.
+     */
+    public BoardSnapshot snapshot() {
+        byte[] view = new byte[cellCount];
+        for (int w = 0; w < revealedBits.length; w++) {
+            long revealed = revealedBits[w];
+            long flagged = flaggedBits[w];
+            long mines = mineBits[w];
+            int base = w << 6;
+            int end = Math.min(64, cellCount - base);
+            for (int b = 0; b < end; b++) {
+                long m = 1L << b;
+                byte v;
+                if ((revealed & m) == 0) {
+                    v = (flagged & m) != 0 ? BoardSnapshot.SAFE_FLAG : BoardSnapshot.HIDDEN;
+                } else if ((mines & m) != 0) {
+                    v = BoardSnapshot.MINE;
+                } else {
+                    v = adjacent[base + b];
+                }
+                view[base + b] = v;
+            }
+        }
+        return new BoardSnapshot(rows, cols, getTotalMines(), view);
+    }
+
     public Cell getCell(int row, int col) {
         if (!isInBounds(row, col)) {
             throw new IllegalArgumentException("Cell out of bounds");
         }
-        return grid[row][col];
+        return new BoardCell(this, indexOf(row, col));
     }
 
     // ---------- לוגיקת משחק – איטרציה 1 ----------
@@ -151,30 +596,25 @@ public class Board {
     /** חשיפת תא ע"י השחקן. */
     public void openCell(int row, int col, GameSession session) {
         if (!isInBounds(row, col)) return;
+        materialize(row, col); // לוח עצל: החשיפה הראשונה תמיד בטוחה
 
         // שחקן: כן ניקוד, כן קסקדה
-        revealRecursive(row, col, session, true, true, true);
+        reveal(indexOf(row, col), session, true, true, true);
     }
 
     /**
      * חשיפה פנימית: אפשר לשלוט אם נותנים נקודות ואם עושים קסקדה.
      */
-    private void revealRecursive(int row, int col, GameSession session,
+    private void reveal(int i, GameSession session,
             boolean awardPoints,
             boolean allowCascade,
             boolean playerClick) {
 
-        if (!isInBounds(row, col)) return;
-
-        Cell cell = grid[row][col];
-
         // לא חושפים שוב תא שכבר נפתח או מסומן בדגל
-        if (cell.isRevealed() || cell.isFlagged()) return;
+        if (isRevealedAt(i) || isFlaggedAt(i)) return;
 
-        // מסמנים כחשוף
-        cell.setRevealed(true);
-
-        if (cell.getType() == CellType.MINE) {
+        if (isMineAt(i)) {
+            setRevealedAt(i, true);
             if (playerClick) {
                 session.decreaseLives();
             }
@@ -182,139 +622,149 @@ public class Board {
         }
 
         // כל תא שאינו מוקש → נקודה אחת רק אם זו חשיפה "רגילה"
-        if (awardPoints) {
-            session.updateScore(+1);
+        // (בקסקדה כל התאים שנפתחים אינם מוקשים)
+        int opened;
+        if (allowCascade) {
+            opened = floodFill(i, true);
+            revealedSafeCount += opened; // floodFill כותב ישירות ל-revealedBits
+            for (int k = 0; k < opened; k++) markDirty(cascadeOut[k]);
+        } else {
+            setRevealedAt(i, true);
+            opened = 1;
         }
 
-        // קסקדה רק אם מותר
-        if (!allowCascade) return;
-
-        // נמשיך קסקדה **רק** מתאים שאין לידם מוקשים:
-        boolean zeroCell =
-                cell.getType() == CellType.EMPTY ||
-                cell.getType() == CellType.QUESTION ||
-                cell.getType() == CellType.SURPRISE;
-
-        if (!zeroCell) return;
-
-        for (int dr = -1; dr <= 1; dr++) {
-            for (int dc = -1; dc <= 1; dc++) {
-                if (dr == 0 && dc == 0) continue;
-
-                int nr = row + dr;
-                int nc = col + dc;
-
-                if (!isInBounds(nr, nc)) continue;
-
-                Cell neighbor = grid[nr][nc];
-
-                if (neighbor.isRevealed() || neighbor.isFlagged()) continue;
-                if (neighbor.getType() == CellType.MINE) continue;
-
-                // בקסקדה עדיין נותנים נקודות (זה חלק מחשיפת שחקן)
-                revealRecursive(nr, nc, session, true, true, false);
-            }
+        if (awardPoints) {
+            session.updateScore(opened);
         }
     }
 
     // ---------- לוגיקת קסקייד לאנימציה (עזר ל-GUI) ----------
 
     /**
-     * מחזירה רשימת נקודות (Point) של כל התאים
-     * שהיו נפתחים ע"י revealRecursive מאותו תא,
-     * אבל **בלי לשנות** את הגריד בפועל.
+     * מחזירה את האינדקסים (r*cols+c, ראו {@link #rowOf}/{@link #colOf})
+     * של כל התאים שהיו נפתחים ע"י openCell מאותו תא, לפי סדר הפתיחה,
+     * אבל **בלי לשנות** את הלוח בפועל.
      *
-     * ה-GUI יכול להשתמש ברשימה הזאת כדי לפתוח תאים אחד-אחד באנימציה.
+     * ה-GUI יכול להשתמש במערך הזה כדי לפתוח תאים אחד-אחד באנימציה.
      */
-    public List<Point> computeCascadeOrder(int row, int col) {
-        List<Point> result = new ArrayList<>();
-
+    public int[] computeCascadeOrder(int row, int col) {
         if (!isInBounds(row, col)) {
-            return result;
+            return new int[0];
         }
+        materialize(row, col);
 
-        boolean[][] visited = new boolean[rows][cols];
-        computeCascadeRecursive(row, col, visited, result);
-        return result;
+        int n = floodFill(indexOf(row, col), false);
+        int[] out = cascadeOut;
+
+        // מנקים רק את הביטים שסימנו – O(גודל הקסקייד), לא O(גודל הלוח)
+        for (int k = 0; k < n; k++) {
+            setBit(cascadeVisited, out[k], false);
+        }
+        return Arrays.copyOf(out, n);
     }
 
-    private void computeCascadeRecursive(int row, int col,
-                                         boolean[][] visited,
-                                         List<Point> out) {
-        if (!isInBounds(row, col)) return;
-        if (visited[row][col]) return;
+    /**
+     * קסקייד איטרטיבי (DFS עם מחסנית int מפורשת) – בדיוק אותו סדר של
+     * הרקורסיה המקורית, בלי StackOverflow ובלי הקצאות לכל תא.
+     *
+     * @param apply true → מסמן כחשוף בלוח; false → מסמן רק ב-cascadeVisited
+     * @return מספר התאים ב-cascadeOut
+     */
+    private int floodFill(int start, boolean apply) {
+        ensureCascadeBuffers(apply);
 
-        Cell cell = grid[row][col];
+        long[] seen = apply ? revealedBits : cascadeVisited;
+        int[] stack = cascadeStack;
+        int[] out = cascadeOut;
 
-        // אותו תנאי כמו ב-revealRecursive
-        if (cell.isRevealed() || cell.isFlagged()) {
-            return;
-        }
+        // אותו תנאי כמו בחשיפה: לא תא שכבר נפתח או מסומן בדגל
+        if (isRevealedAt(start) || isFlaggedAt(start)) return 0;
 
-        visited[row][col] = true;
-        out.add(new Point(row, col));
+        int n = 0;
+        int top = 0;
 
-        // מוקש → ב-revealRecursive עוצרים כאן, בלי קסקייד
-        if (cell.getType() == CellType.MINE) {
-            return;
-        }
+        setBit(seen, start, true);
+        out[n++] = start;
 
-        // רק תאים "ריקים" ממשיכים קסקייד (EMPTY/QUESTION/SURPRISE)
-        boolean zeroCell =
-                cell.getType() == CellType.EMPTY ||
-                cell.getType() == CellType.QUESTION ||
-                cell.getType() == CellType.SURPRISE;
+        // מוקש או NUMBER → רק התא עצמו, בלי שכנים
+        if (isMineAt(start) || adjacent[start] != 0) return n;
 
-        if (!zeroCell) {
-            // NUMBER, למשל – מגלים רק אותו, בלי שכנים
-            return;
-        }
+        stack[top++] = start << 4;
 
-        // קסקייד לשכנים (בדיוק כמו בלוגיקה המקורית)
-        for (int dr = -1; dr <= 1; dr++) {
-            for (int dc = -1; dc <= 1; dc++) {
+        while (top > 0) {
+            int frame = stack[top - 1];
+            int cell = frame >>> 4;
+            int k = frame & 15;
+            int r = cell / cols;
+            int c = cell - r * cols;
 
-                if (dr == 0 && dc == 0) continue;
+            int next = -1;
+            for (; k < 8; k++) {
+                int nr = r + NEIGHBOUR_DR[k];
+                int nc = c + NEIGHBOUR_DC[k];
+                if (!isInBounds(nr, nc)) continue;
 
-                int nr = row + dr;
-                int nc = col + dc;
+                int ni = nr * cols + nc;
+                if (blocksCascade(ni) || bit(seen, ni)) continue;
 
-                if (!isInBounds(nr, nc)) continue;
+                next = ni;
+                k++;
+                break;
+            }
 
-                Cell neighbor = grid[nr][nc];
+            if (next < 0) {
+                top--;  // סיימנו את כל השכנים של התא הזה
+                continue;
+            }
 
-                if (neighbor.isRevealed() || neighbor.isFlagged()) continue;
-                if (neighbor.getType() == CellType.MINE) continue;
+            stack[top - 1] = (cell << 4) | k;
 
-                computeCascadeRecursive(nr, nc, visited, out);
+            setBit(seen, next, true);
+            out[n++] = next;
+
+            // רק תאים "ריקים" ממשיכים קסקייד (EMPTY/QUESTION/SURPRISE)
+            if (adjacent[next] == 0) {
+                stack[top++] = next << 4;
             }
         }
+        return n;
+    }
+
+    private void ensureCascadeBuffers(boolean apply) {
+        if (cascadeStack == null) {
+            cascadeStack = new int[cellCount];
+            cascadeOut = new int[cellCount];
+        }
+        if (!apply && cascadeVisited == null) {
+            cascadeVisited = new long[mineBits.length];
+        }
     }
 
     /**
      * פתיחה של תא אחד בלבד (לשימוש באנימציה),
-     * עם אותה לוגיקה בסיסית של revealRecursive:
+     * עם אותה לוגיקה בסיסית של openCell:
      * - אם זה מוקש → life-1
      * - אם זה לא מוקש → +1 נקודה
      * - בלי קסקייד לשכנים (זה נעשה ע"י לולאה ב-Controller).
      */
     public void revealSingleCell(int row, int col, GameSession session) {
         if (!isInBounds(row, col)) return;
+        materialize(row, col);
 
-        Cell cell = grid[row][col];
+        int i = indexOf(row, col);
 
-        if (cell.isRevealed() || cell.isFlagged()) {
+        if (isRevealedAt(i) || isFlaggedAt(i)) {
             return;
         }
 
-        cell.setRevealed(true);
+        setRevealedAt(i, true);
 
-        if (cell.getType() == CellType.MINE) {
+        if (isMineAt(i)) {
             session.decreaseLives();
             return;
         }
 
-        // כמו ב-revealRecursive כש-awardPoints=true
+        // כמו ב-openCell כש-awardPoints=true
         session.updateScore(+1);
     }
 
@@ -324,36 +774,36 @@ public class Board {
      *  - Mine מסומן בדגל → pts+1  + חשיפת המוקש
      *  - מספר / ריק / שאלה / הפתעה מסומנים בדגל → pts-3
      *  - ביטול סימון: בלי שינוי ניקוד.
+     * בלוח עצל לפני החשיפה הראשונה אין עוד מוקשים – דגל לא עושה כלום
+     * (פיזור עכשיו היה מוותר על התא הבטוח של החשיפה הראשונה).
      */
     public void toggleFlag(int row, int col, GameSession session) {
-        Cell cell = getCell(row, col);
+        if (!isInBounds(row, col)) {
+            throw new IllegalArgumentException("Cell out of bounds");
+        }
+        if (!materialized) return;
+        int i = indexOf(row, col);
 
         // קודם כל: אם יש דגל -> מבטלים (גם אם revealed)
-        if (cell.isFlagged()) {
-            cell.setFlagged(false);
+        if (isFlaggedAt(i)) {
+            setFlaggedAt(i, false);
             return;
         }
 
         // עכשיו: אם כבר נחשף ואין דגל - לא עושים כלום
-        if (cell.isRevealed()) {
+        if (isRevealedAt(i)) {
             return;
         }
 
         // סימון חדש
-        cell.setFlagged(true);
+        setFlaggedAt(i, true);
 
-        switch (cell.getType()) {
-            case MINE:
-                session.updateScore(+1);
-                cell.setRevealed(true); // חושף מוקש
-                break;
-
-            case NUMBER:
-            case EMPTY:
-            case QUESTION:
-            case SURPRISE:
-                session.updateScore(-3);
-                break;
+        if (isMineAt(i)) {
+            session.updateScore(+1);
+            setRevealedAt(i, true); // חושף מוקש
+        } else {
+            // מספר / ריק / שאלה / הפתעה
+            session.updateScore(-3);
         }
     }
 
@@ -364,64 +814,68 @@ public class Board {
      *  - הוא עוד לא הופעל (powerUsed=false)
      */
     public boolean canActivateSpecial(int row, int col) {
-        Cell cell = getCell(row, col);
-        return cell.isRevealed()
-                && !cell.isPowerUsed()
-                && (cell.getType() == CellType.QUESTION
-                    || cell.getType() == CellType.SURPRISE);
+        if (!isInBounds(row, col)) {
+            throw new IllegalArgumentException("Cell out of bounds");
+        }
+        int i = indexOf(row, col);
+        CellType type = typeAt(i);
+        return isRevealedAt(i)
+                && !isPowerUsedAt(i)
+                && (type == CellType.QUESTION
+                    || type == CellType.SURPRISE);
     }
 
     /** סימון התא כ־USED אחרי שהופעלה השאלה/הפתעה */
     public void markSpecialUsed(int row, int col) {
-        Cell cell = getCell(row, col);
-        cell.setPowerUsed(true);
+        if (!isInBounds(row, col)) {
+            throw new IllegalArgumentException("Cell out of bounds");
+        }
+        setPowerUsedAt(indexOf(row, col), true);
     }
 
     // פונקציה אופציונלית – חישוב ניקוד לדגל (אם תרצי להשתמש בה במקום toggleFlag)
     public FlagResult flagCell(int row, int col) {
-        Cell cell = grid[row][col];
+        if (!isInBounds(row, col)) {
+            throw new IllegalArgumentException("Cell out of bounds");
+        }
+        if (!materialized) {
+            return new FlagResult(false, "Reveal a cell first", 0);
+        }
+        int i = indexOf(row, col);
 
-        if (cell.isRevealed()) {
+        if (isRevealedAt(i)) {
             return new FlagResult(false, "Cell already revealed", 0);
         }
 
-        if (cell.isFlagged()) {
+        if (isFlaggedAt(i)) {
             return new FlagResult(false, "Cell already flagged", 0);
         }
 
-        cell.setFlagged(true);
+        setFlaggedAt(i, true);
 
-        int points;
-        switch (cell.getType()) {
-            case MINE:
-                points = +1;
-                break;
-            case NUMBER:
-            case EMPTY:
-            case QUESTION:
-            case SURPRISE:
-                points = -3;
-                break;
-            default:
-                points = 0;
-        }
+        // מוקש → +1, כל השאר (מספר/ריק/שאלה/הפתעה) → -3
+        int points = isMineAt(i) ? +1 : -3;
 
         return new FlagResult(true, "Flagged", points);
     }
 
     // פונקציה אופציונלית – הפעלת שאלה/הפתעה עם ניקוד ולבבות
     public ActivationResult activateCell(int row, int col, Difficulty difficulty) {
-        Cell cell = grid[row][col];
+        if (!isInBounds(row, col)) {
+            throw new IllegalArgumentException("Cell out of bounds");
+        }
+        int i = indexOf(row, col);
+        CellType type = typeAt(i);
 
-        if (!cell.isRevealed()) {
+        if (!isRevealedAt(i)) {
             return new ActivationResult(false, "Cell must be revealed first", 0, 0);
         }
 
-        if (cell.isPowerUsed()) {
+        if (isPowerUsedAt(i)) {
             return new ActivationResult(false, "Cell already used", 0, 0);
         }
 
-        if (cell.getType() != CellType.QUESTION && cell.getType() != CellType.SURPRISE) {
+        if (type != CellType.QUESTION && type != CellType.SURPRISE) {
             return new ActivationResult(false, "Cell cannot be activated", 0, 0);
         }
 
@@ -436,8 +890,8 @@ public class Board {
         int hearts = 0;
 
         // אם זו הפתעה → 50/50 טוב/רע
-        if (cell.getType() == CellType.SURPRISE) {
-            boolean good = Math.random() < 0.5;
+        if (type == CellType.SURPRISE) {
+            boolean good = random.nextDouble() < 0.5;
 
             if (good) {
                 points += switch (difficulty) {
@@ -457,34 +911,48 @@ public class Board {
         }
 
         // סימון התא כמשומש
-        cell.setPowerUsed(true);
+        setPowerUsedAt(i, true);
 
         return new ActivationResult(true, "Activated", points, hearts);
     }
 
     public boolean revealRandomMine() {
-        List<int[]> hiddenMines = new ArrayList<>();
-
-        for (int r = 0; r < rows; r++) {
-            for (int c = 0; c < cols; c++) {
-                Cell cell = grid[r][c];
-                if (cell.getType() == CellType.MINE && !cell.isRevealed() && !cell.isFlagged()) {
-                    hiddenMines.add(new int[]{r, c});
-                }
-            }
+        materialize();
+        if (revealedMineCount == mineCount) return false;
+
+        // מוקשים מוסתרים = mine & ~revealed & ~flagged, נספרים מילה-מילה
+        // (flagCell יכול להשאיר מוקש מסומן אבל לא חשוף)
+        int hiddenCount = 0;
+        for (int w = 0; w < mineBits.length; w++) {
+            hiddenCount += Long.bitCount(mineBits[w] & ~revealedBits[w] & ~flaggedBits[w]);
         }
 
-        if (hiddenMines.isEmpty()) return false;
+        if (hiddenCount == 0) return false;
 
-        int[] pos = hiddenMines.get(random.nextInt(hiddenMines.size()));
-        grid[pos[0]][pos[1]].setRevealed(true); // אפקט אוטומטי: בלי ניקוד ובלי חיים
-        return true;
+        // בוחרים את המוקש ה-k לפי סדר השורות (כמו הרשימה המקורית)
+        int k = random.nextInt(hiddenCount);
+        for (int w = 0; w < mineBits.length; w++) {
+            long hidden = mineBits[w] & ~revealedBits[w] & ~flaggedBits[w];
+            int n = Long.bitCount(hidden);
+            if (k >= n) {
+                k -= n;
+                continue;
+            }
+            for (; k > 0; k--) {
+                hidden &= hidden - 1; // מוחקים את הביט הנמוך
+            }
+            int i = (w << 6) + Long.numberOfTrailingZeros(hidden);
+            setRevealedAt(i, true); // אפקט אוטומטי: בלי ניקוד ובלי חיים
+            return true;
+        }
+        return false;
     }
 
     public void revealBest3x3(GameSession session) {
 
         // אם הלוח קטן מ-3x3 אין מה לעשות
         if (rows < 3 || cols < 3) return;
+        materialize();
 
         int bestR = -1, bestC = -1;
         int bestScore = -1;
@@ -498,8 +966,8 @@ public class Board {
                 // סופרים כמה מתוך ה-9 עדיין לא פתוחים ולא בדגל
                 for (int dr = -1; dr <= 1; dr++) {
                     for (int dc = -1; dc <= 1; dc++) {
-                        Cell cell = grid[r + dr][c + dc];
-                        if (!cell.isRevealed() && !cell.isFlagged()) {
+                        int i = indexOf(r + dr, c + dc);
+                        if (!isRevealedAt(i) && !isFlaggedAt(i)) {
                             score++;
                         }
                     }
@@ -529,9 +997,9 @@ public class Board {
                 int nr = bestR + dr;
                 int nc = bestC + dc;
 
-                Cell cell = grid[nr][nc];
-                if (!cell.isRevealed() && !cell.isFlagged()) {
-                    revealRecursive(nr, nc, session, false, false, false);
+                int i = indexOf(nr, nc);
+                if (!isRevealedAt(i) && !isFlaggedAt(i)) {
+                    reveal(i, session, false, false, false);
                 }
             }
         }
@@ -540,18 +1008,11 @@ public class Board {
     /**
      * בדיקה אם כל המוקשים על הלוח כבר נחשפו.
      * במשחק שלך, כשמסמנים מוקש בדגל את כבר מסמנת אותו כ-revealed,
-     * לכן מספיק לבדוק שכל התאים מסוג MINE הם revealed.
+     * לכן מספיק לבדוק שכל התאים מסוג MINE הם revealed – כלומר להשוות מונים.
+     * לוח עצל שעוד לא פוזר – עוד אין מוקשים, אז בוודאי שלא כולם נחשפו.
      */
     public boolean allMinesRevealed() {
-        for (int r = 0; r < rows; r++) {
-            for (int c = 0; c < cols; c++) {
-                Cell cell = grid[r][c];
-                if (cell.getType() == CellType.MINE && !cell.isRevealed()) {
-                    return false; // עדיין יש מוקש שלא גילו
-                }
-            }
-        }
-        return true; // כל המוקשים גלו
+        return materialized && revealedMineCount == mineCount;
     }
 
     /**
@@ -559,12 +1020,18 @@ public class Board {
      * בלי לעדכן ניקוד / לבבות (רק setRevealed).
      */
     public void revealAllCells() {
-        for (int r = 0; r < rows; r++) {
-            for (int c = 0; c < cols; c++) {
-                Cell cell = grid[r][c];
-                cell.setRevealed(true);
-            }
+        materialize();
+        int last = revealedBits.length - 1;
+        for (int w = 0; w < last; w++) {
+            revealedBits[w] = -1L;
+        }
+        if (last >= 0) {
+            revealedBits[last] = lastWordMask();
         }
+        revealedMineCount = mineCount;
+        revealedSafeCount = cellCount - mineCount;
+        clearDirty();
+        allDirty = true;
     }
 
 }
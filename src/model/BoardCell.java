@@ -0,0 +1,69 @@
+package model;
+
+/**
+ * תצוגה קלה (view) של תא בודד בתוך {@link Board}.
+ * לא מחזיקה מצב משלה – כל getter/setter קורא וכותב ישירות
+ * למערכים הדחוסים של הלוח, כך שהקוד הקיים שעובד מול {@link Cell}
+ * ממשיך לעבוד בלי שינוי.
+ */
+final class BoardCell extends Cell {
+
+    private final Board board;
+    private final int index;
+
+    BoardCell(Board board, int index) {
+        super(null);
+        this.board = board;
+        this.index = index;
+    }
+
+    @Override
+    public CellType getType() {
+        return board.typeAt(index);
+    }
+
+    @Override
+    public void setType(CellType type) {
+        board.setTypeAt(index, type);
+    }
+
+    @Override
+    public boolean isRevealed() {
+        return board.isRevealedAt(index);
+    }
+
+    @Override
+    public void setRevealed(boolean revealed) {
+        board.setRevealedAt(index, revealed);
+    }
+
+    @Override
+    public boolean isFlagged() {
+        return board.isFlaggedAt(index);
+    }
+
+    @Override
+    public void setFlagged(boolean flagged) {
+        board.setFlaggedAt(index, flagged);
+    }
+
+    @Override
+    public int getAdjacentMines() {
+        return board.adjacentAt(index);
+    }
+
+    @Override
+    public void setAdjacentMines(int adjacentMines) {
+        board.setAdjacentAt(index, adjacentMines);
+    }
+
+    @Override
+    public boolean isPowerUsed() {
+        return board.isPowerUsedAt(index);
+    }
+
+    @Override
+    public void setPowerUsed(boolean powerUsed) {
+        board.setPowerUsedAt(index, powerUsed);
+    }
+}
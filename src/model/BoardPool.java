@@ -0,0 +1,157 @@
+package model;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * מאגר לוחות מוכנים לכל הגדרת לוח ({@link BoardSpec}) ולכל סוג לוח, כדי שתחילת משחק (וגם Play Again)
+ * רק תשלוף לוח קיים במקום לבנות אותו על ה-EDT.
+ *
+ * כל שליפה מתזמנת מילוי מחדש ב-thread רקע יחיד בעדיפות מינימלית;
+ * אם המאגר ריק (למשל מיד עם עליית התוכנה) – הלוח נבנה ב-thread אחר ({@link #take} מחזיר Future),
+ * אף פעם לא על ה-thread שקרא.
+ * גודל המאגר: -Djellyfish.poolSize=N (ברירת מחדל 2).
+ * לוחות ענק (מעל {@link #MAX_POOLED_CELLS}) לא נשמרים מראש – כל אחד כמה MB.
+ * מכל סוג לוח נשמר מאגר לגודל מותאם אישית אחד בלבד – האחרון שביקשו; מאגר של גודל קודם
+ * נזרק (וגם המילוי שלו שעוד מחכה בתור), כך ששינוי גודל במסך ההגדרות לא צובר לוחות.
+ */
+public final class BoardPool {
+
+    public enum Mode {
+        STANDARD,   // לוח עצל רגיל – החשיפה הראשונה בטוחה
+        NO_GUESS    // לוח "בלי ניחוש" ({@link NoGuessGenerator}) עם תא התחלה
+    }
+
+    /** לוחות גדולים מזה נבנים רק לפי דרישה. */
+    public static final int MAX_POOLED_CELLS = 128 * 128;
+
+    /** בניית לוח שמישהו מחכה לו (מאגר ריק / לוח ענק) – לא בתור של המילוי, שאולי עסוק. */
+    private static final ExecutorService BUILD = Executors.newCachedThreadPool(r -> {
+        Thread t = new Thread(r, "board-build");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private static final BoardPool INSTANCE = new BoardPool(Integer.getInteger("jellyfish.poolSize", 2));
+
+    public static BoardPool getInstance() { return INSTANCE; }
+
+    private final int size;
+    private final Executor builder;
+    private final Map<Mode, Map<BoardSpec, Slot>> slots = new EnumMap<>(Mode.class);
+    private final ExecutorService refill = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "board-pool");
+        t.setDaemon(true);
+        t.setPriority(Thread.MIN_PRIORITY);
+        return t;
+    });
+
+    /** תור הלוחות של מפתח אחד + דגל "מילוי כבר מתוזמן". */
+    private static final class Slot {
+        final ConcurrentLinkedQueue<Board> boards = new ConcurrentLinkedQueue<>();
+        final AtomicBoolean refillPending = new AtomicBoolean();
+        volatile boolean retired;   // גודל מותאם שהוחלף – לא ממלאים יותר
+    }
+
+    BoardPool(int size) {
+        this(size, BUILD);
+    }
+
+    /** @param builder איפה נבנה לוח כשהמאגר ריק (לבדיקות – Executor שאפשר לעצור) */
+    public BoardPool(int size, Executor builder) {
+        this.size = Math.max(0, size);
+        this.builder = builder;
+        for (Mode mode : Mode.values()) slots.put(mode, new ConcurrentHashMap<>());
+    }
+
+    /**
+     * לוח מוכן (Future שכבר הושלם), או לוח שמתחיל להיבנות עכשיו ב-thread רקע אם המאגר ריק.
+     * בכל מקרה המאגר מתמלא שוב ברקע.
+     */
+    public CompletableFuture<Board> take(Difficulty difficulty, Mode mode) {
+        return take(BoardSpec.of(difficulty), mode);
+    }
+
+    public CompletableFuture<Board> take(BoardSpec spec, Mode mode) {
+        Board board = spec.getCellCount() > MAX_POOLED_CELLS ? null : slot(spec, mode).boards.poll();
+        warmUp(spec, mode);
+        return board != null ? CompletableFuture.completedFuture(board)
+                             : CompletableFuture.supplyAsync(() -> build(spec, mode, true), builder);
+    }
+
+    /** כמה לוחות מוכנים יש עכשיו. */
+    public int available(Difficulty difficulty, Mode mode) {
+        return available(BoardSpec.of(difficulty), mode);
+    }
+
+    public int available(BoardSpec spec, Mode mode) {
+        if (spec.getCellCount() > MAX_POOLED_CELLS) return 0;
+        Slot slot = slots.get(mode).get(spec);
+        return slot == null ? 0 : slot.boards.size();
+    }
+
+    /** מתזמן מילוי של המאגר ברקע (לא חוסם; קריאה כפולה לא מוסיפה עבודה). */
+    public void warmUp(Difficulty difficulty, Mode mode) {
+        warmUp(BoardSpec.of(difficulty), mode);
+    }
+
+    public void warmUp(BoardSpec spec, Mode mode) {
+        if (spec.getCellCount() > MAX_POOLED_CELLS) return;
+        Slot slot = slot(spec, mode);
+        if (!slot.refillPending.compareAndSet(false, true)) return;
+        refill.execute(() -> {
+            try {
+                while (!slot.retired && slot.boards.size() < size) {
+                    slot.boards.add(build(spec, mode, false));
+                }
+            } finally {
+                slot.refillPending.set(false);
+            }
+        });
+    }
+
+    private Slot slot(BoardSpec spec, Mode mode) {
+        Map<BoardSpec, Slot> bySpec = slots.get(mode);
+        if (spec.isStandard()) return bySpec.computeIfAbsent(spec, k -> new Slot());
+
+        synchronized (bySpec) {
+            Slot slot = bySpec.get(spec);
+            if (slot != null) return slot;
+            // גודל מותאם חדש מחליף את הקודם
+            bySpec.entrySet().removeIf(e -> {
+                if (e.getKey().isStandard()) return false;
+                e.getValue().retired = true;
+                e.getValue().boards.clear();
+                return true;
+            });
+            slot = new Slot();
+            bySpec.put(spec, slot);
+            return slot;
+        }
+    }
+
+    /** @param parallel חיפוש על כל הליבות (כשמישהו מחכה); ברקע – thread אחד */
+    private static Board build(BoardSpec spec, Mode mode, boolean parallel) {
+        RandomSource random = new RandomSource();
+        return switch (mode) {
+            case STANDARD -> Board.lazy(spec, random);
+            case NO_GUESS -> NoGuessGenerator.generate(spec, random, parallel);
+        };
+    }
+
+    /**
+     * אותו לוח שהמאגר בנה, לפי ה-seed שלו ({@link Board#getSeed}):
+     * לוח רגיל נבנה ישר מה-seed, ולוח "בלי ניחוש" הוא המועמד שזכה בחיפוש.
+     */
+    static Board rebuild(BoardSpec spec, boolean noGuess, long boardSeed) {
+        return noGuess ? NoGuessGenerator.candidate(spec, boardSeed)
+                       : Board.lazy(spec, new RandomSource(boardSeed));
+    }
+}
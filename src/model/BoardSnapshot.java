@@ -0,0 +1,60 @@
+package model;
+
+/**
+ * תמונת מצב בלתי-משתנה של מה ששחקן רואה על {@link Board} – בלי לחשוף מוקשים נסתרים.
+ * נבנית ע"י {@link Board#snapshot()} (ב-thread של הלוח) ואפשר להעביר אותה
+ * בבטחה ל-thread רקע (למשל ל-{@link BoardSolver}).
+ *
+ * ערך לכל תא (אינדקס r*cols+c):
+ *  - 0..8        תא חשוף שאינו מוקש, עם מספר השכנים-המוקשים שלו
+ *  - {@link #HIDDEN}      תא סגור
+ *  - {@link #MINE}        מוקש חשוף (פגיעה, דגל נכון או בונוס)
+ *  - {@link #SAFE_FLAG}   דגל על תא סגור – בחוקים שלנו דגל על מוקש חושף אותו,
+ *                         אז דגל שנשאר סגור הוא בהכרח לא מוקש
+ */
+public final class BoardSnapshot {
+
+    public static final byte HIDDEN    = -1;
+    public static final byte MINE      = -2;
+    public static final byte SAFE_FLAG = -3;
+
+    private final int rows;
+    private final int cols;
+    private final int totalMines;
+    private final byte[] view;
+
+    BoardSnapshot(int rows, int cols, int totalMines, byte[] view) {
+        this.rows = rows;
+        this.cols = cols;
+        this.totalMines = totalMines;
+        this.view = view;
+    }
+
+    public int getRows()       { return rows; }
+    public int getCols()       { return cols; }
+    public int getCellCount()  { return view.length; }
+    public int getTotalMines() { return totalMines; }
+
+    /** הערך של התא (ראו התיעוד של המחלקה). */
+    public int get(int index) {
+        return view[index];
+    }
+
+    public int get(int row, int col) {
+        return view[row * cols + col];
+    }
+
+    public boolean isHidden(int index) {
+        return view[index] == HIDDEN;
+    }
+
+    /** האם התא חשוף ואינו מוקש (כלומר יש עליו מספר, גם 0). */
+    public boolean isNumber(int index) {
+        return view[index] >= 0;
+    }
+
+    /** השוואה מהירה מול תמונה קודמת של אותו לוח (לעדכון אינקרמנטלי). */
+    boolean sameCell(BoardSnapshot other, int index) {
+        return view[index] == other.view[index];
+    }
+}
@@ -0,0 +1,655 @@
+package model;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * פותר אילוצים ללוח – בשביל רמזים, בוטים ובדיקת לוחות "בלי ניחוש".
+ * עובד רק על {@link BoardSnapshot} (מה ששחקן רואה), ולכן אפשר להריץ אותו ב-thread רקע.
+ *
+ * שלושה שלבים:
+ *  1. הפצה – כל מספר הוא אילוץ "בין השכנים הסגורים יש בדיוק r מוקשים".
+ *     אילוץ בודד: r=0 → כולם בטוחים, r=מספר השכנים → כולם מוקשים.
+ *     זוג אילוצים חופפים: אם ra-rb = |A\B| אז A\B מוקשים ו-B\A בטוחים (כולל מקרה של תת-קבוצה).
+ *     רשימת עבודה – רק מספרים ליד תא שהשתנה נבדקים שוב.
+ *  2. הסתברויות מדויקות – החזית מתפרקת לרכיבים בלתי-תלויים; לכל רכיב סופרים פתרונות
+ *     לפי מספר המוקשים k (backtracking עם תקציב צמתים). רכיב שלא השתנה נלקח מהמטמון.
+ *  3. שילוב גלובלי – משקל של כל k הוא C(R, M-K) עבור R התאים הסגורים שמחוץ לחזית
+ *     (בלוגריתמים, בלי גלישה).
+ *
+ * עדכון אינקרמנטלי: {@link #update} משווה לתמונה הקודמת ומעבד רק את מה שהשתנה.
+ * מופע אחד = לוח אחד; המחלקה אינה thread-safe (אבל התמונות כן).
+ */
+public class BoardSolver {
+
+    /** רכיב רחב מזה לא נספר במדויק אלא מוערך מקומית. */
+    private static final int MAX_EXACT_CELLS = 64;
+
+    /** תקציב צמתי backtracking לרכיב אחד (שומר על זמן קבוע גם בלוחות קשים). */
+    private static final int NODE_BUDGET = 200_000;
+
+    /** מעל גודל חזית כזה מוותרים על שילוב גלובלי (O(רכיבים·חזית²)) ומניחים אי-תלות. */
+    private static final int MAX_GLOBAL_FRONTIER = 2_000;
+
+    private static final byte UNKNOWN = 0;
+    private static final byte SAFE = 1;
+    private static final byte MINE = 2;
+
+    private BoardSnapshot last;
+    private int rows;
+    private int cols;
+    private int n;
+
+    /** מה הוסק על כל תא סגור (UNKNOWN / SAFE / MINE). */
+    private byte[] known;
+
+    private int[] queue;
+    private boolean[] queued;
+    private int head;
+    private int size;
+
+    private double[] logFact;
+
+    /** טבלאות רכיבים מהעדכון הקודם, לפי מפתח (תאים + אילוצים). */
+    private HashMap<ComponentKey, ComponentTable> cache = new HashMap<>();
+
+    // scratch
+    private final int[] ua = new int[8];
+    private final int[] ub = new int[8];
+    private final int[] onlyA = new int[8];
+    private final int[] onlyB = new int[8];
+    private int[] frontierId;
+
+    /** הפצה + הסתברויות מלאות. */
+    public SolverResult update(BoardSnapshot snapshot) {
+        sync(snapshot);
+        propagateAll();
+        return probabilities();
+    }
+
+    /** הפצה בלבד – מהיר יותר, בלי mineProbability (מתאים לבדיקת "אפשר לפתור בלי ניחוש"). */
+    public SolverResult propagate(BoardSnapshot snapshot) {
+        sync(snapshot);
+        propagateAll();
+        int[] safe = collect(SAFE);
+        return new SolverResult(safe, collect(MINE), null, safe.length > 0 ? safe[0] : -1, true);
+    }
+
+    // ---------- סנכרון מול תמונה חדשה ----------
+
+    private void sync(BoardSnapshot s) {
+        if (last == null || s.getRows() != rows || s.getCols() != cols) {
+            reset(s);
+            return;
+        }
+        BoardSnapshot prev = last;
+        last = s;
+        for (int i = 0; i < n; i++) {
+            if (s.sameCell(prev, i)) continue;
+            int was = prev.get(i);
+            int now = s.get(i);
+            boolean wasOpen = was >= 0 || was == BoardSnapshot.MINE;
+            boolean nowOpen = now >= 0 || now == BoardSnapshot.MINE;
+            // תא שנסגר שוב, או מסקנה שהתבררה כשגויה – זה לוח אחר
+            if ((wasOpen && !nowOpen) || (known[i] == MINE && now >= 0) || (known[i] == SAFE && now == BoardSnapshot.MINE)) {
+                reset(s);
+                return;
+            }
+            if (now == BoardSnapshot.SAFE_FLAG) known[i] = SAFE;
+            if (now >= 0) enqueue(i);
+            enqueueAround(i);
+        }
+    }
+
+    private void reset(BoardSnapshot s) {
+        last = s;
+        rows = s.getRows();
+        cols = s.getCols();
+        n = rows * cols;
+        known = new byte[n];
+        queue = new int[n];
+        queued = new boolean[n];
+        frontierId = new int[n];
+        head = 0;
+        size = 0;
+        cache.clear();
+
+        logFact = new double[n + 1];
+        for (int i = 1; i <= n; i++) logFact[i] = logFact[i - 1] + Math.log(i);
+
+        for (int i = 0; i < n; i++) {
+            int v = s.get(i);
+            if (v == BoardSnapshot.SAFE_FLAG) known[i] = SAFE;
+            else if (v > 0) enqueue(i);
+        }
+    }
+
+    private void enqueue(int i) {
+        if (queued[i]) return;
+        queued[i] = true;
+        queue[(head + size++) % n] = i;
+    }
+
+    private int poll() {
+        int i = queue[head];
+        head = (head + 1) % n;
+        size--;
+        queued[i] = false;
+        return i;
+    }
+
+    /** מכניס לתור את כל המספרים השכנים של i. */
+    private void enqueueAround(int i) {
+        int r = i / cols, c = i % cols;
+        for (int nr = Math.max(0, r - 1); nr <= Math.min(rows - 1, r + 1); nr++) {
+            for (int nc = Math.max(0, c - 1); nc <= Math.min(cols - 1, c + 1); nc++) {
+                int j = nr * cols + nc;
+                if (j != i && last.isNumber(j)) enqueue(j);
+            }
+        }
+    }
+
+    // ---------- שלב 1: הפצה ----------
+
+    /**
+     * ממלא את out בשכנים הסגורים שעוד לא הוסקו, ומחזיר (מוקשים-שנותרו << 4) | כמה-שכנים.
+     */
+    private int unknownNeighbours(int a, int[] out) {
+        int r = a / cols, c = a % cols;
+        int count = 0;
+        int mines = 0;
+        for (int nr = Math.max(0, r - 1); nr <= Math.min(rows - 1, r + 1); nr++) {
+            for (int nc = Math.max(0, c - 1); nc <= Math.min(cols - 1, c + 1); nc++) {
+                int j = nr * cols + nc;
+                int v = last.get(j);
+                if (v == BoardSnapshot.MINE || known[j] == MINE) mines++;
+                else if (v == BoardSnapshot.HIDDEN && known[j] == UNKNOWN) out[count++] = j;
+            }
+        }
+        return ((last.get(a) - mines) << 4) | count;
+    }
+
+    private void propagateAll() {
+        while (size > 0) {
+            int a = poll();
+            int pa = unknownNeighbours(a, ua);
+            int ca = pa & 15, ra = pa >> 4;
+            if (ca == 0) continue;
+            if (ra == 0) {
+                mark(ua, ca, SAFE);
+                continue;
+            }
+            if (ra == ca) {
+                mark(ua, ca, MINE);
+                continue;
+            }
+            pairs(a, ca, ra);
+        }
+    }
+
+    /** כלל הזוגות מול כל מספר במרחק 2 שחולק איתו תא סגור. */
+    private void pairs(int a, int ca, int ra) {
+        int r = a / cols, c = a % cols;
+        for (int nr = Math.max(0, r - 2); nr <= Math.min(rows - 1, r + 2); nr++) {
+            for (int nc = Math.max(0, c - 2); nc <= Math.min(cols - 1, c + 2); nc++) {
+                int b = nr * cols + nc;
+                if (b == a || !last.isNumber(b)) continue;
+                int pb = unknownNeighbours(b, ub);
+                int cb = pb & 15, rb = pb >> 4;
+                if (cb == 0) continue;
+
+                int na = 0, nb = 0, common = 0;
+                for (int x = 0; x < ca; x++) {
+                    if (contains(ub, cb, ua[x])) common++;
+                    else onlyA[na++] = ua[x];
+                }
+                if (common == 0) continue;
+                for (int x = 0; x < cb; x++) {
+                    if (!contains(ua, ca, ub[x])) onlyB[nb++] = ub[x];
+                }
+
+                if (ra - rb == na) {
+                    mark(onlyA, na, MINE);
+                    mark(onlyB, nb, SAFE);
+                } else if (rb - ra == nb) {
+                    mark(onlyB, nb, MINE);
+                    mark(onlyA, na, SAFE);
+                } else {
+                    continue;
+                }
+                if (na > 0) {
+                    // הקבוצה של a השתנתה – ממשיכים כשהוא ייצא שוב מהתור
+                    return;
+                }
+            }
+        }
+    }
+
+    private static boolean contains(int[] cells, int count, int cell) {
+        for (int i = 0; i < count; i++) {
+            if (cells[i] == cell) return true;
+        }
+        return false;
+    }
+
+    private void mark(int[] cells, int count, byte state) {
+        for (int i = 0; i < count; i++) {
+            int cell = cells[i];
+            if (known[cell] != UNKNOWN) continue;
+            known[cell] = state;
+            enqueueAround(cell);
+        }
+    }
+
+    private int[] collect(byte state) {
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            if (known[i] == state && last.isHidden(i)) count++;
+        }
+        int[] out = new int[count];
+        count = 0;
+        for (int i = 0; i < n; i++) {
+            if (known[i] == state && last.isHidden(i)) out[count++] = i;
+        }
+        return out;
+    }
+
+    // ---------- שלבים 2-3: הסתברויות ----------
+
+    private SolverResult probabilities() {
+        // אילוצים פעילים וחזית
+        List<int[]> conCells = new ArrayList<>();
+        List<int[]> conMeta = new ArrayList<>();   // {center, remaining}
+        Arrays.fill(frontierId, -1);
+        int frontierSize = 0;
+        int[] frontierCells = new int[16];
+        int knownMines = 0;
+        int interior = 0;
+
+        for (int i = 0; i < n; i++) {
+            int v = last.get(i);
+            if (v == BoardSnapshot.MINE || known[i] == MINE) knownMines++;
+            if (v < 0) continue;
+            int p = unknownNeighbours(i, ua);
+            int count = p & 15;
+            if (count == 0) continue;
+            conCells.add(Arrays.copyOf(ua, count));
+            conMeta.add(new int[]{i, p >> 4});
+            for (int x = 0; x < count; x++) {
+                int cell = ua[x];
+                if (frontierId[cell] >= 0) continue;
+                if (frontierSize == frontierCells.length) frontierCells = Arrays.copyOf(frontierCells, frontierSize * 2);
+                frontierId[cell] = frontierSize;
+                frontierCells[frontierSize++] = cell;
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            if (last.isHidden(i) && known[i] == UNKNOWN && frontierId[i] < 0) interior++;
+        }
+
+        // רכיבים: union-find על תאי החזית
+        int[] parent = new int[frontierSize];
+        for (int i = 0; i < frontierSize; i++) parent[i] = i;
+        for (int[] cells : conCells) {
+            int root = find(parent, frontierId[cells[0]]);
+            for (int x = 1; x < cells.length; x++) {
+                int other = find(parent, frontierId[cells[x]]);
+                if (other != root) parent[other] = root;
+            }
+        }
+
+        HashMap<Integer, List<Integer>> compCons = new HashMap<>();
+        for (int k = 0; k < conCells.size(); k++) {
+            int root = find(parent, frontierId[conCells.get(k)[0]]);
+            compCons.computeIfAbsent(root, x -> new ArrayList<>()).add(k);
+        }
+        HashMap<Integer, List<Integer>> compCells = new HashMap<>();
+        for (int f = 0; f < frontierSize; f++) {
+            compCells.computeIfAbsent(find(parent, f), x -> new ArrayList<>()).add(frontierCells[f]);
+        }
+
+        // טבלה לכל רכיב (מהמטמון אם לא השתנה)
+        HashMap<ComponentKey, ComponentTable> nextCache = new HashMap<>();
+        List<ComponentTable> tables = new ArrayList<>();
+        boolean exact = true;
+        for (var entry : compCells.entrySet()) {
+            int[] cells = entry.getValue().stream().mapToInt(Integer::intValue).toArray();
+            Arrays.sort(cells);
+            List<Integer> cons = compCons.get(entry.getKey());
+            int[][] local = new int[cons.size()][];
+            int[] rem = new int[cons.size()];
+            int[] keyData = new int[cells.length + 2 * cons.size()];
+            System.arraycopy(cells, 0, keyData, 0, cells.length);
+            for (int k = 0; k < cons.size(); k++) {
+                int[] global = conCells.get(cons.get(k));
+                local[k] = new int[global.length];
+                for (int x = 0; x < global.length; x++) local[k][x] = Arrays.binarySearch(cells, global[x]);
+                rem[k] = conMeta.get(cons.get(k))[1];
+                keyData[cells.length + 2 * k] = conMeta.get(cons.get(k))[0];
+                keyData[cells.length + 2 * k + 1] = rem[k];
+            }
+            ComponentKey key = new ComponentKey(keyData);
+            ComponentTable table = cache.get(key);
+            if (table == null) table = ComponentTable.build(cells, local, rem);
+            nextCache.put(key, table);
+            tables.add(table);
+            exact &= table.exact;
+        }
+        cache = nextCache;
+
+        double[] prob = new double[n];
+        int minesLeft = last.getTotalMines() - knownMines;
+
+        // רכיבים מוערכים (רחבים מדי) יוצאים מהשילוב ותורמים את התוחלת שלהם
+        List<ComponentTable> exactTables = new ArrayList<>();
+        double approxMines = 0;
+        for (ComponentTable t : tables) {
+            if (t.exact) {
+                exactTables.add(t);
+            } else {
+                for (int x = 0; x < t.cells.length; x++) {
+                    prob[t.cells[x]] = t.approx[x];
+                    approxMines += t.approx[x];
+                }
+            }
+        }
+        int m = minesLeft - (int) Math.round(approxMines);
+
+        double interiorP = combine(exactTables, frontierSize, interior, m, prob);
+        if (frontierSize > MAX_GLOBAL_FRONTIER || Double.isNaN(interiorP)) exact = false;
+        if (Double.isNaN(interiorP)) {
+            double expected = 0;
+            for (ComponentTable t : exactTables) {
+                for (int cell : t.cells) expected += prob[cell];
+            }
+            interiorP = interior == 0 ? 0 : Math.min(1, Math.max(0, (m - expected) / interior));
+        }
+
+        // הרכבת התוצאה; הסתברות 0/1 מדויקת היא מסקנה ודאית
+        double best = Double.MAX_VALUE;
+        int bestCell = -1;
+        for (int i = 0; i < n; i++) {
+            int v = last.get(i);
+            if (v == BoardSnapshot.MINE) {
+                prob[i] = 1;
+                continue;
+            }
+            if (v != BoardSnapshot.HIDDEN) {
+                prob[i] = 0;
+                continue;
+            }
+            if (known[i] == SAFE) prob[i] = 0;
+            else if (known[i] == MINE) prob[i] = 1;
+            else if (frontierId[i] < 0) prob[i] = interiorP;
+
+            if (known[i] == UNKNOWN && exact) {
+                if (prob[i] == 0) known[i] = SAFE;
+                else if (prob[i] == 1) known[i] = MINE;
+                if (known[i] != UNKNOWN) enqueueAround(i);
+            }
+            if (prob[i] < best) {
+                best = prob[i];
+                bestCell = i;
+            }
+        }
+        return new SolverResult(collect(SAFE), collect(MINE), prob, bestCell, exact);
+    }
+
+    /**
+     * משלב את הרכיבים המדויקים עם המשקל C(R, M-K) וממלא את prob לתאי החזית.
+     * מחזיר את הסתברות התאים הפנימיים, או NaN אם אין שילוב עקבי (ואז prob מקומי בלבד).
+     */
+    private double combine(List<ComponentTable> tables, int frontierSize, int interior, int m, double[] prob) {
+        int c = tables.size();
+        if (frontierSize > MAX_GLOBAL_FRONTIER) {
+            for (ComponentTable t : tables) t.localProbabilities(prob);
+            return Double.NaN;
+        }
+
+        // מכפלות קידומת/סיומת של פולינומי הספירה
+        double[][] pre = new double[c + 1][];
+        double[][] suf = new double[c + 1][];
+        pre[0] = new double[]{1};
+        suf[c] = new double[]{1};
+        for (int i = 0; i < c; i++) pre[i + 1] = convolve(pre[i], tables.get(i).counts);
+        for (int i = c - 1; i >= 0; i--) suf[i] = convolve(tables.get(i).counts, suf[i + 1]);
+        double[] total = pre[c];
+
+        // משקל לכל K – בלוגריתמים, מנורמל למקסימום
+        double[] w = new double[total.length];
+        double maxLog = Double.NEGATIVE_INFINITY;
+        for (int k = 0; k < total.length; k++) {
+            int rest = m - k;
+            if (rest < 0 || rest > interior) {
+                w[k] = Double.NEGATIVE_INFINITY;
+                continue;
+            }
+            w[k] = logFact[interior] - logFact[rest] - logFact[interior - rest];
+            if (total[k] > 0) maxLog = Math.max(maxLog, w[k]);
+        }
+        double z = 0;
+        double interiorMines = 0;
+        for (int k = 0; k < total.length; k++) {
+            w[k] = maxLog == Double.NEGATIVE_INFINITY ? 0 : Math.exp(w[k] - maxLog);
+            z += total[k] * w[k];
+            interiorMines += total[k] * w[k] * (m - k);
+        }
+        if (!(z > 0)) {
+            for (ComponentTable t : tables) t.localProbabilities(prob);
+            return Double.NaN;
+        }
+
+        for (int i = 0; i < c; i++) {
+            ComponentTable t = tables.get(i);
+            double[] others = convolve(pre[i], suf[i + 1]);
+            int s = t.cells.length;
+            double[] wo = new double[s + 1];
+            for (int k = 0; k <= s; k++) {
+                double sum = 0;
+                for (int j = 0; j < others.length && k + j < w.length; j++) sum += others[j] * w[k + j];
+                wo[k] = sum;
+            }
+            for (int x = 0; x < s; x++) {
+                double num = 0;
+                boolean always = true;
+                for (int k = 0; k <= s; k++) {
+                    double cc = t.cellCounts[x * (s + 1) + k];
+                    num += cc * wo[k];
+                    if (wo[k] > 0 && t.counts[k] > 0 && cc != t.counts[k]) always = false;
+                }
+                prob[t.cells[x]] = num == 0 ? 0 : always ? 1 : Math.min(1, num / z);
+            }
+        }
+        return interior == 0 ? 0 : interiorMines / z / interior;
+    }
+
+    private static double[] convolve(double[] a, double[] b) {
+        double[] out = new double[a.length + b.length - 1];
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] == 0) continue;
+            for (int j = 0; j < b.length; j++) out[i + j] += a[i] * b[j];
+        }
+        return out;
+    }
+
+    private static int find(int[] parent, int x) {
+        while (parent[x] != x) {
+            parent[x] = parent[parent[x]];
+            x = parent[x];
+        }
+        return x;
+    }
+
+    // ---------- רכיב חזית ----------
+
+    /** מפתח מטמון: תאי הרכיב + (מרכז, מוקשים-שנותרו) של כל אילוץ. */
+    private static final class ComponentKey {
+        private final int[] data;
+        private final int hash;
+
+        ComponentKey(int[] data) {
+            this.data = data;
+            this.hash = Arrays.hashCode(data);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof ComponentKey k && k.hash == hash && Arrays.equals(k.data, data);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * ספירת פתרונות של רכיב אחד:
+     * counts[k] – כמה השמות חוקיות עם k מוקשים,
+     * cellCounts[x*(s+1)+k] – בכמה מהן התא x הוא מוקש.
+     * הטבלאות מנורמלות למקסימום 1 (רק היחסים חשובים).
+     */
+    private static final class ComponentTable {
+        final int[] cells;
+        final boolean exact;
+        final double[] counts;
+        final double[] cellCounts;
+        final double[] approx;   // רק כש-exact == false
+
+        private ComponentTable(int[] cells, double[] counts, double[] cellCounts, double[] approx) {
+            this.cells = cells;
+            this.exact = approx == null;
+            this.counts = counts;
+            this.cellCounts = cellCounts;
+            this.approx = approx;
+        }
+
+        static ComponentTable build(int[] cells, int[][] cons, int[] rem) {
+            if (cells.length <= MAX_EXACT_CELLS) {
+                Enumeration e = new Enumeration(cells.length, cons, rem);
+                if (e.run()) {
+                    double max = 0;
+                    for (double v : e.counts) max = Math.max(max, v);
+                    if (max > 0) {
+                        for (int k = 0; k < e.counts.length; k++) e.counts[k] /= max;
+                        for (int k = 0; k < e.cellCounts.length; k++) e.cellCounts[k] /= max;
+                    }
+                    return new ComponentTable(cells, e.counts, e.cellCounts, null);
+                }
+            }
+            // הערכה מקומית: המקסימום של r/שכנים מכל אילוץ שהתא בו
+            double[] approx = new double[cells.length];
+            for (int k = 0; k < cons.length; k++) {
+                double p = (double) rem[k] / cons[k].length;
+                for (int x : cons[k]) approx[x] = Math.max(approx[x], p);
+            }
+            return new ComponentTable(cells, null, null, approx);
+        }
+
+        /** הסתברות לכל תא בלי משקל גלובלי (כשאין שילוב עקבי). */
+        void localProbabilities(double[] prob) {
+            int s = cells.length;
+            double total = 0;
+            for (double v : counts) total += v;
+            for (int x = 0; x < s; x++) {
+                double num = 0;
+                for (int k = 0; k <= s; k++) num += cellCounts[x * (s + 1) + k];
+                prob[cells[x]] = total > 0 ? num / total : 0.5;
+            }
+        }
+    }
+
+    /** backtracking על תאי רכיב בסדר BFS, עם גיזום לפי כל אילוץ ותקציב צמתים. */
+    private static final class Enumeration {
+        final int s;
+        final int[][] cons;
+        final int[] rem;
+        final int[][] cellCons;
+        final int[] order;
+        final int[] conMines;
+        final int[] conLeft;
+        final boolean[] mine;
+        final double[] counts;
+        final double[] cellCounts;
+        int nodes;
+
+        Enumeration(int s, int[][] cons, int[] rem) {
+            this.s = s;
+            this.cons = cons;
+            this.rem = rem;
+            this.conMines = new int[cons.length];
+            this.conLeft = new int[cons.length];
+            this.mine = new boolean[s];
+            this.counts = new double[s + 1];
+            this.cellCounts = new double[s * (s + 1)];
+
+            int[] degree = new int[s];
+            for (int[] con : cons) {
+                for (int x : con) degree[x]++;
+            }
+            cellCons = new int[s][];
+            for (int x = 0; x < s; x++) cellCons[x] = new int[degree[x]];
+            for (int k = 0; k < cons.length; k++) {
+                conLeft[k] = cons[k].length;
+                for (int x : cons[k]) cellCons[x][--degree[x]] = k;
+            }
+
+            // סדר BFS – תאים סמוכים ברצף, כדי שאילוצים ייסגרו מוקדם ויגזמו
+            order = new int[s];
+            boolean[] seen = new boolean[s];
+            ArrayDeque<Integer> bfs = new ArrayDeque<>();
+            int o = 0;
+            seen[0] = true;
+            bfs.add(0);
+            while (!bfs.isEmpty()) {
+                int x = bfs.poll();
+                order[o++] = x;
+                for (int k : cellCons[x]) {
+                    for (int y : cons[k]) {
+                        if (!seen[y]) {
+                            seen[y] = true;
+                            bfs.add(y);
+                        }
+                    }
+                }
+            }
+        }
+
+        /** false אם נגמר התקציב. */
+        boolean run() {
+            return search(0, 0);
+        }
+
+        private boolean search(int depth, int mines) {
+            if (++nodes > NODE_BUDGET) return false;
+            if (depth == s) {
+                counts[mines]++;
+                for (int x = 0; x < s; x++) {
+                    if (mine[x]) cellCounts[x * (s + 1) + mines]++;
+                }
+                return true;
+            }
+            int x = order[depth];
+            for (int v = 0; v <= 1; v++) {
+                boolean ok = true;
+                for (int k : cellCons[x]) {
+                    conLeft[k]--;
+                    conMines[k] += v;
+                    if (conMines[k] > rem[k] || conMines[k] + conLeft[k] < rem[k]) ok = false;
+                }
+                mine[x] = v == 1;
+                boolean finished = !ok || search(depth + 1, mines + v);
+                for (int k : cellCons[x]) {
+                    conLeft[k]++;
+                    conMines[k] -= v;
+                }
+                mine[x] = false;
+                if (!finished) return false;
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package model;
+
+/**
+ * הגדרה מלאה של לוח ומשחק: גודל, מוקשים, משבצות מיוחדות, חיים ומחירים.
+ * שלוש רמות הקושי הן הגדרות מוכנות ({@link #of}); לוח מותאם אישית ({@link #custom})
+ * לוקח חיים, מחירים וטבלאות ניקוד מרמת קושי שנבחרה ("tier"),
+ * ואת מספר השאלות/ההפתעות – באותו יחס לשטח הלוח.
+ *
+ * בלתי-משתנה, עם equals/hashCode (מפתח ב-{@link BoardPool}).
+ */
+public final class BoardSpec {
+
+    /** הצלע הגדולה ביותר שנתמכת (לוחות מרתון). */
+    public static final int MAX_SIDE = 2000;
+
+    private final int rows;
+    private final int cols;
+    private final int mines;
+    private final int questionCount;
+    private final int surpriseCount;
+    private final int initialLives;
+    private final int powerCost;       // מחיר הפעלת שאלה/הפתעה
+    private final int surprisePoints;  // כמה נקודות הפתעה טובה/רעה נותנת (+/-)
+    private final Difficulty tier;     // טבלת השאלות וטבלאות הניקוד
+
+    public BoardSpec(int rows, int cols, int mines,
+                     int questionCount, int surpriseCount,
+                     int initialLives, int powerCost, int surprisePoints,
+                     Difficulty tier) {
+        if (rows <= 0 || cols <= 0 || rows > MAX_SIDE || cols > MAX_SIDE) {
+            throw new IllegalArgumentException("Invalid board size: " + rows + "x" + cols);
+        }
+        int cells = rows * cols;
+        if (mines < 0 || mines > cells) {
+            throw new IllegalArgumentException("Invalid mine count: " + mines);
+        }
+        if (questionCount < 0 || surpriseCount < 0 || questionCount + surpriseCount > cells - mines) {
+            throw new IllegalArgumentException("Too many special cells: " + questionCount + "+" + surpriseCount);
+        }
+        if (tier == null) {
+            throw new IllegalArgumentException("Tier is required");
+        }
+        this.rows = rows;
+        this.cols = cols;
+        this.mines = mines;
+        this.questionCount = questionCount;
+        this.surpriseCount = surpriseCount;
+        this.initialLives = initialLives;
+        this.powerCost = powerCost;
+        this.surprisePoints = surprisePoints;
+        this.tier = tier;
+    }
+
+    /** ההגדרה של רמת קושי קיימת. */
+    public static BoardSpec of(Difficulty d) {
+        return new BoardSpec(d.getRows(), d.getCols(), d.getMines(),
+                d.getQuestionCount(), d.getSurpriseCount(),
+                d.getInitialLives(), d.getPowerCost(), d.getSurprisePoints(), d);
+    }
+
+    /**
+     * לוח בגודל חופשי: חיים ומחירים מ-tier, שאלות/הפתעות ביחס לשטח
+     * (לפחות אחת מכל סוג אם יש מקום), ואף פעם לא יותר מהתאים הפנויים.
+     */
+    public static BoardSpec custom(int rows, int cols, int mines, Difficulty tier) {
+        double scale = (double) rows * cols / (tier.getRows() * tier.getCols());
+        int free = Math.max(0, rows * cols - mines);
+        int questions = Math.min(free, Math.max(1, (int) Math.round(tier.getQuestionCount() * scale)));
+        int surprises = Math.min(free - questions, Math.max(1, (int) Math.round(tier.getSurpriseCount() * scale)));
+        return new BoardSpec(rows, cols, mines, questions, Math.max(0, surprises),
+                tier.getInitialLives(), tier.getPowerCost(), tier.getSurprisePoints(), tier);
+    }
+
+    public int getRows()           { return rows; }
+    public int getCols()           { return cols; }
+    public int getMines()          { return mines; }
+    public int getQuestionCount()  { return questionCount; }
+    public int getSurpriseCount()  { return surpriseCount; }
+    public int getInitialLives()   { return initialLives; }
+    public int getPowerCost()      { return powerCost; }
+    public int getSurprisePoints() { return surprisePoints; }
+    public Difficulty getTier()    { return tier; }
+    public int getCellCount()      { return rows * cols; }
+
+    /** האם זו בדיוק אחת מרמות הקושי הקיימות. */
+    public boolean isStandard() {
+        return equals(of(tier));
+    }
+
+    /** שם לתצוגה ולהיסטוריה: "HARD", או "CUSTOM 100x200" ללוח מותאם. */
+    public String getName() {
+        return isStandard() ? tier.name() : "CUSTOM " + rows + "x" + cols;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof BoardSpec s)) return false;
+        return rows == s.rows && cols == s.cols && mines == s.mines
+                && questionCount == s.questionCount && surpriseCount == s.surpriseCount
+                && initialLives == s.initialLives && powerCost == s.powerCost
+                && surprisePoints == s.surprisePoints && tier == s.tier;
+    }
+
+    @Override
+    public int hashCode() {
+        int h = rows;
+        h = 31 * h + cols;
+        h = 31 * h + mines;
+        h = 31 * h + questionCount;
+        h = 31 * h + surpriseCount;
+        h = 31 * h + initialLives;
+        h = 31 * h + powerCost;
+        h = 31 * h + surprisePoints;
+        return 31 * h + tier.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return getName() + " (" + rows + "x" + cols + ", " + mines + " mines)";
+    }
+}
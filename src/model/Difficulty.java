@@ -38,4 +38,22 @@ public enum Difficulty {
     public int getInitialLives()  { return initialLives; }
     public int getPowerCost()     { return powerCost; }
     public int getSurprisePoints(){ return surprisePoints; }
+
+    /**
+     * משקל רמת שאלה בהגרלה במשחק ברמה הזו (יחסי, לא אחוזים):
+     * משחק קל מגריל בעיקר שאלות קלות, משחק קשה – בעיקר קשות ומומחה.
+     */
+    public int getQuestionWeight(QuestionLevel level) {
+        return switch (this) {
+            case EASY -> switch (level) {
+                case EASY -> 50; case MEDIUM -> 30; case HARD -> 15; case EXPERT -> 5;
+            };
+            case MEDIUM -> switch (level) {
+                case EASY -> 25; case MEDIUM -> 35; case HARD -> 25; case EXPERT -> 15;
+            };
+            case HARD -> switch (level) {
+                case EASY -> 10; case MEDIUM -> 25; case HARD -> 35; case EXPERT -> 30;
+            };
+        };
+    }
 }
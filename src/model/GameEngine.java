@@ -0,0 +1,517 @@
+package model;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.function.Supplier;
+
+/**
+ * מנוע המשחק – בלי Swing, בלי טיימרים ובלי צלילים.
+ * מחזיק את שני הלוחות, את ה-GameSession ואת מצב התור,
+ * וחושף פקודות "טהורות" שמחזירות אובייקט תוצאה:
+ *  - {@link #reveal} / {@link #flag}            → {@link MoveResult}
+ *  - {@link #activateSpecial} / {@link #answerQuestion} → {@link SpecialResult}
+ *
+ * הבקר של ה-GUI הוא רק מתאם: מעביר קליקים למנוע ומציג את התוצאה.
+ * אפשר להריץ את המנוע גם בלי מסך (סימולציה, בדיקות, שרת) במהירות מלאה.
+ *
+ * אחרי {@link #startLog} כל פקודה נרשמת ל-{@link MoveLog}, וממנו {@link Replay} משחזר את המשחק.
+ */
+public class GameEngine {
+
+    public enum Status {
+        PLAYING,
+        WON,    // כל המוקשים באחד הלוחות נחשפו
+        LOST    // נגמרו החיים המשותפים
+    }
+
+    private final Board board1;
+    private final Board board2;
+    private final GameSession session;
+    private final Supplier<Question> questionSource;
+    private final RandomSource random;
+
+    private boolean player1Turn = true;
+    private Status status = Status.PLAYING;
+
+    // איך נבנו הלוחות (לכותרת של יומן המהלכים)
+    private boolean noGuessBoards;
+    private boolean pooledBoards;
+    private MoveLog.Writer log;
+
+    // פתיחה בשלבים (לאנימציה) – ראו beginReveal
+    private Board pendingRevealBoard;
+    private int[] pendingRevealOrder;
+    private int revealMinesBefore, revealScoreBefore, revealLivesBefore;
+
+    // שאלה ששולמה ומחכה לתשובה – ראו answerQuestion
+    private Board questionBoard;
+    private int questionRow, questionCol;
+    private Question pendingQuestion;
+    private int payScoreDelta, payLivesDelta;
+    private int scoreAfterPay, livesAfterPay;
+    private int questionDraw;   // מה ההפעלה האחרונה שלפה מהמאגר (MoveLog.DRAW_*)
+
+    public GameEngine(Board board1, Board board2, GameSession session) {
+        this(board1, board2, session, new RandomSource());
+    }
+
+    /** שאלות מ-QuestionBank לפי רמת המשחק, מוגרלות מזרם משלהן (split של random). */
+    public GameEngine(Board board1, Board board2, GameSession session, RandomSource random) {
+        this(board1, board2, session, questionsFrom(session, random.split()), random.split());
+    }
+
+    public GameEngine(Board board1, Board board2, GameSession session,
+                      Supplier<Question> questionSource, RandomSource random) {
+        this.board1 = board1;
+        this.board2 = board2;
+        this.session = session;
+        this.questionSource = questionSource;
+        this.random = random;
+    }
+
+    /**
+     * משחק חדש מ-seed אחד: שני הלוחות, הסשן, המנוע והשאלות מקבלים
+     * כל אחד split משלו של root – אותו seed + אותם מהלכים = אותו משחק בדיוק.
+     * הלוחות עצלים ({@link Board#lazy}): החשיפה הראשונה בכל לוח תמיד בטוחה.
+     */
+    public static GameEngine newGame(Difficulty difficulty, RandomSource root) {
+        return newGame(BoardSpec.of(difficulty), root);
+    }
+
+    public static GameEngine newGame(BoardSpec spec, RandomSource root) {
+        Board board1 = Board.lazy(spec, root.split());
+        Board board2 = Board.lazy(spec, root.split());
+        GameSession session = new GameSession(spec, root.split());
+        return new GameEngine(board1, board2, session, root.split());
+    }
+
+    /**
+     * כמו {@link #newGame}, אבל עם לוחות "בלי ניחוש" ({@link NoGuessGenerator})
+     * שתא ההתחלה שלהם כבר פתוח.
+     */
+    public static GameEngine newNoGuessGame(Difficulty difficulty, RandomSource root) {
+        return newNoGuessGame(BoardSpec.of(difficulty), root);
+    }
+
+    public static GameEngine newNoGuessGame(BoardSpec spec, RandomSource root) {
+        Board board1 = NoGuessGenerator.generate(spec, root.split());
+        Board board2 = NoGuessGenerator.generate(spec, root.split());
+        GameEngine engine = fromBoards(board1, board2, spec, root);
+        engine.noGuessBoards = true;
+        return engine;
+    }
+
+    /**
+     * משחק על לוחות מוכנים (למשל מ-{@link BoardPool}).
+     * תאי התחלה של לוחות "בלי ניחוש" נפתחים בחינם.
+     */
+    public static GameEngine withBoards(Board board1, Board board2, Difficulty difficulty, RandomSource root) {
+        return withBoards(board1, board2, BoardSpec.of(difficulty), root);
+    }
+
+    public static GameEngine withBoards(Board board1, Board board2, BoardSpec spec, RandomSource root) {
+        GameEngine engine = fromBoards(board1, board2, spec, root);
+        engine.noGuessBoards = board1.getStartCell() >= 0;
+        engine.pooledBoards = true;
+        return engine;
+    }
+
+    private static GameEngine fromBoards(Board board1, Board board2, BoardSpec spec, RandomSource root) {
+        board1.openStartCell();
+        board2.openStartCell();
+        GameSession session = new GameSession(spec, root.split());
+        return new GameEngine(board1, board2, session, root.split());
+    }
+
+    /**
+     * אותו משחק כמו זה שכתב את היומן, לפי הכותרת שלו: אותם לוחות, אותו סשן ואותו זרם הפתעות.
+     * השאלות מגיעות מ-{@code questions} (מהיומן) במקום מ-QuestionBank, שאולי השתנה מאז.
+     */
+    static GameEngine rebuild(MoveLog.Header h, Supplier<Question> questions) {
+        RandomSource root = new RandomSource(h.seed);
+        BoardSpec spec = h.spec;
+        Board board1, board2;
+        if (h.pooled) {
+            board1 = BoardPool.rebuild(spec, h.noGuess, h.boardSeed1);
+            board2 = BoardPool.rebuild(spec, h.noGuess, h.boardSeed2);
+        } else if (h.noGuess) {
+            board1 = NoGuessGenerator.generate(spec, root.split());
+            board2 = NoGuessGenerator.generate(spec, root.split());
+        } else {
+            board1 = Board.lazy(spec, root.split());
+            board2 = Board.lazy(spec, root.split());
+        }
+        board1.openStartCell();
+        board2.openStartCell();
+        GameSession session = new GameSession(spec, root.split());
+
+        // כמו GameEngine(board1, board2, session, random): קודם זרם השאלות, אחריו זרם המנוע
+        RandomSource random = root.split();
+        random.split();
+        GameEngine engine = new GameEngine(board1, board2, session, questions, random.split());
+        engine.noGuessBoards = h.noGuess;
+        engine.pooledBoards = h.pooled;
+        return engine;
+    }
+
+    private static Supplier<Question> questionsFrom(GameSession session, RandomSource rs) {
+        return QuestionBank.getInstance().newSampler(session.getSpec().getTier(), rs);
+    }
+
+    // ---------- getters ----------
+
+    public Board getBoard1() { return board1; }
+    public Board getBoard2() { return board2; }
+    public Board getBoard(boolean firstBoard) { return firstBoard ? board1 : board2; }
+    public GameSession getSession() { return session; }
+    public boolean isPlayer1Turn() { return player1Turn; }
+    public Status getStatus() { return status; }
+    public boolean isOver() { return status != Status.PLAYING; }
+
+    /** ה-seed של המשחק (ראו {@link #newGame}). */
+    public long getSeed() { return random.getSeed(); }
+
+    /** שאלה ששולמה ועוד לא נענתה, או null. */
+    public Question getPendingQuestion() { return pendingQuestion; }
+
+    /** האם מהלך על הלוח הזה יתקבל עכשיו (התור שלו, המשחק נמשך ואין מהלך באמצע). */
+    public boolean canMove(boolean firstBoard) {
+        return boardForMove(firstBoard) != null;
+    }
+
+    // ---------- יומן מהלכים ----------
+
+    /** הכותרת של יומן המהלכים: ה-seeds וההגדרה שמהם אפשר לבנות את המשחק שוב. */
+    public MoveLog.Header logHeader(String players) {
+        return new MoveLog.Header(session.getSpec(), noGuessBoards, random.getSeed(),
+                pooledBoards, board1.getSeed(), board2.getSeed(),
+                players, System.currentTimeMillis());
+    }
+
+    /** מתחיל לרשום כל פקודה לקובץ. שגיאת כתיבה רק מכבה את הרישום – המשחק ממשיך. */
+    public void startLog(Path file, String players) {
+        closeLog();
+        try {
+            log = new MoveLog.Writer(file, logHeader(players));
+        } catch (IOException e) {
+            System.err.println("Move log disabled: " + e.getMessage());
+        }
+    }
+
+    /** השהיה/המשך – לא משנה את המשחק, רק נרשם ביומן (לציר הזמן). */
+    public void logPause(boolean paused) {
+        record(w -> w.pause(paused));
+    }
+
+    /** סוף משחק: הניקוד הסופי והתאריך שנכתב ל-history.csv, וסגירת היומן. */
+    public void endLog(String historyDate) {
+        record(w -> w.end(session.getScore(), historyDate));
+        closeLog();
+    }
+
+    /** סגירה בלי רשומת END (משחק שננטש). */
+    public void closeLog() {
+        if (log == null) return;
+        try {
+            log.close();
+        } catch (IOException e) {
+            System.err.println("Error closing move log: " + e.getMessage());
+        }
+        log = null;
+    }
+
+    private interface LogWrite {
+        void write(MoveLog.Writer writer) throws IOException;
+    }
+
+    private void record(LogWrite write) {
+        if (log == null) return;
+        try {
+            write.write(log);
+        } catch (IOException e) {
+            System.err.println("Move log disabled: " + e.getMessage());
+            closeLog();
+        }
+    }
+
+    // ---------- פתיחת תא ----------
+
+    /**
+     * פתיחה רגילה של תא (כולל קסקדה) ב-לוח של השחקן שבתור.
+     * תא שכבר פתוח או מסומן בדגל – המהלך נדחה ולא מבזבז תור.
+     */
+    public MoveResult reveal(boolean firstBoard, int row, int col) {
+        record(w -> w.reveal(firstBoard, row, col));
+        Board board = boardForMove(firstBoard);
+        if (board == null || !canReveal(board, row, col)) return rejectedMove();
+
+        snapshotReveal(board);
+        board.openCell(row, col, session);
+        return completeReveal();
+    }
+
+    /**
+     * תחילת פתיחה בשלבים (לאנימציה): מחזיר את סדר הפתיחה
+     * (אינדקסים, ראו {@link Board#rowOf}/{@link Board#colOf}) בלי לשנות את הלוח,
+     * או null אם המהלך לא חוקי.
+     * אחרי זה: {@link #revealStep} לכל תא לפי הסדר, ואז {@link #finishReveal}.
+     */
+    public int[] beginReveal(boolean firstBoard, int row, int col) {
+        record(w -> w.reveal(firstBoard, row, col));
+        Board board = boardForMove(firstBoard);
+        if (board == null || !canReveal(board, row, col)) return null;
+
+        snapshotReveal(board);
+        pendingRevealOrder = board.computeCascadeOrder(row, col);
+        return pendingRevealOrder;
+    }
+
+    /** פתיחת תא אחד מתוך הסדר שהחזיר beginReveal. */
+    public void revealStep(int cellIndex) {
+        if (pendingRevealBoard == null) {
+            throw new IllegalStateException("No reveal in progress");
+        }
+        Board b = pendingRevealBoard;
+        b.revealSingleCell(b.rowOf(cellIndex), b.colOf(cellIndex), session);
+    }
+
+    /** סוף הפתיחה בשלבים: מסיים תור ומחזיר את התוצאה הכוללת. */
+    public MoveResult finishReveal() {
+        if (pendingRevealBoard == null) {
+            throw new IllegalStateException("No reveal in progress");
+        }
+        return completeReveal();
+    }
+
+    private boolean canReveal(Board board, int row, int col) {
+        if (row < 0 || col < 0 || row >= board.getRows() || col >= board.getCols()) return false;
+        Cell cell = board.getCell(row, col);
+        return !cell.isRevealed() && !cell.isFlagged();
+    }
+
+    private void snapshotReveal(Board board) {
+        pendingRevealBoard = board;
+        revealMinesBefore = revealedMines();
+        revealScoreBefore = session.getScore();
+        revealLivesBefore = session.getLives();
+    }
+
+    private MoveResult completeReveal() {
+        pendingRevealBoard = null;
+        pendingRevealOrder = null;
+
+        int minesRevealed = revealedMines() - revealMinesBefore;
+        int scoreDelta = session.getScore() - revealScoreBefore;
+        int livesDelta = session.getLives() - revealLivesBefore;
+        // כל תא בטוח = נקודה אחת, כל מוקש = מוקש אחד
+        int cells = scoreDelta + minesRevealed;
+
+        endTurn();
+        return new MoveResult(MoveResult.Kind.REVEALED, cells, minesRevealed,
+                scoreDelta, livesDelta, true, status);
+    }
+
+    // ---------- דגל ----------
+
+    /**
+     * סימון / ביטול דגל (לפי Board.toggleFlag).
+     * ביטול דגל, או דגל שחשף מוקש – לא מסיימים את התור.
+     */
+    public MoveResult flag(boolean firstBoard, int row, int col) {
+        record(w -> w.flag(firstBoard, row, col));
+        Board board = boardForMove(firstBoard);
+        if (board == null) return rejectedMove();
+        if (row < 0 || col < 0 || row >= board.getRows() || col >= board.getCols()) return rejectedMove();
+        // לוח עצל: המוקשים מפוזרים רק בחשיפה הראשונה (כדי שהיא תהיה בטוחה) – עד אז אין על מה לשים דגל
+        if (!board.isMaterialized()) return rejectedMove();
+
+        Cell cell = board.getCell(row, col);
+        if (cell.isRevealed() || cell.isPowerUsed()) return rejectedMove();
+
+        boolean wasFlagged = cell.isFlagged();
+        int minesBefore = revealedMines();
+        int scoreBefore = session.getScore();
+        int livesBefore = session.getLives();
+
+        board.toggleFlag(row, col, session);
+
+        int minesRevealed = revealedMines() - minesBefore;
+        int scoreDelta = session.getScore() - scoreBefore;
+        int livesDelta = session.getLives() - livesBefore;
+
+        if (wasFlagged && !cell.isFlagged()) {
+            return new MoveResult(MoveResult.Kind.FLAG_REMOVED, 0, 0,
+                    scoreDelta, livesDelta, false, status);
+        }
+
+        boolean turnEnded = false;
+        if (minesRevealed > 0) {
+            updateStatus(); // מוקש בדגל = תור נוסף, אבל אולי זה היה המוקש האחרון
+        } else {
+            endTurn();
+            turnEnded = true;
+        }
+        return new MoveResult(MoveResult.Kind.FLAG_PLACED, minesRevealed, minesRevealed,
+                scoreDelta, livesDelta, turnEnded, status);
+    }
+
+    // ---------- שאלה / הפתעה ----------
+
+    /**
+     * הפעלת משבצת שאלה/הפתעה חשופה.
+     *  - הפתעה: משלמים, מגרילים טוב/רע, מסמנים USED ומסיימים תור.
+     *  - שאלה: משלמים ומחזירים QUESTION_PENDING עם השאלה;
+     *    התור נגמר רק ב-{@link #answerQuestion}.
+     */
+    public SpecialResult activateSpecial(boolean firstBoard, int row, int col) {
+        questionDraw = MoveLog.DRAW_NONE;
+        SpecialResult res = activate(firstBoard, row, col);
+        int draw = questionDraw;
+        record(w -> w.activate(firstBoard, row, col, draw));
+        return res;
+    }
+
+    private SpecialResult activate(boolean firstBoard, int row, int col) {
+        Board board = boardForMove(firstBoard);
+        if (board == null
+                || row < 0 || col < 0 || row >= board.getRows() || col >= board.getCols()
+                || !board.canActivateSpecial(row, col)) {
+            return SpecialResult.refused(SpecialResult.Kind.REJECTED, status);
+        }
+
+        if (!session.canPayForPower()) {
+            return SpecialResult.refused(SpecialResult.Kind.NOT_ENOUGH_POINTS, status);
+        }
+
+        CellType type = board.getCell(row, col).getType();
+
+        // מגרילים את השאלה לפני התשלום – מאגר ריק לא עולה נקודות
+        Question q = null;
+        if (type == CellType.QUESTION) {
+            q = questionSource.get();
+            questionDraw = (q == null) ? MoveLog.DRAW_EMPTY : MoveLog.DRAW_LEVEL + q.getLevel().ordinal();
+            if (q == null) {
+                return SpecialResult.refused(SpecialResult.Kind.NO_QUESTIONS, status);
+            }
+        }
+
+        int scoreBefore = session.getScore();
+        int livesBefore = session.getLives();
+        session.payForPower();
+        int scoreAfter = session.getScore();
+        int livesAfter = session.getLives();
+
+        if (type == CellType.SURPRISE) {
+            boolean good = random.nextDouble() < 0.5;
+
+            session.applySurpriseOutcome(good);
+            board.markSpecialUsed(row, col);
+
+            int outcomeScore = session.getScore() - scoreAfter;
+            int outcomeLives = session.getLives() - livesAfter;
+
+            endTurn();
+            return new SpecialResult(SpecialResult.Kind.SURPRISE, good, null, QuestionBonusEffect.NONE,
+                    scoreAfter - scoreBefore, livesAfter - livesBefore,
+                    outcomeScore, outcomeLives, true, status);
+        }
+
+        questionBoard = board;
+        questionRow = row;
+        questionCol = col;
+        pendingQuestion = q;
+        payScoreDelta = scoreAfter - scoreBefore;
+        payLivesDelta = livesAfter - livesBefore;
+        scoreAfterPay = scoreAfter;
+        livesAfterPay = livesAfter;
+
+        return new SpecialResult(SpecialResult.Kind.QUESTION_PENDING, false, q, QuestionBonusEffect.NONE,
+                payScoreDelta, payLivesDelta, 0, 0, false, status);
+    }
+
+    /** מענה על השאלה הממתינה לפי אינדקס התשובה שנבחרה. */
+    public SpecialResult answerQuestion(int chosenIndex) {
+        if (pendingQuestion == null) {
+            throw new IllegalStateException("No question is waiting for an answer");
+        }
+        return answerQuestion(pendingQuestion.isCorrect(chosenIndex));
+    }
+
+    /**
+     * מענה על השאלה הממתינה (כשה-UI כבר בדק את התשובה).
+     * מפעיל את הטבלה של GameSession, את הבונוס, מסמן USED ומסיים תור.
+     */
+    public SpecialResult answerQuestion(boolean correct) {
+        if (pendingQuestion == null) {
+            throw new IllegalStateException("No question is waiting for an answer");
+        }
+        record(w -> w.answer(correct));
+        Question q = pendingQuestion;
+        Board board = questionBoard;
+        pendingQuestion = null;
+        questionBoard = null;
+
+        QuestionBonusEffect bonus = session.applyQuestionResult(q.getLevel(), correct);
+
+        if (bonus == QuestionBonusEffect.REVEAL_MINE) {
+            board.revealRandomMine();
+        } else if (bonus == QuestionBonusEffect.REVEAL_3X3) {
+            board.revealBest3x3(session);
+        }
+
+        board.markSpecialUsed(questionRow, questionCol);
+
+        int outcomeScore = session.getScore() - scoreAfterPay;
+        int outcomeLives = session.getLives() - livesAfterPay;
+
+        endTurn();
+        return new SpecialResult(SpecialResult.Kind.QUESTION_ANSWERED, correct, q, bonus,
+                payScoreDelta, payLivesDelta, outcomeScore, outcomeLives, true, status);
+    }
+
+    // ---------- סוף משחק ----------
+
+    /**
+     * סגירת המשחק: המרת לבבות לנקודות וחשיפת שני הלוחות.
+     * @return הניקוד הסופי
+     */
+    public int finishGame() {
+        session.convertRemainingLivesToScoreAtEnd();
+        board1.revealAllCells();
+        board2.revealAllCells();
+        return session.getScore();
+    }
+
+    // ---------- עזר ----------
+
+    /** הלוח שעליו מותר לשחק עכשיו, או null (לא התור שלו / משחק נגמר / מהלך באמצע). */
+    private Board boardForMove(boolean firstBoard) {
+        if (status != Status.PLAYING) return null;
+        if (firstBoard != player1Turn) return null;
+        if (pendingRevealBoard != null || pendingQuestion != null) return null;
+        return firstBoard ? board1 : board2;
+    }
+
+    private int revealedMines() {
+        return board1.getRevealedMineCount() + board2.getRevealedMineCount();
+    }
+
+    private void endTurn() {
+        updateStatus();
+        if (status == Status.PLAYING) {
+            player1Turn = !player1Turn;
+        }
+    }
+
+    private void updateStatus() {
+        if (board1.allMinesRevealed() || board2.allMinesRevealed()) {
+            status = Status.WON;
+        } else if (session.isOutOfLives()) {
+            status = Status.LOST;
+        }
+    }
+
+    private MoveResult rejectedMove() {
+        return new MoveResult(MoveResult.Kind.REJECTED, 0, 0, 0, 0, false, status);
+    }
+}
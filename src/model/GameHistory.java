@@ -1,17 +1,72 @@
 package model;
 
-import java.io.*;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Collections;
 import java.util.List;
+import java.util.zip.CRC32;
 
+import model.io.CsvReader;
+
+/**
+ * היסטוריית המשחקים (history.csv) – מופע אחד לכל התוכנה ({@link #getInstance()}),
+ * הקובץ נקרא פעם אחת בלבד.
+ *
+ * כתיבה: כל משחק מוסיף שורה אחת לסוף הקובץ ומחכה ל-fsync – O(1) בלי קשר לגודל ההיסטוריה,
+ * ונפילה באמצע כתיבה לא יכולה למחוק תוצאות קודמות (הקובץ אף פעם לא נכתב מחדש במקום).
+ * טעינה: שורה אחרונה חתוכה (נפילה באמצע הוספה) נחתכת מהקובץ.
+ * דחיסה: אם נמצאו שורות פגומות או בפורמט ישן – הקובץ נכתב מחדש לקובץ זמני ומוחלף באטומיות.
+ *
+ * בזיכרון נשמרות רק טבלאות השיאים ({@link Leaderboard}), לא כל השורות.
+ * הטבלאות נשמרות גם לאינדקס (history.csv.idx) יחד עם האורך של הקובץ שהן מכסות,
+ * כך שבטעינה קוראים רק את השורות שנוספו אחרי האינדקס ולא את כל הקובץ.
+ * לשאילתות סטטיסטיקה על כל ההיסטוריה יש עותק עמודתי ({@link HistoryColumns}, history.csv.cols)
+ * שמתעדכן יחד עם הקובץ.
+ */
 public class GameHistory implements GameObserver {
 
-    private List<GameHistoryEntry> entries;
     private static final String HISTORY_FILE = "history.csv";
+    private static final String HEADER = "Players Name,Score,Game Difficulty,Result,Duration (sec),Date";
+
+    private static final int INDEX_MAGIC = 0x4A464858;   // "JFHX"
+    private static final int INDEX_VERSION = 2;         // 2: + המשחק האחרון של כל שחקן
+    private static final int INDEX_EVERY = 32;           // שמירת אינדקס כל כמה משחקים
+    private static final int CHECK_BYTES = 4096;         // כמה בתים מתחילת/סוף האזור המכוסה נבדקים
+
+    private static final class Holder {
+        static final GameHistory INSTANCE = new GameHistory(HISTORY_FILE);
+    }
+
+    public static GameHistory getInstance() { return Holder.INSTANCE; }
 
-    public GameHistory() {
-        this.entries = new ArrayList<>();
+    private final Path file;
+    private final Path indexFile;
+    private final Path columnsDir;
+    private HistoryColumns columns;
+    private Leaderboard leaderboard = new Leaderboard();
+    private long length;            // אורך הקובץ (הכול כבר בטבלאות)
+    private int appendsSinceIndex;
+
+    /** היסטוריה מקובץ אחר; שורה חתוכה בסוף מתוקנת ושורות פגומות נדחסות, כמו בקובץ הרגיל. */
+    public GameHistory(String file) {
+        this.file = Path.of(file);
+        this.indexFile = Path.of(file + ".idx");
+        this.columnsDir = Path.of(file + ".cols");
         loadHistory();
     }
 
@@ -21,10 +76,16 @@ public class GameHistory implements GameObserver {
 
     }
 
-    // חדש: כולל durationSeconds
-    public void addEntry(String name, int score, String difficulty, String result, int durationSeconds) {
-        entries.add(new GameHistoryEntry(name, score, difficulty, result, durationSeconds));
-        saveHistory();
+    // חדש: כולל durationSeconds. מחזיר את השורה שנשמרה (התאריך שלה נכנס ליומן המהלכים)
+    public synchronized GameHistoryEntry addEntry(String name, int score, String difficulty, String result, int durationSeconds) {
+        GameHistoryEntry entry = new GameHistoryEntry(name, score, difficulty, result, durationSeconds);
+        long before = length;
+        if (append(entry)) {
+            leaderboard.add(entry);
+            if (++appendsSinceIndex >= INDEX_EVERY) saveIndex();
+            appendColumns(entry, before);
+        }
+        return entry;
     }
 
     // ישן (לתאימות)
@@ -36,78 +97,286 @@ public class GameHistory implements GameObserver {
         addEntry(name, score, "", "", 0);
     }
 
+    /** כל השורות, לפי סדר הקובץ – נקרא מהדיסק (O(גודל הקובץ)), לא לשימוש במסכים. */
+    public synchronized List<GameHistoryEntry> getEntries() {
+        try {
+            return read(file.toString());
+        } catch (IOException e) {
+            System.err.println("שגיאה בטעינת ההיסטוריה: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    /** 10 הניקודים הגבוהים מכל הזמנים. */
     public List<GameHistoryEntry> getTopScores() {
-        entries.sort(Comparator.comparingInt(GameHistoryEntry::getScore).reversed());
-        if (entries.size() > 10) return entries.subList(0, 10);
-        return entries;
+        return getLeaderboard().top();
+    }
+
+    /** העותק העמודתי לשאילתות סטטיסטיקה (null אם לא ניתן היה לפתוח אותו). */
+    public synchronized HistoryColumns getColumns() {
+        return columns;
     }
 
-    private void saveHistory() {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(HISTORY_FILE))) {
+    /** טבלאות השיאים (כל הזמנים / רמה / שחקן / יום / חודש). */
+    public synchronized Leaderboard getLeaderboard() {
+        return leaderboard;
+    }
 
-            // ⭐ כותרת עמודות
-            writer.write("Players Name,Score,Game Difficulty,Result,Duration (sec),Date");
-            writer.newLine();
+    /** קריאה בלבד (בלי תיקון ובלי דחיסה) – למשל לאימות יומני מהלכים. */
+    public static List<GameHistoryEntry> read(String file) throws IOException {
+        Path path = Path.of(file);
+        if (!Files.exists(path)) return Collections.emptyList();
+        List<GameHistoryEntry> entries = new ArrayList<>();
+        scan(path, 0, (e, end) -> entries.add(e));
+        return entries;
+    }
 
-            for (GameHistoryEntry entry : entries) {
-                writer.write(entry.toString());
-                writer.newLine();
-            }
+    // ---------- כתיבה ----------
 
+    /** הוספת שורה לסוף הקובץ + fsync (כותרת רק לקובץ חדש/ריק). */
+    private boolean append(GameHistoryEntry entry) {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            String text = entry + "\n";
+            if (ch.size() == 0) text = HEADER + "\n" + text;
+            ByteBuffer buf = ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
+            while (buf.hasRemaining()) ch.write(buf);
+            ch.force(false);   // המשחק בדיסק לפני שחוזרים
+            length = ch.size();
+            return true;
         } catch (IOException e) {
             System.err.println("Error saving history: " + e.getMessage());
+            return false;
         }
     }
 
+    /**
+     * כתיבה מחדש של כל הקובץ (בקריאה רציפה, בלי להחזיק את כל השורות בזיכרון):
+     * לקובץ זמני, fsync, ואז החלפה אטומית. נפילה באמצע משאירה את הקובץ הישן כמו שהוא.
+     * הטבלאות והאינדקס נבנים מחדש מאותה קריאה.
+     */
+    public synchronized void compact() {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        Leaderboard rebuilt = new Leaderboard();
+
+        try {
+            try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                OutputStream out = new BufferedOutputStream(Channels.newOutputStream(ch), 1 << 16);
+                out.write((HEADER + "\n").getBytes(StandardCharsets.UTF_8));
+                if (Files.exists(file)) {
+                    IOException[] failed = new IOException[1];
+                    scan(file, 0, (e, end) -> {
+                        rebuilt.add(e);
+                        try {
+                            out.write((e + "\n").getBytes(StandardCharsets.UTF_8));
+                        } catch (IOException ex) {
+                            failed[0] = ex;
+                        }
+                    });
+                    if (failed[0] != null) throw failed[0];
+                }
+                out.flush();
+                ch.force(true);
+            }
+            try {
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+            leaderboard = rebuilt;
+            length = Files.size(file);
+            saveIndex();
+            syncColumns();   // המיקומים בקובץ השתנו – העותק העמודתי נבנה מחדש
+        } catch (IOException e) {
+            System.err.println("Error compacting history: " + e.getMessage());
+        }
+    }
+
+    // ---------- טעינה ----------
 
     private void loadHistory() {
-        File file = new File(HISTORY_FILE);
-        if (!file.exists()) return;
-
-        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
-
-            // ⭐ דילוג על שורת הכותרת
-            reader.readLine();
-
-            String line;
-            while ((line = reader.readLine()) != null) {
-                String[] parts = line.split(",");
-
-                try {
-                    if (parts.length == 3) {
-                        // ישן: name,score,date
-                        String name = parts[0];
-                        int score = Integer.parseInt(parts[1]);
-                        String date = parts[2];
-                        entries.add(new GameHistoryEntry(name, score, "", "", 0, date));
-
-                    } else if (parts.length == 5) {
-                        // חדש-ישן: name,score,difficulty,result,date
-                        String name = parts[0];
-                        int score = Integer.parseInt(parts[1]);
-                        String difficulty = parts[2];
-                        String result = parts[3];
-                        String date = parts[4];
-                        entries.add(new GameHistoryEntry(name, score, difficulty, result, 0, date));
-
-                    } else if (parts.length >= 6) {
-                        // חדש: name,score,difficulty,result,durationSeconds,date
-                        String name = parts[0];
-                        int score = Integer.parseInt(parts[1]);
-                        String difficulty = parts[2];
-                        String result = parts[3];
-                        int duration = Integer.parseInt(parts[4]);
-                        String date = parts[5];
-                        entries.add(new GameHistoryEntry(name, score, difficulty, result, duration, date));
-                    }
-
-                } catch (NumberFormatException e) {
-                    System.err.println("שגיאה בטעינת רשומה: " + line);
+        if (!Files.exists(file)) {
+            syncColumns();
+            return;
+        }
+
+        try {
+            long fileLength = Files.size(file);
+            long from = loadIndex(fileLength);   // 0 אם אין אינדקס תקף
+            Scan scan = scan(file, from, (e, end) -> leaderboard.add(e));
+
+            // שורה אחרונה בלי '\n' = הוספה שנקטעה באמצע – חותכים אותה כדי שההוספה הבאה תתחיל בשורה נקייה
+            if (scan.validLength < fileLength) {
+                System.err.println("History: dropping a partly written last line");
+                try (FileChannel ch = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                    ch.truncate(scan.validLength);
+                    ch.force(true);
                 }
             }
+            length = scan.validLength;
+
+            if (scan.dirtyLines > 0) {
+                compact();
+            } else {
+                if (scan.validLength != from) saveIndex();
+                syncColumns();
+            }
         } catch (IOException e) {
             System.err.println("שגיאה בטעינת ההיסטוריה: " + e.getMessage());
         }
     }
 
+    /** שורה שנקראה + המיקום בקובץ מיד אחריה. */
+    interface Rows {
+        void row(GameHistoryEntry entry, long end);
+    }
+
+    /** תוצאת קריאה: עד איפה הקובץ תקין, וכמה שורות צריך לכתוב מחדש. */
+    static final class Scan {
+        long validLength;   // עד ה-'\n' האחרון
+        int dirtyLines;     // שורות פגומות / בפורמט ישן / בלי כותרת
+    }
+
+    /** קריאה רציפה של השורות מ-{@code from} (תחילת שורה) עד ה-'\n' האחרון. */
+    static Scan scan(Path path, long from, Rows sink) throws IOException {
+        Scan s = new Scan();
+        s.validLength = from;
+
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ)) {
+            ch.position(from);
+            CsvReader csv = new CsvReader(Channels.newInputStream(ch), ',');
+            boolean first = from == 0;
+            while (csv.next()) {
+                if (!csv.terminated()) break;   // שורה אחרונה בלי '\n' – לא נכתבה עד הסוף
+                s.validLength = from + csv.end();
+
+                if (first) {
+                    first = false;
+                    // ⭐ דילוג על שורת הכותרת
+                    if (csv.get(0).startsWith("Players Name")) continue;
+                    if (!csv.isBlank()) s.dirtyLines++;
+                }
+                if (csv.isBlank()) continue;
+
+                GameHistoryEntry e = parseRecord(csv, s);
+                if (e != null) sink.row(e, s.validLength);
+            }
+        }
+        return s;
+    }
+
+    private static GameHistoryEntry parseRecord(CsvReader csv, Scan s) {
+        try {
+            if (csv.size() == 3) {
+                // ישן: name,score,date
+                s.dirtyLines++;
+                return new GameHistoryEntry(csv.get(0), csv.getInt(1), "", "", 0, csv.get(2));
+
+            } else if (csv.size() == 5) {
+                // חדש-ישן: name,score,difficulty,result,date
+                s.dirtyLines++;
+                return new GameHistoryEntry(csv.get(0), csv.getInt(1), csv.get(2), csv.get(3), 0, csv.get(4));
+
+            } else if (csv.size() >= 6) {
+                // חדש: name,score,difficulty,result,durationSeconds,date
+                return new GameHistoryEntry(csv.get(0), csv.getInt(1), csv.get(2), csv.get(3),
+                        csv.getInt(4), csv.get(5));
+            }
+        } catch (NumberFormatException e) {
+            System.err.println("שגיאה בטעינת רשומה: " + csv.record());
+        }
+        s.dirtyLines++;
+        return null;
+    }
+
+    // ---------- אינדקס ----------
+
+    /**
+     * טוען את הטבלאות מהאינדקס ומחזיר את האורך שהן מכסות (0 = אין אינדקס תקף).
+     * האינדקס תקף רק אם הקובץ לא התקצר ו-CRC של תחילת וסוף האזור המכוסה לא השתנה.
+     */
+    private long loadIndex(long fileLength) {
+        if (!Files.exists(indexFile)) return 0;
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexFile)))) {
+            if (in.readInt() != INDEX_MAGIC || in.readInt() != INDEX_VERSION) return 0;
+            long covered = in.readLong();
+            long crc = in.readLong();
+            if (covered > fileLength || crc != checksum(file, covered)) return 0;
+
+            leaderboard = Leaderboard.readFrom(in);
+            return covered;
+        } catch (IOException e) {
+            System.err.println("History index ignored: " + e.getMessage());
+            leaderboard = new Leaderboard();
+            return 0;
+        }
+    }
+
+    /** האינדקס הוא מטמון: נכתב לקובץ זמני ומוחלף, בלי fsync (אינדקס פגום פשוט נבנה מחדש). */
+    private void saveIndex() {
+        appendsSinceIndex = 0;
+        Path tmp = Path.of(indexFile + ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(INDEX_MAGIC);
+                out.writeInt(INDEX_VERSION);
+                out.writeLong(length);
+                out.writeLong(checksum(file, length));
+                leaderboard.writeTo(out);
+            }
+            try {
+                Files.move(tmp, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, indexFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            System.err.println("Error saving history index: " + e.getMessage());
+        }
+    }
+
+    // ---------- עותק עמודתי ----------
+
+    private void syncColumns() {
+        try {
+            if (columns == null) columns = HistoryColumns.open(columnsDir);
+            columns.sync(file);
+        } catch (IOException e) {
+            System.err.println("Error updating history columns: " + e.getMessage());
+        }
+    }
+
+    /** המשחק החדש נכנס גם לעותק העמודתי (אם הוא היה מעודכן עד לפני המשחק – אחרת sync). */
+    private void appendColumns(GameHistoryEntry entry, long before) {
+        if (columns == null || columns.sourceLength() != before) {
+            syncColumns();
+            return;
+        }
+        try {
+            columns.append(entry, length, checksum(file, length));
+        } catch (IOException e) {
+            System.err.println("Error updating history columns: " + e.getMessage());
+        }
+    }
+
+    /** CRC של CHECK_BYTES הראשונים והאחרונים מתוך {@code covered} הבתים הראשונים. */
+    static long checksum(Path path, long covered) throws IOException {
+        CRC32 crc = new CRC32();
+        if (covered > 0) {
+            try (RandomAccessFile raf = new RandomAccessFile(path.toFile(), "r")) {
+                byte[] head = new byte[(int) Math.min(CHECK_BYTES, covered)];
+                raf.readFully(head);
+                crc.update(head);
+
+                long tailStart = Math.max(head.length, covered - CHECK_BYTES);
+                byte[] tail = new byte[(int) (covered - tailStart)];
+                raf.seek(tailStart);
+                raf.readFully(tail);
+                crc.update(tail);
+            }
+        }
+        crc.update(Long.toString(covered).getBytes(StandardCharsets.US_ASCII));
+        return crc.getValue();
+    }
 }
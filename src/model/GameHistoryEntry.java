@@ -3,6 +3,8 @@ package model;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
+import model.io.CsvWriter;
+
 public class GameHistoryEntry {
 
     private String playerName;
@@ -43,7 +45,8 @@ public class GameHistoryEntry {
 
     @Override
     public String toString() {
-        // פורמט חדש: name,score,difficulty,result,durationSeconds,date
-        return playerName + "," + score + "," + difficulty + "," + result + "," + durationSeconds + "," + date;
+        // פורמט חדש: name,score,difficulty,result,durationSeconds,date (שם עם פסיק נכתב במירכאות)
+        return CsvWriter.escape(playerName) + "," + score + "," + CsvWriter.escape(difficulty) + ","
+                + CsvWriter.escape(result) + "," + durationSeconds + "," + CsvWriter.escape(date);
     }
 }
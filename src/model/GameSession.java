@@ -5,12 +5,15 @@ import java.util.List;
 
 public class GameSession {
 
-    private final Difficulty difficulty;
+    private final BoardSpec spec;
+    private final Difficulty difficulty;   // spec.getTier() – טבלת השאלות
 
     private int score;        // pts – משותף לשני השחקנים
     private int lives;        // hearts – משותף
     private final int maxLives;
 
+    private final RandomSource random;  // ה-OR 50/50 בטבלת השאלות
+
     private List<GameObserver> observers = new ArrayList<>();
 
     public void addObserver(GameObserver o) {
@@ -24,8 +27,20 @@ public class GameSession {
     }
 
     public GameSession(Difficulty difficulty) {
-        this.difficulty = difficulty;
-        this.lives = difficulty.getInitialLives();  // מתחילים לפי רמת הקושי
+        this(difficulty, new RandomSource());
+    }
+
+    /** סשן עם מקור אקראיות נתון (סימולציה / בדיקות שחוזרות על עצמן). */
+    public GameSession(Difficulty difficulty, RandomSource random) {
+        this(BoardSpec.of(difficulty), random);
+    }
+
+    /** סשן ללוח בהגדרה חופשית: חיים ומחירים מה-spec, טבלת השאלות מה-tier שלו. */
+    public GameSession(BoardSpec spec, RandomSource random) {
+        this.spec = spec;
+        this.difficulty = spec.getTier();
+        this.random = random;
+        this.lives = spec.getInitialLives();        // מתחילים לפי רמת הקושי
         this.maxLives = 10;                         // המקסימום תמיד 10
         this.score = 0;
     }
@@ -44,6 +59,10 @@ public class GameSession {
         return difficulty;
     }
 
+    public BoardSpec getSpec() {
+        return spec;
+    }
+
     // --- ניקוד ---
 
     public void updateScore(int delta) {
@@ -68,7 +87,7 @@ public class GameSession {
         if (lives > maxLives) {
             int extra = lives - maxLives;
             lives = maxLives;
-            score += extra * difficulty.getPowerCost(); // לב מעל המקסימום = מחיר תחנה
+            score += extra * spec.getPowerCost(); // לב מעל המקסימום = מחיר תחנה
         }
     }
 
@@ -81,7 +100,7 @@ public class GameSession {
 
     /** בדיקה האם יש מספיק נקודות לשלם על תחנה (שאלה/הפתעה) */
     public boolean canPayForPower() {
-        return score >= difficulty.getPowerCost();
+        return score >= spec.getPowerCost();
     }
 
     /** תשלום נקודות להפעלת משבצת שאלה/הפתעה */
@@ -89,7 +108,7 @@ public class GameSession {
         if (!canPayForPower()) {
             throw new IllegalStateException("Not enough points to activate power");
         }
-        updateScore(-difficulty.getPowerCost());
+        updateScore(-spec.getPowerCost());
     }
 
     /**
@@ -99,7 +118,7 @@ public class GameSession {
     public void applySurprise(boolean good) {
         payForPower(); // קודם משלמים על ההפעלה
 
-        int pts = difficulty.getSurprisePoints();
+        int pts = spec.getSurprisePoints();
         if (good) {
             changeLives(+1);
             updateScore(+pts);
@@ -116,7 +135,7 @@ public class GameSession {
      * 2) applySurpriseOutcome() → refresh
      */
     public void applySurpriseOutcome(boolean good) {
-        int pts = difficulty.getSurprisePoints();
+        int pts = spec.getSurprisePoints();
         if (good) {
             changeLives(+1);
             updateScore(+pts);
@@ -144,7 +163,7 @@ public class GameSession {
         int scoreDelta = 0;
         QuestionBonusEffect bonus = QuestionBonusEffect.NONE;
 
-        boolean coinFlip = Math.random() < 0.5;
+        boolean coinFlip = random.nextDouble() < 0.5;
 
         switch (difficulty) {
             case EASY -> {
@@ -230,7 +249,7 @@ public class GameSession {
     /** סוף משחק: המרת לבבות לנקודות */
     public void convertRemainingLivesToScoreAtEnd() {
         if (lives > 0) {
-            score += lives * difficulty.getPowerCost();
+            score += lives * spec.getPowerCost();
             lives = 0;
         }
     }
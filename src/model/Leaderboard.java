@@ -0,0 +1,187 @@
+package model;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * טבלאות שיאים (TOP_N הטובים) שמתעדכנות תוך כדי – כל משחק חדש נכנס ב-O(log N) לכל טבלה
+ * שהוא שייך אליה, בלי למיין את כל ההיסטוריה.
+ *
+ * טבלה לכל: כל המשחקים, רמת קושי, שחקן (כל אחד מהזוג), יום וחודש (לפי תאריך המשחק).
+ * כל טבלה היא min-heap חסום: המשחק החלש ביותר בראש ונזרק כשנכנס משחק טוב ממנו.
+ * בתיקו – המשחק המוקדם יותר נשאר (כמו המיון היציב הקודם).
+ * בנוסף נשמר לכל שחקן מתי שיחק לאחרונה ({@link #recentPlayers}), כדי שמסך השיאים לא יציג את כל השמות אי פעם.
+ */
+public final class Leaderboard {
+
+    public static final int TOP_N = 10;
+
+    /** סוג הטבלה; המפתח הוא הרמה / השם / "yyyy/MM/dd" / "yyyy/MM" (ב-ALL – ""). */
+    public enum Scope { ALL, DIFFICULTY, PLAYER, DAY, MONTH }
+
+    private static final DateTimeFormatter DAY = DateTimeFormatter.ofPattern("yyyy/MM/dd");
+    private static final DateTimeFormatter MONTH = DateTimeFormatter.ofPattern("yyyy/MM");
+
+    /** משחק בטבלה + מספר סידורי (לשבירת תיקו). */
+    private static final class Ranked {
+        final GameHistoryEntry entry;
+        final long seq;
+
+        Ranked(GameHistoryEntry entry, long seq) {
+            this.entry = entry;
+            this.seq = seq;
+        }
+    }
+
+    // הטוב ביותר קודם: ניקוד גבוה, ובתיקו – מוקדם יותר
+    private static final Comparator<Ranked> BEST_FIRST =
+            Comparator.comparingInt((Ranked r) -> r.entry.getScore()).reversed()
+                      .thenComparingLong(r -> r.seq);
+
+    private final Map<Scope, Map<String, PriorityQueue<Ranked>>> tables = new EnumMap<>(Scope.class);
+    private final Map<String, Long> lastPlayed = new HashMap<>();   // שחקן -> seq של המשחק האחרון שלו
+    private long seq;
+
+    public Leaderboard() {
+        for (Scope s : Scope.values()) tables.put(s, new HashMap<>());
+    }
+
+    public synchronized void add(GameHistoryEntry e) {
+        Ranked r = new Ranked(e, seq++);
+        offer(Scope.ALL, "", r);
+        offer(Scope.DIFFICULTY, e.getDifficulty(), r);
+        String[] players = e.getPlayerName().split(" & ");
+        for (int i = 0; i < players.length; i++) {
+            String player = players[i].trim();
+            // אותו שם פעמיים בזוג – פעם אחת בטבלה
+            if (i == 0 || !player.equals(players[0].trim())) offer(Scope.PLAYER, player, r);
+            lastPlayed.put(player, r.seq);
+        }
+        String date = e.getDate();
+        if (date != null && date.length() >= 10) {
+            offer(Scope.DAY, date.substring(0, 10), r);
+            offer(Scope.MONTH, date.substring(0, 7), r);
+        }
+    }
+
+    /** הטבלה מהטוב לחלש (עד TOP_N שורות); טבלה שלא קיימת – רשימה ריקה. */
+    public synchronized List<GameHistoryEntry> top(Scope scope, String key) {
+        PriorityQueue<Ranked> heap = tables.get(scope).get(scope == Scope.ALL ? "" : key);
+        List<GameHistoryEntry> out = new ArrayList<>();
+        if (heap == null) return out;
+
+        List<Ranked> sorted = new ArrayList<>(heap);
+        sorted.sort(BEST_FIRST);
+        for (Ranked r : sorted) out.add(r.entry);
+        return out;
+    }
+
+    public List<GameHistoryEntry> top() { return top(Scope.ALL, ""); }
+
+    public List<GameHistoryEntry> today() { return top(Scope.DAY, LocalDate.now().format(DAY)); }
+
+    public List<GameHistoryEntry> thisMonth() { return top(Scope.MONTH, LocalDate.now().format(MONTH)); }
+
+    /** כל המפתחות שיש להם טבלה (למשל כל הרמות / כל השחקנים), ממוינים. */
+    public synchronized List<String> keys(Scope scope) {
+        List<String> keys = new ArrayList<>(tables.get(scope).keySet());
+        keys.sort(null);
+        return keys;
+    }
+
+    /** עד limit שחקנים, מי ששיחק הכי לאחרונה קודם (שני שחקנים מאותו משחק – לפי השם). */
+    public synchronized List<String> recentPlayers(int limit) {
+        List<String> players = new ArrayList<>(lastPlayed.keySet());
+        players.sort(Comparator.comparingLong((String p) -> lastPlayed.get(p)).reversed()
+                               .thenComparing(Comparator.naturalOrder()));
+        return new ArrayList<>(players.subList(0, Math.min(limit, players.size())));
+    }
+
+    private void offer(Scope scope, String key, Ranked r) {
+        PriorityQueue<Ranked> heap = tables.get(scope)
+                .computeIfAbsent(key, k -> new PriorityQueue<>(TOP_N + 1, BEST_FIRST.reversed()));
+        if (heap.size() < TOP_N) {
+            heap.add(r);
+        } else if (BEST_FIRST.compare(r, heap.peek()) < 0) {
+            heap.poll();
+            heap.add(r);
+        }
+    }
+
+    // ---------- שמירה לאינדקס (GameHistory) ----------
+
+    /** כל הטבלאות; משחק שמופיע בכמה טבלאות נכתב פעם אחת. */
+    synchronized void writeTo(DataOutput out) throws IOException {
+        Map<Long, Ranked> unique = new HashMap<>();
+        for (Map<String, PriorityQueue<Ranked>> byKey : tables.values()) {
+            for (PriorityQueue<Ranked> heap : byKey.values()) {
+                for (Ranked r : heap) unique.putIfAbsent(r.seq, r);
+            }
+        }
+
+        out.writeLong(seq);
+        out.writeInt(unique.size());
+        for (Ranked r : unique.values()) {
+            GameHistoryEntry e = r.entry;
+            out.writeLong(r.seq);
+            out.writeUTF(e.getPlayerName());
+            out.writeInt(e.getScore());
+            out.writeUTF(e.getDifficulty());
+            out.writeUTF(e.getResult());
+            out.writeInt(e.getDurationSeconds());
+            out.writeUTF(e.getDate());
+        }
+
+        out.writeInt(lastPlayed.size());
+        for (Map.Entry<String, Long> p : lastPlayed.entrySet()) {
+            out.writeUTF(p.getKey());
+            out.writeLong(p.getValue());
+        }
+    }
+
+    /**
+     * בנייה מחדש מהאינדקס: מכניסים שוב את כל המשחקים שנשמרו לפי הסדר המקורי.
+     * משחק שלא היה באף טבלה לא יכול להיכנס לאף טבלה, אז התוצאה זהה לטבלאות שנשמרו.
+     * "שיחק לאחרונה" נקרא אחרי המשחקים ודורס את מה שהם קבעו (המשחק האחרון לא תמיד בטבלה).
+     */
+    static Leaderboard readFrom(DataInput in) throws IOException {
+        long nextSeq = in.readLong();
+        int count = in.readInt();
+        List<Ranked> all = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long s = in.readLong();
+            String name = in.readUTF();
+            int score = in.readInt();
+            String difficulty = in.readUTF();
+            String result = in.readUTF();
+            int duration = in.readInt();
+            String date = in.readUTF();
+            all.add(new Ranked(new GameHistoryEntry(name, score, difficulty, result, duration, date), s));
+        }
+        all.sort(Comparator.comparingLong(r -> r.seq));
+
+        Leaderboard board = new Leaderboard();
+        for (Ranked r : all) {
+            board.seq = r.seq;
+            board.add(r.entry);
+        }
+        board.seq = nextSeq;
+
+        int players = in.readInt();
+        for (int i = 0; i < players; i++) {
+            String name = in.readUTF();
+            board.lastPlayed.put(name, in.readLong());
+        }
+        return board;
+    }
+}
@@ -0,0 +1,358 @@
+package model;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * יומן מהלכים בינארי של משחק אחד – מספיק כדי לשחזר אותו בדיוק ({@link Replay}).
+ *
+ * כותרת: "JFML", גרסה, ה-seed של המשחק (ושל הלוחות אם הגיעו מ-{@link BoardPool}),
+ * ה-{@link BoardSpec} המלא ושמות השחקנים.
+ * אחריה רשומה לכל פקודה (פתיחה, דגל, הפעלה, תשובה, השהיה/המשך) עם זמן מונוטוני
+ * (מילישניות מהרשומה הקודמת), ובסוף משחק רשומת END עם הניקוד ותאריך השורה ב-history.csv.
+ *
+ * כל המספרים הם varint (עם zigzag למספרים שיכולים להיות שליליים) – רשומה טיפוסית 3-4 בתים.
+ * הקובץ רק מתארך: כל רשומה נכתבת מיד ל-OS, כך שמשחק שנקטע משאיר יומן תקין עד המהלך האחרון
+ * (רשומה חתוכה בסוף פשוט מתעלמים ממנה).
+ */
+public final class MoveLog {
+
+    /** התיקייה של היומנים (ליד history.csv). */
+    public static final String DIRECTORY = "replays";
+    public static final String EXTENSION = ".moves";
+
+    private static final byte[] MAGIC = {'J', 'F', 'M', 'L'};
+    private static final int VERSION = 1;
+
+    // סוגי רשומות
+    public static final int REVEAL   = 0;
+    public static final int FLAG     = 1;
+    public static final int ACTIVATE = 2;
+    public static final int ANSWER   = 3;
+    public static final int PAUSE    = 4;
+    public static final int RESUME   = 5;
+    public static final int END      = 6;
+
+    // מה הפעלה שלפה ממאגר השאלות (ACTIVATE): לא שלפה / מאגר ריק / שאלה ברמה (DRAW_LEVEL + ordinal)
+    public static final int DRAW_NONE  = 0;
+    public static final int DRAW_EMPTY = 1;
+    public static final int DRAW_LEVEL = 2;
+
+    private static final int FLAG_NO_GUESS = 1;
+    private static final int FLAG_POOLED   = 2;
+
+    private MoveLog() { }
+
+    // ---------- כותרת ----------
+
+    /** איך נבנה המשחק: מספיק כדי לבנות אותו שוב. */
+    public static final class Header {
+        public final BoardSpec spec;
+        public final boolean noGuess;
+        public final long seed;          // ה-seed של המשחק (RandomSource השורש)
+        public final boolean pooled;     // הלוחות הגיעו מהמאגר – לכל לוח seed משלו
+        public final long boardSeed1;
+        public final long boardSeed2;
+        public final String players;
+        public final long startEpochMillis;
+
+        public Header(BoardSpec spec, boolean noGuess, long seed,
+                      boolean pooled, long boardSeed1, long boardSeed2,
+                      String players, long startEpochMillis) {
+            this.spec = spec;
+            this.noGuess = noGuess;
+            this.seed = seed;
+            this.pooled = pooled;
+            this.boardSeed1 = boardSeed1;
+            this.boardSeed2 = boardSeed2;
+            this.players = players;
+            this.startEpochMillis = startEpochMillis;
+        }
+    }
+
+    /** רשומה אחת. שדות שלא שייכים לסוג הרשומה הם 0 / null. */
+    public static final class Move {
+        public final int type;
+        public final long timeMillis;      // מתחילת המשחק (מונוטוני, כולל השהיות)
+        public final boolean firstBoard;
+        public final int row, col;
+        public final int draw;             // ACTIVATE: DRAW_*
+        public final boolean correct;      // ANSWER
+        public final int score;            // END: הניקוד הסופי
+        public final String historyDate;   // END: התאריך של השורה ב-history.csv
+
+        Move(int type, long timeMillis, boolean firstBoard, int row, int col,
+             int draw, boolean correct, int score, String historyDate) {
+            this.type = type;
+            this.timeMillis = timeMillis;
+            this.firstBoard = firstBoard;
+            this.row = row;
+            this.col = col;
+            this.draw = draw;
+            this.correct = correct;
+            this.score = score;
+            this.historyDate = historyDate;
+        }
+    }
+
+    /** יומן שנקרא מהדיסק. */
+    public static final class Recording {
+        public final Header header;
+        public final List<Move> moves;
+
+        Recording(Header header, List<Move> moves) {
+            this.header = header;
+            this.moves = Collections.unmodifiableList(moves);
+        }
+
+        /** רשומת END, או null אם המשחק לא הסתיים (נסגר באמצע). */
+        public Move end() {
+            if (moves.isEmpty()) return null;
+            Move last = moves.get(moves.size() - 1);
+            return last.type == END ? last : null;
+        }
+    }
+
+    // ---------- כתיבה ----------
+
+    /** קובץ חדש בתיקיית היומנים, בשם לפי זמן ה-seed. */
+    public static Path newFile(long seed) throws IOException {
+        return newFile(Path.of(DIRECTORY), seed);
+    }
+
+    /**
+     * שם פנוי ב-dir: זמן-seed, ואם כבר יש כזה (אותו seed באותה שנייה) – עם ‎-2, ‎-3...
+     * {@link Writer} פותח עם CREATE_NEW, כך שגם מירוץ על השם לא כותב לתוך יומן קיים.
+     */
+    public static Path newFile(Path dir, long seed) throws IOException {
+        Files.createDirectories(dir);
+        String stamp = java.time.LocalDateTime.now()
+                .format(java.time.format.DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        String base = stamp + "-" + Long.toHexString(seed);
+        Path file = dir.resolve(base + EXTENSION);
+        for (int n = 2; Files.exists(file); n++) {
+            file = dir.resolve(base + "-" + n + EXTENSION);
+        }
+        return file;
+    }
+
+    /**
+     * כותב יומן: הכותרת נכתבת מיד, וכל רשומה נשלחת ל-OS ברגע שנכתבה.
+     * לא thread-safe (נקרא מה-thread של המשחק בלבד).
+     */
+    public static final class Writer implements Closeable {
+        private final OutputStream out;
+        private final ByteArrayOutputStream buf = new ByteArrayOutputStream(32);
+        private final long startNanos = System.nanoTime();
+        private long lastMillis;
+
+        /** @throws java.nio.file.FileAlreadyExistsException אם הקובץ כבר קיים – לא כותבים לתוך יומן אחר */
+        public Writer(Path file, Header header) throws IOException {
+            this.out = Files.newOutputStream(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+            buf.write(MAGIC);
+            writeVarLong(buf, VERSION);
+            writeVarLong(buf, (header.noGuess ? FLAG_NO_GUESS : 0) | (header.pooled ? FLAG_POOLED : 0));
+            writeZigZag(buf, header.seed);
+            if (header.pooled) {
+                writeZigZag(buf, header.boardSeed1);
+                writeZigZag(buf, header.boardSeed2);
+            }
+            BoardSpec s = header.spec;
+            writeVarLong(buf, s.getRows());
+            writeVarLong(buf, s.getCols());
+            writeVarLong(buf, s.getMines());
+            writeVarLong(buf, s.getQuestionCount());
+            writeVarLong(buf, s.getSurpriseCount());
+            writeVarLong(buf, s.getInitialLives());
+            writeVarLong(buf, s.getPowerCost());
+            writeVarLong(buf, s.getSurprisePoints());
+            writeVarLong(buf, s.getTier().ordinal());
+            writeString(buf, header.players);
+            writeVarLong(buf, header.startEpochMillis);
+            flush();
+        }
+
+        public void reveal(boolean firstBoard, int row, int col) throws IOException {
+            cell(REVEAL, firstBoard, row, col);
+            flush();
+        }
+
+        public void flag(boolean firstBoard, int row, int col) throws IOException {
+            cell(FLAG, firstBoard, row, col);
+            flush();
+        }
+
+        public void activate(boolean firstBoard, int row, int col, int draw) throws IOException {
+            cell(ACTIVATE, firstBoard, row, col);
+            writeVarLong(buf, draw);
+            flush();
+        }
+
+        public void answer(boolean correct) throws IOException {
+            tag(ANSWER, false);
+            writeVarLong(buf, correct ? 1 : 0);
+            flush();
+        }
+
+        public void pause(boolean paused) throws IOException {
+            tag(paused ? PAUSE : RESUME, false);
+            flush();
+        }
+
+        public void end(int score, String historyDate) throws IOException {
+            tag(END, false);
+            writeZigZag(buf, score);
+            writeString(buf, historyDate == null ? "" : historyDate);
+            flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+
+        private void cell(int type, boolean firstBoard, int row, int col) {
+            tag(type, firstBoard);
+            writeVarLong(buf, row);
+            writeVarLong(buf, col);
+        }
+
+        /** (זמן מהרשומה הקודמת << 4) | (סוג << 1) | לוח – varint אחד. */
+        private void tag(int type, boolean firstBoard) {
+            long now = (System.nanoTime() - startNanos) / 1_000_000L;
+            long delta = Math.max(0, now - lastMillis);
+            lastMillis += delta;
+            writeVarLong(buf, (delta << 4) | ((long) type << 1) | (firstBoard ? 1 : 0));
+        }
+
+        private void flush() throws IOException {
+            buf.writeTo(out);
+            buf.reset();
+        }
+    }
+
+    // ---------- קריאה ----------
+
+    /** קורא יומן; רשומה חתוכה בסוף הקובץ (משחק שנקטע) מושמטת. */
+    public static Recording read(Path file) throws IOException {
+        try (InputStream in = new java.io.BufferedInputStream(Files.newInputStream(file))) {
+            return read(in);
+        }
+    }
+
+    public static Recording read(InputStream in) throws IOException {
+        byte[] magic = in.readNBytes(MAGIC.length);
+        if (!java.util.Arrays.equals(magic, MAGIC)) {
+            throw new IOException("Not a move log");
+        }
+        int version = (int) readVarLong(in);
+        if (version != VERSION) {
+            throw new IOException("Unsupported move log version: " + version);
+        }
+        int flags = (int) readVarLong(in);
+        boolean noGuess = (flags & FLAG_NO_GUESS) != 0;
+        boolean pooled = (flags & FLAG_POOLED) != 0;
+        long seed = readZigZag(in);
+        long boardSeed1 = pooled ? readZigZag(in) : 0;
+        long boardSeed2 = pooled ? readZigZag(in) : 0;
+        BoardSpec spec = new BoardSpec(
+                (int) readVarLong(in), (int) readVarLong(in), (int) readVarLong(in),
+                (int) readVarLong(in), (int) readVarLong(in),
+                (int) readVarLong(in), (int) readVarLong(in), (int) readVarLong(in),
+                Difficulty.values()[(int) readVarLong(in)]);
+        String players = readString(in);
+        long start = readVarLong(in);
+        Header header = new Header(spec, noGuess, seed, pooled, boardSeed1, boardSeed2, players, start);
+
+        List<Move> moves = new ArrayList<>();
+        long time = 0;
+        while (true) {
+            try {
+                int first = in.read();
+                if (first < 0) break;
+                long tag = readVarLong(in, first);
+                time += tag >>> 4;
+                int type = (int) (tag >>> 1) & 7;
+                boolean firstBoard = (tag & 1) != 0;
+                switch (type) {
+                    case REVEAL, FLAG -> moves.add(new Move(type, time, firstBoard,
+                            (int) readVarLong(in), (int) readVarLong(in), DRAW_NONE, false, 0, null));
+                    case ACTIVATE -> moves.add(new Move(type, time, firstBoard,
+                            (int) readVarLong(in), (int) readVarLong(in), (int) readVarLong(in), false, 0, null));
+                    case ANSWER -> moves.add(new Move(type, time, false, 0, 0, DRAW_NONE,
+                            readVarLong(in) != 0, 0, null));
+                    case PAUSE, RESUME -> moves.add(new Move(type, time, false, 0, 0, DRAW_NONE, false, 0, null));
+                    case END -> moves.add(new Move(type, time, false, 0, 0, DRAW_NONE, false,
+                            (int) readZigZag(in), readString(in)));
+                    default -> throw new IOException("Unknown record type " + type);
+                }
+            } catch (EOFException truncated) {
+                break;  // הרשומה האחרונה לא נכתבה עד הסוף
+            }
+        }
+        return new Recording(header, moves);
+    }
+
+    // ---------- varint ----------
+
+    static void writeVarLong(ByteArrayOutputStream out, long v) {
+        while ((v & ~0x7FL) != 0) {
+            out.write((int) ((v & 0x7F) | 0x80));
+            v >>>= 7;
+        }
+        out.write((int) v);
+    }
+
+    static void writeZigZag(ByteArrayOutputStream out, long v) {
+        writeVarLong(out, (v << 1) ^ (v >> 63));
+    }
+
+    private static void writeString(ByteArrayOutputStream out, String s) {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(out, bytes.length);
+        out.writeBytes(bytes);
+    }
+
+    static long readVarLong(InputStream in) throws IOException {
+        int b = in.read();
+        if (b < 0) throw new EOFException();
+        return readVarLong(in, b);
+    }
+
+    private static long readVarLong(InputStream in, int first) throws IOException {
+        long v = first & 0x7F;
+        int shift = 7;
+        int b = first;
+        while ((b & 0x80) != 0) {
+            if (shift > 63) throw new IOException("Malformed varint");
+            b = in.read();
+            if (b < 0) throw new EOFException();
+            v |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        }
+        return v;
+    }
+
+    static long readZigZag(InputStream in) throws IOException {
+        long v = readVarLong(in);
+        return (v >>> 1) ^ -(v & 1);
+    }
+
+    private static String readString(InputStream in) throws IOException {
+        int n = (int) readVarLong(in);
+        byte[] bytes = in.readNBytes(n);
+        if (bytes.length < n) throw new EOFException();
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
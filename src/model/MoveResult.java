@@ -0,0 +1,39 @@
+package model;
+
+/**
+ * תוצאה של פתיחת תא או סימון דגל ב-{@link GameEngine}.
+ * כל השדות הם ההפרש שהמהלך גרם (לא הערך המוחלט).
+ */
+public class MoveResult {
+
+    public enum Kind {
+        REJECTED,      // מהלך לא חוקי (לא התור, תא פתוח, משחק נגמר...)
+        REVEALED,      // פתיחה רגילה (כולל קסקדה)
+        FLAG_PLACED,   // דגל חדש
+        FLAG_REMOVED   // ביטול דגל – לא מסיים תור
+    }
+
+    public final Kind kind;
+    public final int cellsRevealed;   // כמה תאים נפתחו בפועל (כולל מוקשים)
+    public final int minesRevealed;   // כמה מוקשים נחשפו בשני הלוחות
+    public final int scoreDelta;
+    public final int livesDelta;
+    public final boolean turnEnded;
+    public final GameEngine.Status status;
+
+    public MoveResult(Kind kind, int cellsRevealed, int minesRevealed,
+                      int scoreDelta, int livesDelta,
+                      boolean turnEnded, GameEngine.Status status) {
+        this.kind = kind;
+        this.cellsRevealed = cellsRevealed;
+        this.minesRevealed = minesRevealed;
+        this.scoreDelta = scoreDelta;
+        this.livesDelta = livesDelta;
+        this.turnEnded = turnEnded;
+        this.status = status;
+    }
+
+    public boolean isAccepted() {
+        return kind != Kind.REJECTED;
+    }
+}
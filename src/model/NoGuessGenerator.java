@@ -0,0 +1,147 @@
+package model;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * לוחות "בלי ניחוש": מתא ההתחלה ({@link Board#getStartCell}) אפשר לפתור את כל הלוח
+ * בהסקה בלבד, בלי אף 50/50.
+ *
+ * כל מועמד הוא לוח רגיל מ-seed משלו, עם 3x3 בטוח סביב תא התחלה אקראי.
+ * {@link BoardSolver} מריץ "שחקן מושלם" מתא ההתחלה ועוצר ברגע הראשון שאין מהלך ודאי.
+ * המועמדים נבדקים במקביל על כל הליבות; הזוכה הוא המועמד הפתיר עם האינדקס הקטן ביותר,
+ * ולכן אותו RandomSource נותן תמיד אותו לוח, בלי קשר למספר ה-threads.
+ *
+ * לוחות מוכנים מראש (בלי לחכות לחיפוש) – {@link BoardPool} במצב NO_GUESS.
+ */
+public final class NoGuessGenerator {
+
+    /**
+     * אחרי כל כך הרבה מועמדים מוותרים ומחזירים לוח רגיל עם תא התחלה, בלי הבטחה ({@link Board#isGuessFree} false).
+     * ברמות הקיימות זה לא קורה; בלוח מותאם צפוף (למשל 10x10 עם 70 מוקשים) – כן.
+     */
+    private static final int MAX_CANDIDATES = 20_000;
+
+    /** לוח גדול מזה לא נבדק (כל בדיקה היא משחק שלם של הפותר). */
+    public static final int MAX_CELLS = 128 * 128;
+
+    private NoGuessGenerator() { }
+
+    // ---------- חיפוש ----------
+
+    /** האם אפשר לייצר לוח "בלי ניחוש" בהגדרה הזו (גודל סביר). */
+    public static boolean supports(BoardSpec spec) {
+        return spec.getCellCount() <= MAX_CELLS;
+    }
+
+    /**
+     * לוח "בלי ניחוש" – חיפוש מקבילי על כל הליבות.
+     * אם אין מועמד פתיר אחרי {@link #MAX_CANDIDATES} – לוח רגיל עם תא התחלה בטוח;
+     * {@link Board#isGuessFree} אומר למי שקרא אם הצליח (כדי להודיע לשחקן).
+     */
+    public static Board generate(Difficulty difficulty, RandomSource random) {
+        return generate(BoardSpec.of(difficulty), random, true);
+    }
+
+    public static Board generate(BoardSpec spec, RandomSource random) {
+        return generate(spec, random, true);
+    }
+
+    static Board generate(BoardSpec spec, RandomSource random, boolean parallel) {
+        if (!supports(spec)) {
+            throw new IllegalArgumentException("No-guess boards are limited to " + MAX_CELLS + " cells: " + spec);
+        }
+        int batch = parallel ? Math.max(4, Runtime.getRuntime().availableProcessors() * 4) : 1;
+        long[] seeds = new long[batch];
+
+        for (int tried = 0; tried < MAX_CANDIDATES; tried += batch) {
+            for (int k = 0; k < batch; k++) seeds[k] = random.nextLong();
+
+            // המועמד הפתיר הראשון (לפי אינדקס) – מועמדים אחריו לא טורחים להיבדק
+            AtomicInteger winner = new AtomicInteger(batch);
+            Board[] found = new Board[batch];
+            IntStream range = IntStream.range(0, batch);
+            (parallel ? range.parallel() : range).forEach(k -> {
+                if (k > winner.get()) return;
+                Board candidate = candidate(spec, seeds[k]);
+                if (isSolvable(candidate)) {
+                    candidate.setGuessFree(true);
+                    found[k] = candidate;
+                    winner.accumulateAndGet(k, Math::min);
+                }
+            });
+            if (winner.get() < batch) return found[winner.get()];
+        }
+        return candidate(spec, random.nextLong());
+    }
+
+    /** לוח מ-seed אחד: תא התחלה אקראי, ואז פיזור עם 3x3 בטוח סביבו. */
+    static Board candidate(BoardSpec spec, long seed) {
+        RandomSource rs = new RandomSource(seed);
+        Board board = Board.lazy(spec, rs.split());
+        int start = rs.nextInt(board.getRows() * board.getCols());
+        board.materialize(board.rowOf(start), board.colOf(start));
+        board.setStartCell(start);
+        return board;
+    }
+
+    /**
+     * "שחקן מושלם" מתא ההתחלה: פותח כל תא שהפותר מוכיח שהוא בטוח.
+     * קודם הפצה זולה; רק כשהיא נתקעת – ספירה מלאה. נעצר ברגע שאין מהלך ודאי.
+     * לא משנה את הלוח (מחזיק תצוגה משלו).
+     */
+    static boolean isSolvable(Board board) {
+        int start = board.getStartCell();
+        if (start < 0 || board.isMineAt(start)) return false;
+
+        int rows = board.getRows(), cols = board.getCols();
+        int n = rows * cols;
+        byte[] view = new byte[n];
+        Arrays.fill(view, BoardSnapshot.HIDDEN);
+        int[] stack = new int[n];
+        int safeLeft = n - board.getTotalMines() - open(board, view, stack, start);
+
+        BoardSolver solver = new BoardSolver();
+        int knownMines = 0;
+        while (safeLeft > 0) {
+            BoardSnapshot snap = new BoardSnapshot(rows, cols, board.getTotalMines(), view.clone());
+            SolverResult res = solver.propagate(snap);
+            if (res.safeCells.length == 0) {
+                res = solver.update(snap);
+                if (res.safeCells.length == 0 && res.mineCells.length == knownMines) return false;
+            }
+            knownMines = res.mineCells.length;
+            for (int i : res.safeCells) {
+                safeLeft -= open(board, view, stack, i);
+            }
+        }
+        return true;
+    }
+
+    /** פתיחה עם קסקדה על התצוגה המדומה; מחזיר כמה תאים נפתחו. */
+    private static int open(Board board, byte[] view, int[] stack, int start) {
+        if (view[start] != BoardSnapshot.HIDDEN) return 0;
+        int rows = board.getRows(), cols = board.getCols();
+        int opened = 0;
+        int top = 0;
+        view[start] = (byte) board.adjacentAt(start);
+        opened++;
+        if (view[start] == 0) stack[top++] = start;
+
+        while (top > 0) {
+            int cell = stack[--top];
+            int r = cell / cols, c = cell % cols;
+            for (int nr = Math.max(0, r - 1); nr <= Math.min(rows - 1, r + 1); nr++) {
+                for (int nc = Math.max(0, c - 1); nc <= Math.min(cols - 1, c + 1); nc++) {
+                    int j = nr * cols + nc;
+                    if (view[j] != BoardSnapshot.HIDDEN) continue;
+                    view[j] = (byte) board.adjacentAt(j);
+                    opened++;
+                    if (view[j] == 0) stack[top++] = j;
+                }
+            }
+        }
+        return opened;
+    }
+}
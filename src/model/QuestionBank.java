@@ -1,89 +1,153 @@
 package model;
 
-import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.InputStreamReader;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Random;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import model.io.CsvReader;
 
 /**
  * מחלקה המנהלת את מאגר השאלות (טוענת מקובץ CSV/TSV).
+ *
+ * השאלות נשמרות כחבילה מקומפלת ({@link QuestionPack}, questions.pack) שממופה לזיכרון:
+ * אם החבילה נבנתה מה-CSV הנוכחי היא נפתחת ב-O(1) בלי לקרוא את ה-CSV, ושאלה מפוענחת רק כשמגרילים אותה.
+ * אחרת ה-CSV מקומפל מחדש לחבילה. חבילה בלי CSV לידה (חבילה שמופצת לבד) נטענת כמו שהיא.
+ *
+ * טעינה מחדש: WatchService על התיקייה של ה-CSV מפעיל טעינה ברקע (thread נפרד, אחרי שהקובץ
+ * מפסיק להשתנות). החבילה החדשה נבנית ונבדקת בצד, ורק אם היא תקינה מחליפים את {@link #pack}
+ * בהשמה אחת – מי שמגריל שאלות לא מחכה ולא רואה מאגר חלקי. קובץ פגום נדחה והחבילה הקודמת נשארת.
  */
 public class QuestionBank {
 
-    private static final QuestionBank INSTANCE = new QuestionBank();
+    // אם הקובץ יושב ליד ההרצה (project root). אם תרצי classpath - תגידי ואשנה.
+    private static final String CSV_FILE_PATH = "questions.csv";
+    private static final String PACK_FILE_PATH = "questions.pack";
+
+    private static final QuestionBank INSTANCE = new QuestionBank(Path.of(CSV_FILE_PATH), Path.of(PACK_FILE_PATH));
+    static { INSTANCE.watch(); }
     public static QuestionBank getInstance() { return INSTANCE; }
 
-    private final List<Question> questions = new ArrayList<>();
-    private final Random random = new Random();
+    /** כמה זמן הקובץ צריך להיות שקט לפני טעינה (עורכים שומרים בכמה כתיבות). */
+    private static final long RELOAD_DELAY_MS = 300;
 
-    // אם הקובץ יושב ליד ההרצה (project root). אם תרצי classpath - תגידי ואשנה.
-    private static final String CSV_FILE_PATH = "questions.csv";
+    private final Path csvFile;
+    private final Path packFile;
+    private volatile QuestionPack pack = QuestionPack.empty();
+    private final RandomSource random = new RandomSource();
 
-    private QuestionBank() {
-        loadQuestionsFromCSV();
+    // כל הקומפילציות רצות כאן, אחת אחרי השנייה (כולן כותבות לאותה חבילה)
+    private final ScheduledExecutorService loader = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "question-loader");
+        t.setDaemon(true);
+        return t;
+    });
+    private ScheduledFuture<?> pendingReload;   // guarded by this
+    private WatchService watcher;               // guarded by this
+
+    /**
+     * מאגר על קבצים אחרים (בעיקר לבדיקות). טוען מיד, בלי לעקוב אחרי שינויים – ראו {@link #watch()}.
+     */
+    public QuestionBank(Path csvFile, Path packFile) {
+        this.csvFile = csvFile;
+        this.packFile = packFile;
+        deleteStalePacks();
+        loadQuestions();
     }
 
-    private void loadQuestionsFromCSV() {
-        File f = new File(CSV_FILE_PATH);
+    private void loadQuestions() {
+        File f = csvFile.toFile();
 
         System.out.println("System: Loading questions from: " + f.getAbsolutePath());
         System.out.println("System: Exists=" + f.exists() + " size=" + (f.exists() ? f.length() : -1));
 
+        QuestionPack previous = null;
+        if (Files.exists(packFile)) {
+            try {
+                QuestionPack p = QuestionPack.open(packFile);
+                if (!f.exists() || p.builtFrom(f.length(), f.lastModified())) {
+                    pack = p;
+                    System.out.println("System: Questions loaded from " + packFile + ". Total: " + p.size());
+                    return;
+                }
+                previous = p;
+            } catch (IOException e) {
+                System.err.println("Systems: bad question pack (" + e.getMessage() + "). Rebuilding from CSV.");
+            }
+        }
+
         if (!f.exists()) {
             System.err.println("Systems: questions.csv not found.");
             return;
         }
+        if (!compileFromCSV(f) && previous != null) {
+            // ה-CSV נדחה – החבילה מההפעלה הקודמת היא הגרסה התקינה האחרונה
+            pack = previous;
+            System.out.println("System: Using previous " + packFile + ". Total: " + previous.size());
+        }
+    }
 
-        try (BufferedReader br = new BufferedReader(
-                new InputStreamReader(new FileInputStream(f), StandardCharsets.UTF_8))) {
+    /**
+     * קריאת ה-CSV וכתיבתו כחבילה (השאלות לא נשמרות בזיכרון בדרך).
+     * שורה פגומה מדלגים עליה; הקובץ כולו נדחה אם אין כותרת עם 8 עמודות, אם אין אף שאלה תקינה,
+     * או אם רוב השורות פגומות (קובץ באמצע כתיבה / לא קובץ שאלות). במקרה כזה {@link #pack} לא משתנה.
+     *
+     * @return true אם החבילה החדשה פורסמה
+     */
+    private boolean compileFromCSV(File f) {
+        try (CsvReader csv = new CsvReader(new FileInputStream(f), CsvReader.AUTO);
+             QuestionPack.Writer writer = new QuestionPack.Writer(packFile, f.length(), f.lastModified())) {
 
-            String header = br.readLine();
-            if (header == null || header.trim().isEmpty()) {
-                System.err.println("Systems: CSV file is empty.");
-                return;
+            // BOM ומפריד (טאב / פסיק / נקודה-פסיק) מזוהים לפי הכותרת
+            if (!csv.next() || csv.isBlank()) {
+                return reject("file is empty");
+            }
+            if (csv.size() < 8) {
+                return reject("header has fewer than 8 columns: " + csv.record());
             }
-
-            // remove UTF-8 BOM if exists
-            header = header.replace("\uFEFF", "");
-
-            char delimiter = detectDelimiter(header);
 
             int rowNum = 1; // header row = 1
-            String line;
+            int badRows = 0;
 
-            while ((line = br.readLine()) != null) {
+            while (csv.next()) {
                 rowNum++;
-                if (line.trim().isEmpty()) continue;
-
-                // parse with quoting support
-                String[] data = parseLine(line, delimiter);
+                if (csv.isBlank()) continue;
 
                 // Expect 8 columns:
                 // 0 ID, 1 Question, 2 Difficulty(1-4), 3 A,4 B,5 C,6 D,7 Correct(A-D)
-                if (data.length < 8) {
+                if (csv.size() < 8) {
                     System.err.println("Systems: bad row " + rowNum +
-                            " (expected 8 columns, got " + data.length + "). Skipping. Line: " + line);
+                            " (expected 8 columns, got " + csv.size() + "). Skipping. Line: " + csv.record());
+                    badRows++;
                     continue;
                 }
 
                 try {
-                    String qText = safeTrim(data[1]);
-                    int levelNum = Integer.parseInt(safeTrim(data[2]));
+                    String qText = csv.get(1).trim();
+                    int levelNum = csv.getInt(2);
 
-                    String a = safeTrim(data[3]);
-                    String b = safeTrim(data[4]);
-                    String c = safeTrim(data[5]);
-                    String d = safeTrim(data[6]);
+                    String a = csv.get(3).trim();
+                    String b = csv.get(4).trim();
+                    String c = csv.get(5).trim();
+                    String d = csv.get(6).trim();
 
                     // basic validation
                     if (qText.isEmpty() || a.isEmpty() || b.isEmpty() || c.isEmpty() || d.isEmpty()) {
                         System.err.println("Systems: missing question/answers in row " + rowNum +
-                                ". Skipping. Line: " + line);
+                                ". Skipping. Line: " + csv.record());
+                        badRows++;
                         continue;
                     }
 
@@ -99,51 +163,172 @@ public class QuestionBank {
                         }
                     };
 
-                    int correctIdx = letterToIndex(safeTrim(data[7]));
+                    int correctIdx = letterToIndex(csv.get(7));
                     if (correctIdx < 0 || correctIdx > 3) {
                         System.err.println("Systems: bad correct answer letter in row " + rowNum +
-                                ": " + data[7] + ". Skipping.");
+                                ": " + csv.get(7) + ". Skipping.");
+                        badRows++;
                         continue;
                     }
 
                     String[] answers = { a, b, c, d };
-                    questions.add(new Question(qText, answers, correctIdx, level) {
-                        @Override
-                        protected void applyEffect(boolean correct, GameSession session) {
-
-                        }
-                    });
+                    writer.add(qText, answers, correctIdx, level);
 
+                } catch (IOException ioe) {
+                    throw ioe;
                 } catch (NumberFormatException nfe) {
                     System.err.println("Systems: error parsing row " + rowNum + " (difficulty not a number). Skipping.");
-                    System.err.println("Systems: Line: " + line);
+                    System.err.println("Systems: Line: " + csv.record());
+                    badRows++;
                 } catch (Exception e) {
                     System.err.println("Systems: error parsing row " + rowNum + ". Skipping.");
-                    System.err.println("Systems: Line: " + line);
+                    System.err.println("Systems: Line: " + csv.record());
+                    badRows++;
                 }
             }
 
-            System.out.println("System: Questions loaded successfully. Total: " + questions.size());
+            if (writer.count() == 0) {
+                return reject("no valid questions");
+            }
+            if (badRows > writer.count()) {
+                return reject(badRows + " bad rows, only " + writer.count() + " valid");
+            }
+
+            pack = QuestionPack.open(writer.finish());
+            System.out.println("System: Questions loaded successfully. Total: " + writer.count());
+            return true;
 
         } catch (IOException e) {
-            System.err.println("שגיאה: לא ניתן לקרוא את הקובץ '" + CSV_FILE_PATH + "'.");
+            System.err.println("שגיאה: לא ניתן לקרוא את הקובץ '" + f + "'.");
             e.printStackTrace();
+            return false;
+        }
+    }
+
+    private boolean reject(String reason) {
+        System.err.println("Systems: questions.csv rejected (" + reason + "). Keeping "
+                + pack.size() + " questions.");
+        return false;
+    }
+
+    /**
+     * אחרי שמירת ה-CSV: קומפילציה מחדש ברקע (לא חוסם את ה-thread שקרא).
+     * התוצאה true אם החבילה החדשה פורסמה, false אם הקובץ נדחה והחבילה הקודמת נשארה.
+     */
+    public Future<Boolean> reloadQuestions() {
+        return loader.submit(() -> reload(true));
+    }
+
+    /** רץ על ה-loader. {@code force=false}: מדלגים אם החבילה כבר נבנתה מהקובץ הזה. */
+    private boolean reload(boolean force) {
+        File f = csvFile.toFile();
+        if (!f.exists()) {
+            // באמצע החלפה (שמירה דרך קובץ זמני) – האירוע של הקובץ החדש יגיע
+            System.err.println("Systems: questions.csv not found. Keeping " + pack.size() + " questions.");
+            return false;
         }
+        if (!force && pack.builtFrom(f.length(), f.lastModified())) return true;
+        boolean ok = compileFromCSV(f);
+        if (ok) System.out.println("System: Questions reloaded successfully. Total: " + pack.size());
+        return ok;
     }
 
-    public void reloadQuestions() {
-        questions.clear();
-        loadQuestionsFromCSV();
-        System.out.println("System: Questions reloaded successfully. Total: " + questions.size());
+    /** אירוע על הקובץ: טעינה רק כשהוא שקט RELOAD_DELAY_MS (כל אירוע נוסף דוחה אותה). */
+    private synchronized void scheduleReload() {
+        if (pendingReload != null) pendingReload.cancel(false);
+        pendingReload = loader.schedule(() -> reload(false), RELOAD_DELAY_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * מתחיל לעקוב אחרי ה-CSV (thread רקע, daemon). אפשר לקרוא שוב – רק watcher אחד.
+     * אם מערכת הקבצים לא תומכת במעקב, נשארים עם {@link #reloadQuestions()} בלבד.
+     */
+    public synchronized void watch() {
+        if (watcher != null || loader.isShutdown()) return;
+        Path dir = csvFile.toAbsolutePath().getParent();
+        try {
+            watcher = dir.getFileSystem().newWatchService();
+            dir.register(watcher, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException e) {
+            System.err.println("Systems: not watching " + dir + " (" + e.getMessage() + ").");
+            watcher = null;
+            return;
+        }
+        WatchService ws = watcher;
+        Thread t = new Thread(() -> watchLoop(ws), "questions-watcher");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    private void watchLoop(WatchService ws) {
+        Path name = csvFile.getFileName();
+        try {
+            while (true) {
+                WatchKey key = ws.take();
+                boolean changed = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    // OVERFLOW = אירועים אבדו, ייתכן שגם של ה-CSV
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW || name.equals(event.context())) {
+                        changed = true;
+                    }
+                }
+                if (changed) scheduleReload();
+                if (!key.reset()) return;   // התיקייה נמחקה
+            }
+        } catch (ClosedWatchServiceException | InterruptedException e) {
+            // close()
+        }
+    }
+
+    /** עוצר את המעקב ואת הטעינה ברקע. החבילה הנוכחית נשארת זמינה. */
+    public synchronized void close() {
+        if (watcher != null) {
+            try {
+                watcher.close();
+            } catch (IOException ignored) {
+            }
+            watcher = null;
+        }
+        loader.shutdownNow();
+    }
+
+    /** חבילות זמניות שלא הוחלפו בהפעלה הקודמת (ראו QuestionPack.Writer.finish). */
+    private void deleteStalePacks() {
+        Path dir = packFile.toAbsolutePath().getParent();
+        try (DirectoryStream<Path> stale = Files.newDirectoryStream(dir, packFile.getFileName() + "*" + QuestionPack.TEMP_SUFFIX)) {
+            for (Path p : stale) {
+                try {
+                    Files.delete(p);
+                } catch (IOException ignored) {
+                    // עדיין בשימוש – יימחק בפעם הבאה
+                }
+            }
+        } catch (IOException ignored) {
+        }
+    }
+
+    /** O(1) – בלי להגריל שאלה. */
+    public boolean isEmpty() {
+        return pack.size() == 0;
+    }
+
+    /**
+     * מגריל שאלות למשחק אחד: רמה לפי משקלי {@code tier}, בלי חזרות עד שרמה נגמרת.
+     * ה-sampler נשאר עם החבילה שהייתה בתחילת המשחק גם אם השאלות נטענות מחדש באמצע.
+     */
+    public QuestionSampler newSampler(Difficulty tier, RandomSource rs) {
+        return new QuestionSampler(pack, tier, rs);
     }
 
     public Question getRandomQuestion() {
-        if (questions.isEmpty()) return null;
-        return questions.get(random.nextInt(questions.size()));
+        return getRandomQuestion(random);
     }
 
-    private String safeTrim(String s) {
-        return s == null ? "" : s.trim();
+    /** הגרלת שאלה מזרם אקראיות של משחק מסוים (כדי שמשחק עם seed יחזור על עצמו). */
+    public Question getRandomQuestion(RandomSource rs) {
+        QuestionPack p = pack;
+        if (p.size() == 0) return null;
+        return p.get(rs.nextInt(p.size()));
     }
 
     private int letterToIndex(String letter) {
@@ -158,46 +343,4 @@ public class QuestionBank {
             default -> -1;
         };
     }
-
-    private char detectDelimiter(String header) {
-        // Prefer tab if exists (Excel often saves TSV)
-        if (header.contains("\t")) return '\t';
-        if (header.contains(","))  return ',';
-        if (header.contains(";"))  return ';';
-        // fallback
-        return ',';
-    }
-
-    /**
-     * Parses a delimited line with support for quotes:
-     * - fields can be wrapped in "..."
-     * - inside quotes, delimiter doesn't split
-     * - escaped quotes "" become "
-     */
-    private String[] parseLine(String line, char delimiter) {
-        List<String> out = new ArrayList<>();
-        StringBuilder cur = new StringBuilder();
-        boolean inQuotes = false;
-
-        for (int i = 0; i < line.length(); i++) {
-            char ch = line.charAt(i);
-
-            if (ch == '"') {
-                if (inQuotes && i + 1 < line.length() && line.charAt(i + 1) == '"') {
-                    // escaped quote
-                    cur.append('"');
-                    i++;
-                } else {
-                    inQuotes = !inQuotes;
-                }
-            } else if (ch == delimiter && !inQuotes) {
-                out.add(cur.toString());
-                cur.setLength(0);
-            } else {
-                cur.append(ch);
-            }
-        }
-        out.add(cur.toString());
-        return out.toArray(new String[0]);
-    }
 }
@@ -0,0 +1,268 @@
+package model;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * חבילת שאלות מקומפלת (questions.pack): קובץ בינארי שממופה לזיכרון, והשאלות מפוענחות רק כשנשלפות.
+ * פתיחה היא O(1) בגודל החבילה (רק בדיקת הכותרת), ובזיכרון נשארות רק השאלות שבאמת הוגרלו.
+ *
+ * מבנה (little-endian):
+ *   כותרת      magic "JFQP", גרסה, מספר שאלות, גודל + זמן שינוי של ה-CSV שממנו נבנתה
+ *   levels     בית לכל שאלה (ordinal של QuestionLevel)
+ *   correct    בית לכל שאלה (0-3)
+ *   offsets    int לכל מחרוזת (שאלה + 4 תשובות = 5 לשאלה) + אחד לסוף – מיקום בתוך ה-blob
+ *   byLevel    int לכל רמה – כמה שאלות בה, ואחריו מספרי השאלות מקובצים לפי רמה
+ *              (ההגרלה לפי רמה לא צריכה לעבור על כל החבילה)
+ *   blob       כל המחרוזות ב-UTF-8, ברצף
+ */
+public final class QuestionPack {
+
+    private static final int MAGIC = 0x4A465150;   // "JFQP"
+    private static final int VERSION = 2;
+    private static final int HEADER_BYTES = 32;
+    private static final int STRINGS_PER_QUESTION = 5;
+
+    /** חבילות שלא הוחלפו (ראו {@link Writer#finish()}); נמחקות בהפעלה הבאה. */
+    public static final String TEMP_SUFFIX = ".pack.tmp";
+
+    private static final QuestionLevel[] LEVELS = QuestionLevel.values();
+
+    private final ByteBuffer buf;   // לקריאה בלבד; רק קריאות אבסולוטיות, כך שבטוח בין threads
+    private final int count;
+    private final long sourceSize;
+    private final long sourceModified;
+    private final int levelsAt, correctAt, offsetsAt, byLevelAt, blobAt;
+    private final int[] levelStart = new int[LEVELS.length + 1];   // מיקום כל רמה ברשימה המקובצת
+
+    private QuestionPack(ByteBuffer buf) throws IOException {
+        this.buf = buf.order(ByteOrder.LITTLE_ENDIAN);
+        if (buf.capacity() < HEADER_BYTES || buf.getInt(0) != MAGIC) throw new IOException("Not a question pack");
+        if (buf.getInt(4) != VERSION) throw new IOException("Unsupported question pack version " + buf.getInt(4));
+
+        count = buf.getInt(8);
+        sourceSize = buf.getLong(16);
+        sourceModified = buf.getLong(24);
+        levelsAt = HEADER_BYTES;
+        correctAt = levelsAt + count;
+        offsetsAt = correctAt + count;
+        long byLevel = offsetsAt + ((long) count * STRINGS_PER_QUESTION + 1) * 4;
+        long blob = byLevel + (LEVELS.length + (long) count) * 4;
+        if (count < 0 || blob > buf.capacity()) throw new IOException("Truncated question pack");
+        byLevelAt = (int) byLevel;
+        blobAt = (int) blob;
+        for (int l = 0; l < LEVELS.length; l++) {
+            levelStart[l + 1] = levelStart[l] + buf.getInt(byLevelAt + l * 4);
+        }
+        if (levelStart[LEVELS.length] != count) throw new IOException("Corrupt question pack (level table)");
+        if (blobAt + (long) offset(count * STRINGS_PER_QUESTION) != buf.capacity()) {
+            throw new IOException("Truncated question pack");
+        }
+    }
+
+    /** מיפוי של קובץ חבילה (בלי לקרוא את התוכן). */
+    public static QuestionPack open(Path file) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (ch.size() > Integer.MAX_VALUE) throw new IOException("Question pack too large");
+            MappedByteBuffer map = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+            return new QuestionPack(map);
+        }
+    }
+
+    /** חבילה ריקה (כשאין קובץ שאלות). */
+    public static QuestionPack empty() {
+        try {
+            // כותרת + offset אחד + מונה 0 לכל רמה
+            ByteBuffer b = ByteBuffer.allocate(HEADER_BYTES + 4 + LEVELS.length * 4).order(ByteOrder.LITTLE_ENDIAN);
+            b.putInt(0, MAGIC).putInt(4, VERSION).putInt(8, 0);
+            return new QuestionPack(b);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public int size() { return count; }
+
+    /** האם החבילה נבנתה מה-CSV במצבו הנוכחי (גודל + זמן שינוי). */
+    public boolean builtFrom(long csvSize, long csvModified) {
+        return sourceSize == csvSize && sourceModified == csvModified;
+    }
+
+    /** רמת השאלה – בית אחד, בלי לפענח את הטקסט. */
+    public QuestionLevel level(int i) {
+        return LEVELS[buf.get(levelsAt + checkIndex(i))];
+    }
+
+    /** כמה שאלות ברמה. */
+    public int levelSize(QuestionLevel level) {
+        return levelStart[level.ordinal() + 1] - levelStart[level.ordinal()];
+    }
+
+    /** מספר השאלה ה-{@code k} (מ-0) ברמה – לשימוש עם {@link #get(int)}. */
+    public int levelQuestion(QuestionLevel level, int k) {
+        if (k < 0 || k >= levelSize(level)) throw new IndexOutOfBoundsException(level + " question " + k);
+        return buf.getInt(byLevelAt + (LEVELS.length + levelStart[level.ordinal()] + k) * 4);
+    }
+
+    /** פענוח שאלה אחת (אובייקט חדש בכל קריאה – החבילה לא מחזיקה שאלות בזיכרון). */
+    public Question get(int i) {
+        checkIndex(i);
+        int s = i * STRINGS_PER_QUESTION;
+        String text = string(s);
+        String[] answers = { string(s + 1), string(s + 2), string(s + 3), string(s + 4) };
+        return new PackedQuestion(text, answers, buf.get(correctAt + i), level(i));
+    }
+
+    private int checkIndex(int i) {
+        if (i < 0 || i >= count) throw new IndexOutOfBoundsException("Question " + i + " of " + count);
+        return i;
+    }
+
+    private int offset(int stringIndex) {
+        return buf.getInt(offsetsAt + stringIndex * 4);
+    }
+
+    private String string(int stringIndex) {
+        int from = offset(stringIndex);
+        int to = offset(stringIndex + 1);
+        byte[] bytes = new byte[to - from];
+        buf.get(blobAt + from, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /** שאלה מהחבילה; לשאלות שאלון אין השפעה משלהן (המנוע מחיל את התוצאה). */
+    private static final class PackedQuestion extends Question {
+        PackedQuestion(String text, String[] answers, int correct, QuestionLevel level) {
+            super(text, answers, correct, level);
+        }
+
+        @Override
+        protected void applyEffect(boolean correct, GameSession session) {
+        }
+    }
+
+    // ---------- כתיבה ----------
+
+    /**
+     * בניית חבילה בהזרמה: המחרוזות נכתבות ישר לקובץ זמני, בזיכרון נשארות רק הטבלאות
+     * (2 בתים + 20 בתים לשאלה). {@link #finish()} כותב את החבילה ומחליף באטומיות.
+     */
+    public static final class Writer implements Closeable {
+        private final Path target;
+        private final Path blobFile;
+        private final OutputStream blob;
+        private final long sourceSize, sourceModified;
+
+        private byte[] levels = new byte[256];
+        private byte[] correct = new byte[256];
+        private int[] offsets = new int[256 * STRINGS_PER_QUESTION + 1];
+        private int count;
+        private long blobLength;
+
+        public Writer(Path target, long sourceSize, long sourceModified) throws IOException {
+            this.target = target;
+            this.sourceSize = sourceSize;
+            this.sourceModified = sourceModified;
+            this.blobFile = target.resolveSibling(target.getFileName() + ".blob.tmp");
+            this.blob = new BufferedOutputStream(Files.newOutputStream(blobFile), 1 << 16);
+        }
+
+        public void add(String text, String[] answers, int correctIndex, QuestionLevel level) throws IOException {
+            if (answers.length != 4) throw new IllegalArgumentException("A question needs 4 answers");
+            if (count == levels.length) {
+                levels = Arrays.copyOf(levels, count * 2);
+                correct = Arrays.copyOf(correct, count * 2);
+                offsets = Arrays.copyOf(offsets, count * 2 * STRINGS_PER_QUESTION + 1);
+            }
+            levels[count] = (byte) level.ordinal();
+            correct[count] = (byte) correctIndex;
+            int s = count * STRINGS_PER_QUESTION;
+            putString(s, text);
+            for (int a = 0; a < 4; a++) putString(s + 1 + a, answers[a]);
+            count++;
+        }
+
+        private void putString(int stringIndex, String value) throws IOException {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            if (blobLength + bytes.length > Integer.MAX_VALUE / 2) throw new IOException("Question pack too large");
+            offsets[stringIndex] = (int) blobLength;
+            blob.write(bytes);
+            blobLength += bytes.length;
+        }
+
+        public int count() { return count; }
+
+        /**
+         * כותב את החבילה (כותרת + טבלאות + blob) ומחליף את הקובץ הקיים.
+         * ב-Windows אי אפשר להחליף קובץ שממופה לזיכרון (החבילה הישנה עדיין בשימוש) –
+         * אז החבילה נשארת בשם הזמני שלה, שמוחזר, עד ההפעלה הבאה.
+         */
+        public Path finish() throws IOException {
+            blob.close();
+            offsets[count * STRINGS_PER_QUESTION] = (int) blobLength;
+
+            Path tmp = Files.createTempFile(target.toAbsolutePath().getParent(),
+                    target.getFileName().toString(), TEMP_SUFFIX);
+            try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                int tables = count * 2 + (count * STRINGS_PER_QUESTION + 1) * 4 + (LEVELS.length + count) * 4;
+                ByteBuffer head = ByteBuffer.allocate(HEADER_BYTES + tables).order(ByteOrder.LITTLE_ENDIAN);
+                head.putInt(MAGIC).putInt(VERSION).putInt(count).putInt(0)
+                    .putLong(sourceSize).putLong(sourceModified);
+                head.put(levels, 0, count).put(correct, 0, count);
+                for (int i = 0; i <= count * STRINGS_PER_QUESTION; i++) head.putInt(offsets[i]);
+
+                // מקובץ לפי רמה (counting sort – בתוך רמה לפי סדר ה-CSV)
+                int[] perLevel = new int[LEVELS.length];
+                for (int i = 0; i < count; i++) perLevel[levels[i]]++;
+                for (int n : perLevel) head.putInt(n);
+                for (int l = 0; l < LEVELS.length; l++) {
+                    for (int i = 0; i < count; i++) {
+                        if (levels[i] == l) head.putInt(i);
+                    }
+                }
+                head.flip();
+                while (head.hasRemaining()) ch.write(head);
+
+                try (FileChannel in = FileChannel.open(blobFile, StandardOpenOption.READ)) {
+                    long pos = 0, size = in.size();
+                    while (pos < size) pos += in.transferTo(pos, size - pos, ch);
+                }
+                ch.force(true);
+            } finally {
+                Files.deleteIfExists(blobFile);
+            }
+            try {
+                try {
+                    Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+                }
+                return target;
+            } catch (IOException e) {
+                System.err.println("System: " + target + " is in use; new questions stay in " + tmp.getFileName());
+                return tmp;
+            }
+        }
+
+        /** ביטול (אם finish לא נקרא). */
+        @Override
+        public void close() throws IOException {
+            blob.close();
+            Files.deleteIfExists(blobFile);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * הגרלת שאלות למשחק אחד (נוצר ב-{@link QuestionBank#newSampler}).
+ *
+ * כל הגרלה: קודם רמה, לפי המשקלים של רמת המשחק ({@link Difficulty#getQuestionWeight}),
+ * מבין הרמות שיש בהן שאלות; ואז שאלה מאותה רמה בלי חזרות – כל רמה היא ערבוב (Fisher-Yates)
+ * שמתקדם שאלה אחת בכל הגרלה, ורק כשכל השאלות ברמה יצאו מתחיל ערבוב חדש.
+ *
+ * הערבוב "עצל": שומרים רק את המקומות שהוחלפו, לכן הגרלה היא O(1) והזיכרון O(מספר ההגרלות),
+ * בלי לבנות מערך בגודל הרמה. כל משחק מחזיק sampler משלו (וזרם אקראיות משלו), והשיטות מסונכרנות,
+ * כך שמשחקים במקביל לא מפריעים זה לזה.
+ */
+public final class QuestionSampler implements Supplier<Question> {
+
+    private static final QuestionLevel[] LEVELS = QuestionLevel.values();
+
+    private final QuestionPack pack;
+    private final RandomSource random;
+    private final int[] weights = new int[LEVELS.length];   // 0 לרמה בלי שאלות
+    private final int totalWeight;
+
+    // לכל רמה: כמה שאלות כבר יצאו בסבב הנוכחי, ומה הוחלף בערבוב (מקום → שאלה)
+    private final int[] cursor = new int[LEVELS.length];
+    private final List<Map<Integer, Integer>> swapped = new ArrayList<>(LEVELS.length);
+
+    public QuestionSampler(QuestionPack pack, Difficulty tier, RandomSource random) {
+        this.pack = pack;
+        this.random = random;
+
+        int total = 0;
+        for (QuestionLevel level : LEVELS) {
+            int l = level.ordinal();
+            swapped.add(new HashMap<>());
+            if (pack.levelSize(level) > 0) {
+                // רמה שקיבלה משקל 0 עדיין עדיפה על "אין שאלות"
+                weights[l] = Math.max(1, tier.getQuestionWeight(level));
+                total += weights[l];
+            }
+        }
+        this.totalWeight = total;
+    }
+
+    public boolean isEmpty() {
+        return totalWeight == 0;
+    }
+
+    /** השאלה הבאה (null אם אין שאלות בכלל). */
+    @Override
+    public synchronized Question get() {
+        if (totalWeight == 0) return null;
+
+        int r = random.nextInt(totalWeight);
+        int l = 0;
+        while (r >= weights[l]) r -= weights[l++];
+        QuestionLevel level = LEVELS[l];
+
+        int n = pack.levelSize(level);
+        if (cursor[l] == n) {   // כל הרמה יצאה – סבב חדש
+            cursor[l] = 0;
+            swapped.get(l).clear();
+        }
+        Map<Integer, Integer> perm = swapped.get(l);
+        int k = cursor[l]++;
+        int j = k + random.nextInt(n - k);
+        int picked = perm.getOrDefault(j, j);
+        perm.put(j, perm.getOrDefault(k, k));
+        perm.remove(k);   // מקום k לא ייבחר שוב בסבב הזה
+
+        return pack.get(pack.levelQuestion(level, picked));
+    }
+}
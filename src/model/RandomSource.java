@@ -0,0 +1,68 @@
+package model;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * מקור האקראיות היחיד של המשחק.
+ * - נבנה מ-seed אחד (נשמר ב-{@link #getSeed()}) → אותו seed + אותם מהלכים = אותו משחק בדיוק
+ * - {@link #split()} נותן זרם עצמאי לכל רכיב (כל לוח, הסשן, המנוע, השאלות),
+ *   כך שסדר הקריאות ברכיב אחד לא משפיע על רכיב אחר, ואין תחרות בין threads
+ * - לא thread-safe: כל thread / רכיב מקבל split משלו
+ */
+public final class RandomSource {
+
+    private final long seed;
+    private final SplittableRandom random;
+
+    /** seed חדש ואקראי (משחק רגיל). */
+    public RandomSource() {
+        this(new SplittableRandom().nextLong());
+    }
+
+    public RandomSource(long seed) {
+        this.seed = seed;
+        this.random = new SplittableRandom(seed);
+    }
+
+    private RandomSource(long seed, SplittableRandom random) {
+        this.seed = seed;
+        this.random = random;
+    }
+
+    /** ה-seed שממנו נבנה המקור (בזרם מפוצל – ה-seed של השורש). */
+    public long getSeed() {
+        return seed;
+    }
+
+    /** זרם חדש ועצמאי; כל קריאה מקדמת את הזרם הנוכחי פעם אחת. */
+    public RandomSource split() {
+        return new RandomSource(seed, random.split());
+    }
+
+    public int nextInt(int bound) {
+        return random.nextInt(bound);
+    }
+
+    public long nextLong() {
+        return random.nextLong();
+    }
+
+    public double nextDouble() {
+        return random.nextDouble();
+    }
+
+    public boolean nextBoolean() {
+        return random.nextBoolean();
+    }
+
+    /** ערבוב Fisher-Yates (אותו אלגוריתם של Collections.shuffle). */
+    public <T> void shuffle(List<T> list) {
+        for (int i = list.size(); i > 1; i--) {
+            int j = random.nextInt(i);
+            T tmp = list.get(i - 1);
+            list.set(i - 1, list.get(j));
+            list.set(j, tmp);
+        }
+    }
+}
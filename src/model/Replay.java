@@ -0,0 +1,135 @@
+package model;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * שחזור משחק מיומן מהלכים ({@link MoveLog}) בלי מסך.
+ *
+ * המשחק נבנה שוב מה-seeds שבכותרת ({@link GameEngine#rebuild}) וכל פקודה מורצת שוב
+ * על המנוע בדיוק כמו במשחק המקורי, כך שהלוחות, הניקוד והחיים יוצאים זהים.
+ * השאלות לא נשלפות מ-QuestionBank אלא מהיומן (רמת השאלה שנשלפה בכל הפעלה),
+ * כדי ששינוי בקובץ השאלות לא ישנה משחק ישן.
+ */
+public final class Replay {
+
+    private Replay() { }
+
+    /** תוצאת אימות של יומן אחד מול history.csv. */
+    public static final class Verification {
+        public final int replayedScore;
+        public final GameEngine.Status status;
+        public final boolean finished;       // יש ביומן רשומת END
+        public final int loggedScore;        // הניקוד ברשומת END (אם finished)
+        public final boolean historyFound;   // נמצאה שורה תואמת ב-history.csv
+        public final int historyScore;
+        public final boolean ok;
+        public final String message;
+
+        Verification(int replayedScore, GameEngine.Status status, boolean finished, int loggedScore,
+                     boolean historyFound, int historyScore, boolean ok, String message) {
+            this.replayedScore = replayedScore;
+            this.status = status;
+            this.finished = finished;
+            this.loggedScore = loggedScore;
+            this.historyFound = historyFound;
+            this.historyScore = historyScore;
+            this.ok = ok;
+            this.message = message;
+        }
+    }
+
+    /** מנוע חדש במצב ההתחלה של המשחק שביומן; השאלות יגיעו מהיומן לפי הסדר. */
+    public static GameEngine newEngine(MoveLog.Recording recording) {
+        return GameEngine.rebuild(recording.header, questionsFrom(recording.moves));
+    }
+
+    /**
+     * מריץ רשומה אחת על המנוע (PAUSE/RESUME/END לא משנים את המשחק).
+     * פתיחה רצה כמהלך אחד ({@link GameEngine#reveal}), גם אם במקור הייתה מונפשת.
+     */
+    public static void apply(GameEngine engine, MoveLog.Move move) {
+        switch (move.type) {
+            case MoveLog.REVEAL -> engine.reveal(move.firstBoard, move.row, move.col);
+            case MoveLog.FLAG -> engine.flag(move.firstBoard, move.row, move.col);
+            case MoveLog.ACTIVATE -> engine.activateSpecial(move.firstBoard, move.row, move.col);
+            case MoveLog.ANSWER -> {
+                if (engine.getPendingQuestion() != null) engine.answerQuestion(move.correct);
+            }
+            default -> { }
+        }
+    }
+
+    /** כל היומן עד הסוף; אם המשחק הסתיים – גם סגירה (לבבות לנקודות), כמו במסך סוף המשחק. */
+    public static GameEngine run(MoveLog.Recording recording) {
+        GameEngine engine = newEngine(recording);
+        for (MoveLog.Move move : recording.moves) {
+            apply(engine, move);
+        }
+        if (engine.isOver()) engine.finishGame();
+        return engine;
+    }
+
+    /**
+     * מריץ את היומן ובודק שהניקוד שיוצא שווה לניקוד ברשומת END
+     * ולניקוד בשורה של אותו משחק ב-history.csv (אותם שחקנים ואותו תאריך).
+     */
+    public static Verification verify(MoveLog.Recording recording, List<GameHistoryEntry> history) {
+        GameEngine engine = run(recording);
+        int score = engine.getSession().getScore();
+        MoveLog.Move end = recording.end();
+
+        if (end == null) {
+            return new Verification(score, engine.getStatus(), false, 0, false, 0, false,
+                    "Log has no END record (game was not finished)");
+        }
+        if (!engine.isOver()) {
+            return new Verification(score, engine.getStatus(), true, end.score, false, 0, false,
+                    "Replay did not reach the end of the game");
+        }
+
+        GameHistoryEntry row = null;
+        for (GameHistoryEntry e : history) {
+            if (e.getPlayerName().equals(recording.header.players) && e.getDate().equals(end.historyDate)) {
+                row = e;
+                if (e.getScore() == score) break;   // כמה משחקים באותה דקה – מעדיפים את התואם
+            }
+        }
+
+        boolean logOk = end.score == score;
+        boolean historyOk = row != null && row.getScore() == score;
+        String message;
+        if (!logOk) {
+            message = "Replayed score " + score + " != logged score " + end.score;
+        } else if (row == null) {
+            message = "No history row for " + recording.header.players + " at " + end.historyDate;
+        } else if (!historyOk) {
+            message = "Replayed score " + score + " != history.csv score " + row.getScore();
+        } else {
+            message = "OK: score " + score;
+        }
+        return new Verification(score, engine.getStatus(), true, end.score,
+                row != null, row == null ? 0 : row.getScore(), logOk && historyOk, message);
+    }
+
+    /** השאלות שנשלפו במשחק המקורי, לפי הסדר (רק הרמה חשובה לניקוד). */
+    private static Supplier<Question> questionsFrom(List<MoveLog.Move> moves) {
+        Deque<Integer> draws = new ArrayDeque<>();
+        for (MoveLog.Move m : moves) {
+            if (m.type == MoveLog.ACTIVATE && m.draw != MoveLog.DRAW_NONE) draws.add(m.draw);
+        }
+        return () -> {
+            Integer draw = draws.poll();
+            if (draw == null || draw == MoveLog.DRAW_EMPTY) return null;
+            QuestionLevel level = QuestionLevel.values()[draw - MoveLog.DRAW_LEVEL];
+            return new Question("", new String[]{"", "", "", ""}, 0, level) {
+                @Override
+                protected void applyEffect(boolean correct, GameSession session) {
+                    // המנוע מחיל את התוצאה (GameEngine.answerQuestion)
+                }
+            };
+        };
+    }
+}
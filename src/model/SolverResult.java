@@ -0,0 +1,40 @@
+package model;
+
+/**
+ * תוצאה של {@link BoardSolver}: מה ידוע בוודאות ומה ההסתברות לכל תא.
+ * אינדקסים הם r*cols+c (כמו ב-{@link Board#toIndex}).
+ */
+public class SolverResult {
+
+    /** תאים סגורים שבוודאות אינם מוקש (אפשר לפתוח בלי סיכון). */
+    public final int[] safeCells;
+
+    /** תאים סגורים שבוודאות הם מוקש (אפשר לסמן בדגל). */
+    public final int[] mineCells;
+
+    /**
+     * הסתברות מוקש לכל תא בלוח; תא חשוף = 0, מוקש חשוף = 1.
+     * null אם הופעל רק שלב הוודאויות ({@link BoardSolver#propagate}).
+     */
+    public final double[] mineProbability;
+
+    /** התא הסגור עם ההסתברות הנמוכה ביותר (לניחוש), או ‎-1. */
+    public final int bestGuess;
+
+    /** true אם כל רכיבי החזית חושבו במדויק (בלי קירוב לרכיב רחב מדי). */
+    public final boolean exact;
+
+    public SolverResult(int[] safeCells, int[] mineCells, double[] mineProbability,
+                        int bestGuess, boolean exact) {
+        this.safeCells = safeCells;
+        this.mineCells = mineCells;
+        this.mineProbability = mineProbability;
+        this.bestGuess = bestGuess;
+        this.exact = exact;
+    }
+
+    /** האם יש מהלך בטוח (פתיחה או דגל) בלי לנחש. */
+    public boolean hasCertainMove() {
+        return safeCells.length > 0 || mineCells.length > 0;
+    }
+}
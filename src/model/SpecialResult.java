@@ -0,0 +1,50 @@
+package model;
+
+/**
+ * תוצאה של הפעלת משבצת שאלה/הפתעה (או של מענה על שאלה) ב-{@link GameEngine}.
+ * ההפרשים מחולקים לתשלום ההפעלה ולתוצאה עצמה, כמו שה-GUI מציג אותם.
+ */
+public class SpecialResult {
+
+    public enum Kind {
+        REJECTED,           // התא לא ניתן להפעלה / לא התור / משחק נגמר
+        NOT_ENOUGH_POINTS,  // אין מספיק נקודות לשלם – התור לא נגמר
+        NO_QUESTIONS,       // מאגר השאלות ריק – התור לא נגמר
+        SURPRISE,           // הפתעה הופעלה ונסגרה
+        QUESTION_PENDING,   // שולם, השאלה ב-question – מחכים ל-answerQuestion
+        QUESTION_ANSWERED   // השאלה נענתה והתור נגמר
+    }
+
+    public final Kind kind;
+    public final boolean good;              // הפתעה טובה / תשובה נכונה
+    public final Question question;         // רק ב-QUESTION_PENDING / QUESTION_ANSWERED
+    public final QuestionBonusEffect bonus; // רק ב-QUESTION_ANSWERED
+    public final int payScoreDelta;
+    public final int payLivesDelta;
+    public final int outcomeScoreDelta;
+    public final int outcomeLivesDelta;
+    public final boolean turnEnded;
+    public final GameEngine.Status status;
+
+    public SpecialResult(Kind kind, boolean good, Question question, QuestionBonusEffect bonus,
+                         int payScoreDelta, int payLivesDelta,
+                         int outcomeScoreDelta, int outcomeLivesDelta,
+                         boolean turnEnded, GameEngine.Status status) {
+        this.kind = kind;
+        this.good = good;
+        this.question = question;
+        this.bonus = bonus;
+        this.payScoreDelta = payScoreDelta;
+        this.payLivesDelta = payLivesDelta;
+        this.outcomeScoreDelta = outcomeScoreDelta;
+        this.outcomeLivesDelta = outcomeLivesDelta;
+        this.turnEnded = turnEnded;
+        this.status = status;
+    }
+
+    /** תוצאה בלי שינוי במצב (REJECTED / NOT_ENOUGH_POINTS / NO_QUESTIONS). */
+    static SpecialResult refused(Kind kind, GameEngine.Status status) {
+        return new SpecialResult(kind, false, null, QuestionBonusEffect.NONE,
+                0, 0, 0, 0, false, status);
+    }
+}
@@ -0,0 +1,422 @@
+package model.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * קריאת CSV (RFC 4180) ישירות מבתים ב-UTF-8, רשומה אחרי רשומה:
+ * <pre>
+ *   try (CsvReader csv = new CsvReader(in, CsvReader.AUTO)) {
+ *       while (csv.next()) { String name = csv.get(0); int score = csv.getInt(1); ... }
+ *   }
+ * </pre>
+ * הקורא לא מייצר String לכל שדה: {@link #next()} רק מסמן איפה כל שדה מתחיל ונגמר בתוך חלון בתים
+ * שממוחזר, ו-String נוצר רק כשמבקשים {@link #get(int)} (מספרים נקראים ישר מהבתים, {@link #getInt(int)}).
+ * החיפוש של מפריד / סוף שורה / מירכאות בודק 8 בתים בבת אחת (SWAR – "SIMD" בתוך long).
+ *
+ * מירכאות: שדה שמתחיל ב-" יכול להכיל מפריד, ירידת שורה ו-"" (= "). מירכאה באמצע שדה רגיל היא תו רגיל.
+ * סוף שורה: \n או \r\n. BOM בתחילת הקובץ מדולג. רשומה אחרונה בלי סוף שורה מוחזרת עם
+ * {@link #terminated()} = false (מי שמוסיף לקובץ יכול לזהות שורה שנכתבה רק בחלקה).
+ */
+public final class CsvReader implements Closeable {
+
+    /** זיהוי המפריד מהשורה הראשונה ({@link #detectDelimiter}). */
+    public static final char AUTO = 0;
+
+    private static final int DEFAULT_BUFFER = 1 << 16;
+
+    private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final long ONES = 0x0101010101010101L;
+    private static final long HIGHS = 0x8080808080808080L;
+    private static final long NEWLINES = ONES * '\n';
+    private static final long QUOTES = ONES * '"';
+
+    private static final byte PLAIN = 0;   // השדה הוא בדיוק הבתים [start, end)
+    private static final byte RAW = 1;     // יש בו "" או טקסט אחרי המירכאה הסוגרת – [start, end) כולל המירכאות
+
+    private final InputStream in;   // null = כל הנתונים כבר ב-buf
+    private byte[] buf;
+    private int limit;              // סוף הנתונים ב-buf
+    private int pos;                // תחילת הרשומה הבאה
+    private boolean eof;
+    private long base;              // המיקום במקור של buf[0]
+    private boolean started;
+
+    private char delimiter;
+    private long delimiters;        // המפריד בכל אחד מ-8 הבתים
+
+    // הרשומה הנוכחית
+    private int recStart;
+    private int recEnd;             // אחרי סוף השורה
+    private int textEnd;            // לפני סוף השורה
+    private boolean terminated;
+    private int count;
+    private int[] starts = new int[16];
+    private int[] ends = new int[16];
+    private byte[] kinds = new byte[16];
+
+    public CsvReader(InputStream in, char delimiter) {
+        this(in, delimiter, DEFAULT_BUFFER);
+    }
+
+    /** @param bufferSize גודל החלון ההתחלתי (גדל לבד אם רשומה אחת גדולה ממנו). */
+    public CsvReader(InputStream in, char delimiter, int bufferSize) {
+        this.in = in;
+        this.buf = new byte[Math.max(16, bufferSize)];
+        setDelimiter(delimiter);
+    }
+
+    /**
+     * קריאה מ-{@code data} (מ-position עד limit; position לא זז). מערך שמאחורי ה-buffer נקרא במקום
+     * בלי העתקה; buffer ישיר (למשל קובץ ממופה) מועתק בחלונות.
+     */
+    public CsvReader(ByteBuffer data, char delimiter) {
+        setDelimiter(delimiter);
+        if (data.hasArray()) {
+            this.in = null;
+            this.buf = data.array();
+            this.pos = data.arrayOffset() + data.position();
+            this.limit = data.arrayOffset() + data.limit();
+            this.base = -pos;
+            this.eof = true;
+        } else {
+            this.in = new BufferStream(data.duplicate());
+            this.buf = new byte[DEFAULT_BUFFER];
+        }
+    }
+
+    private void setDelimiter(char delimiter) {
+        if (delimiter > 0x7F) throw new IllegalArgumentException("delimiter must be ASCII: " + delimiter);
+        this.delimiter = delimiter;
+        this.delimiters = ONES * delimiter;
+    }
+
+    /** כמו בקבצים שנשמרים מ-Excel: טאב אם יש, אחרת פסיק, אחרת נקודה-פסיק, וברירת מחדל פסיק. */
+    public static char detectDelimiter(String header) {
+        if (header.indexOf('\t') >= 0) return '\t';
+        if (header.indexOf(',') >= 0)  return ',';
+        if (header.indexOf(';') >= 0)  return ';';
+        return ',';
+    }
+
+    public char delimiter() {
+        return delimiter;
+    }
+
+    // ---------- מעבר על רשומות ----------
+
+    /** מתקדם לרשומה הבאה; false בסוף הקלט. */
+    public boolean next() throws IOException {
+        if (!started) start();
+        while (true) {
+            int r = scan(pos);
+            if (r == DONE) {
+                pos = recEnd;
+                return true;
+            }
+            if (r == END) return false;
+            fill();   // MORE: הרשומה לא שלמה בחלון
+        }
+    }
+
+    private void start() throws IOException {
+        started = true;
+        while (limit - pos < 3 && !eof) fill();
+        if (limit - pos >= 3 && buf[pos] == (byte) 0xEF && buf[pos + 1] == (byte) 0xBB && buf[pos + 2] == (byte) 0xBF) {
+            pos += 3;
+        }
+        if (delimiter == AUTO) {
+            int nl;
+            while ((nl = find(pos, NEWLINES)) < 0 && !eof) fill();
+            int end = nl < 0 ? limit : nl;
+            setDelimiter(detectDelimiter(new String(buf, pos, end - pos, StandardCharsets.ISO_8859_1)));
+        }
+    }
+
+    private static final int DONE = 0, MORE = 1, END = 2;
+
+    /** מוצא את גבולות השדות של רשומה שמתחילה ב-{@code start}. */
+    private int scan(int start) {
+        count = 0;
+        recStart = start;
+        int i = start;
+        if (i >= limit) return eof ? END : MORE;
+
+        while (true) {
+            if (i < limit && buf[i] == '"') {
+                // שדה במירכאות: עד מירכאה שלא מוכפלת
+                int q = i + 1;
+                boolean escaped = false;
+                while (true) {
+                    q = find(q, QUOTES);
+                    if (q < 0) {
+                        if (!eof) return MORE;
+                        // מירכאות שלא נסגרו עד סוף הקובץ
+                        addField(i, limit, RAW);
+                        return finish(limit, limit, false);
+                    }
+                    if (q + 1 >= limit && !eof) return MORE;   // אולי ""
+                    if (q + 1 < limit && buf[q + 1] == '"') {
+                        escaped = true;
+                        q += 2;
+                        continue;
+                    }
+                    break;
+                }
+                int j = q + 1;
+                if (j >= limit) {
+                    addQuoted(i, q, escaped);
+                    return finish(limit, limit, false);
+                }
+                byte b = buf[j];
+                if (b == delimiter) {
+                    addQuoted(i, q, escaped);
+                    i = j + 1;
+                    continue;
+                }
+                if (b == '\n') {
+                    addQuoted(i, q, escaped);
+                    return finish(j, j + 1, true);
+                }
+                if (b == '\r') {
+                    if (j + 1 >= limit && !eof) return MORE;
+                    if (j + 1 < limit && buf[j + 1] == '\n') {
+                        addQuoted(i, q, escaped);
+                        return finish(j, j + 2, true);
+                    }
+                }
+                // טקסט אחרי המירכאה הסוגרת – נשמר כמו שהוא, עד המפריד
+                int k = findDelimiterOrNewline(j);
+                if (k < 0 && !eof) return MORE;
+                int end = k < 0 ? limit : k;
+                if (k >= 0 && buf[k] == delimiter) {
+                    addField(i, end, RAW);
+                    i = k + 1;
+                    continue;
+                }
+                return endLine(i, end, k, RAW);
+            }
+
+            int k = findDelimiterOrNewline(i);
+            if (k < 0 && !eof) return MORE;
+            if (k >= 0 && buf[k] == delimiter) {
+                addField(i, k, PLAIN);
+                i = k + 1;
+                continue;
+            }
+            return endLine(i, k < 0 ? limit : k, k, PLAIN);
+        }
+    }
+
+    /** השדה האחרון: {@code nl} הוא ה-'\n' (או -1 בסוף הקלט). */
+    private int endLine(int fieldStart, int end, int nl, byte kind) {
+        int text = end;
+        if (nl >= 0 && end > fieldStart && buf[end - 1] == '\r') text = end - 1;
+        addField(fieldStart, text, kind);
+        return nl < 0 ? finish(limit, limit, false) : finish(text, nl + 1, true);
+    }
+
+    private int finish(int textEnd, int recEnd, boolean terminated) {
+        this.textEnd = textEnd;
+        this.recEnd = recEnd;
+        this.terminated = terminated;
+        return DONE;
+    }
+
+    private void addQuoted(int open, int close, boolean escaped) {
+        if (escaped) addField(open, close + 1, RAW);
+        else addField(open + 1, close, PLAIN);
+    }
+
+    private void addField(int start, int end, byte kind) {
+        if (count == starts.length) {
+            starts = Arrays.copyOf(starts, count * 2);
+            ends = Arrays.copyOf(ends, count * 2);
+            kinds = Arrays.copyOf(kinds, count * 2);
+        }
+        starts[count] = start;
+        ends[count] = end;
+        kinds[count] = kind;
+        count++;
+    }
+
+    /** מזיז את הרשומה הלא גמורה לתחילת החלון (או מגדיל אותו) וקורא עוד. */
+    private void fill() throws IOException {
+        if (in == null) {
+            eof = true;
+            return;
+        }
+        if (pos > 0) {
+            System.arraycopy(buf, pos, buf, 0, limit - pos);
+            base += pos;
+            limit -= pos;
+            pos = 0;
+        } else if (limit == buf.length) {
+            buf = Arrays.copyOf(buf, buf.length * 2);
+        }
+        int n = in.read(buf, limit, buf.length - limit);
+        if (n < 0) eof = true;
+        else limit += n;
+    }
+
+    // ---------- חיפוש 8 בתים בכל פעם ----------
+
+    /** בית 0x80 בכל מקום ש-v מכיל בית 0 (המסומן הנמוך ביותר תמיד נכון). */
+    private static long zeros(long v) {
+        return (v - ONES) & ~v & HIGHS;
+    }
+
+    private int find(int from, long pattern) {
+        int i = from;
+        for (; i + 8 <= limit; i += 8) {
+            long m = zeros((long) LONGS.get(buf, i) ^ pattern);
+            if (m != 0) return i + (Long.numberOfTrailingZeros(m) >>> 3);
+        }
+        byte b = (byte) pattern;
+        for (; i < limit; i++) {
+            if (buf[i] == b) return i;
+        }
+        return -1;
+    }
+
+    private int findDelimiterOrNewline(int from) {
+        int i = from;
+        for (; i + 8 <= limit; i += 8) {
+            long w = (long) LONGS.get(buf, i);
+            long m = zeros(w ^ delimiters) | zeros(w ^ NEWLINES);
+            if (m != 0) return i + (Long.numberOfTrailingZeros(m) >>> 3);
+        }
+        for (; i < limit; i++) {
+            byte b = buf[i];
+            if (b == delimiter || b == '\n') return i;
+        }
+        return -1;
+    }
+
+    // ---------- הרשומה הנוכחית ----------
+
+    /** מספר השדות ברשומה (שורה ריקה = שדה ריק אחד). */
+    public int size() {
+        return count;
+    }
+
+    /** המיקום במקור (בבתים) מיד אחרי הרשומה, כולל סוף השורה. */
+    public long end() {
+        return base + recEnd;
+    }
+
+    /** false = הרשומה נגמרה בסוף הקלט בלי '\n'. */
+    public boolean terminated() {
+        return terminated;
+    }
+
+    /** שורה ריקה או רק רווחים. */
+    public boolean isBlank() {
+        if (count != 1) return false;
+        for (int i = recStart; i < textEnd; i++) {
+            if ((buf[i] & 0xFF) > ' ') return false;
+        }
+        return true;
+    }
+
+    /** הטקסט של הרשומה כמו שהוא בקובץ (להודעות שגיאה). */
+    public String record() {
+        return new String(buf, recStart, textEnd - recStart, StandardCharsets.UTF_8);
+    }
+
+    public String get(int field) {
+        check(field);
+        int s = starts[field], e = ends[field];
+        if (kinds[field] == PLAIN) return new String(buf, s, e - s, StandardCharsets.UTF_8);
+
+        // מירכאות פותחות/סוגרות נזרקות, "" בתוך מירכאות = "
+        byte[] out = new byte[e - s];
+        int n = 0;
+        boolean quoted = false;
+        for (int i = s; i < e; i++) {
+            byte b = buf[i];
+            if (b == '"') {
+                if (quoted && i + 1 < e && buf[i + 1] == '"') {
+                    out[n++] = '"';
+                    i++;
+                } else {
+                    quoted = !quoted;
+                }
+            } else {
+                out[n++] = b;
+            }
+        }
+        return new String(out, 0, n, StandardCharsets.UTF_8);
+    }
+
+    /** מספר שלם ישר מהבתים (רווחים מסביב מותרים). */
+    public int getInt(int field) {
+        check(field);
+        int s = starts[field], e = ends[field];
+        if (kinds[field] == RAW) return parseInt(get(field));
+        while (s < e && buf[s] == ' ') s++;
+        while (e > s && buf[e - 1] == ' ') e--;
+
+        boolean negative = s < e && buf[s] == '-';
+        int i = negative || (s < e && buf[s] == '+') ? s + 1 : s;
+        if (i == e) throw badNumber(field);
+        long v = 0;
+        for (; i < e; i++) {
+            int d = buf[i] - '0';
+            if (d < 0 || d > 9) throw badNumber(field);
+            v = v * 10 + d;
+            if (v > Integer.MAX_VALUE + 1L) throw badNumber(field);
+        }
+        v = negative ? -v : v;
+        if (v > Integer.MAX_VALUE) throw badNumber(field);
+        return (int) v;
+    }
+
+    private static int parseInt(String s) {
+        return Integer.parseInt(s.trim());
+    }
+
+    private NumberFormatException badNumber(int field) {
+        return new NumberFormatException("For input string: \"" + get(field) + "\"");
+    }
+
+    private void check(int field) {
+        if (field < 0 || field >= count) {
+            throw new IndexOutOfBoundsException("field " + field + " of " + count);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (in != null) in.close();
+    }
+
+    /** buffer ישיר כזרם, כדי לקרוא אותו בחלונות. */
+    private static final class BufferStream extends InputStream {
+        private final ByteBuffer data;
+
+        BufferStream(ByteBuffer data) {
+            this.data = data;
+        }
+
+        @Override
+        public int read() {
+            return data.hasRemaining() ? data.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (!data.hasRemaining()) return -1;
+            int n = Math.min(len, data.remaining());
+            data.get(b, off, n);
+            return n;
+        }
+    }
+}
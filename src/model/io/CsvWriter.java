@@ -0,0 +1,95 @@
+package model.io;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * כתיבת CSV (RFC 4180) שנקרא בחזרה ב-{@link CsvReader}: שדה שיש בו מפריד, מירכאות או ירידת שורה
+ * נעטף במירכאות, ו-" בתוכו נכתב "". רשומה נגמרת ב-'\n' (כמו שאר הקבצים של המשחק).
+ */
+public final class CsvWriter implements Closeable, Flushable {
+
+    private final Writer out;
+    private final char delimiter;
+    private boolean firstField = true;
+
+    public CsvWriter(Writer out) {
+        this(out, ',');
+    }
+
+    public CsvWriter(Writer out, char delimiter) {
+        this.out = out;
+        this.delimiter = delimiter;
+    }
+
+    public CsvWriter field(String value) throws IOException {
+        separate();
+        String s = value == null ? "" : value;
+        if (!needsQuotes(s, delimiter)) {
+            out.write(s);
+            return this;
+        }
+        out.write('"');
+        int from = 0;
+        for (int q; (q = s.indexOf('"', from)) >= 0; from = q + 1) {
+            out.write(s, from, q + 1 - from);
+            out.write('"');
+        }
+        out.write(s, from, s.length() - from);
+        out.write('"');
+        return this;
+    }
+
+    public CsvWriter field(long value) throws IOException {
+        separate();
+        out.write(Long.toString(value));
+        return this;
+    }
+
+    /** רשומה שלמה: כל הערכים ואז סוף שורה. */
+    public void record(String... values) throws IOException {
+        for (String v : values) field(v);
+        endRecord();
+    }
+
+    public void endRecord() throws IOException {
+        out.write('\n');
+        firstField = true;
+    }
+
+    private void separate() throws IOException {
+        if (!firstField) out.write(delimiter);
+        firstField = false;
+    }
+
+    /** שדה בודד בפורמט CSV (למי שבונה שורה בעצמו). */
+    public static String escape(String value) {
+        return escape(value, ',');
+    }
+
+    public static String escape(String value, char delimiter) {
+        if (value == null) return "";
+        if (!needsQuotes(value, delimiter)) return value;
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+
+    private static boolean needsQuotes(String s, char delimiter) {
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == delimiter || c == '"' || c == '\n' || c == '\r') return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
@@ -0,0 +1,516 @@
+package view;
+
+import model.Board;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.InputEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
+import java.awt.geom.RoundRectangle2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Draws a whole board as ONE component (instead of a CellButton per cell).
+ * - Tiles are blitted from cached sprites (one per fill colour + hover/press/disabled state)
+ * - Clicks are hit-tested arithmetically, one MouseAdapter for the whole board
+ * - Only tiles inside the clip are painted, and only changed tiles are repainted
+ * - Inside a JScrollPane: Ctrl+wheel zooms around the mouse, middle-drag pans,
+ *   and below {@link #LOD_TILE} pixels tiles become flat coloured pixels (no sprites or icons)
+ * Looks the same as the CellButton grid (same shapes, colours and icons).
+ */
+public class BoardCanvas extends JComponent implements Scrollable {
+
+    /** Called when a cell is pressed (left or right button). */
+    public interface CellPressHandler {
+        void cellPressed(int row, int col, MouseEvent e);
+    }
+
+    // Sprite variants (same looks as CellButton)
+    private static final int NORMAL   = 0;
+    private static final int HOVER    = 1;
+    private static final int PRESSED  = 2;
+    private static final int DISABLED = 3;
+
+    private static final int ARC = 10;
+
+    // Zoom (tile size in pixels while in a scroll pane)
+    static final int MIN_ZOOM_TILE = 1;
+    static final int MAX_ZOOM_TILE = 64;
+    /** Below this tile size the board is drawn as one coloured pixel block per cell. */
+    static final int LOD_TILE = 8;
+
+    /** Number labels 0–8, so painting a number tile does not build a String. */
+    private static final String[] DIGITS = {"0", "1", "2", "3", "4", "5", "6", "7", "8"};
+
+    private Board board;
+    private final CellPressHandler handler;
+    private final int fontSize;
+
+    // Icons (already loaded by MinesweeperGUI)
+    private final ImageIcon iconFlag;
+    private final ImageIcon iconMine;
+    private final ImageIcon iconQuestion;
+    private final ImageIcon iconSurprise;
+    private final ImageIcon iconQuestionUsed;
+    private final ImageIcon iconSurpriseUsed;
+
+    private CellStyle style;
+    private Color closedFill = new Color(110, 160, 235);
+
+    private int hoverIndex = -1;
+    private int pressedIndex = -1;
+
+    // Sprite caches – valid for one tile size + theme
+    private final Map<Long, BufferedImage> sprites = new HashMap<>();      // tiles: rgb + variant
+    private final Map<Long, BufferedImage> textSprites = new HashMap<>();  // numbers: rgb + digit
+    private int spriteTile = -1;
+
+    // Level-of-detail image: one ARGB pixel per visible cell, scaled up when drawn
+    private BufferedImage lodImage;
+
+    private Point panFrom;   // middle-drag start (screen coordinates)
+
+    public BoardCanvas(Board board, int fontSize,
+                       ImageIcon iconFlag, ImageIcon iconMine,
+                       ImageIcon iconQuestion, ImageIcon iconSurprise,
+                       ImageIcon iconQuestionUsed, ImageIcon iconSurpriseUsed,
+                       CellPressHandler handler) {
+        this.board = board;
+        this.fontSize = fontSize;
+        this.handler = handler;
+        this.iconFlag = iconFlag;
+        this.iconMine = iconMine;
+        this.iconQuestion = iconQuestion;
+        this.iconSurprise = iconSurprise;
+        this.iconQuestionUsed = iconQuestionUsed;
+        this.iconSurpriseUsed = iconSurpriseUsed;
+        this.style = CellStyle.forTheme(null);
+
+        setOpaque(false);
+
+        MouseAdapter mouse = new MouseAdapter() {
+            @Override public void mouseMoved(MouseEvent e)   { setHover(cellAt(e.getX(), e.getY())); }
+            @Override public void mouseExited(MouseEvent e)  { setHover(-1); setPressed(-1); }
+            @Override public void mouseReleased(MouseEvent e){ setPressed(-1); panFrom = null; }
+
+            @Override
+            public void mouseDragged(MouseEvent e) {
+                if (panFrom != null) pan(e);
+                else setHover(cellAt(e.getX(), e.getY()));
+            }
+
+            @Override
+            public void mouseWheelMoved(MouseWheelEvent e) {
+                JViewport vp = viewport();
+                if (vp != null && (e.getModifiersEx() & InputEvent.CTRL_DOWN_MASK) != 0) {
+                    int t = tile();
+                    int next = e.getWheelRotation() < 0 ? Math.max(t + 1, t * 5 / 4) : Math.min(t - 1, t * 4 / 5);
+                    zoomTo(next, e.getPoint());
+                } else if (getParent() != null) {
+                    // plain wheel scrolls the surrounding scroll pane as usual
+                    getParent().dispatchEvent(SwingUtilities.convertMouseEvent(BoardCanvas.this, e, getParent()));
+                }
+            }
+
+            @Override
+            public void mousePressed(MouseEvent e) {
+                if (SwingUtilities.isMiddleMouseButton(e) && viewport() != null) {
+                    panFrom = e.getLocationOnScreen();
+                    return;
+                }
+                int i = cellAt(e.getX(), e.getY());
+                if (i < 0) return;
+                setPressed(i);
+                if (handler != null) handler.cellPressed(board.rowOf(i), board.colOf(i), e);
+            }
+        };
+        addMouseListener(mouse);
+        addMouseMotionListener(mouse);
+        addMouseWheelListener(mouse);
+    }
+
+    /** Shows another board of the same size (screen reuse between matches). */
+    public void setBoard(Board board) {
+        this.board = board;
+        hoverIndex = -1;
+        pressedIndex = -1;
+        repaint();
+    }
+
+    // Model -> view
+
+    /**
+     * Brings the canvas up to date with the board.
+     * Only tiles reported by {@link Board#drainChangedCells} are repainted,
+     * unless {@code full} is set or the theme changed.
+     */
+    public void refresh(boolean full) {
+        CellStyle st = CellStyle.forTheme(style);
+        if (st != style) {
+            style = st;
+            sprites.clear();
+            textSprites.clear();
+            full = true;
+        }
+
+        if (full) {
+            board.drainChangedCells(i -> { });
+            repaint();
+            return;
+        }
+        board.drainChangedCells(this::repaintCell);
+    }
+
+    /** Colour of closed cells (active / inactive board). */
+    public void setClosedFill(Color fill) {
+        if (fill.equals(closedFill)) return;
+        closedFill = fill;
+        repaint();
+    }
+
+    // Zoom + pan
+
+    private JViewport viewport() {
+        return (getParent() instanceof JViewport vp) ? vp : null;
+    }
+
+    /**
+     * Sets the tile size (clamped to {@link #MIN_ZOOM_TILE}..{@link #MAX_ZOOM_TILE}) and
+     * keeps the board point under {@code anchor} (canvas coordinates) where it is on screen.
+     */
+    public void zoomTo(int tile, Point anchor) {
+        JViewport vp = viewport();
+        tile = Math.max(MIN_ZOOM_TILE, Math.min(MAX_ZOOM_TILE, tile));
+        int t = tile();
+        if (tile == t || vp == null) return;
+
+        // board position (in cells) under the anchor, and the anchor's place in the viewport
+        double bx = (anchor.x - originX(t)) / (double) t;
+        double by = (anchor.y - originY(t)) / (double) t;
+        Point view = vp.getViewPosition();
+        int sx = anchor.x - view.x;
+        int sy = anchor.y - view.y;
+
+        Dimension extent = vp.getExtentSize();
+        Dimension pref = new Dimension(board.getCols() * tile, board.getRows() * tile);
+        setPreferredSize(pref);
+        Dimension size = new Dimension(Math.max(pref.width, extent.width), Math.max(pref.height, extent.height));
+        vp.setViewSize(size);
+
+        int ox = Math.max(0, (size.width - pref.width) / 2);
+        int oy = Math.max(0, (size.height - pref.height) / 2);
+        int x = (int) Math.round(ox + bx * tile) - sx;
+        int y = (int) Math.round(oy + by * tile) - sy;
+        x = Math.max(0, Math.min(size.width - extent.width, x));
+        y = Math.max(0, Math.min(size.height - extent.height, y));
+        vp.setViewPosition(new Point(x, y));
+
+        revalidate();
+        repaint();
+    }
+
+    /** Middle-drag: moves the viewport with the mouse. */
+    private void pan(MouseEvent e) {
+        JViewport vp = viewport();
+        if (vp == null) return;
+        Point now = e.getLocationOnScreen();
+        Point view = vp.getViewPosition();
+        Dimension extent = vp.getExtentSize();
+        int x = view.x - (now.x - panFrom.x);
+        int y = view.y - (now.y - panFrom.y);
+        x = Math.max(0, Math.min(getWidth() - extent.width, x));
+        y = Math.max(0, Math.min(getHeight() - extent.height, y));
+        vp.setViewPosition(new Point(x, y));
+        panFrom = now;
+    }
+
+    // Scrollable: the canvas fills the viewport when the board is smaller than it
+
+    @Override
+    public Dimension getPreferredScrollableViewportSize() {
+        return getPreferredSize();
+    }
+
+    @Override
+    public int getScrollableUnitIncrement(Rectangle visible, int orientation, int direction) {
+        return tile();
+    }
+
+    @Override
+    public int getScrollableBlockIncrement(Rectangle visible, int orientation, int direction) {
+        int t = tile();
+        int extent = (orientation == SwingConstants.HORIZONTAL) ? visible.width : visible.height;
+        return Math.max(t, extent - t);
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportWidth() {
+        JViewport vp = viewport();
+        return vp != null && vp.getWidth() > getPreferredSize().width;
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportHeight() {
+        JViewport vp = viewport();
+        return vp != null && vp.getHeight() > getPreferredSize().height;
+    }
+
+    // Geometry
+
+    /** Tile size in pixels: the board is scaled to fit, like the GridLayout of buttons. */
+    private int tile() {
+        int t = Math.min(getWidth() / board.getCols(), getHeight() / board.getRows());
+        return Math.max(1, t);
+    }
+
+    private int originX(int tile) { return Math.max(0, (getWidth()  - tile * board.getCols()) / 2); }
+    private int originY(int tile) { return Math.max(0, (getHeight() - tile * board.getRows()) / 2); }
+
+    /** Cell index under the given point, or -1. */
+    private int cellAt(int x, int y) {
+        int t = tile();
+        int dx = x - originX(t);
+        int dy = y - originY(t);
+        if (dx < 0 || dy < 0) return -1;
+
+        int c = dx / t;
+        int r = dy / t;
+        if (r >= board.getRows() || c >= board.getCols()) return -1;
+        return board.toIndex(r, c);
+    }
+
+    private void repaintCell(int index) {
+        if (index < 0) return;
+        int t = tile();
+        int x = originX(t) + board.colOf(index) * t;
+        int y = originY(t) + board.rowOf(index) * t;
+        repaint(x, y, t, t);
+    }
+
+    private void setHover(int index) {
+        if (index == hoverIndex) return;
+        int old = hoverIndex;
+        hoverIndex = index;
+        repaintCell(old);
+        repaintCell(index);
+    }
+
+    private void setPressed(int index) {
+        if (index == pressedIndex) return;
+        int old = pressedIndex;
+        pressedIndex = index;
+        repaintCell(old);
+        repaintCell(index);
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        if (isPreferredSizeSet()) return super.getPreferredSize();
+        return new Dimension(board.getCols() * 26, board.getRows() * 26);
+    }
+
+    // Painting
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        int t = tile();
+        int ox = originX(t);
+        int oy = originY(t);
+
+        if (t != spriteTile) {
+            sprites.clear();
+            textSprites.clear();
+            spriteTile = t;
+        }
+
+        Rectangle clip = g.getClipBounds();
+        if (clip == null) clip = new Rectangle(0, 0, getWidth(), getHeight());
+
+        // only the tiles that intersect the clip
+        int c0 = Math.max(0, (clip.x - ox) / t);
+        int r0 = Math.max(0, (clip.y - oy) / t);
+        int c1 = Math.min(board.getCols() - 1, (clip.x + clip.width  - 1 - ox) / t);
+        int r1 = Math.min(board.getRows() - 1, (clip.y + clip.height - 1 - oy) / t);
+
+        if (c1 < c0 || r1 < r0) return;
+
+        Graphics2D g2 = (Graphics2D) g.create();
+        if (t < LOD_TILE) {
+            paintLod(g2, r0, c0, r1, c1, ox, oy, t);
+            g2.dispose();
+            return;
+        }
+        int cols = board.getCols();
+        for (int r = r0; r <= r1; r++) {
+            int y = oy + r * t;
+            for (int c = c0, i = r * cols + c0; c <= c1; c++, i++) {
+                paintTile(g2, i, ox + c * t, y, t);
+            }
+        }
+        g2.dispose();
+    }
+
+    /**
+     * Low zoom: one pixel per visible cell in an ARGB image, drawn scaled to the tile size
+     * (nearest neighbour). Cost is one int write per visible cell, whatever the zoom:
+     * cells are read by packed index straight from the board's arrays, no Cell objects.
+     */
+    private void paintLod(Graphics2D g2, int r0, int c0, int r1, int c1, int ox, int oy, int t) {
+        int w = c1 - c0 + 1;
+        int h = r1 - r0 + 1;
+        if (lodImage == null || lodImage.getWidth() < w || lodImage.getHeight() < h) {
+            lodImage = new BufferedImage(Math.max(w, 64), Math.max(h, 64), BufferedImage.TYPE_INT_ARGB);
+        }
+        int stride = lodImage.getWidth();
+        int[] px = ((DataBufferInt) lodImage.getRaster().getDataBuffer()).getData();
+
+        boolean enabled = isEnabled();
+        int closed = (enabled ? closedFill : CellButton.darken(closedFill, 0.45)).getRGB();
+        int flag = new Color(235, 80, 80).getRGB();
+        int mine = style.mineGlass.getRGB();
+        int question = style.questionGlass.getRGB();
+        int surprise = style.surpriseGlass.getRGB();
+        int used = style.usedGlass.getRGB();
+        int glass = style.glass.getRGB();
+        int glassAlpha = style.glass.getAlpha();
+
+        int cols = board.getCols();
+        for (int r = r0; r <= r1; r++) {
+            int row = (r - r0) * stride;
+            for (int c = c0, i = r * cols + c0; c <= c1; c++, i++) {
+                int argb;
+                if (!board.isRevealedAt(i)) {
+                    argb = board.isFlaggedAt(i) ? flag : closed;
+                } else {
+                    argb = switch (board.typeAt(i)) {
+                        case MINE -> mine;
+                        case QUESTION -> board.isPowerUsedAt(i) ? used : question;
+                        case SURPRISE -> board.isPowerUsedAt(i) ? used : surprise;
+                        // numbers: the glass gets more opaque with the count, so density still shows
+                        case NUMBER -> (Math.min(255, glassAlpha + 22 * board.adjacentAt(i)) << 24) | (glass & 0xFFFFFF);
+                        default -> glass;
+                    };
+                }
+                px[row + (c - c0)] = argb;
+            }
+        }
+
+        int x = ox + c0 * t;
+        int y = oy + r0 * t;
+        g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+        g2.drawImage(lodImage, x, y, x + w * t, y + h * t, 0, 0, w, h, null);
+    }
+
+    private void paintTile(Graphics2D g2, int index, int x, int y, int t) {
+        Color fill;
+        ImageIcon icon = null;
+        String text = null;
+        Color textColor = Color.WHITE;
+
+        if (!board.isRevealedAt(index)) {
+            fill = closedFill;
+            if (board.isFlaggedAt(index)) icon = iconFlag;
+        } else {
+            switch (board.typeAt(index)) {
+                case MINE -> { fill = style.mineGlass; icon = iconMine; }
+                case NUMBER -> {
+                    fill = style.glass;
+                    text = DIGITS[board.adjacentAt(index)];
+                    textColor = style.textOnGlass;
+                }
+                case QUESTION -> {
+                    fill = board.isPowerUsedAt(index) ? style.usedGlass : style.questionGlass;
+                    icon = board.isPowerUsedAt(index) ? iconQuestionUsed : iconQuestion;
+                }
+                case SURPRISE -> {
+                    fill = board.isPowerUsedAt(index) ? style.usedGlass : style.surpriseGlass;
+                    icon = board.isPowerUsedAt(index) ? iconSurpriseUsed : iconSurprise;
+                }
+                default -> fill = style.glass;
+            }
+        }
+
+        int variant = !isEnabled() ? DISABLED
+                : index == pressedIndex ? PRESSED
+                : index == hoverIndex ? HOVER
+                : NORMAL;
+
+        g2.drawImage(tileSprite(fill, variant, t), x, y, null);
+
+        if (icon != null) {
+            int size = t - 10;
+            if (size <= 0) size = Math.max(1, t - 2);
+            ImageIcon scaled = IconCache.getInstance().get(icon, size);
+            g2.drawImage(scaled.getImage(), x + (t - size) / 2, y + (t - size) / 2, null);
+        } else if (text != null) {
+            g2.drawImage(textSprite(text, textColor, t), x, y, null);
+        }
+    }
+
+    // Sprites
+
+    private BufferedImage tileSprite(Color fill, int variant, int t) {
+        long key = (Integer.toUnsignedLong(fill.getRGB()) << 8) | variant;
+        BufferedImage img = sprites.get(key);
+        if (img == null) {
+            img = renderTile(fill, variant, t);
+            sprites.put(key, img);
+        }
+        return img;
+    }
+
+    /** Same drawing as CellButton.paintComponent, done once per colour/state. */
+    private static BufferedImage renderTile(Color fill, int variant, int t) {
+        BufferedImage img = IconCache.createCompatibleImage(t, t);
+        Graphics2D g2 = img.createGraphics();
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+        boolean enabled = variant != DISABLED;
+        int d = (variant == PRESSED) ? 1 : 0;
+
+        RoundRectangle2D shape = new RoundRectangle2D.Double(1 + d, 1 + d, t - 2, t - 2, ARC, ARC);
+
+        Color base = fill;
+        if (variant == HOVER || variant == PRESSED) base = CellButton.brighten(fill, 0.12);
+        if (!enabled) base = CellButton.darken(fill, 0.45);
+
+        g2.setPaint(new GradientPaint(
+                0, 0, CellButton.brighten(base, 0.12),
+                0, t, CellButton.darken(base, 0.08)
+        ));
+        g2.fill(shape);
+
+        g2.setStroke(new BasicStroke(2f));
+        g2.setColor(new Color(255, 255, 255, enabled ? 55 : 25));
+        g2.draw(new RoundRectangle2D.Double(3 + d, 3 + d, t - 6, t - 6, ARC - 2, ARC - 2));
+
+        g2.setColor(new Color(0, 0, 0, 90));
+        g2.draw(shape);
+
+        g2.dispose();
+        return img;
+    }
+
+    private BufferedImage textSprite(String text, Color color, int t) {
+        // cell labels are the digits 1-8, so one char identifies the text
+        long key = (Integer.toUnsignedLong(color.getRGB()) << 16) | text.charAt(0);
+        BufferedImage img = textSprites.get(key);
+        if (img == null) {
+            img = IconCache.createCompatibleImage(t, t);
+            Graphics2D g2 = img.createGraphics();
+            g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            g2.setFont(new Font("Segoe UI", Font.BOLD, Math.min(fontSize, Math.max(8, (int) (t * 0.6)))));
+            FontMetrics fm = g2.getFontMetrics();
+            g2.setColor(color);
+            g2.drawString(text, (t - fm.stringWidth(text)) / 2, (t - fm.getHeight()) / 2 + fm.getAscent());
+            g2.dispose();
+            textSprites.put(key, img);
+        }
+        return img;
+    }
+}
@@ -19,6 +19,7 @@ public class CellButton extends JButton {
     // Visual state
     private Color fill = new Color(110, 160, 235);
     private Color fillHover = null;
+    private SharedFill sharedFill = null;   // when set, overrides fill
     private Color textColor = Color.WHITE;
 
     private int arc = 10;
@@ -46,19 +47,45 @@ public class CellButton extends JButton {
         repaint();
     }
 
+    /**
+     * A fill colour shared by many buttons (e.g. all closed cells of one board).
+     * Changing it recolours every button using it without touching them one by one;
+     * the caller repaints the board panel once.
+     */
+    public static final class SharedFill {
+        private Color color;
+
+        public SharedFill(Color color) { this.color = color; }
+
+        public Color get() { return color; }
+
+        public void set(Color color) { this.color = color; }
+    }
+
     public void setFill(Color fill) {
+        if (sharedFill == null && fill.equals(this.fill) && fillHover == null) return;
+        this.sharedFill = null;
         this.fill = fill;
         this.fillHover = null;
         repaint();
     }
 
     public void setFill(Color fill, Color hoverFill) {
+        this.sharedFill = null;
         this.fill = fill;
         this.fillHover = hoverFill;
         repaint();
     }
 
+    public void setFill(SharedFill shared) {
+        if (this.sharedFill == shared) return;
+        this.sharedFill = shared;
+        this.fillHover = null;
+        repaint();
+    }
+
     public void setTextColor(Color c) {
+        if (c.equals(textColor)) return;
         this.textColor = c;
         setForeground(c);
         repaint();
@@ -81,8 +108,8 @@ public class CellButton extends JButton {
         int size = Math.min(w, h) - 10;
         if (size <= 0) size = 22;
 
-        Image img = src.getImage().getScaledInstance(size, size, Image.SCALE_SMOOTH);
-        ImageIcon scaled = new ImageIcon(img);
+        ImageIcon scaled = IconCache.getInstance().get(src, size);
+        if (scaled == getIcon() && scaled == getDisabledIcon() && getText().isEmpty()) return;
 
         setText("");                 // no text when using icon
         setIcon(scaled);
@@ -105,6 +132,7 @@ public class CellButton extends JButton {
         RoundRectangle2D shape = new RoundRectangle2D.Double(1 + dx, 1 + dy, w - 2, h - 2, arc, arc);
 
         // Base fill (with hover variation)
+        Color fill = (sharedFill != null) ? sharedFill.get() : this.fill;
         Color base = fill;
         if (isEnabled() && hovered) {
             base = (fillHover != null) ? fillHover : brighten(fill, 0.12);
@@ -138,22 +166,22 @@ public class CellButton extends JButton {
         super.paintComponent(g);
     }
 
-    // Helpers
-    private Color brighten(Color c, double amount) {
+    // Helpers (shared with BoardCanvas so both renderers look the same)
+    static Color brighten(Color c, double amount) {
         int r = clamp((int) (c.getRed()   + 255 * amount));
         int g = clamp((int) (c.getGreen() + 255 * amount));
         int b = clamp((int) (c.getBlue()  + 255 * amount));
         return new Color(r, g, b, c.getAlpha());
     }
 
-    private Color darken(Color c, double factor) {
+    static Color darken(Color c, double factor) {
         int r = clamp((int) (c.getRed() * (1.0 - factor)));
         int g = clamp((int) (c.getGreen() * (1.0 - factor)));
         int b = clamp((int) (c.getBlue() * (1.0 - factor)));
         return new Color(r, g, b, c.getAlpha());
     }
 
-    private int clamp(int v) {
+    private static int clamp(int v) {
         return Math.max(0, Math.min(255, v));
     }
 }
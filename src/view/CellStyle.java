@@ -0,0 +1,57 @@
+package view;
+
+import model.ThemeManager;
+
+import java.awt.*;
+
+/**
+ * Revealed-cell colours for the current theme.
+ * Shared by the CellButton grid and BoardCanvas; rebuilt only when the theme changes.
+ */
+final class CellStyle {
+    final boolean darkMode;
+    final Color glass;
+    final Color mineGlass;
+    final Color questionGlass;
+    final Color surpriseGlass;
+    final Color usedGlass;
+    final Color textOnGlass;
+
+    CellStyle(ThemeManager tm) {
+        darkMode = tm.isDarkMode();
+
+        // Glass look (light + transparent)
+        glass = darkMode
+                ? new Color(255, 255, 255, 45)
+                : new Color(255, 255, 255, 35);
+
+        // Mine: light red / transparent
+        mineGlass = darkMode
+                ? new Color(255, 120, 120, 85)
+                : new Color(255, 140, 140, 70);
+
+        // Question: light blue / transparent
+        questionGlass = darkMode
+                ? new Color(140, 190, 255, 90)
+                : new Color(160, 205, 255, 75);
+
+        // Surprise: light pink / transparent
+        surpriseGlass = darkMode
+                ? new Color(255, 170, 210, 90)
+                : new Color(255, 185, 220, 75);
+
+        // Used power: softer glass
+        usedGlass = darkMode
+                ? new Color(255, 255, 255, 30)
+                : new Color(255, 255, 255, 25);
+
+        textOnGlass = tm.getTextColor();
+    }
+
+    /** Style for the current theme, reusing {@code current} if the theme did not change. */
+    static CellStyle forTheme(CellStyle current) {
+        ThemeManager tm = ThemeManager.getInstance();
+        if (current != null && current.darkMode == tm.isDarkMode()) return current;
+        return new CellStyle(tm);
+    }
+}
@@ -216,9 +216,7 @@ public class GameOverDialog extends JDialog {
     }
 
     private ImageIcon scale(ImageIcon src, int w, int h) {
-        if (src == null || src.getImage() == null) return src;
-        Image img = src.getImage().getScaledInstance(w, h, Image.SCALE_SMOOTH);
-        return new ImageIcon(img);
+        return IconCache.getInstance().get(src, w, h);
     }
 
     private JComponent stat(String label, String value, ImageIcon icon) {
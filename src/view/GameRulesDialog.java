@@ -1,5 +1,6 @@
 package view;
 
+import model.BoardSpec;
 import model.Difficulty;
 import model.ThemeManager;
 
@@ -16,6 +17,10 @@ import java.awt.geom.RoundRectangle2D;
 public class GameRulesDialog extends JDialog {
 
     public GameRulesDialog(Window owner, Difficulty diff) {
+        this(owner, BoardSpec.of(diff));
+    }
+
+    public GameRulesDialog(Window owner, BoardSpec diff) {
         super(owner, "Level Rules", ModalityType.APPLICATION_MODAL);
         
         setUndecorated(true);
@@ -54,7 +59,7 @@ public class GameRulesDialog extends JDialog {
         JPanel header = new JPanel(new BorderLayout());
         header.setOpaque(false);
         
-        JLabel title = new JLabel("Level Info: " + diff.name());
+        JLabel title = new JLabel("Level Info: " + diff.getName());
         title.setFont(new Font("Segoe UI", Font.BOLD, 22));
         // צבע כותרת ראשית: לבן או כחול כהה
         title.setForeground(ThemeManager.getInstance().isDarkMode() ? Color.WHITE : new Color(40, 40, 90));
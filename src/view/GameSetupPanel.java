@@ -1,6 +1,9 @@
 package view;
 
+import model.BoardSpec;
 import model.Difficulty;
+import model.BoardPool;
+import model.NoGuessGenerator;
 import model.ThemeManager;
 
 import javax.swing.*;
@@ -15,6 +18,12 @@ public class GameSetupPanel extends JPanel {
     private final JTextField player1Field = new JTextField();
     private final JTextField player2Field = new JTextField();
     private final JComboBox<Difficulty> difficultyBox = new JComboBox<>(Difficulty.values());
+    private final JCheckBox noGuessBox = new JCheckBox("No-guess boards (always solvable by logic)");
+    private final JCheckBox customBox = new JCheckBox("Custom size (difficulty sets lives and costs)");
+    private final JSpinner rowsSpinner = new JSpinner(new SpinnerNumberModel(30, 5, BoardSpec.MAX_SIDE, 1));
+    private final JSpinner colsSpinner = new JSpinner(new SpinnerNumberModel(30, 5, BoardSpec.MAX_SIDE, 1));
+    private final JSpinner minesSpinner = new JSpinner(new SpinnerNumberModel(150, 1, 30 * 30 - 9, 1));
+    private final Timer warmUpTimer = new Timer(400, e -> warmUpPool());
 
     private  JButton nextBtn = new JButton("Next");
     private  JButton backBtn = new JButton("Back");
@@ -93,6 +102,20 @@ public class GameSetupPanel extends JPanel {
         styleCombo(difficultyBox);
         card.add(difficultyBox, gc);
 
+        gc.gridy++;
+        gc.gridx = 1;
+        styleCheckBox(noGuessBox);
+        card.add(noGuessBox, gc);
+
+        gc.gridy++;
+        gc.gridx = 1;
+        styleCheckBox(customBox);
+        card.add(customBox, gc);
+
+        gc.gridy++;
+        gc.gridx = 1;
+        card.add(buildCustomSizeRow(), gc);
+
         // Buttons
         gc.gridy++;
         gc.gridx = 0;
@@ -134,6 +157,68 @@ public class GameSetupPanel extends JPanel {
         player2Field.addActionListener(e -> onNext());
         
         nextBtn.addActionListener(e -> onNext());
+
+        // start filling the board pool for the current choice while names are typed
+        noGuessBox.addActionListener(e -> warmUpPool());
+        difficultyBox.addActionListener(e -> warmUpPool());
+        customBox.addActionListener(e -> updateCustomControls());
+        rowsSpinner.addChangeListener(e -> updateCustomControls());
+        colsSpinner.addChangeListener(e -> updateCustomControls());
+        minesSpinner.addChangeListener(e -> updateCustomControls());
+        warmUpTimer.setRepeats(false);
+        updateCustomControls();
+    }
+
+    /** Rows x cols and mine count for a custom board. */
+    private JPanel buildCustomSizeRow() {
+        JPanel row = new JPanel(new FlowLayout(FlowLayout.LEFT, 6, 0));
+        row.setOpaque(false);
+        row.add(createDynamicLabel("Rows", new Font("Segoe UI", Font.PLAIN, 14)));
+        row.add(styleSpinner(rowsSpinner, 5));
+        row.add(createDynamicLabel("Cols", new Font("Segoe UI", Font.PLAIN, 14)));
+        row.add(styleSpinner(colsSpinner, 5));
+        row.add(createDynamicLabel("Mines", new Font("Segoe UI", Font.PLAIN, 14)));
+        row.add(styleSpinner(minesSpinner, 7));
+        return row;
+    }
+
+    /** Keeps the mine limit, the enabled state and the no-guess option in line with the chosen size. */
+    private void updateCustomControls() {
+        boolean custom = customBox.isSelected();
+        rowsSpinner.setEnabled(custom);
+        colsSpinner.setEnabled(custom);
+        minesSpinner.setEnabled(custom);
+
+        // the first click always has a safe 3x3 around it
+        int maxMines = Math.max(1, (int) rowsSpinner.getValue() * (int) colsSpinner.getValue() - 9);
+        SpinnerNumberModel mines = (SpinnerNumberModel) minesSpinner.getModel();
+        mines.setMaximum(maxMines);
+        if ((int) mines.getValue() > maxMines) mines.setValue(maxMines);
+
+        BoardSpec spec = selectedSpec();
+        boolean noGuessOk = spec != null && NoGuessGenerator.supports(spec);
+        noGuessBox.setEnabled(noGuessOk);
+        if (!noGuessOk) noGuessBox.setSelected(false);
+
+        // spinners fire on every tick – warm the pool once the size stops changing
+        warmUpTimer.restart();
+    }
+
+    /** The board the player picked: a level, or a custom size with the level's rules. */
+    private BoardSpec selectedSpec() {
+        Difficulty diff = (Difficulty) difficultyBox.getSelectedItem();
+        if (diff == null) return null;
+        if (!customBox.isSelected()) return BoardSpec.of(diff);
+        return BoardSpec.custom((int) rowsSpinner.getValue(), (int) colsSpinner.getValue(),
+                (int) minesSpinner.getValue(), diff);
+    }
+
+    private void warmUpPool() {
+        BoardSpec spec = selectedSpec();
+        if (spec != null) {
+            BoardPool.getInstance().warmUp(spec,
+                    noGuessBox.isSelected() ? BoardPool.Mode.NO_GUESS : BoardPool.Mode.STANDARD);
+        }
     }
 
     //Validation
@@ -149,9 +234,9 @@ public class GameSetupPanel extends JPanel {
     private void onNext() {
         String p1 = player1Field.getText().trim();
         String p2 = player2Field.getText().trim();
-        Difficulty diff = (Difficulty) difficultyBox.getSelectedItem();
+        BoardSpec spec = selectedSpec();
 
-        if (p1.isEmpty() || p2.isEmpty() || diff == null) {
+        if (p1.isEmpty() || p2.isEmpty() || spec == null) {
             JOptionPane.showMessageDialog(
                     this,
                     "Please fill both player names and choose difficulty.",
@@ -161,7 +246,7 @@ public class GameSetupPanel extends JPanel {
             return;
         }
 
-        parent.startGame(p1, p2, diff);
+        parent.startGame(p1, p2, spec, noGuessBox.isSelected());
     }
 
     // Dynamic label (theme-aware)
@@ -180,6 +265,20 @@ public class GameSetupPanel extends JPanel {
         return lbl;
     }
 
+    private void styleCheckBox(JCheckBox box) {
+        box.setOpaque(false);
+        box.setFocusPainted(false);
+        box.setFont(new Font("Segoe UI", Font.PLAIN, 14));
+        box.setForeground(ThemeManager.getInstance().getTextColor());
+        box.setCursor(new Cursor(Cursor.HAND_CURSOR));
+    }
+
+    private JSpinner styleSpinner(JSpinner spinner, int columns) {
+        spinner.setFont(new Font("Segoe UI", Font.PLAIN, 14));
+        ((JSpinner.DefaultEditor) spinner.getEditor()).getTextField().setColumns(columns);
+        return spinner;
+    }
+
     private void styleTextField(JTextField tf) {
         tf.setFont(new Font("Segoe UI", Font.PLAIN, 16));
         tf.setPreferredSize(new Dimension(260, 42));
@@ -2,6 +2,8 @@ package view;
 
 import model.GameHistory;
 import model.GameHistoryEntry;
+import model.Leaderboard;
+import model.MoveLog;
 import model.ThemeManager;
 
 import javax.swing.*;
@@ -16,6 +18,8 @@ public class HistoryPanel extends JPanel {
     private final MainMenuGUI parent;
     private JTable table;
     private DefaultTableModel tableModel;
+    private JComboBox<String> scopeBox;
+    private boolean fillingScopes;     // refilling the combo – ignore its selection events
     private final boolean isFromAdmin; // משתנה חדש: האם הגענו מהאדמין?
 
     // ⭐ עדכון הבנאי: מקבל פרמטר isFromAdmin
@@ -23,6 +27,12 @@ public class HistoryPanel extends JPanel {
         this.parent = parent;
         this.isFromAdmin = isFromAdmin; // שמירת המצב
         initializeUI();
+        refresh();
+    }
+
+    /** Re-reads the leaderboards: new players and new games since the panel was last shown. */
+    public void refresh() {
+        fillScopes();
         loadHistoryData();
     }
 
@@ -40,7 +50,23 @@ public class HistoryPanel extends JPanel {
             }
         };
         titleLabel.setFont(new Font("Segoe UI", Font.BOLD, 28));
-        add(titleLabel, BorderLayout.NORTH);
+
+        // Which leaderboard to show (all time / today / month / difficulty / player)
+        scopeBox = new JComboBox<>();
+        scopeBox.setFont(new Font("Segoe UI", Font.PLAIN, 15));
+        scopeBox.addActionListener(e -> {
+            if (!fillingScopes) loadHistoryData();
+        });
+
+        JPanel scopePanel = new JPanel(new FlowLayout(FlowLayout.CENTER));
+        scopePanel.setOpaque(false);
+        scopePanel.add(scopeBox);
+
+        JPanel northPanel = new JPanel(new BorderLayout(0, 10));
+        northPanel.setOpaque(false);
+        northPanel.add(titleLabel, BorderLayout.NORTH);
+        northPanel.add(scopePanel, BorderLayout.SOUTH);
+        add(northPanel, BorderLayout.NORTH);
 
         // טבלה
         String[] columnNames = {"Player Name", "Score", "Difficulty", "Result", "Duration (sec)", "Date"};
@@ -89,13 +115,78 @@ public class HistoryPanel extends JPanel {
             }
         });
 
+        // צפייה במשחק שמור (יומני מהלכים מתיקיית replays)
+        JButton replayBtn = new JButton("Watch Replay");
+        styleButton(replayBtn);
+        replayBtn.addActionListener(e -> chooseReplay());
+
+        bottomPanel.add(replayBtn);
         bottomPanel.add(backBtn);
         add(bottomPanel, BorderLayout.SOUTH);
     }
 
+    private void chooseReplay() {
+        JFileChooser chooser = new JFileChooser(new java.io.File(MoveLog.DIRECTORY));
+        chooser.setDialogTitle("Choose a game to replay");
+        chooser.setFileFilter(new javax.swing.filechooser.FileNameExtensionFilter(
+                "Move logs (*" + MoveLog.EXTENSION + ")", MoveLog.EXTENSION.substring(1)));
+        if (chooser.showOpenDialog(this) == JFileChooser.APPROVE_OPTION) {
+            parent.startReplay(chooser.getSelectedFile().toPath());
+        }
+    }
+
+    private static final String ALL_TIME = "Top 10 - All Time";
+    private static final String TODAY = "Top 10 - Today";
+    private static final String THIS_MONTH = "Top 10 - This Month";
+    private static final String DIFFICULTY_PREFIX = "Difficulty: ";
+    private static final String PLAYER_PREFIX = "Player: ";
+    /** Only the players who played most recently get an entry – the history may hold thousands of names. */
+    private static final int RECENT_PLAYERS = 20;
+
+    /** Rebuilds the scope list from the current leaderboards, keeping the selection. */
+    private void fillScopes() {
+        Leaderboard board = GameHistory.getInstance().getLeaderboard();
+        Object selected = scopeBox.getSelectedItem();
+
+        fillingScopes = true;
+        try {
+            scopeBox.removeAllItems();
+            scopeBox.addItem(ALL_TIME);
+            scopeBox.addItem(TODAY);
+            scopeBox.addItem(THIS_MONTH);
+            for (String d : board.keys(Leaderboard.Scope.DIFFICULTY)) {
+                if (!d.isEmpty()) scopeBox.addItem(DIFFICULTY_PREFIX + d);
+            }
+            List<String> players = board.recentPlayers(RECENT_PLAYERS);
+            players.sort(null);
+            for (String p : players) {
+                if (!p.isEmpty()) scopeBox.addItem(PLAYER_PREFIX + p);
+            }
+            // a player who dropped out of the recent list stays selectable while selected
+            if (selected != null && ((DefaultComboBoxModel<String>) scopeBox.getModel()).getIndexOf(selected) < 0) {
+                scopeBox.addItem((String) selected);
+            }
+            scopeBox.setSelectedItem(selected != null ? selected : ALL_TIME);
+        } finally {
+            fillingScopes = false;
+        }
+    }
+
+    /** Rows of the selected leaderboard – at most {@link Leaderboard#TOP_N}, however long the history is. */
+    private List<GameHistoryEntry> selectedRows() {
+        Leaderboard board = GameHistory.getInstance().getLeaderboard();
+        String scope = (String) scopeBox.getSelectedItem();
+        if (scope == null || scope.equals(ALL_TIME)) return board.top();
+        if (scope.equals(TODAY)) return board.today();
+        if (scope.equals(THIS_MONTH)) return board.thisMonth();
+        if (scope.startsWith(DIFFICULTY_PREFIX)) {
+            return board.top(Leaderboard.Scope.DIFFICULTY, scope.substring(DIFFICULTY_PREFIX.length()));
+        }
+        return board.top(Leaderboard.Scope.PLAYER, scope.substring(PLAYER_PREFIX.length()));
+    }
+
     private void loadHistoryData() {
-        GameHistory historyHandler = new GameHistory();
-        List<GameHistoryEntry> entries = historyHandler.getTopScores();
+        List<GameHistoryEntry> entries = selectedRows();
 
         tableModel.setRowCount(0);
 
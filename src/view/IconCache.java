@@ -0,0 +1,119 @@
+package view;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Shared cache of pre-scaled icons.
+ * - Keyed by source image + target pixel size
+ * - Each entry is scaled once, with high-quality interpolation, into a
+ *   BufferedImage compatible with the screen (fast to blit)
+ * - Bounded (least-recently-used entries are dropped) and cleared on theme / size change
+ */
+public final class IconCache {
+
+    private static final IconCache INSTANCE = new IconCache();
+    public static IconCache getInstance() { return INSTANCE; }
+
+    private static final int MAX_ENTRIES = 128;
+
+    private final Map<Key, ImageIcon> cache = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, ImageIcon> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    private IconCache() { }
+
+    /** Square icon of size x size pixels. */
+    public ImageIcon get(ImageIcon src, int size) {
+        return get(src, size, size);
+    }
+
+    /** Icon scaled to w x h pixels; the same ImageIcon instance is returned on every hit. */
+    public synchronized ImageIcon get(ImageIcon src, int w, int h) {
+        if (src == null || src.getImage() == null || w <= 0 || h <= 0) return src;
+
+        Key key = new Key(src.getImage(), w, h);
+        ImageIcon icon = cache.get(key);
+        if (icon == null) {
+            icon = new ImageIcon(scale(src.getImage(), w, h));
+            cache.put(key, icon);
+        }
+        return icon;
+    }
+
+    /** Drops every cached icon (theme switched, board resized...). */
+    public synchronized void clear() {
+        cache.clear();
+    }
+
+    // Scaling
+
+    private static BufferedImage scale(Image src, int w, int h) {
+        // make sure the source is fully loaded (ImageIcon loads it, but be safe)
+        ImageIcon loaded = new ImageIcon(src);
+        int sw = Math.max(1, loaded.getIconWidth());
+        int sh = Math.max(1, loaded.getIconHeight());
+
+        // Progressive halving keeps quality when shrinking large PNGs a lot
+        Image current = src;
+        int cw = sw;
+        int ch = sh;
+        while (cw / 2 >= w && ch / 2 >= h) {
+            cw /= 2;
+            ch /= 2;
+            current = draw(current, cw, ch, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        }
+        return draw(current, w, h, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+    }
+
+    private static BufferedImage draw(Image src, int w, int h, Object interpolation) {
+        BufferedImage out = createCompatibleImage(w, h);
+        Graphics2D g2 = out.createGraphics();
+        g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, interpolation);
+        g2.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g2.setRenderingHint(RenderingHints.KEY_ALPHA_INTERPOLATION, RenderingHints.VALUE_ALPHA_INTERPOLATION_QUALITY);
+        g2.drawImage(src, 0, 0, w, h, null);
+        g2.dispose();
+        return out;
+    }
+
+    static BufferedImage createCompatibleImage(int w, int h) {
+        if (!GraphicsEnvironment.isHeadless()) {
+            GraphicsConfiguration gc = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                    .getDefaultScreenDevice().getDefaultConfiguration();
+            return gc.createCompatibleImage(w, h, Transparency.TRANSLUCENT);
+        }
+        return new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
+    }
+
+    // Cache key: source image identity + size (Toolkit already shares images per URL)
+    private static final class Key {
+        private final Image image;
+        private final int w;
+        private final int h;
+
+        Key(Image image, int w, int h) {
+            this.image = image;
+            this.w = w;
+            this.h = h;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) return false;
+            Key k = (Key) o;
+            return k.image == image && k.w == w && k.h == h;
+        }
+
+        @Override
+        public int hashCode() {
+            return (System.identityHashCode(image) * 31 + w) * 31 + h;
+        }
+    }
+}
@@ -21,7 +21,7 @@ public class LegendIconChip extends JComponent {
 
         if (icon != null) {
             int size = 24; 
-            this.imgScaled = icon.getImage().getScaledInstance(size, size, Image.SCALE_SMOOTH);
+            this.imgScaled = IconCache.getInstance().get(icon, size).getImage();
         } else {
             this.imgScaled = null;
         }
@@ -3,8 +3,15 @@ package view;
 import controller.MinesweeperController;
 import controller.SoundManager;
 import model.Board;
+import model.BoardSpec;
 import model.Difficulty;
+import model.GameEngine;
 import model.GameSession;
+import model.MoveLog;
+import model.Replay;
+import model.NoGuessGenerator;
+import model.BoardPool;
+import model.RandomSource;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
@@ -14,6 +21,9 @@ import java.awt.event.MouseEvent;
 import model.ThemeManager;
 import java.awt.event.*;
 import java.awt.geom.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
 
 public class MainMenuGUI extends JFrame {
 
@@ -25,6 +35,10 @@ public class MainMenuGUI extends JFrame {
     private JPanel mainMenuCenterPanel;     // המסך הראשי (Start Game / Admin)
     private GameSetupPanel setupPanel;      // מסך שמות + קושי
     private MinesweeperGUI gamePanel;       // מסך המשחק (שני לוחות)
+    private JPanel preparingPanel;          // "Preparing board…" בזמן שהלוחות נבנים ברקע
+    private HistoryPanel historyPanel;      // מסך השיאים (נבנה מחדש רק כשמשתנה מקור הכניסה)
+    private boolean historyFromAdmin;
+    private boolean noGuess;                // המשחק האחרון היה על לוחות "בלי ניחוש"
     private AdminLoginPanel adminLoginPanel; // מסך התחברות אדמין
     private JPanel adminDashboardPanel;      // מסך דשבורד אדמין
     private SettingsPanel settingsPanel;
@@ -271,9 +285,15 @@ public class MainMenuGUI extends JFrame {
      * @param isAdmin האם הכניסה היא דרך האדמין (משפיע על כפתור החזרה)
      */
     public void showHistoryPanel(boolean isAdmin) {
-        // שולחים את הפרמטר isAdmin לבנאי החדש
-        HistoryPanel historyPanel = new HistoryPanel(this, isAdmin);
-        centerContainer.add(historyPanel, "HISTORY");
+        if (historyPanel != null && historyFromAdmin == isAdmin) {
+            historyPanel.refresh(); // שחקנים ומשחקים חדשים מאז הפעם הקודמת
+        } else {
+            if (historyPanel != null) centerContainer.remove(historyPanel);
+            // שולחים את הפרמטר isAdmin לבנאי החדש
+            historyPanel = new HistoryPanel(this, isAdmin);
+            historyFromAdmin = isAdmin;
+            centerContainer.add(historyPanel, "HISTORY");
+        }
         centerLayout.show(centerContainer, "HISTORY");
     }
 
@@ -283,6 +303,7 @@ public class MainMenuGUI extends JFrame {
     public void showMainMenu() {
         // ⭐ להפעיל את מוזיקת התפריט כשחוזרים למיין מניו
         SoundManager.getInstance().playMenuLoop();
+        if (gamePanel != null) gamePanel.stopTimers();
         centerLayout.show(centerContainer, "MENU");
     }
 
@@ -291,6 +312,7 @@ public class MainMenuGUI extends JFrame {
      * פונקציה זו נקראת מתוך SettingsPanel כשהמשתמש לוחץ Save.
      */
     public void refreshTheme() {
+        IconCache.getInstance().clear(); // אייקונים שנשמרו לערכת הנושא הקודמת
         this.repaint(); // מצייר מחדש את הרקע עם הצבעים החדשים
     }
 
@@ -308,19 +330,147 @@ public class MainMenuGUI extends JFrame {
      * כאן נוצרות המחלקות של המודל ומסך המשחק עם שני לוחות.
      */
     public void startGame(String player1Name, String player2Name, Difficulty difficulty) {
-        Board board1 = new Board(difficulty);
-        Board board2 = new Board(difficulty);
-        GameSession session = new GameSession(difficulty);
+        startGame(player1Name, player2Name, BoardSpec.of(difficulty), noGuess);
+    }
 
-        gamePanel = new MinesweeperGUI(this, player1Name, player2Name, board1, board2, session);
+    /** Play Again על אותה הגדרת לוח (גם לוח מותאם). */
+    public void startGame(String player1Name, String player2Name, BoardSpec spec) {
+        startGame(player1Name, player2Name, spec, noGuess);
+    }
 
-        MinesweeperController controller =
-                new MinesweeperController(board1, board2, session, gamePanel);
-        gamePanel.setController(controller);
+    public void startGame(String player1Name, String player2Name, Difficulty difficulty, boolean noGuess) {
+        startGame(player1Name, player2Name, BoardSpec.of(difficulty), noGuess);
+    }
 
-        centerContainer.add(gamePanel, "GAME");
+    /**
+     * @param spec    רמת קושי או לוח בגודל חופשי
+     * @param noGuess לוחות "בלי ניחוש" (נשמר גם ל-Play Again); נדלק רק בגדלים שהמחולל תומך בהם
+     */
+    public void startGame(String player1Name, String player2Name, BoardSpec spec, boolean noGuess) {
+        this.noGuess = noGuess;
+        noGuess = noGuess && NoGuessGenerator.supports(spec);
+
+        // seed קבוע אפשר לתת עם -Djellyfish.seed=... (לשחזור משחק); אחרת seed אקראי
+        Long seed = Long.getLong("jellyfish.seed");
+        RandomSource random = (seed != null) ? new RandomSource(seed) : new RandomSource();
+
+        boolean noGuessBoards = noGuess;
+        if (seed == null) {
+            // לוחות מוכנים מהמאגר; אם הם כבר שם – מתחילים מיד
+            BoardPool.Mode mode = noGuess ? BoardPool.Mode.NO_GUESS : BoardPool.Mode.STANDARD;
+            BoardPool pool = BoardPool.getInstance();
+            CompletableFuture<Board> board1 = pool.take(spec, mode);
+            CompletableFuture<Board> board2 = pool.take(spec, mode);
+            if (board1.isDone() && board2.isDone()) {
+                beginGame(player1Name, player2Name,
+                        GameEngine.withBoards(board1.join(), board2.join(), spec, random), noGuessBoards);
+                return;
+            }
+            prepareGame(player1Name, player2Name, noGuessBoards,
+                    () -> GameEngine.withBoards(board1.join(), board2.join(), spec, random));
+        } else {
+            // דטרמיניסטי מה-seed – בלי המאגר
+            prepareGame(player1Name, player2Name, noGuessBoards, () -> noGuessBoards
+                    ? GameEngine.newNoGuessGame(spec, random)
+                    : GameEngine.newGame(spec, random));
+        }
+    }
+
+    /**
+     * בונה את המשחק ב-SwingWorker (לא על ה-EDT – לוח ענק או חיפוש "בלי ניחוש" לוקחים זמן)
+     * ובינתיים מציג מסך "Preparing board…".
+     */
+    private void prepareGame(String player1Name, String player2Name, boolean noGuess,
+                             Supplier<GameEngine> engine) {
+        showPreparingScreen();
+        new SwingWorker<GameEngine, Void>() {
+            @Override
+            protected GameEngine doInBackground() {
+                return engine.get();
+            }
+
+            @Override
+            protected void done() {
+                setCursor(Cursor.getDefaultCursor());
+                try {
+                    beginGame(player1Name, player2Name, get(), noGuess);
+                } catch (InterruptedException | ExecutionException e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    JOptionPane.showMessageDialog(MainMenuGUI.this,
+                            "Cannot prepare the board: " + cause.getMessage(),
+                            "New Game", JOptionPane.ERROR_MESSAGE);
+                    showSetupScreen();
+                }
+            }
+        }.execute();
+    }
+
+    private void beginGame(String player1Name, String player2Name, GameEngine engine, boolean noGuess) {
+        MinesweeperController controller = showGame(player1Name, player2Name, engine);
+        controller.startRecording(player1Name + " & " + player2Name);
+
+        // המחולל ויתר (לוח מותאם צפוף מדי) – קיבלנו לוח רגיל, ומספרים לשחקנים
+        if (noGuess && !(engine.getBoard1().isGuessFree() && engine.getBoard2().isGuessFree())) {
+            gamePanel.showToast("No guess-free board at this density – you may have to guess", 4000);
+        }
+    }
+
+    /** מסך המתנה בזמן שהלוחות נבנים (אין בו כפתורים – אי אפשר להתחיל משחק שני באמצע). */
+    private void showPreparingScreen() {
+        if (preparingPanel == null) {
+            preparingPanel = new JPanel(new GridBagLayout());
+            preparingPanel.setOpaque(false);
+            JLabel label = new JLabel("Preparing board…", SwingConstants.CENTER);
+            label.setForeground(Color.WHITE);
+            label.setFont(new Font("Segoe UI", Font.BOLD, 32));
+            preparingPanel.add(label);
+            centerContainer.add(preparingPanel, "PREPARING");
+        }
+        centerLayout.show(centerContainer, "PREPARING");
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+    }
+
+    /**
+     * צפייה מהירה במשחק שמור (יומן מ-{@link MoveLog#DIRECTORY}).
+     * המשחק נבנה מחדש מה-seeds שביומן והמהלכים מורצים עליו אחד אחרי השני.
+     */
+    public void startReplay(java.nio.file.Path file) {
+        MoveLog.Recording recording;
+        try {
+            recording = MoveLog.read(file);
+        } catch (java.io.IOException | RuntimeException e) {
+            JOptionPane.showMessageDialog(this, "Cannot read replay: " + e.getMessage(),
+                    "Replay", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        String[] names = recording.header.players.split(" & ", 2);
+        String p1 = names[0];
+        String p2 = names.length > 1 ? names[1] : "";
+
+        MinesweeperController controller = showGame(p1, p2, Replay.newEngine(recording));
+        controller.replay(recording);
+    }
+
+    /** מחבר את מסך המשחק (אחד לכל החיים של החלון) למנוע ומציג אותו. */
+    private MinesweeperController showGame(String player1Name, String player2Name, GameEngine engine) {
+        Board board1 = engine.getBoard1();
+        Board board2 = engine.getBoard2();
+        GameSession session = engine.getSession();
+        BoardSpec spec = session.getSpec();
+
+        // מסך משחק אחד לכל החיים של החלון – משחק חדש רק מחבר אותו ללוחות החדשים
+        if (gamePanel == null) {
+            gamePanel = new MinesweeperGUI(this, player1Name, player2Name, board1, board2, session);
+            centerContainer.add(gamePanel, "GAME");
+        } else {
+            gamePanel.reset(player1Name, player2Name, board1, board2, session);
+        }
+
+        MinesweeperController controller = new MinesweeperController(engine, gamePanel);
+        gamePanel.setController(controller);
 
-        Dimension desired = switch (difficulty) {
+        // לוח מותאם: גודל החלון של HARD (לוחות גדולים נגללים בתוך המסך)
+        Dimension desired = switch (spec.isStandard() ? spec.getTier() : Difficulty.HARD) {
             case EASY   -> new Dimension(900, 780);
             case MEDIUM -> new Dimension(1100, 900);
             case HARD   -> new Dimension(1250, 1080);
@@ -349,6 +499,7 @@ public class MainMenuGUI extends JFrame {
         setLocationRelativeTo(null);
 
         centerLayout.show(centerContainer, "GAME");
+        return controller;
     }
 
     // פונקציות עיצוב כפתורים מתוקנות
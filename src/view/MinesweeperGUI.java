@@ -10,6 +10,8 @@ import javax.swing.border.Border;
 import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.util.ArrayList;
+import java.util.List;
 
 public class MinesweeperGUI extends JPanel {
 
@@ -47,6 +49,28 @@ public class MinesweeperGUI extends JPanel {
 
     public enum OverlayType { GOOD, BAD, INFO }
 
+    /**
+     * How each board is drawn: a grid of CellButtons (classic) or one BoardCanvas.
+     * Default: buttons for the regular sizes, canvas for big boards.
+     * Can be forced with -Djellyfish.renderer=buttons|canvas.
+     */
+    public enum BoardRenderer {
+        BUTTONS, CANVAS;
+
+        private static final int CANVAS_MIN_CELLS = 32 * 32;
+
+        public static BoardRenderer defaultFor(int rows, int cols) {
+            String forced = System.getProperty("jellyfish.renderer", "");
+            if (forced.equalsIgnoreCase("canvas")) return CANVAS;
+            if (forced.equalsIgnoreCase("buttons")) return BUTTONS;
+            return (rows * cols >= CANVAS_MIN_CELLS) ? CANVAS : BUTTONS;
+        }
+    }
+
+    // Custom board sizing: boards up to this many pixels are shown whole, larger ones scroll
+    private static final int CUSTOM_BOARD_PX = 416;
+    private static final int MIN_CUSTOM_CELL = 16;
+
     // Used icons (after activation)
     private final ImageIcon ICON_QUESTION_USED = loadIcon("/images/question_used.png");
     private final ImageIcon ICON_SURPRISE_USED = loadIcon("/images/gift_open.png");
@@ -58,19 +82,33 @@ public class MinesweeperGUI extends JPanel {
     private static final int OVERLAY_SUB_SIZE = 15;
 
     // Game fields
-    private final Board board1;
-    private final Board board2;
-    private final GameSession session;
-    private final Difficulty difficulty;
+    private Board board1;
+    private Board board2;
+    private GameSession session;
+    private Difficulty difficulty;
+    private BoardSpec spec;
 
-    private final String player1Name;
-    private final String player2Name;
+    private String player1Name;
+    private String player2Name;
 
     private final MainMenuGUI parent;
     private MinesweeperController controller;
 
+    private BoardRenderer renderer;
+
     private CellButton[][] buttons1;
     private CellButton[][] buttons2;
+    private BoardCanvas canvas1;    // only with BoardRenderer.CANVAS
+    private BoardCanvas canvas2;
+
+    // Partial refresh state (see updateBoardView)
+    private final CellButton.SharedFill closedFillA = new CellButton.SharedFill(Color.GRAY);
+    private final CellButton.SharedFill closedFillB = new CellButton.SharedFill(Color.GRAY);
+    private CellStyle cellStyle;
+    private boolean fullRestyleA = true;
+    private boolean fullRestyleB = true;
+    private String lastHighlightKey;
+    private Boolean boardsEnabled;
 
     // UI components
     private JLabel playerALabel;
@@ -88,6 +126,8 @@ public class MinesweeperGUI extends JPanel {
     private JPanel boardPanelB;
     private JPanel boardWrapA;
     private JPanel boardWrapB;
+    private JPanel mainRoot;
+    private JPanel boardsContainer;
 
     // Gift overlay (full screen)
     private JPanel cardsHolder;
@@ -117,25 +157,126 @@ public class MinesweeperGUI extends JPanel {
     // clock refresh
     private Timer uiClockTimer;
 
+    // one-shot animation timers (gift reveal, question overlay) – see stopTimers
+    private final List<Timer> animationTimers = new ArrayList<>();
+
     public MinesweeperGUI(MainMenuGUI parent,
                           String player1Name,
                           String player2Name,
                           Board board1,
                           Board board2,
                           GameSession session) {
+        this(parent, player1Name, player2Name, board1, board2, session,
+                BoardRenderer.defaultFor(board1.getRows(), board1.getCols()));
+    }
+
+    public MinesweeperGUI(MainMenuGUI parent,
+                          String player1Name,
+                          String player2Name,
+                          Board board1,
+                          Board board2,
+                          GameSession session,
+                          BoardRenderer renderer) {
         this.parent = parent;
+        this.renderer = renderer;
         this.player1Name = player1Name;
         this.player2Name = player2Name;
         this.board1 = board1;
         this.board2 = board2;
         this.session = session;
         this.difficulty = session.getDifficulty();
+        this.spec = session.getSpec();
 
         initUI();
         refreshView();
     }
 
+    /**
+     * Rebinds this screen to a new match instead of building a new MinesweeperGUI.
+     * Everything left over from the previous match (timers, overlays, toast, pause
+     * state, controller) is stopped first. The cell grids are kept when the board
+     * size and renderer match and rebuilt in place otherwise.
+     * Call {@link #setController} afterwards, as with a fresh screen.
+     */
+    public void reset(String player1Name,
+                      String player2Name,
+                      Board board1,
+                      Board board2,
+                      GameSession session) {
+        stopTimers();
+        if (controller != null) controller.dispose();
+        controller = null;
+
+        hideOverlayNow();
+        if (giftOverlay != null) giftOverlay.setVisible(false);
+        if (cardsHolder != null) cardsHolder.setVisible(true);
+        if (toastPanel != null) toastPanel.setVisible(false);
+
+        BoardRenderer nextRenderer = BoardRenderer.defaultFor(board1.getRows(), board1.getCols());
+        boolean sameGrid = nextRenderer == renderer
+                && session.getSpec().equals(spec)
+                && sameSize(board1, this.board1)
+                && sameSize(board2, this.board2);
+
+        this.player1Name = player1Name;
+        this.player2Name = player2Name;
+        this.board1 = board1;
+        this.board2 = board2;
+        this.session = session;
+        this.difficulty = session.getDifficulty();
+        this.spec = session.getSpec();
+        this.renderer = nextRenderer;
+
+        if (sameGrid) {
+            if (canvas1 != null) canvas1.setBoard(board1);
+            if (canvas2 != null) canvas2.setBoard(board2);
+        } else {
+            rebuildBoards();
+        }
+
+        boardALabel.setText(player1Name + "'s Board");
+        boardBLabel.setText(player2Name + "'s Board");
+        timeLabel.setText("Time: 00:00");
+        pauseBtn.setPaused(false);
+
+        boardsEnabled = null;
+        setAllBoardsEnabled(true);
+        fullRestyleA = true;
+        fullRestyleB = true;
+        lastHighlightKey = null;
+
+        refreshView();
+    }
+
+    /**
+     * Stops every timer this screen owns (clock, toast, overlay auto-hide and
+     * running animations) and the controller's. Called on reset and when the
+     * screen is left for the main menu.
+     */
+    public void stopTimers() {
+        if (uiClockTimer != null) uiClockTimer.stop();
+        if (toastTimer != null) toastTimer.stop();
+        if (overlayAutoHideTimer != null) overlayAutoHideTimer.stop();
+        for (Timer t : animationTimers) t.stop();
+        animationTimers.clear();
+        if (controller != null) controller.dispose();
+    }
+
+    private static boolean sameSize(Board a, Board b) {
+        return a.getRows() == b.getRows() && a.getCols() == b.getCols();
+    }
+
+    /** One-shot animation timer, remembered so {@link #stopTimers} can cancel it. */
+    private Timer animationTimer(int delayMs, java.awt.event.ActionListener action) {
+        animationTimers.removeIf(t -> !t.isRunning());
+        Timer t = new Timer(delayMs, action);
+        t.setRepeats(false);
+        animationTimers.add(t);
+        return t;
+    }
+
     public void setController(MinesweeperController controller) {
+        if (this.controller != null && this.controller != controller) this.controller.dispose();
         this.controller = controller;
         this.controller.startGameTimer();
         startUiClock();
@@ -152,11 +293,9 @@ public class MinesweeperGUI extends JPanel {
         return new ImageIcon(url);
     }
 
-    // helper: scale any ImageIcon to fixed size
+    // helper: scale any ImageIcon to fixed size (shared cache, scaled once per size)
     private ImageIcon scaledIcon(ImageIcon src, int w, int h) {
-        if (src == null || src.getImage() == null) return src;
-        Image img = src.getImage().getScaledInstance(w, h, Image.SCALE_SMOOTH);
-        return new ImageIcon(img);
+        return IconCache.getInstance().get(src, w, h);
     }
 
     private void fitOverlayTitleToWidth(String text, int maxWidth, int maxSize, int minSize) {
@@ -389,8 +528,7 @@ public class MinesweeperGUI extends JPanel {
     private JPanel buildMainPanel() {
         JPanel root = new JPanel(new BorderLayout(8, 8));
         root.setOpaque(false);
-        int pad = (difficulty == Difficulty.HARD) ? 12 : 20;
-        root.setBorder(BorderFactory.createEmptyBorder(pad, pad, pad, pad));
+        mainRoot = root;
 
         JPanel header = new JPanel();
         header.setOpaque(false);
@@ -402,12 +540,12 @@ public class MinesweeperGUI extends JPanel {
 
         root.add(header, BorderLayout.NORTH);
 
-        int gap = (difficulty == Difficulty.HARD) ? 16 : 28;
-        JPanel boardsContainer = new JPanel(new GridLayout(1, 2, gap, 0));
+        boardsContainer = new JPanel(new GridLayout(1, 2, 0, 0));
         boardsContainer.setOpaque(false);
+        applyDifficultySpacing();
 
-        boardPanelA = buildSingleBoardPanel(board1, true);
-        boardPanelB = buildSingleBoardPanel(board2, false);
+        boardPanelA = buildBoardPanel(board1, true);
+        boardPanelB = buildBoardPanel(board2, false);
 
         boardWrapA = new BoardMattePanel(boardPanelA);
         boardWrapB = new BoardMattePanel(boardPanelB);
@@ -421,6 +559,41 @@ public class MinesweeperGUI extends JPanel {
         return root;
     }
 
+    private void applyDifficultySpacing() {
+        int pad = (difficulty == Difficulty.HARD) ? 12 : 20;
+        mainRoot.setBorder(BorderFactory.createEmptyBorder(pad, pad, pad, pad));
+        ((GridLayout) boardsContainer.getLayout()).setHgap((difficulty == Difficulty.HARD) ? 16 : 28);
+    }
+
+    /** Board panel plus the resize hook: icons are scaled to the button size, so a resize needs a full restyle. */
+    private JPanel buildBoardPanel(Board board, boolean firstBoard) {
+        JPanel panel = buildSingleBoardPanel(board, firstBoard);
+        panel.addComponentListener(new java.awt.event.ComponentAdapter() {
+            @Override public void componentResized(java.awt.event.ComponentEvent e) {
+                IconCache.getInstance().clear();
+                if (firstBoard) fullRestyleA = true;
+                else fullRestyleB = true;
+                refreshView();
+            }
+        });
+        return panel;
+    }
+
+    /** New grids (or canvases) for boards of a different size; the rest of the screen is kept. */
+    private void rebuildBoards() {
+        buttons1 = buttons2 = null;
+        canvas1 = canvas2 = null;
+        applyDifficultySpacing();
+
+        boardPanelA = buildBoardPanel(board1, true);
+        boardPanelB = buildBoardPanel(board2, false);
+        ((BoardMattePanel) boardWrapA).setInner(boardPanelA);
+        ((BoardMattePanel) boardWrapB).setInner(boardPanelB);
+
+        boardsContainer.revalidate();
+        boardsContainer.repaint();
+    }
+
     private JPanel buildPlayersRow() {
 
         JPanel row = new JPanel(new BorderLayout());
@@ -444,10 +617,10 @@ public class MinesweeperGUI extends JPanel {
         JButton infoBtn = new InfoIconButton();
 
         infoBtn.addActionListener(e -> {
-            Difficulty currentDiff = (session != null) ? session.getDifficulty() : Difficulty.EASY;
+            BoardSpec currentSpec = (session != null) ? session.getSpec() : BoardSpec.of(Difficulty.EASY);
             new view.GameRulesDialog(
                     SwingUtilities.getWindowAncestor(this),
-                    currentDiff
+                    currentSpec
             ).setVisible(true);
         });
 
@@ -670,7 +843,7 @@ public class MinesweeperGUI extends JPanel {
         // Pause card
         overlayPauseCard = new PauseMenuPanel(
                 this::togglePauseFromGUI,
-                () -> parent.startGame(player1Name, player2Name, session.getDifficulty()),
+                () -> parent.startGame(player1Name, player2Name, session.getSpec()),
                 parent::showMainMenu
         );
 
@@ -730,26 +903,65 @@ public class MinesweeperGUI extends JPanel {
         toastPanel.setPreferredSize(new Dimension(260, 44));
     }
 
+    /** Tile size in pixels: fixed per level, and for custom boards shrunk to fit (down to 16px, then scrolled). */
+    private int cellSize() {
+        if (spec.isStandard()) {
+            return switch (difficulty) {
+                case EASY -> 46;
+                case MEDIUM -> 34;
+                case HARD -> 26;
+            };
+        }
+        int side = Math.max(spec.getRows(), spec.getCols());
+        return Math.max(MIN_CUSTOM_CELL, Math.min(46, CUSTOM_BOARD_PX / side));
+    }
+
+    /**
+     * Puts a canvas in a zoomable viewport. Boards smaller than the viewport are scaled
+     * to fit as before; larger ones scroll, and only the tiles in view are painted.
+     * Ctrl+wheel zooms, middle-drag pans (see BoardCanvas).
+     */
+    private static JScrollPane scrollable(BoardCanvas canvas) {
+        JScrollPane scroll = new JScrollPane(canvas);
+        scroll.setOpaque(false);
+        scroll.getViewport().setOpaque(false);
+        scroll.setBorder(BorderFactory.createEmptyBorder());
+        scroll.getViewport().setScrollMode(JViewport.BLIT_SCROLL_MODE);
+        return scroll;
+    }
+
     // Board build + Pause
     private JPanel buildSingleBoardPanel(Board board, boolean firstBoard) {
         int rows = board.getRows();
         int cols = board.getCols();
 
-        JPanel panel = new JPanel(new GridLayout(rows, cols));
-        panel.setOpaque(false);
-
-        int cell = switch (difficulty) {
-            case EASY -> 46;
-            case MEDIUM -> 34;
-            case HARD -> 26;
-        };
-
-        CellButton[][] buttons = new CellButton[rows][cols];
+        int cell = cellSize();
 
         int fontSize = 24;
         if (rows > 15) fontSize = 14;
         else if (rows > 10) fontSize = 18;
 
+        if (renderer == BoardRenderer.CANVAS) {
+            BoardCanvas canvas = new BoardCanvas(board, fontSize,
+                    ICON_FLAG, ICON_MINE, ICON_QUESTION, ICON_SURPRISE,
+                    ICON_QUESTION_USED, ICON_SURPRISE_USED,
+                    (row, col, e) -> onCellPressed(firstBoard, row, col, e));
+            canvas.setPreferredSize(new Dimension(cols * cell, rows * cell));
+
+            if (firstBoard) canvas1 = canvas;
+            else canvas2 = canvas;
+
+            JPanel panel = new JPanel(new BorderLayout());
+            panel.setOpaque(false);
+            panel.add(scrollable(canvas), BorderLayout.CENTER);
+            return panel;
+        }
+
+        JPanel panel = new JPanel(new GridLayout(rows, cols));
+        panel.setOpaque(false);
+
+        CellButton[][] buttons = new CellButton[rows][cols];
+
         for (int r = 0; r < rows; r++) {
             for (int c = 0; c < cols; c++) {
                 CellButton btn = new CellButton();
@@ -767,15 +979,7 @@ public class MinesweeperGUI extends JPanel {
                 btn.addMouseListener(new MouseAdapter() {
                     @Override
                     public void mousePressed(MouseEvent e) {
-                        if (controller == null) return;
-                        if (controller.isPaused()) return;
-                        if (isFirst != controller.isPlayer1Turn()) return;
-
-                        if (SwingUtilities.isLeftMouseButton(e)) {
-                            controller.handleLeftClick(isFirst, row, col);
-                        } else if (SwingUtilities.isRightMouseButton(e)) {
-                            controller.handleRightClick(isFirst, row, col);
-                        }
+                        onCellPressed(isFirst, row, col, e);
                     }
                 });
 
@@ -792,6 +996,19 @@ public class MinesweeperGUI extends JPanel {
         return panel;
     }
 
+    /** Mouse press on a cell (button grid or canvas). */
+    private void onCellPressed(boolean isFirst, int row, int col, MouseEvent e) {
+        if (controller == null) return;
+        if (controller.isPaused()) return;
+        if (isFirst != controller.isPlayer1Turn()) return;
+
+        if (SwingUtilities.isLeftMouseButton(e)) {
+            controller.handleLeftClick(isFirst, row, col);
+        } else if (SwingUtilities.isRightMouseButton(e)) {
+            controller.handleRightClick(isFirst, row, col);
+        }
+    }
+
     private void togglePauseFromGUI() {
         if (controller == null) return;
 
@@ -808,8 +1025,12 @@ public class MinesweeperGUI extends JPanel {
     }
 
     private void setAllBoardsEnabled(boolean enabled) {
+        if (boardsEnabled != null && boardsEnabled == enabled) return;
+        boardsEnabled = enabled;
         setBoardEnabled(buttons1, enabled);
         setBoardEnabled(buttons2, enabled);
+        if (canvas1 != null) canvas1.setEnabled(enabled);
+        if (canvas2 != null) canvas2.setEnabled(enabled);
     }
 
     // ⭐ מתודה ציבורית לשימוש מה־controller שלך (נוספה)
@@ -919,7 +1140,7 @@ public class MinesweeperGUI extends JPanel {
 
         // אחרי X שניות – סוגרים ומריצים onDone
         if (onDone != null && seconds > 0) {
-            Timer t = new Timer(seconds * 1000, e -> {
+            Timer t = animationTimer(seconds * 1000, e -> {
                 hideOverlayNow();
                 onDone.run();
                 ((Timer) e.getSource()).stop();
@@ -958,7 +1179,11 @@ public class MinesweeperGUI extends JPanel {
                                              String title, String subtitle,
                                              int overlaySeconds) {
 
-        if (buttons1 == null || buttons2 == null) return;
+        if (buttons1 == null || buttons2 == null) {
+            // canvas renderer: no per-cell button to animate
+            showResultOverlay(type, title, subtitle, overlaySeconds);
+            return;
+        }
         CellButton[][] grid = isFirstBoard ? buttons1 : buttons2;
 
         if (r < 0 || c < 0 || r >= grid.length || c >= grid[0].length) return;
@@ -987,16 +1212,17 @@ public class MinesweeperGUI extends JPanel {
         btn.setIcon(null);
         btn.setScaledIcon(closed);
 
-        Timer t1 = new Timer(350, e1 -> {
+        Timer t1 = animationTimer(350, e1 -> {
 
             // מצב 2: מתנה פתוחה
             btn.setText("");
             btn.setIcon(null);
             btn.setScaledIcon(open);
 
-            Timer t2 = new Timer(450, e2 -> {
+            Timer t2 = animationTimer(450, e2 -> {
 
                 // מצב 3: החזרת מצב UI לפי המודל + הצגת Overlay
+                restyleCell(isFirstBoard, r, c);
                 refreshView();
                 updateTurnHighlight();
 
@@ -1051,11 +1277,11 @@ public class MinesweeperGUI extends JPanel {
         overlayRoot.revalidate();
         overlayRoot.repaint();
 
-        Timer t1 = new Timer(350, e1 -> {
+        Timer t1 = animationTimer(350, e1 -> {
             giftLabel.setIcon(open);
             overlayRoot.repaint();
 
-            Timer t2 = new Timer(650, e2 -> {
+            Timer t2 = animationTimer(650, e2 -> {
 
                 // מסתירים מתנה
                 giftOverlay.setVisible(false);
@@ -1090,16 +1316,6 @@ public class MinesweeperGUI extends JPanel {
         playGiftCenterAndShowOverlay(type, title, subtitle, overlaySeconds, null);
     }
 
-    private int countTotalMines(Board b) {
-        int count = 0;
-        for (int r = 0; r < b.getRows(); r++) {
-            for (int c = 0; c < b.getCols(); c++) {
-                if (b.getCell(r, c).getType() == CellType.MINE) count++;
-            }
-        }
-        return count;
-    }
-
     public void refreshView() {
         boolean p1Turn = (controller == null) || controller.isPlayer1Turn();
 
@@ -1107,8 +1323,22 @@ public class MinesweeperGUI extends JPanel {
         Color board1Color = tm.getBoardAColor();
         Color board2Color = tm.getBoardBColor();
 
-        updateBoardView(board1, buttons1, board1Color, p1Turn);
-        updateBoardView(board2, buttons2, board2Color, !p1Turn);
+        // theme switched -> every cell needs new colours
+        if (cellStyle == null || cellStyle.darkMode != tm.isDarkMode()) {
+            cellStyle = new CellStyle(tm);
+            fullRestyleA = true;
+            fullRestyleB = true;
+        }
+
+        if (renderer == BoardRenderer.CANVAS) {
+            updateCanvasView(canvas1, board1Color, p1Turn, fullRestyleA);
+            updateCanvasView(canvas2, board2Color, !p1Turn, fullRestyleB);
+        } else {
+            updateBoardView(board1, buttons1, boardPanelA, closedFillA, board1Color, p1Turn, fullRestyleA);
+            updateBoardView(board2, buttons2, boardPanelB, closedFillB, board2Color, !p1Turn, fullRestyleB);
+        }
+        fullRestyleA = false;
+        fullRestyleB = false;
 
         String current = p1Turn ? player1Name : player2Name;
         turnLabel.setText("Turn: " + current);
@@ -1121,13 +1351,8 @@ public class MinesweeperGUI extends JPanel {
         updateTimeLabel();
 
         // Mines left
-        int totalMinesA = countTotalMines(board1);
-        int totalMinesB = countTotalMines(board2);
-        int revealedA   = countRevealedMines(board1);
-        int revealedB   = countRevealedMines(board2);
-
-        int minesLeftA = Math.max(0, totalMinesA - revealedA);
-        int minesLeftB = Math.max(0, totalMinesB - revealedB);
+        int minesLeftA = Math.max(0, board1.getHiddenMineCount());
+        int minesLeftB = Math.max(0, board2.getHiddenMineCount());
 
         if (minesLeftALabel != null) minesLeftALabel.setText("Mines left: " + minesLeftA);
         if (minesLeftBLabel != null) minesLeftBLabel.setText("Mines left: " + minesLeftB);
@@ -1143,125 +1368,133 @@ public class MinesweeperGUI extends JPanel {
     }
 
     // Refresh
-    private void updateBoardView(Board board, CellButton[][] buttons, Color playerColor, boolean active) {
-        if (buttons == null) return;
 
-        int rows = board.getRows();
-        int cols = board.getCols();
+    /**
+     * Brings the buttons of one board up to date.
+     * Only cells the Board reports as changed are restyled; a full pass is done
+     * on the first refresh, after a theme switch or after the panel was resized.
+     * Closed cells share one fill, so a turn switch is a single colour change.
+     */
+    private void updateBoardView(Board board, CellButton[][] buttons, JPanel panel,
+                                 CellButton.SharedFill closedFill,
+                                 Color playerColor, boolean active, boolean full) {
+        if (buttons == null) return;
 
-        ThemeManager tm = ThemeManager.getInstance();
         Color baseColor = active ? playerColor : darker(playerColor, 0.6);
+        if (!baseColor.equals(closedFill.get())) {
+            closedFill.set(baseColor);
+            if (panel != null) panel.repaint();
+        }
 
-        // Glass look (light + transparent)
-        Color glass = tm.isDarkMode()
-                ? new Color(255, 255, 255, 45)
-                : new Color(255, 255, 255, 35);
+        if (!full) {
+            board.drainChangedCells(i -> styleCell(board, buttons, closedFill,
+                    board.rowOf(i), board.colOf(i)));
+            return;
+        }
 
-        // Mine: light red / transparent
-        Color mineGlass = tm.isDarkMode()
-                ? new Color(255, 120, 120, 85)
-                : new Color(255, 140, 140, 70);
+        board.drainChangedCells(i -> { });
+        for (int r = 0; r < board.getRows(); r++) {
+            for (int c = 0; c < board.getCols(); c++) {
+                styleCell(board, buttons, closedFill, r, c);
+            }
+        }
+    }
 
-        // Question: light blue / transparent
-        Color questionGlass = tm.isDarkMode()
-                ? new Color(140, 190, 255, 90)
-                : new Color(160, 205, 255, 75);
+    /** Canvas counterpart of updateBoardView: the canvas repaints only changed tiles. */
+    private void updateCanvasView(BoardCanvas canvas, Color playerColor, boolean active, boolean full) {
+        if (canvas == null) return;
+        canvas.setClosedFill(active ? playerColor : darker(playerColor, 0.6));
+        canvas.refresh(full);
+    }
 
-        // Surprise: light pink / transparent
-        Color surpriseGlass = tm.isDarkMode()
-                ? new Color(255, 170, 210, 90)
-                : new Color(255, 185, 220, 75);
+    /** Restyles one button from the model (used after a button-level animation). */
+    private void restyleCell(boolean firstBoard, int r, int c) {
+        if (renderer == BoardRenderer.CANVAS) return;
+        if (firstBoard) styleCell(board1, buttons1, closedFillA, r, c);
+        else            styleCell(board2, buttons2, closedFillB, r, c);
+    }
 
-        // Used power: softer glass
-        Color usedGlass = tm.isDarkMode()
-                ? new Color(255, 255, 255, 30)
-                : new Color(255, 255, 255, 25);
+    private void styleCell(Board board, CellButton[][] buttons,
+                           CellButton.SharedFill closedFill, int r, int c) {
+        CellStyle st = cellStyle;
+        Cell cell = board.getCell(r, c);
+        CellButton btn = buttons[r][c];
 
-        Color textOnGlass = tm.getTextColor();
+        // NOT revealed
+        if (!cell.isRevealed()) {
+            btn.setFill(closedFill);
+            btn.setTextColor(Color.WHITE);
 
-        for (int r = 0; r < rows; r++) {
-            for (int c = 0; c < cols; c++) {
+            if (cell.isFlagged()) {
+                btn.setScaledIcon(ICON_FLAG);
+            } else {
+                btn.setIcon(null);
+                btn.setText("");
+            }
+            return;
+        }
 
-                Cell cell = board.getCell(r, c);
-                CellButton btn = buttons[r][c];
+        // revealed
+        switch (cell.getType()) {
 
-                // NOT revealed
-                if (!cell.isRevealed()) {
-                    btn.setFill(baseColor);
-                    btn.setTextColor(Color.WHITE);
+            case MINE -> {
+                btn.setIcon(null);
+                btn.setText("");
+                btn.setFill(st.mineGlass);
+                btn.setScaledIcon(ICON_MINE);
+                btn.setTextColor(Color.WHITE);
+            }
 
-                    if (cell.isFlagged()) {
-                        btn.setScaledIcon(ICON_FLAG);
-                    } else {
-                        btn.setIcon(null);
-                        btn.setText("");
-                    }
-                    continue;
-                }
+            case NUMBER -> {
+                btn.setIcon(null);
+                btn.setText(String.valueOf(cell.getAdjacentMines()));
+                btn.setFill(st.glass);
+                btn.setTextColor(st.textOnGlass);
+                btn.setFont(new Font("Segoe UI", Font.BOLD, btn.getFont().getSize()));
+            }
 
-                // revealed
-                switch (cell.getType()) {
+            case EMPTY -> {
+                btn.setIcon(null);
+                btn.setText("");
+                btn.setFill(st.glass);
+                btn.setTextColor(st.textOnGlass);
+            }
 
-                    case MINE -> {
-                        btn.setIcon(null);
-                        btn.setText("");
-                        btn.setFill(mineGlass);
-                        btn.setScaledIcon(ICON_MINE);
-                        btn.setTextColor(Color.WHITE);
-                    }
+            case QUESTION -> {
+                if (cell.isPowerUsed()) {
+                    btn.setIcon(null);
+                    btn.setText("");
+                    btn.setFill(st.usedGlass);
+                    btn.setTextColor(st.textOnGlass);
 
-                    case NUMBER -> {
-                        btn.setIcon(null);
-                        btn.setText(String.valueOf(cell.getAdjacentMines()));
-                        btn.setFill(glass);
-                        btn.setTextColor(textOnGlass);
-                        btn.setFont(new Font("Segoe UI", Font.BOLD, btn.getFont().getSize()));
-                    }
+                    // show broken question icon (instead of USED)
+                    btn.setScaledIcon(ICON_QUESTION_USED);
 
-                    case EMPTY -> {
-                        btn.setIcon(null);
-                        btn.setText("");
-                        btn.setFill(glass);
-                        btn.setTextColor(textOnGlass);
-                    }
+                } else {
+                    btn.setIcon(null);
+                    btn.setText("");
+                    btn.setFill(st.questionGlass);
+                    btn.setScaledIcon(ICON_QUESTION);
+                    btn.setTextColor(Color.WHITE);
+                }
+            }
 
-                    case QUESTION -> {
-                        if (cell.isPowerUsed()) {
-                            btn.setIcon(null);
-                            btn.setText("");
-                            btn.setFill(usedGlass);
-                            btn.setTextColor(textOnGlass);
-
-                            // show broken question icon (instead of USED)
-                            btn.setScaledIcon(ICON_QUESTION_USED);
-
-                        } else {
-                            btn.setIcon(null);
-                            btn.setText("");
-                            btn.setFill(questionGlass);
-                            btn.setScaledIcon(ICON_QUESTION);
-                            btn.setTextColor(Color.WHITE);
-                        }
-                    }
+            case SURPRISE -> {
+                if (cell.isPowerUsed()) {
+                    btn.setIcon(null);
+                    btn.setText("");
+                    btn.setFill(st.usedGlass);
+                    btn.setTextColor(st.textOnGlass);
 
-                    case SURPRISE -> {
-                        if (cell.isPowerUsed()) {
-                            btn.setIcon(null);
-                            btn.setText("");
-                            btn.setFill(usedGlass);
-                            btn.setTextColor(textOnGlass);
-
-                            // show opened gift icon (instead of USED)
-                            btn.setScaledIcon(ICON_SURPRISE_USED);
-
-                        } else {
-                            btn.setIcon(null);
-                            btn.setText("");
-                            btn.setFill(surpriseGlass);
-                            btn.setScaledIcon(ICON_SURPRISE);
-                            btn.setTextColor(Color.WHITE);
-                        }
-                    }
+                    // show opened gift icon (instead of USED)
+                    btn.setScaledIcon(ICON_SURPRISE_USED);
+
+                } else {
+                    btn.setIcon(null);
+                    btn.setText("");
+                    btn.setFill(st.surpriseGlass);
+                    btn.setScaledIcon(ICON_SURPRISE);
+                    btn.setTextColor(Color.WHITE);
                 }
             }
         }
@@ -1279,6 +1512,12 @@ public class MinesweeperGUI extends JPanel {
         if (boardWrapA == null || boardWrapB == null) return;
 
         ThemeManager tm = ThemeManager.getInstance();
+
+        // setBorder re-lays out the whole board, so only do it when something changed
+        String key = p1Active + "/" + tm.isDarkMode();
+        if (key.equals(lastHighlightKey)) return;
+        lastHighlightKey = key;
+
         Color a = tm.getBoardAColor();
         Color b = tm.getBoardBColor();
 
@@ -1323,7 +1562,7 @@ public class MinesweeperGUI extends JPanel {
         if (uiClockTimer != null && uiClockTimer.isRunning()) uiClockTimer.stop();
 
         int livesBefore = session.getLives();
-        int minesRevealed = countRevealedMines(board1) + countRevealedMines(board2);
+        int minesRevealed = board1.getRevealedMineCount() + board2.getRevealedMineCount();
         int durationSeconds = (controller == null) ? 0 : (int) (controller.getElapsedActiveMillis() / 1000);
 
         // convert lives -> score AFTER saving livesBefore
@@ -1336,17 +1575,20 @@ public class MinesweeperGUI extends JPanel {
 
         String resultLabel = success ? "VICTORY" : "GAME OVER";
         String resultSub   = success ? "All mines revealed!" : "Out of shared lives!";
-        String difficultyText = session.getDifficulty().name();
-
-        // Save history
-        GameHistory history = new GameHistory();
-        history.addEntry(
-                player1Name + " & " + player2Name,
-                session.getScore(),
-                difficultyText,
-                success ? "All mines revealed" : "Out of lives",
-                durationSeconds
-        );
+        String difficultyText = spec.getName();
+
+        // Save history (not for a replay – that game is already in it)
+        if (controller == null || !controller.isReplaying()) {
+            GameHistory history = GameHistory.getInstance();
+            GameHistoryEntry entry = history.addEntry(
+                    player1Name + " & " + player2Name,
+                    session.getScore(),
+                    difficultyText,
+                    success ? "All mines revealed" : "Out of lives",
+                    durationSeconds
+            );
+            if (controller != null) controller.gameSaved(entry.getDate());
+        }
 
         Window owner = SwingUtilities.getWindowAncestor(this);
         GameOverDialog dialog = new GameOverDialog(
@@ -1360,23 +1602,12 @@ public class MinesweeperGUI extends JPanel {
                 minesRevealed,
                 difficultyText,
                 durationSeconds,
-                () -> parent.startGame(player1Name, player2Name, session.getDifficulty()),
+                () -> parent.startGame(player1Name, player2Name, session.getSpec()),
                 parent::showMainMenu
         );
         dialog.setVisible(true);
     }
 
-    private int countRevealedMines(Board board) {
-        int count = 0;
-        for (int r = 0; r < board.getRows(); r++) {
-            for (int c = 0; c < board.getCols(); c++) {
-                Cell cell = board.getCell(r, c);
-                if (cell.getType() == CellType.MINE && cell.isRevealed()) count++;
-            }
-        }
-        return count;
-    }
-
     // Helpers / Components
     private enum OverlayStyle {
         POSITIVE(new Color(90, 200, 120)),
@@ -1804,7 +2035,7 @@ public class MinesweeperGUI extends JPanel {
     }
 
     private static class BoardMattePanel extends JPanel {
-        private final JComponent inner;
+        private JComponent inner;
 
         BoardMattePanel(JComponent inner) {
             this.inner = inner;
@@ -1814,6 +2045,12 @@ public class MinesweeperGUI extends JPanel {
             add(inner, BorderLayout.CENTER);
         }
 
+        void setInner(JComponent next) {
+            remove(inner);
+            inner = next;
+            add(inner, BorderLayout.CENTER);
+        }
+
         @Override
         protected void paintComponent(Graphics g) {
             super.paintComponent(g);
@@ -1,12 +1,13 @@
 package view;
 
+import model.io.CsvReader;
+import model.io.CsvWriter;
+
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.io.*;
 import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
-import java.util.List;
 
 /**
  * מסך ניהול שאלות (Admin Wizard).
@@ -124,35 +125,28 @@ public class QuestionManagementPanel extends JPanel {
 
         tableModel.setRowCount(0);
 
-        try (BufferedReader br = new BufferedReader(
-                new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
+        // Delimiter (tab / comma / semicolon) and BOM are detected from the header
+        try (CsvReader csv = new CsvReader(new FileInputStream(file), CsvReader.AUTO)) {
 
-            String header = br.readLine();
-            if (header == null || header.trim().isEmpty()) {
+            if (!csv.next() || csv.isBlank()) {
                 System.err.println("Admin: CSV file is empty.");
                 return;
             }
-            header = header.replace("\uFEFF", "");
-
-            char delimiter = detectDelimiter(header);
 
-            String line;
             int rowNum = 1;
 
-            while ((line = br.readLine()) != null) {
+            while (csv.next()) {
                 rowNum++;
-                if (line.trim().isEmpty()) continue;
+                if (csv.isBlank()) continue;
 
-                String[] data = parseLine(line, delimiter);
-
-                if (data.length < 8) {
-                    System.err.println("Admin: skipped bad row " + rowNum + ": " + line);
+                if (csv.size() < 8) {
+                    System.err.println("Admin: skipped bad row " + rowNum + ": " + csv.record());
                     continue;
                 }
 
                 // Normalize to exactly 8 columns
                 Object[] row = new Object[8];
-                for (int i = 0; i < 8; i++) row[i] = data[i];
+                for (int i = 0; i < 8; i++) row[i] = csv.get(i);
 
                 tableModel.addRow(row);
             }
@@ -165,21 +159,18 @@ public class QuestionManagementPanel extends JPanel {
     private void saveQuestionsToCSV() {
         File file = new File(CSV_FILE);
 
-        try (BufferedWriter bw = new BufferedWriter(
-                new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8))) {
+        try (CsvWriter csv = new CsvWriter(new BufferedWriter(
+                new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8)))) {
 
             // Always save as real CSV with commas
-            bw.write("ID,Question,Difficulty,A,B,C,D,Correct Answer");
-            bw.newLine();
+            csv.record("ID", "Question", "Difficulty", "A", "B", "C", "D", "Correct Answer");
 
             for (int i = 0; i < tableModel.getRowCount(); i++) {
-                List<String> fields = new ArrayList<>(8);
                 for (int j = 0; j < tableModel.getColumnCount(); j++) {
                     Object val = tableModel.getValueAt(i, j);
-                    fields.add(escapeCsv(val == null ? "" : val.toString()));
+                    csv.field(val == null ? "" : val.toString());
                 }
-                bw.write(String.join(",", fields));
-                bw.newLine();
+                csv.endRecord();
             }
         } catch (IOException e) {
             JOptionPane.showMessageDialog(this, "Error saving file: " + e.getMessage());
@@ -189,7 +180,7 @@ public class QuestionManagementPanel extends JPanel {
         System.out.println("System: Saved questions.csv size=" + file.length());
         JOptionPane.showMessageDialog(this, "The data was successfully saved to a CSV file!");
 
-        // Reload questions in runtime
+        // Reload questions in runtime (compiled in the background, the game keeps the old set until then)
         model.QuestionBank.getInstance().reloadQuestions();
     }
 
@@ -282,46 +273,4 @@ public class QuestionManagementPanel extends JPanel {
         }
         return String.valueOf(maxId + 1);
     }
-
-    // -------- CSV helpers --------
-
-    private char detectDelimiter(String header) {
-        if (header.contains("\t")) return '\t';
-        if (header.contains(","))  return ',';
-        if (header.contains(";"))  return ';';
-        return ',';
-    }
-
-    private String[] parseLine(String line, char delimiter) {
-        List<String> out = new ArrayList<>();
-        StringBuilder cur = new StringBuilder();
-        boolean inQuotes = false;
-
-        for (int i = 0; i < line.length(); i++) {
-            char ch = line.charAt(i);
-
-            if (ch == '"') {
-                if (inQuotes && i + 1 < line.length() && line.charAt(i + 1) == '"') {
-                    cur.append('"');
-                    i++;
-                } else {
-                    inQuotes = !inQuotes;
-                }
-            } else if (ch == delimiter && !inQuotes) {
-                out.add(cur.toString());
-                cur.setLength(0);
-            } else {
-                cur.append(ch);
-            }
-        }
-        out.add(cur.toString());
-        return out.toArray(new String[0]);
-    }
-
-    private String escapeCsv(String s) {
-        if (s == null) return "";
-        boolean mustQuote = s.contains(",") || s.contains("\"") || s.contains("\n") || s.contains("\r");
-        String t = s.replace("\"", "\"\"");
-        return mustQuote ? "\"" + t + "\"" : t;
-    }
 }
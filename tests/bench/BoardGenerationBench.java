@@ -0,0 +1,89 @@
+package bench;
+
+import model.Board;
+import model.RandomSource;
+
+import java.util.Locale;
+
+/**
+ * Benchmark: board generation cost across mine densities.
+ * Run with: java -cp <classes> bench.BoardGenerationBench [rows] [cols]
+ *
+ * Prints ns per cell for Board construction (mine placement, adjacency,
+ * specials) and, for contrast, for the old rejection-sampling + 8-neighbour
+ * scan approach. The new numbers should stay flat as density grows.
+ */
+public class BoardGenerationBench {
+
+    private static final double[] DENSITIES = {0.01, 0.10, 0.25, 0.50, 0.75, 0.90, 0.99, 1.00};
+
+    public static void main(String[] args) {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int cols = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        int cells = rows * cols;
+
+        System.out.printf(Locale.ROOT, "Board %dx%d (%d cells)%n", rows, cols, cells);
+        System.out.printf(Locale.ROOT, "%8s %14s %14s%n", "density", "Board ns/cell", "old ns/cell");
+
+        long sink = 0;
+        for (double density : DENSITIES) {
+            int mines = (int) Math.round(cells * density);
+
+            // warm-up
+            for (int i = 0; i < 3; i++) {
+                sink += new Board(rows, cols, mines, 11, 4, new RandomSource(i)).getTotalMines();
+                sink += oldGenerate(rows, cols, mines, i);
+            }
+
+            int reps = 5;
+            long t0 = System.nanoTime();
+            for (int i = 0; i < reps; i++) {
+                sink += new Board(rows, cols, mines, 11, 4, new RandomSource(100 + i)).getTotalMines();
+            }
+            long t1 = System.nanoTime();
+            for (int i = 0; i < reps; i++) {
+                sink += oldGenerate(rows, cols, mines, 100 + i);
+            }
+            long t2 = System.nanoTime();
+
+            System.out.printf(Locale.ROOT, "%7.0f%% %14.2f %14.2f%n", density * 100,
+                    (double) (t1 - t0) / reps / cells,
+                    (double) (t2 - t1) / reps / cells);
+        }
+        System.out.println("(checksum " + sink + ")");
+    }
+
+    /** The previous algorithm: rejection sampling, then an 8-neighbour scan of every cell. */
+    private static long oldGenerate(int rows, int cols, int mines, long seed) {
+        RandomSource random = new RandomSource(seed);
+        boolean[] mine = new boolean[rows * cols];
+        byte[] adjacent = new byte[rows * cols];
+
+        int placed = 0;
+        while (placed < mines) {
+            int i = random.nextInt(rows) * cols + random.nextInt(cols);
+            if (!mine[i]) {
+                mine[i] = true;
+                placed++;
+            }
+        }
+
+        long sum = 0;
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                if (mine[r * cols + c]) continue;
+                int count = 0;
+                for (int dr = -1; dr <= 1; dr++) {
+                    for (int dc = -1; dc <= 1; dc++) {
+                        if (dr == 0 && dc == 0) continue;
+                        int nr = r + dr, nc = c + dc;
+                        if (nr >= 0 && nc >= 0 && nr < rows && nc < cols && mine[nr * cols + nc]) count++;
+                    }
+                }
+                adjacent[r * cols + c] = (byte) count;
+                sum += count;
+            }
+        }
+        return sum;
+    }
+}
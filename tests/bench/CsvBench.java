@@ -0,0 +1,169 @@
+package bench;
+
+import model.io.CsvReader;
+import model.io.CsvWriter;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Benchmark: CSV parsing throughput on a large history-style file.
+ * Run with: java -cp <classes> bench.CsvBench [megabytes]
+ *
+ * Compares the old line-based loaders (readLine + split, readLine + the
+ * quote-aware char loop) with CsvReader, both reading numbers in place and
+ * materialising every field. Each variant is warmed up first and the median
+ * of the measured runs is reported, so JIT compilation is not part of the
+ * numbers. The file is read from the page cache, not the disk.
+ */
+public class CsvBench {
+
+    private static final int WARMUP = 3;
+    private static final int RUNS = 5;
+
+    private interface Variant {
+        long run(Path file) throws IOException;
+    }
+
+    public static void main(String[] args) throws IOException {
+        int mb = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        Path file = Files.createTempFile("csvbench", ".csv");
+        try {
+            long rows = write(file, mb * 1_000_000L);
+            long size = Files.size(file);
+            System.out.printf(Locale.ROOT, "%d rows, %.1f MB%n", rows, size / 1e6);
+
+            measure("readLine + split", file, size, CsvBench::splitLines);
+            measure("readLine + char loop", file, size, CsvBench::charLoop);
+            measure("CsvReader, ints only", file, size, f -> csvStream(f, false));
+            measure("CsvReader, all fields", file, size, f -> csvStream(f, true));
+            measure("CsvReader, mapped file", file, size, CsvBench::csvMapped);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static void measure(String name, Path file, long size, Variant v) throws IOException {
+        long sink = 0;
+        for (int i = 0; i < WARMUP; i++) sink += v.run(file);
+        double[] ms = new double[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            long t0 = System.nanoTime();
+            sink += v.run(file);
+            ms[i] = (System.nanoTime() - t0) / 1e6;
+        }
+        Arrays.sort(ms);
+        double median = ms[RUNS / 2];
+        System.out.printf(Locale.ROOT, "%-24s %8.1f ms  %7.1f MB/s  (sink %d)%n",
+                name, median, size / 1e6 / (median / 1000), sink);
+    }
+
+    /** Same columns as history.csv; about one name in eight needs quoting. */
+    private static long write(Path file, long bytes) throws IOException {
+        Random rnd = new Random(1);
+        String[] names = {"Ann", "Bob & Cat", "Smith, Ann", "Dan \"D\" Lee", "שירה", "Eve & Fay"};
+        String[] results = {"Won - board revealed", "Lost - out of lives", "Quit"};
+        long rows = 0;
+        try (CsvWriter csv = new CsvWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8))) {
+            csv.record("Players Name", "Score", "Game Difficulty", "Result", "Duration (sec)", "Date");
+            for (long written = 0; written < bytes; rows++) {
+                String name = names[rnd.nextInt(names.length)] + rnd.nextInt(1000);
+                csv.field(name).field(rnd.nextInt(300)).field(rnd.nextBoolean() ? "EASY" : "HARD")
+                   .field(results[rnd.nextInt(results.length)]).field(rnd.nextInt(3600))
+                   .field(String.format(Locale.ROOT, "2026/%02d/%02d 12:%02d",
+                           1 + rnd.nextInt(12), 1 + rnd.nextInt(28), rnd.nextInt(60)));
+                csv.endRecord();
+                written += name.length() + 50;
+            }
+        }
+        return rows;
+    }
+
+    private static long splitLines(Path file) throws IOException {
+        long sink = 0;
+        try (BufferedReader br = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            br.readLine();
+            for (String line; (line = br.readLine()) != null; ) {
+                String[] parts = line.split(",");
+                sink += parts.length + parts[0].length();
+            }
+        }
+        return sink;
+    }
+
+    private static long charLoop(Path file) throws IOException {
+        long sink = 0;
+        try (BufferedReader br = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            br.readLine();
+            for (String line; (line = br.readLine()) != null; ) {
+                String[] parts = parseLine(line, ',');
+                sink += parts.length + parts[0].length();
+            }
+        }
+        return sink;
+    }
+
+    private static long csvStream(Path file, boolean strings) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return consume(new CsvReader(in, ','), strings);
+        }
+    }
+
+    private static long csvMapped(Path file) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer map = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+            return consume(new CsvReader(map, ','), false);
+        }
+    }
+
+    private static long consume(CsvReader csv, boolean strings) throws IOException {
+        long sink = 0;
+        csv.next();
+        while (csv.next()) {
+            if (strings) {
+                for (int i = 0; i < csv.size(); i++) sink += csv.get(i).length();
+            } else {
+                sink += csv.size() + csv.getInt(1) + csv.getInt(4);
+            }
+        }
+        return sink;
+    }
+
+    /** The quote-aware loop QuestionBank and the admin panel each carried before. */
+    private static String[] parseLine(String line, char delimiter) {
+        List<String> out = new ArrayList<>();
+        StringBuilder cur = new StringBuilder();
+        boolean inQuotes = false;
+        for (int i = 0; i < line.length(); i++) {
+            char ch = line.charAt(i);
+            if (ch == '"') {
+                if (inQuotes && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    cur.append('"');
+                    i++;
+                } else {
+                    inQuotes = !inQuotes;
+                }
+            } else if (ch == delimiter && !inQuotes) {
+                out.add(cur.toString());
+                cur.setLength(0);
+            } else {
+                cur.append(ch);
+            }
+        }
+        out.add(cur.toString());
+        return out.toArray(new String[0]);
+    }
+}
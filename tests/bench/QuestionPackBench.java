@@ -0,0 +1,111 @@
+package bench;
+
+import model.Question;
+import model.QuestionLevel;
+import model.QuestionPack;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Benchmark: question bank startup with a large question set.
+ * Run with: java -cp <classes> bench.QuestionPackBench [questions]
+ *
+ * Compares parsing a CSV into one Question object per row (the old loader)
+ * with opening a compiled pack, and reports the cost of drawing questions
+ * from the pack. Opening should stay flat as the pack grows.
+ */
+public class QuestionPackBench {
+
+    public static void main(String[] args) throws IOException {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 500_000;
+        Path dir = Files.createTempDirectory("qbench");
+        Path csv = dir.resolve("questions.csv");
+        Path packFile = dir.resolve("questions.pack");
+
+        try {
+            StringBuilder sb = new StringBuilder("ID,Question,Difficulty,A,B,C,D,Correct Answer\n");
+            for (int i = 0; i < n; i++) {
+                sb.append(i).append(",What is question number ").append(i).append("?,")
+                  .append(1 + i % 4).append(",Answer A ").append(i).append(",Answer B,Answer C,Answer D,")
+                  .append("ABCD".charAt(i % 4)).append('\n');
+            }
+            Files.writeString(csv, sb.toString(), StandardCharsets.UTF_8);
+            System.out.printf(Locale.ROOT, "%d questions, csv %.1f MB%n", n, Files.size(csv) / 1e6);
+
+            long heap0 = usedHeap();
+            long t0 = System.nanoTime();
+            List<Question> parsed = parseCsv(csv);
+            long t1 = System.nanoTime();
+            long heapCsv = usedHeap() - heap0;
+            System.out.printf(Locale.ROOT, "csv parse:   %8.1f ms  heap %6.1f MB  (%d questions)%n",
+                    (t1 - t0) / 1e6, heapCsv / 1e6, parsed.size());
+            parsed = null;
+
+            t0 = System.nanoTime();
+            try (QuestionPack.Writer w = new QuestionPack.Writer(packFile, 0, 0)) {
+                for (int i = 0; i < n; i++) {
+                    w.add("What is question number " + i + "?",
+                          new String[]{"Answer A " + i, "Answer B", "Answer C", "Answer D"},
+                          i % 4, QuestionLevel.values()[i % 4]);
+                }
+                w.finish();
+            }
+            t1 = System.nanoTime();
+            System.out.printf(Locale.ROOT, "pack build:  %8.1f ms  pack %.1f MB (once per csv change)%n",
+                    (t1 - t0) / 1e6, Files.size(packFile) / 1e6);
+
+            heap0 = usedHeap();
+            t0 = System.nanoTime();
+            QuestionPack pack = QuestionPack.open(packFile);
+            t1 = System.nanoTime();
+            System.out.printf(Locale.ROOT, "pack open:   %8.3f ms  heap %6.3f MB%n",
+                    (t1 - t0) / 1e6, Math.max(0, usedHeap() - heap0) / 1e6);
+
+            Random rnd = new Random(1);
+            long sink = 0;
+            int draws = 100_000;
+            t0 = System.nanoTime();
+            for (int i = 0; i < draws; i++) sink += pack.get(rnd.nextInt(pack.size())).getQuestionText().length();
+            t1 = System.nanoTime();
+            System.out.printf(Locale.ROOT, "pack draw:   %8.0f ns/question%n", (t1 - t0) / (double) draws);
+            System.out.println("(sink " + sink + ")");
+        } finally {
+            try (java.util.stream.Stream<Path> files = Files.list(dir)) {
+                for (Path p : (Iterable<Path>) files::iterator) p.toFile().delete();
+            }
+            dir.toFile().delete();
+        }
+    }
+
+    /** The old loader: one Question (and answer array) per row, all kept on the heap. */
+    private static List<Question> parseCsv(Path csv) throws IOException {
+        List<Question> out = new ArrayList<>();
+        try (BufferedReader br = Files.newBufferedReader(csv, StandardCharsets.UTF_8)) {
+            br.readLine();
+            String line;
+            while ((line = br.readLine()) != null) {
+                String[] d = line.split(",");
+                out.add(new Question(d[1], new String[]{d[3], d[4], d[5], d[6]}, d[7].charAt(0) - 'A',
+                        QuestionLevel.values()[Integer.parseInt(d[2]) - 1]) {
+                    @Override
+                    protected void applyEffect(boolean correct, model.GameSession session) { }
+                });
+            }
+        }
+        return out;
+    }
+
+    private static long usedHeap() {
+        Runtime rt = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) System.gc();
+        return rt.totalMemory() - rt.freeMemory();
+    }
+}
@@ -0,0 +1,91 @@
+package tests;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import model.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+public class BoardPoolTests {
+
+    /**
+     * take() always returns a fresh board of the requested kind, and the
+     * background refill brings the pool back up without anyone waiting on it.
+     */
+    @Test
+    public void testTakeReturnsFreshBoardsAndRefills() throws InterruptedException {
+        BoardPool pool = BoardPool.getInstance();
+
+        Board a = pool.take(Difficulty.MEDIUM, BoardPool.Mode.STANDARD).join();
+        Board b = pool.take(Difficulty.MEDIUM, BoardPool.Mode.STANDARD).join();
+        assertNotSame(a, b);
+        assertEquals(Difficulty.MEDIUM.getRows(), a.getRows());
+        assertFalse("Standard boards stay lazy until the first click", a.isMaterialized());
+        assertEquals(-1, a.getStartCell());
+
+        Board ng = pool.take(Difficulty.HARD, BoardPool.Mode.NO_GUESS).join();
+        assertTrue(ng.isMaterialized());
+        assertTrue(ng.getStartCell() >= 0);
+        assertEquals(0, ng.getRevealedSafeCount());
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (pool.available(Difficulty.HARD, BoardPool.Mode.NO_GUESS) < 2
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(2, pool.available(Difficulty.HARD, BoardPool.Mode.NO_GUESS));
+
+        Board pooled = pool.take(Difficulty.HARD, BoardPool.Mode.NO_GUESS).join();
+        assertNotSame(ng, pooled);
+        assertTrue(pooled.getStartCell() >= 0);
+    }
+
+    /** Only the most recently requested custom size keeps a pool; earlier sizes are dropped. */
+    @Test
+    public void testOnlyLatestCustomSizeIsPooled() throws InterruptedException {
+        BoardPool pool = BoardPool.getInstance();
+        BoardSpec first = BoardSpec.custom(30, 31, 100, Difficulty.EASY);
+        BoardSpec second = BoardSpec.custom(30, 32, 100, Difficulty.EASY);
+
+        pool.warmUp(first, BoardPool.Mode.STANDARD);
+        waitForPool(pool, first);
+        assertEquals(2, pool.available(first, BoardPool.Mode.STANDARD));
+
+        pool.warmUp(second, BoardPool.Mode.STANDARD);
+        assertEquals(0, pool.available(first, BoardPool.Mode.STANDARD));
+        waitForPool(pool, second);
+        assertEquals(2, pool.available(second, BoardPool.Mode.STANDARD));
+        assertEquals(0, pool.available(first, BoardPool.Mode.STANDARD));
+    }
+
+    /**
+     * An empty pool (and a board too large to pool) hands the build to the builder
+     * executor: take() returns an unfinished future instead of building on the caller's thread.
+     */
+    @Test
+    public void testColdTakeDoesNotBuildOnCallerThread() {
+        List<Runnable> held = new ArrayList<>();
+        BoardPool pool = new BoardPool(0, held::add);
+
+        CompletableFuture<Board> cold = pool.take(Difficulty.EASY, BoardPool.Mode.STANDARD);
+        CompletableFuture<Board> huge = pool.take(BoardSpec.custom(200, 200, 4000, Difficulty.HARD),
+                BoardPool.Mode.STANDARD);
+        assertFalse(cold.isDone());
+        assertFalse(huge.isDone());
+        assertEquals(2, held.size());
+
+        held.forEach(Runnable::run);
+        assertEquals(Difficulty.EASY.getRows(), cold.join().getRows());
+        assertEquals(200, huge.join().getRows());
+    }
+
+    private static void waitForPool(BoardPool pool, BoardSpec spec) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (pool.available(spec, BoardPool.Mode.STANDARD) < 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package tests;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import model.*;
+
+public class BoardSolverTests {
+
+    /**
+     * Soundness: over many games played by the solver itself, a cell it calls
+     * safe is never a mine and a cell it calls a mine always is.
+     */
+    @Test
+    public void testSolverNeverMarksAMineAsSafe() {
+        for (int game = 0; game < 40; game++) {
+            Board board = Board.lazy(Difficulty.HARD, new RandomSource(game));
+            GameSession session = new GameSession(Difficulty.HARD);
+            BoardSolver solver = new BoardSolver();
+            board.openCell(board.getRows() / 2, board.getCols() / 2, session);
+
+            for (int step = 0; step < 400 && board.getRevealedSafeCount() < safeCells(board); step++) {
+                SolverResult res = solver.update(board.snapshot());
+                for (int i : res.safeCells) {
+                    assertFalse("Cell " + i + " called safe", isMine(board, i));
+                }
+                for (int i : res.mineCells) {
+                    assertTrue("Cell " + i + " called a mine", isMine(board, i));
+                }
+                for (double p : res.mineProbability) {
+                    assertTrue(p >= 0 && p <= 1);
+                }
+
+                if (res.mineCells.length > 0) {
+                    int i = res.mineCells[0];
+                    board.toggleFlag(board.rowOf(i), board.colOf(i), session);
+                } else {
+                    int i = res.safeCells.length > 0 ? res.safeCells[0] : res.bestGuess;
+                    if (i < 0) break;
+                    board.openCell(board.rowOf(i), board.colOf(i), session);
+                }
+            }
+        }
+    }
+
+    /**
+     * Probabilities match a brute-force count over every layout that agrees
+     * with what the player sees (right number of mines, every number satisfied).
+     */
+    @Test
+    public void testProbabilitiesMatchBruteForce() {
+        for (int seed = 0; seed < 30; seed++) {
+            Board board = new Board(5, 6, 7, 0, 0, new RandomSource(seed));
+            GameSession session = new GameSession(Difficulty.EASY);
+            int start = firstNumber(board);
+            board.openCell(board.rowOf(start), board.colOf(start), session);
+
+            BoardSnapshot snap = board.snapshot();
+            SolverResult res = new BoardSolver().update(snap);
+            if (!res.exact) continue;
+
+            double[] expected = bruteForce(snap);
+            for (int i = 0; i < snap.getCellCount(); i++) {
+                assertEquals("seed " + seed + " cell " + i, expected[i], res.mineProbability[i], 1e-9);
+            }
+        }
+    }
+
+    /** A full HARD game stays well under 5 ms per incremental update. */
+    @Test
+    public void testHardBoardUpdatesAreFast() {
+        long total = 0;
+        int updates = 0;
+        for (int game = 0; game < 60; game++) {
+            Board board = Board.lazy(Difficulty.HARD, new RandomSource(1000 + game));
+            GameSession session = new GameSession(Difficulty.HARD);
+            BoardSolver solver = new BoardSolver();
+            board.openCell(0, 0, session);
+
+            for (int step = 0; step < 400 && board.getRevealedSafeCount() < safeCells(board); step++) {
+                BoardSnapshot snap = board.snapshot();
+                long t0 = System.nanoTime();
+                SolverResult res = solver.update(snap);
+                long dt = System.nanoTime() - t0;
+                if (game >= 20) {   // first games are JIT warm-up
+                    total += dt;
+                    updates++;
+                }
+                int i = res.safeCells.length > 0 ? res.safeCells[0] : res.bestGuess;
+                if (i < 0) break;
+                board.openCell(board.rowOf(i), board.colOf(i), session);
+            }
+        }
+        double avgMs = total / 1e6 / updates;
+        assertTrue("Average update took " + avgMs + " ms", avgMs < 5);
+    }
+
+    /**
+     * No-guess boards: the start cell opens a cascade, and from there certain
+     * moves alone clear the whole board without ever touching a mine.
+     * The same RandomSource gives the same board.
+     */
+    @Test
+    public void testNoGuessBoardsSolveWithoutGuessing() {
+        for (int seed = 0; seed < 10; seed++) {
+            Board board = NoGuessGenerator.generate(Difficulty.HARD, new RandomSource(seed));
+            Board again = NoGuessGenerator.generate(Difficulty.HARD, new RandomSource(seed));
+            assertEquals(board.getStartCell(), again.getStartCell());
+
+            int start = board.getStartCell();
+            assertTrue(start >= 0);
+            assertTrue(board.isGuessFree());
+            assertEquals(0, board.getCell(board.rowOf(start), board.colOf(start)).getAdjacentMines());
+            assertFalse(isMine(board, start));
+
+            GameSession session = new GameSession(Difficulty.HARD);
+            int lives = session.getLives();
+            board.openStartCell();
+            assertEquals("Opening the start cell is free", 0, session.getScore());
+
+            BoardSolver solver = new BoardSolver();
+            while (board.getRevealedSafeCount() < safeCells(board)) {
+                SolverResult res = solver.update(board.snapshot());
+                assertTrue("Seed " + seed + " needs a guess", res.safeCells.length > 0 || res.mineCells.length > 0);
+                for (int i : res.safeCells) {
+                    board.openCell(board.rowOf(i), board.colOf(i), session);
+                }
+                if (res.safeCells.length == 0) {
+                    int i = res.mineCells[0];
+                    board.toggleFlag(board.rowOf(i), board.colOf(i), session);
+                }
+            }
+            assertEquals("No mine was hit", lives, session.getLives());
+        }
+    }
+
+    /**
+     * A custom density no candidate can solve: the generator gives up with an ordinary
+     * board (safe start cell, no promise) and says so through isGuessFree.
+     */
+    @Test
+    public void testNoGuessGiveUpIsReported() {
+        BoardSpec dense = BoardSpec.custom(10, 10, 70, Difficulty.EASY);
+        Board board = NoGuessGenerator.generate(dense, new RandomSource(5));
+
+        assertFalse(board.isGuessFree());
+        assertEquals(70, board.getTotalMines());
+        int start = board.getStartCell();
+        assertTrue(start >= 0);
+        assertFalse(isMine(board, start));
+    }
+
+    // Helpers
+
+    private static boolean isMine(Board board, int i) {
+        return board.getCell(board.rowOf(i), board.colOf(i)).getType() == CellType.MINE;
+    }
+
+    private static int safeCells(Board board) {
+        return board.getRows() * board.getCols() - board.getTotalMines();
+    }
+
+    private static int firstNumber(Board board) {
+        for (int i = 0; i < board.getRows() * board.getCols(); i++) {
+            if (board.getCell(board.rowOf(i), board.colOf(i)).getType() == CellType.NUMBER) return i;
+        }
+        return 0;
+    }
+
+    private static double[] bruteForce(BoardSnapshot snap) {
+        int n = snap.getCellCount();
+        int[] hidden = new int[n];
+        int h = 0;
+        int knownMines = 0;
+        for (int i = 0; i < n; i++) {
+            if (snap.isHidden(i)) hidden[h++] = i;
+            else if (snap.get(i) == BoardSnapshot.MINE) knownMines++;
+        }
+        boolean[] mine = new boolean[n];
+        for (int i = 0; i < n; i++) mine[i] = snap.get(i) == BoardSnapshot.MINE;
+
+        double[] hits = new double[n];
+        double[] total = new double[1];
+        choose(snap, hidden, h, 0, snap.getTotalMines() - knownMines, mine, hits, total);
+
+        double[] p = new double[n];
+        for (int i = 0; i < n; i++) {
+            p[i] = snap.isHidden(i) ? hits[i] / total[0] : snap.get(i) == BoardSnapshot.MINE ? 1 : 0;
+        }
+        return p;
+    }
+
+    private static void choose(BoardSnapshot snap, int[] hidden, int h, int from, int left,
+                               boolean[] mine, double[] hits, double[] total) {
+        if (left == 0) {
+            if (!consistent(snap, mine)) return;
+            total[0]++;
+            for (int x = 0; x < h; x++) if (mine[hidden[x]]) hits[hidden[x]]++;
+            return;
+        }
+        for (int x = from; x <= h - left; x++) {
+            mine[hidden[x]] = true;
+            choose(snap, hidden, h, x + 1, left - 1, mine, hits, total);
+            mine[hidden[x]] = false;
+        }
+    }
+
+    private static boolean consistent(BoardSnapshot snap, boolean[] mine) {
+        int rows = snap.getRows(), cols = snap.getCols();
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                int v = snap.get(r, c);
+                if (v < 0) continue;
+                int count = 0;
+                for (int nr = Math.max(0, r - 1); nr <= Math.min(rows - 1, r + 1); nr++) {
+                    for (int nc = Math.max(0, c - 1); nc <= Math.min(cols - 1, c + 1); nc++) {
+                        if (mine[nr * cols + nc]) count++;
+                    }
+                }
+                if (count != v) return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,311 @@
+package tests;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import model.*;
+
+import java.util.List;
+
+public class BoardTests {
+
+    /**
+     * Stress: a 1000x1000 board with no mines opens completely from one click.
+     * The old recursive reveal overflowed the stack long before this.
+     */
+    @Test
+    public void testCascadeOnMillionCellBoardDoesNotOverflow() {
+        Board board = new Board(1000, 1000, 0, 0, 0);
+        GameSession session = new GameSession(Difficulty.EASY);
+
+        int[] order = board.computeCascadeOrder(500, 500);
+        assertEquals("Whole board should be in the cascade", 1000 * 1000, order.length);
+        assertFalse("computeCascadeOrder must not change the board",
+                board.getCell(500, 500).isRevealed());
+
+        board.openCell(500, 500, session);
+
+        assertEquals("One point per opened cell", 1000 * 1000, session.getScore());
+        assertTrue(board.getCell(0, 0).isRevealed());
+        assertTrue(board.getCell(999, 999).isRevealed());
+    }
+
+    /**
+     * Stress: on a 1000x1000 board with mines, the animated path
+     * (computeCascadeOrder + revealSingleCell) scores exactly like openCell.
+     */
+    @Test
+    public void testCascadeOrderMatchesOpenCellOnLargeBoard() {
+        Board board = new Board(1000, 1000, 50_000, 0, 0);
+        int[] start = findZeroCell(board);
+
+        int[] order = board.computeCascadeOrder(start[0], start[1]);
+        assertTrue(order.length > 1);
+
+        // computing twice gives the same answer (scratch buffers are reset)
+        assertArrayEquals(order, board.computeCascadeOrder(start[0], start[1]));
+
+        GameSession session = new GameSession(Difficulty.EASY);
+        board.openCell(start[0], start[1], session);
+
+        assertEquals(order.length, session.getScore());
+        for (int cell : order) {
+            assertTrue(board.getCell(board.rowOf(cell), board.colOf(cell)).isRevealed());
+        }
+    }
+
+    /**
+     * The iterative cascade must visit cells in the same order as the original
+     * recursive implementation (the GUI animates in this order).
+     */
+    @Test
+    public void testCascadeOrderMatchesRecursiveReference() {
+        Board board = new Board(60, 60, 250, 0, 0);
+        int[] start = findZeroCell(board);
+
+        java.util.List<Integer> expected = new java.util.ArrayList<>();
+        referenceCascade(board, start[0], start[1], new boolean[60][60], expected);
+
+        int[] order = board.computeCascadeOrder(start[0], start[1]);
+        assertEquals(expected.size(), order.length);
+        for (int i = 0; i < order.length; i++) {
+            assertEquals("Cascade order differs at step " + i, (int) expected.get(i), order[i]);
+        }
+    }
+
+    /**
+     * The live counters must always agree with a full scan of the board,
+     * whatever mix of reveals, flags and activations happened.
+     */
+    @Test
+    public void testLiveCountersMatchFullScan() {
+        Board board = new Board(Difficulty.HARD);
+        GameSession session = new GameSession(Difficulty.HARD);
+        java.util.Random rnd = new java.util.Random(7);
+
+        for (int move = 0; move < 200; move++) {
+            int r = rnd.nextInt(board.getRows());
+            int c = rnd.nextInt(board.getCols());
+            switch (rnd.nextInt(3)) {
+                case 0 -> board.openCell(r, c, session);
+                case 1 -> board.toggleFlag(r, c, session);
+                default -> {
+                    if (board.canActivateSpecial(r, c)) board.markSpecialUsed(r, c);
+                }
+            }
+            assertCountersMatchScan(board);
+        }
+
+        board.revealRandomMine();
+        board.revealBest3x3(session);
+        assertCountersMatchScan(board);
+
+        board.revealAllCells();
+        assertCountersMatchScan(board);
+        assertTrue(board.allMinesRevealed());
+    }
+
+    /**
+     * drainChangedCells reports each changed cell once, and only cells that changed.
+     */
+    @Test
+    public void testDrainChangedCellsReportsOnlyChangedCells() {
+        Board board = new Board(Difficulty.MEDIUM);
+        GameSession session = new GameSession(Difficulty.MEDIUM);
+
+        int cells = board.getRows() * board.getCols();
+        assertEquals("A new board reports every cell once", cells, board.drainChangedCells(i -> { }));
+        assertEquals(0, board.drainChangedCells(i -> { }));
+
+        int[] start = findZeroCell(board);
+        int[] order = board.computeCascadeOrder(start[0], start[1]);
+        board.openCell(start[0], start[1], session);
+
+        java.util.Set<Integer> changed = new java.util.HashSet<>();
+        int n = board.drainChangedCells(changed::add);
+        assertEquals(order.length, n);
+        assertEquals(order.length, changed.size());
+        for (int cell : order) assertTrue(changed.contains(cell));
+
+        board.toggleFlag(start[0], start[1], session); // already revealed -> no change
+        assertEquals(0, board.drainChangedCells(i -> { }));
+    }
+
+    /**
+     * Generation: exact mine and special counts, adjacency equal to a full
+     * neighbour scan, at every density up to a completely full board.
+     */
+    @Test
+    public void testGenerationIsExactAtAnyDensity() {
+        int rows = 40, cols = 50, cells = rows * cols;
+        for (int mines : new int[]{0, 1, cells / 10, cells / 2, cells - 20, cells - 1, cells}) {
+            Board board = new Board(rows, cols, mines, 12, 6, new RandomSource(mines));
+
+            int found = 0, questions = 0, surprises = 0;
+            for (int r = 0; r < rows; r++) {
+                for (int c = 0; c < cols; c++) {
+                    CellType type = board.getCell(r, c).getType();
+                    if (type == CellType.MINE) { found++; continue; }
+                    if (type == CellType.QUESTION) questions++;
+                    if (type == CellType.SURPRISE) surprises++;
+
+                    int expected = 0;
+                    for (int dr = -1; dr <= 1; dr++) {
+                        for (int dc = -1; dc <= 1; dc++) {
+                            int nr = r + dr, nc = c + dc;
+                            if ((dr != 0 || dc != 0) && nr >= 0 && nc >= 0 && nr < rows && nc < cols
+                                    && board.getCell(nr, nc).getType() == CellType.MINE) expected++;
+                        }
+                    }
+                    assertEquals(expected, board.getCell(r, c).getAdjacentMines());
+                    assertEquals(expected > 0, type == CellType.NUMBER);
+                }
+            }
+            assertEquals(mines, found);
+            assertEquals(mines, board.getTotalMines());
+            assertTrue(questions <= 12 && surprises <= 6);
+            assertEquals(questions + surprises, board.getUnusedSpecialCount());
+            if (mines <= cells / 10) {
+                assertEquals(12, questions);
+                assertEquals(6, surprises);
+            }
+        }
+    }
+
+    /**
+     * Lazy boards: nothing is placed before the first reveal, and the first
+     * revealed cell and its neighbours are never mines (the exclusion shrinks
+     * only when the board is too full to honour it).
+     */
+    @Test
+    public void testLazyBoardFirstRevealIsSafe() {
+        for (int seed = 0; seed < 200; seed++) {
+            Board board = Board.lazy(Difficulty.HARD, new RandomSource(seed));
+            assertFalse(board.isMaterialized());
+            assertFalse("No mines yet, so not all revealed", board.allMinesRevealed());
+            assertEquals(Difficulty.HARD.getMines(), board.getTotalMines());
+
+            int r = seed % board.getRows(), c = (seed * 7) % board.getCols();
+            GameSession session = new GameSession(Difficulty.HARD);
+            board.openCell(r, c, session);
+
+            assertTrue(board.isMaterialized());
+            assertEquals(Difficulty.HARD.getInitialLives(), session.getLives());
+            assertNotEquals(CellType.MINE, board.getCell(r, c).getType());
+            assertEquals("No mine in the 3x3 around the first click",
+                    0, board.getCell(r, c).getAdjacentMines());
+            assertCountersMatchScan(board);
+        }
+
+        // 9x9 with 80 mines: no room for a 3x3 gap, but the clicked cell stays safe
+        Board full = Board.lazy(9, 9, 80, 0, 0, new RandomSource(1));
+        GameSession session = new GameSession(Difficulty.EASY);
+        full.openCell(4, 4, session);
+        assertEquals(CellType.NUMBER, full.getCell(4, 4).getType());
+        assertEquals(8, full.getCell(4, 4).getAdjacentMines());
+        assertEquals(80, full.getTotalMines());
+    }
+
+    /** Packed indexes must not let an out-of-range column wrap into the next row. */
+    @Test
+    public void testOutOfBoundsCellsAreRejected() {
+        Board board = new Board(Difficulty.EASY, new RandomSource(3));
+        int cols = board.getCols();
+        List<Runnable> calls = List.of(
+                () -> board.flagCell(0, cols),
+                () -> board.activateCell(0, cols, Difficulty.EASY),
+                () -> board.toIndex(0, cols),
+                () -> board.getCell(-1, 0),
+                () -> board.toggleFlag(board.getRows(), 0, new GameSession(Difficulty.EASY)),
+                () -> board.markSpecialUsed(0, -1),
+                () -> board.canActivateSpecial(0, cols));
+        for (Runnable call : calls) {
+            try {
+                call.run();
+                fail("out-of-bounds cell accepted");
+            } catch (IllegalArgumentException expected) {
+                // ok
+            }
+        }
+        assertFalse(board.getCell(1, 0).isFlagged());
+    }
+
+    /** The index accessors the board canvas paints from read the same state as getCell. */
+    @Test
+    public void testIndexAccessorsMatchCells() {
+        Board board = new Board(Difficulty.MEDIUM, new RandomSource(11));
+        GameSession session = new GameSession(Difficulty.MEDIUM);
+        board.openCell(5, 5, session);
+        board.toggleFlag(0, 0, session);
+        for (int r = 0; r < board.getRows(); r++) {
+            for (int c = 0; c < board.getCols(); c++) {
+                Cell cell = board.getCell(r, c);
+                int i = board.toIndex(r, c);
+                assertEquals(cell.isRevealed(), board.isRevealedAt(i));
+                assertEquals(cell.isFlagged(), board.isFlaggedAt(i));
+                assertEquals(cell.isPowerUsed(), board.isPowerUsedAt(i));
+                assertEquals(cell.getType(), board.typeAt(i));
+                assertEquals(cell.getAdjacentMines(), board.adjacentAt(i));
+            }
+        }
+    }
+
+    // --- helpers ---
+
+    private static void assertCountersMatchScan(Board board) {
+        int mines = 0, revealedMines = 0, revealedSafe = 0, flags = 0, unusedSpecials = 0;
+        for (int r = 0; r < board.getRows(); r++) {
+            for (int c = 0; c < board.getCols(); c++) {
+                Cell cell = board.getCell(r, c);
+                boolean mine = cell.getType() == CellType.MINE;
+                if (mine) mines++;
+                if (cell.isRevealed() && mine) revealedMines++;
+                if (cell.isRevealed() && !mine) revealedSafe++;
+                if (cell.isFlagged()) flags++;
+                if ((cell.getType() == CellType.QUESTION || cell.getType() == CellType.SURPRISE)
+                        && !cell.isPowerUsed()) unusedSpecials++;
+            }
+        }
+        assertEquals(mines, board.getTotalMines());
+        assertEquals(revealedMines, board.getRevealedMineCount());
+        assertEquals(revealedSafe, board.getRevealedSafeCount());
+        assertEquals(flags, board.getFlagCount());
+        assertEquals(unusedSpecials, board.getUnusedSpecialCount());
+        assertEquals(revealedMines == mines, board.allMinesRevealed());
+    }
+
+    private static int[] findZeroCell(Board board) {
+        for (int r = 0; r < board.getRows(); r++) {
+            for (int c = 0; c < board.getCols(); c++) {
+                if (board.getCell(r, c).getType() == CellType.EMPTY) return new int[]{r, c};
+            }
+        }
+        fail("No empty cell on board");
+        return null;
+    }
+
+    /** The original recursive cascade, kept here as the reference for ordering. */
+    private static void referenceCascade(Board b, int r, int c, boolean[][] visited,
+                                         java.util.List<Integer> out) {
+        if (r < 0 || c < 0 || r >= b.getRows() || c >= b.getCols()) return;
+        if (visited[r][c]) return;
+        Cell cell = b.getCell(r, c);
+        if (cell.isRevealed() || cell.isFlagged()) return;
+
+        visited[r][c] = true;
+        out.add(b.toIndex(r, c));
+
+        if (cell.getType() == CellType.MINE || cell.getType() == CellType.NUMBER) return;
+
+        for (int dr = -1; dr <= 1; dr++) {
+            for (int dc = -1; dc <= 1; dc++) {
+                if (dr == 0 && dc == 0) continue;
+                int nr = r + dr, nc = c + dc;
+                if (nr < 0 || nc < 0 || nr >= b.getRows() || nc >= b.getCols()) continue;
+                Cell n = b.getCell(nr, nc);
+                if (n.isRevealed() || n.isFlagged() || n.getType() == CellType.MINE) continue;
+                referenceCascade(b, nr, nc, visited, out);
+            }
+        }
+    }
+}
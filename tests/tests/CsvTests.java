@@ -0,0 +1,131 @@
+package tests;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import model.io.CsvReader;
+import model.io.CsvWriter;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+public class CsvTests {
+
+    /** RFC 4180 quoting, CRLF, BOM, blank lines and an unterminated last record. */
+    @Test
+    public void testQuotingAndLineEndings() throws IOException {
+        String text = "﻿a,b,c\r\n"
+                + "\"x,1\",\"say \"\"hi\"\"\",\"two\nlines\"\r\n"
+                + "\n"
+                + "plain \"mid\" quote,,\"\"\n"
+                + "\"ab\"cd,ש\"לום,last";
+        for (int buffer : new int[]{16, 17, 64, 1 << 16}) {
+            List<List<String>> rows = new ArrayList<>();
+            List<Boolean> terminated = new ArrayList<>();
+            try (CsvReader csv = new CsvReader(stream(text), ',', buffer)) {
+                while (csv.next()) {
+                    rows.add(fields(csv));
+                    terminated.add(csv.terminated());
+                }
+            }
+            assertEquals(Arrays.asList(
+                    Arrays.asList("a", "b", "c"),
+                    Arrays.asList("x,1", "say \"hi\"", "two\nlines"),
+                    Arrays.asList(""),
+                    Arrays.asList("plain \"mid\" quote", "", ""),
+                    Arrays.asList("abcd", "ש\"לום", "last")), rows);
+            assertEquals(Arrays.asList(true, true, true, true, false), terminated);
+        }
+    }
+
+    /** The delimiter is picked from the header like the old loaders did; numbers parse in place. */
+    @Test
+    public void testDelimiterDetectionAndNumbers() throws IOException {
+        assertEquals('\t', CsvReader.detectDelimiter("ID\tQuestion,x"));
+        assertEquals(',', CsvReader.detectDelimiter("ID,Question;x"));
+        assertEquals(';', CsvReader.detectDelimiter("ID;Question"));
+        assertEquals(',', CsvReader.detectDelimiter("ID"));
+
+        try (CsvReader csv = new CsvReader(stream("id;n\n1; -42 ;\"7\";x;2147483648\n"), CsvReader.AUTO)) {
+            assertTrue(csv.next());
+            assertEquals(';', csv.delimiter());
+            assertTrue(csv.next());
+            assertEquals(1, csv.getInt(0));
+            assertEquals(-42, csv.getInt(1));
+            assertEquals(7, csv.getInt(2));
+            assertBadNumber(csv, 3);
+            assertBadNumber(csv, 4);
+            assertFalse(csv.next());
+        }
+    }
+
+    /** Whatever the writer produces reads back field for field, from streams and buffers alike. */
+    @Test
+    public void testWriterRoundTrip() throws IOException {
+        Random rnd = new Random(7);
+        String alphabet = "ab,\"\r\n ;א";
+        List<List<String>> expected = new ArrayList<>();
+        StringWriter out = new StringWriter();
+        try (CsvWriter csv = new CsvWriter(out)) {
+            for (int r = 0; r < 500; r++) {
+                List<String> row = new ArrayList<>();
+                for (int f = 0, n = 1 + rnd.nextInt(6); f < n; f++) {
+                    StringBuilder sb = new StringBuilder();
+                    for (int k = rnd.nextInt(8); k > 0; k--) sb.append(alphabet.charAt(rnd.nextInt(alphabet.length())));
+                    row.add(sb.toString());
+                }
+                // a lone blank field is a blank line – not this test
+                if (row.size() == 1 && row.get(0).trim().isEmpty()) row.set(0, "x" + row.get(0));
+                for (String field : row) csv.field(field);
+                csv.endRecord();
+                expected.add(row);
+            }
+        }
+        byte[] bytes = out.toString().getBytes(StandardCharsets.UTF_8);
+
+        assertEquals(expected, readAll(new CsvReader(new ByteArrayInputStream(bytes), ',', 32)));
+        assertEquals(expected, readAll(new CsvReader(ByteBuffer.wrap(bytes), ',')));
+        ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length).put(bytes).flip();
+        assertEquals(expected, readAll(new CsvReader(direct, ',')));
+
+        assertEquals("\"a,b\"", CsvWriter.escape("a,b"));
+        assertEquals("plain", CsvWriter.escape("plain"));
+    }
+
+    private static List<List<String>> readAll(CsvReader csv) throws IOException {
+        List<List<String>> rows = new ArrayList<>();
+        long last = 0;
+        while (csv.next()) {
+            rows.add(fields(csv));
+            assertTrue(csv.end() > last);
+            last = csv.end();
+        }
+        return rows;
+    }
+
+    private static List<String> fields(CsvReader csv) {
+        List<String> row = new ArrayList<>();
+        for (int i = 0; i < csv.size(); i++) row.add(csv.get(i));
+        return row;
+    }
+
+    private static void assertBadNumber(CsvReader csv, int field) {
+        try {
+            csv.getInt(field);
+            fail("parsed " + csv.get(field));
+        } catch (NumberFormatException expected) {
+            // ok
+        }
+    }
+
+    private static ByteArrayInputStream stream(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
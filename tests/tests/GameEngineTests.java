@@ -0,0 +1,212 @@
+package tests;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import model.*;
+
+import java.util.Random;
+
+public class GameEngineTests {
+
+    /**
+     * A whole game runs headless: moves on the wrong board are rejected,
+     * turns alternate, and the game ends in WON or LOST.
+     */
+    @Test
+    public void testHeadlessGameRunsToTheEnd() {
+        Board b1 = new Board(Difficulty.EASY);
+        Board b2 = new Board(Difficulty.EASY);
+        GameSession session = new GameSession(Difficulty.EASY);
+        GameEngine engine = new GameEngine(b1, b2, session, () -> null, new RandomSource(1));
+
+        MoveResult wrongBoard = engine.reveal(false, 0, 0);
+        assertFalse("Player B cannot move on A's turn", wrongBoard.isAccepted());
+        assertTrue(engine.isPlayer1Turn());
+
+        Random rnd = new Random(3);
+        int moves = 0;
+        while (!engine.isOver()) {
+            boolean first = engine.isPlayer1Turn();
+            Board board = engine.getBoard(first);
+            int r = rnd.nextInt(board.getRows());
+            int c = rnd.nextInt(board.getCols());
+
+            MoveResult res = engine.reveal(first, r, c);
+            if (res.isAccepted()) {
+                assertTrue(res.turnEnded);
+                assertTrue(res.cellsRevealed > 0);
+                if (!engine.isOver()) assertEquals(!first, engine.isPlayer1Turn());
+            }
+            assertTrue("Game should end", ++moves < 1_000_000);
+        }
+        assertNotEquals(GameEngine.Status.PLAYING, engine.getStatus());
+    }
+
+    /**
+     * Question flow: activation pays first and waits for an answer;
+     * answering applies the outcome, marks the cell used and ends the turn.
+     */
+    @Test
+    public void testQuestionActivationWaitsForAnswer() {
+        Board b1 = new Board(6, 6, 1, 1, 0);
+        Board b2 = new Board(6, 6, 1, 0, 0);
+        GameSession session = new GameSession(Difficulty.EASY);
+        Question q = new Question("2+2?", new String[]{"3", "4", "5", "6"}, 1, QuestionLevel.EASY) {
+            @Override protected void applyEffect(boolean correct, GameSession s) { }
+        };
+        GameEngine engine = new GameEngine(b1, b2, session, () -> q, new RandomSource(1));
+
+        int[] pos = find(b1, CellType.QUESTION);
+        assertTrue(engine.reveal(true, pos[0], pos[1]).isAccepted());
+        assertFalse(engine.isPlayer1Turn());
+        engine.reveal(false, find(b2, CellType.NUMBER)[0], find(b2, CellType.NUMBER)[1]);
+        assertTrue(engine.isPlayer1Turn());
+
+        session.updateScore(100);
+        int scoreBefore = session.getScore();
+
+        SpecialResult pending = engine.activateSpecial(true, pos[0], pos[1]);
+        assertEquals(SpecialResult.Kind.QUESTION_PENDING, pending.kind);
+        assertSame(q, pending.question);
+        assertEquals(-Difficulty.EASY.getPowerCost(), pending.payScoreDelta);
+        assertTrue("Turn waits for the answer", engine.isPlayer1Turn());
+        assertFalse("No other move while a question is open",
+                engine.reveal(true, 0, 0).isAccepted());
+
+        SpecialResult answered = engine.answerQuestion(1);
+        assertEquals(SpecialResult.Kind.QUESTION_ANSWERED, answered.kind);
+        assertTrue(answered.good);
+        assertEquals(scoreBefore + answered.payScoreDelta + answered.outcomeScoreDelta, session.getScore());
+        assertTrue(b1.getCell(pos[0], pos[1]).isPowerUsed());
+        assertFalse(engine.isPlayer1Turn());
+    }
+
+    /**
+     * A flag before the first reveal is refused instead of placing the mines early,
+     * so the first reveal afterwards is still safe.
+     */
+    @Test
+    public void testFlagBeforeFirstRevealKeepsFirstRevealSafe() {
+        for (int seed = 0; seed < 100; seed++) {
+            GameEngine engine = GameEngine.newGame(Difficulty.HARD, new RandomSource(seed));
+            Board board = engine.getBoard1();
+            int score = engine.getSession().getScore();
+
+            assertFalse(engine.flag(true, 0, 0).isAccepted());
+            assertFalse(board.isMaterialized());
+            assertFalse(board.getCell(0, 0).isFlagged());
+            assertEquals(score, engine.getSession().getScore());
+            assertTrue(engine.isPlayer1Turn());
+
+            int r = seed % board.getRows(), c = (seed * 7) % board.getCols();
+            engine.reveal(true, r, c);
+            assertNotEquals(CellType.MINE, board.getCell(r, c).getType());
+            assertEquals(0, board.getCell(r, c).getAdjacentMines());
+            assertEquals(Difficulty.HARD.getInitialLives(), engine.getSession().getLives());
+        }
+    }
+
+    /**
+     * Same seed + same moves = bit-identical game:
+     * boards, score, lives and turn all match after every move.
+     */
+    @Test
+    public void testSameSeedAndMovesGiveIdenticalGames() {
+        GameEngine a = GameEngine.newGame(Difficulty.MEDIUM, new RandomSource(2024));
+        GameEngine b = GameEngine.newGame(Difficulty.MEDIUM, new RandomSource(2024));
+        assertEquals(2024, a.getSeed());
+
+        assertSameBoards(a, b);
+
+        Random moves = new Random(5);
+        for (int m = 0; m < 300 && !a.isOver(); m++) {
+            boolean first = a.isPlayer1Turn();
+            int r = moves.nextInt(a.getBoard(first).getRows());
+            int c = moves.nextInt(a.getBoard(first).getCols());
+            if (moves.nextInt(4) == 0) {
+                a.flag(first, r, c);
+                b.flag(first, r, c);
+            } else {
+                a.reveal(first, r, c);
+                b.reveal(first, r, c);
+            }
+            assertEquals(a.getSession().getScore(), b.getSession().getScore());
+            assertEquals(a.getSession().getLives(), b.getSession().getLives());
+            assertEquals(a.isPlayer1Turn(), b.isPlayer1Turn());
+        }
+        assertSameBoards(a, b);
+
+        GameEngine other = GameEngine.newGame(Difficulty.MEDIUM, new RandomSource(2025));
+        assertFalse("A different seed should give a different layout", sameLayout(a.getBoard1(), other.getBoard1()));
+    }
+
+    /**
+     * Custom sizes: specials scale with the area, rules come from the tier,
+     * and a 2000x2000 marathon board plays like any other board.
+     */
+    @Test
+    public void testCustomSpecScalesAndHugeBoardsPlay() {
+        BoardSpec hard = BoardSpec.of(Difficulty.HARD);
+        assertTrue(hard.isStandard());
+        assertEquals("HARD", hard.getName());
+        assertEquals(hard, BoardSpec.custom(16, 16, Difficulty.HARD.getMines(), Difficulty.HARD));
+
+        BoardSpec big = BoardSpec.custom(32, 32, 200, Difficulty.HARD);
+        assertFalse(big.isStandard());
+        assertEquals(4 * Difficulty.HARD.getQuestionCount(), big.getQuestionCount());
+        assertEquals(Difficulty.HARD.getPowerCost(), big.getPowerCost());
+        assertEquals("CUSTOM 32x32", big.getName());
+
+        try {
+            BoardSpec.custom(BoardSpec.MAX_SIDE + 1, 10, 10, Difficulty.EASY);
+            fail("Oversized board accepted");
+        } catch (IllegalArgumentException expected) {
+            // ok
+        }
+
+        BoardSpec marathon = BoardSpec.custom(BoardSpec.MAX_SIDE, BoardSpec.MAX_SIDE, 400_000, Difficulty.MEDIUM);
+        GameEngine engine = GameEngine.newGame(marathon, new RandomSource(9));
+        assertEquals(marathon, engine.getSession().getSpec());
+        assertEquals(Difficulty.MEDIUM, engine.getSession().getDifficulty());
+        assertEquals(marathon.getInitialLives(), engine.getSession().getLives());
+
+        engine.reveal(true, 1000, 1000);
+        Board board = engine.getBoard1();
+        assertEquals(400_000, board.getTotalMines());
+        assertTrue(board.getCell(1000, 1000).isRevealed());
+        assertEquals("First reveal is safe", marathon.getInitialLives(), engine.getSession().getLives());
+    }
+
+    private static void assertSameBoards(GameEngine a, GameEngine b) {
+        for (boolean first : new boolean[]{true, false}) {
+            Board x = a.getBoard(first), y = b.getBoard(first);
+            assertTrue(sameLayout(x, y));
+            for (int r = 0; r < x.getRows(); r++) {
+                for (int c = 0; c < x.getCols(); c++) {
+                    assertEquals(x.getCell(r, c).isRevealed(), y.getCell(r, c).isRevealed());
+                    assertEquals(x.getCell(r, c).isFlagged(), y.getCell(r, c).isFlagged());
+                }
+            }
+        }
+    }
+
+    private static boolean sameLayout(Board x, Board y) {
+        for (int r = 0; r < x.getRows(); r++) {
+            for (int c = 0; c < x.getCols(); c++) {
+                if (x.getCell(r, c).getType() != y.getCell(r, c).getType()) return false;
+            }
+        }
+        return true;
+    }
+
+    private static int[] find(Board board, CellType type) {
+        for (int r = 0; r < board.getRows(); r++) {
+            for (int c = 0; c < board.getCols(); c++) {
+                if (board.getCell(r, c).getType() == type) return new int[]{r, c};
+            }
+        }
+        fail("No " + type + " cell on board");
+        return null;
+    }
+}
@@ -0,0 +1,343 @@
+package tests;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import model.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+public class GameHistoryTests {
+
+    private static final String HEADER = "Players Name,Score,Game Difficulty,Result,Duration (sec),Date";
+
+    /** Entries are appended (not rewritten) and survive a reload. */
+    @Test
+    public void testAppendsSurviveReload() throws IOException {
+        Path file = Files.createTempFile("history", ".csv");
+        Files.delete(file);
+        try {
+            GameHistory history = new GameHistory(file.toString());
+            history.addEntry("Ann & Bob", 40, "EASY", "WIN", 100);
+            long afterFirst = Files.size(file);
+            history.addEntry("Cat & Dan", 70, "HARD", "LOSE", 200);
+
+            List<String> lines = Files.readAllLines(file);
+            assertEquals(HEADER, lines.get(0));
+            assertEquals(3, lines.size());
+            // the second game only added its own line
+            assertEquals(afterFirst + lines.get(2).length() + 1, Files.size(file));
+
+            List<GameHistoryEntry> reloaded = new GameHistory(file.toString()).getEntries();
+            assertEquals(2, reloaded.size());
+            assertEquals(70, reloaded.get(1).getScore());
+            assertEquals(70, history.getTopScores().get(0).getScore());
+            assertEquals(40, history.getEntries().get(0).getScore());   // top scores sort a copy
+        } finally {
+            cleanup(file);
+        }
+    }
+
+    /** Names with commas or quotes are written quoted and read back whole (not as broken rows). */
+    @Test
+    public void testNamesWithCommasRoundTrip() throws IOException {
+        Path file = Files.createTempFile("history", ".csv");
+        Files.delete(file);
+        try {
+            GameHistory history = new GameHistory(file.toString());
+            history.addEntry("Smith, Ann & \"Bo\"", 55, "MEDIUM", "WIN", 90);
+            byte[] written = Files.readAllBytes(file);
+
+            List<GameHistoryEntry> reloaded = new GameHistory(file.toString()).getEntries();
+            assertEquals(1, reloaded.size());
+            assertEquals("Smith, Ann & \"Bo\"", reloaded.get(0).getPlayerName());
+            assertEquals(55, reloaded.get(0).getScore());
+            assertEquals(90, reloaded.get(0).getDurationSeconds());
+            assertArrayEquals(written, Files.readAllBytes(file));   // nothing to compact
+        } finally {
+            cleanup(file);
+        }
+    }
+
+    /** A torn last line is cut off on load; legacy and broken rows are compacted away. */
+    @Test
+    public void testRecoversTornTailAndCompacts() throws IOException {
+        Path file = Files.createTempFile("history", ".csv");
+        try {
+            Files.writeString(file, HEADER + "\n"
+                    + "Old,10,2020/01/01 10:00\n"
+                    + "Ann & Bob,40,EASY,WIN,100,2026/01/01 10:00\n"
+                    + "garbage\n"
+                    + "Cat & Dan,70,HA", StandardCharsets.UTF_8);
+
+            GameHistory history = new GameHistory(file.toString());
+            assertEquals(2, history.getEntries().size());
+
+            List<String> lines = Files.readAllLines(file);
+            assertEquals(3, lines.size());
+            assertEquals(HEADER, lines.get(0));
+            assertEquals("Old,10,,,0,2020/01/01 10:00", lines.get(1));
+
+            history.addEntry("Eve & Fay", 55, "MEDIUM", "WIN", 30);
+            assertEquals(3, GameHistory.read(file.toString()).size());
+            assertFalse(Files.exists(file.resolveSibling(file.getFileName() + ".tmp")));
+
+            // read-only load leaves a torn tail in place
+            Files.writeString(file, "X,1", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+            long size = Files.size(file);
+            assertEquals(3, GameHistory.read(file.toString()).size());
+            assertEquals(size, Files.size(file));
+        } finally {
+            cleanup(file);
+        }
+    }
+
+    /** Every leaderboard matches a full sort of the matching rows, and survives a reload via the index. */
+    @Test
+    public void testLeaderboardsMatchFullSortAndReloadFromIndex() throws IOException {
+        Path file = Files.createTempFile("history", ".csv");
+        Files.delete(file);
+        try {
+            String[] levels = {"EASY", "MEDIUM", "HARD"};
+            StringBuilder sb = new StringBuilder(HEADER).append('\n');
+            List<GameHistoryEntry> all = new ArrayList<>();
+            Random rnd = new Random(7);
+            for (int i = 0; i < 500; i++) {
+                GameHistoryEntry e = new GameHistoryEntry("P" + rnd.nextInt(6) + " & P" + rnd.nextInt(6),
+                        rnd.nextInt(100), levels[rnd.nextInt(3)], "x", i,
+                        "2026/0" + (1 + rnd.nextInt(3)) + "/1" + rnd.nextInt(10) + " 10:00");
+                all.add(e);
+                sb.append(e).append('\n');
+            }
+            Files.writeString(file, sb.toString(), StandardCharsets.UTF_8);
+
+            GameHistory history = new GameHistory(file.toString());
+            assertTrue(Files.exists(Path.of(file + ".idx")));
+            assertBoardsMatch(all, history.getLeaderboard());
+
+            // a few more games, then reload: the index covers the old rows, the tail is re-read
+            for (int i = 0; i < 5; i++) {
+                all.add(history.addEntry("P9 & P1", 190 + i, "HARD", "x", 1));
+            }
+            Leaderboard reloaded = new GameHistory(file.toString()).getLeaderboard();
+            assertBoardsMatch(all, reloaded);
+            assertEquals(194, reloaded.top().get(0).getScore());
+
+            // a stale index (history rewritten behind its back) is ignored
+            Files.writeString(file, HEADER + "\nZed & Amy,5,EASY,x,1,2026/01/01 10:00\n", StandardCharsets.UTF_8);
+            Leaderboard rebuilt = new GameHistory(file.toString()).getLeaderboard();
+            assertEquals(1, rebuilt.top().size());
+            assertEquals(5, rebuilt.top().get(0).getScore());
+        } finally {
+            cleanup(file);
+        }
+    }
+
+    /**
+     * The bounded heaps give the same top-N as a full stable sort of a 300-game history,
+     * for every table – with scores drawn from a small range so ties are common.
+     */
+    @Test
+    public void testLeaderboardTopMatchesFullSortOf300Games() {
+        String[] levels = {"EASY", "MEDIUM", "HARD"};
+        Leaderboard board = new Leaderboard();
+        List<GameHistoryEntry> all = new ArrayList<>();
+        Random rnd = new Random(300);
+        for (int i = 0; i < 300; i++) {
+            GameHistoryEntry e = new GameHistoryEntry("P" + rnd.nextInt(8) + " & P" + rnd.nextInt(8),
+                    rnd.nextInt(25), levels[rnd.nextInt(3)], "x", i,
+                    "2026/0" + (1 + rnd.nextInt(2)) + "/0" + (1 + rnd.nextInt(5)) + " 10:00");
+            all.add(e);
+            board.add(e);
+        }
+
+        assertEquals(Leaderboard.TOP_N, board.top().size());
+        assertBoardsMatch(all, board);
+        for (String day : board.keys(Leaderboard.Scope.DAY)) {
+            assertSame(all, e -> e.getDate().startsWith(day), board.top(Leaderboard.Scope.DAY, day));
+        }
+        assertTrue(board.top(Leaderboard.Scope.PLAYER, "nobody").isEmpty());
+    }
+
+    /**
+     * Recent players come back most recent first, including players whose latest game
+     * is too weak for any table, and the order survives a reload from the index.
+     */
+    @Test
+    public void testRecentPlayersSurviveIndexReload() throws IOException {
+        Path file = Files.createTempFile("history", ".csv");
+        Files.delete(file);
+        try {
+            StringBuilder sb = new StringBuilder(HEADER).append('\n');
+            for (int i = 0; i < 40; i++) {
+                sb.append(new GameHistoryEntry("P" + (i % 8) + " & Q" + (i % 3), 100 + i, "EASY", "x", i,
+                        "2026/01/01 10:00")).append('\n');
+            }
+            // Zed's only game scores 0 – never in a table, but the most recent player
+            sb.append(new GameHistoryEntry("Zed & Q1", 0, "EASY", "x", 1, "2026/01/02 10:00")).append('\n');
+            Files.writeString(file, sb.toString(), StandardCharsets.UTF_8);
+
+            List<String> expected = List.of("Q1", "Zed", "P7", "Q0", "P6");
+            assertEquals(expected, new GameHistory(file.toString()).getLeaderboard().recentPlayers(5));
+            assertTrue(Files.exists(Path.of(file + ".idx")));
+            assertEquals(expected, new GameHistory(file.toString()).getLeaderboard().recentPlayers(5));
+        } finally {
+            cleanup(file);
+        }
+    }
+
+    /** Aggregates over the columnar copy equal a brute-force pass over the rows, across several blocks. */
+    @Test
+    public void testColumnsAnswerAggregatesLikeAFullScan() throws IOException {
+        Path file = Files.createTempFile("history", ".csv");
+        try {
+            String[] levels = {"EASY", "MEDIUM", "HARD"};
+            String[] results = {"All mines revealed", "Out of lives"};
+            StringBuilder sb = new StringBuilder(HEADER).append('\n');
+            List<GameHistoryEntry> all = new ArrayList<>();
+            Random rnd = new Random(11);
+            for (int i = 0; i < 10_000; i++) {
+                GameHistoryEntry e = new GameHistoryEntry("P" + rnd.nextInt(20) + " & Q" + rnd.nextInt(20),
+                        rnd.nextInt(300) - 50, levels[rnd.nextInt(3)], results[rnd.nextInt(2)], rnd.nextInt(600),
+                        String.format("2025/%02d/%02d 1%d:%02d", 1 + i * 12 / 10_000, 1 + rnd.nextInt(28),
+                                rnd.nextInt(10), rnd.nextInt(60)));
+                all.add(e);
+                sb.append(e).append('\n');
+            }
+            Files.writeString(file, sb.toString(), StandardCharsets.UTF_8);
+
+            HistoryColumns columns = new GameHistory(file.toString()).getColumns();
+            assertEquals(all.size(), columns.rowCount());
+            assertAggregatesMatch(all, columns, null, null);
+            assertAggregatesMatch(all, columns,
+                    LocalDateTime.of(2025, 3, 10, 0, 0), LocalDateTime.of(2025, 7, 1, 0, 0));
+
+            // new games go straight into the store; a reload only re-reads what is new
+            GameHistory history = new GameHistory(file.toString());
+            all.add(history.addEntry("Zoe & Q1", 999, "HARD", "All mines revealed", 7));
+            assertEquals(all.size(), history.getColumns().rowCount());
+            HistoryColumns reopened = new GameHistory(file.toString()).getColumns();
+            assertEquals(all.size(), reopened.rowCount());
+            assertAggregatesMatch(all, reopened, null, null);
+            assertEquals(1.0, reopened.winRateByPlayer(null, null).get("Zoe"), 0);
+            assertEquals(1, reopened.countScoreAtLeast(999, null, null));
+        } finally {
+            cleanup(file);
+        }
+    }
+
+    /**
+     * A crash after blocks.bin was updated but before meta.bin was: the reopened store
+     * re-adds the uncommitted rows once, not on top of the block's stale row count.
+     */
+    @Test
+    public void testColumnsSurviveCrashBeforeMetaWrite() throws IOException {
+        Path file = Files.createTempFile("history", ".csv");
+        Files.delete(file);
+        Path meta = Path.of(file + ".cols", "meta.bin");
+        try {
+            GameHistory history = new GameHistory(file.toString());
+            List<GameHistoryEntry> all = new ArrayList<>();
+            for (int i = 0; i < 5; i++) all.add(history.addEntry("P" + i, 100 + i, "EASY", "Out of lives", i));
+            byte[] committed = Files.readAllBytes(meta);
+            for (int i = 5; i < 8; i++) all.add(history.addEntry("P" + i, 100 + i, "EASY", "Out of lives", i));
+            Files.write(meta, committed);   // blocks.bin already counts 8 rows, meta.bin still says 5
+
+            HistoryColumns reopened = new GameHistory(file.toString()).getColumns();
+            assertEquals(all.size(), reopened.rowCount());
+            assertEquals(all.size(), reopened.countScoreAtLeast(100, null, null));
+            assertAggregatesMatch(all, reopened, null, null);
+        } finally {
+            cleanup(file);
+        }
+    }
+
+    private static void assertAggregatesMatch(List<GameHistoryEntry> all, HistoryColumns columns,
+                                              LocalDateTime from, LocalDateTime to) throws IOException {
+        DateTimeFormatter fmt = DateTimeFormatter.ofPattern("yyyy/MM/dd HH:mm");
+        Map<String, long[]> scores = new TreeMap<>();
+        Map<String, long[]> wins = new TreeMap<>();
+        List<Integer> durations = new ArrayList<>();
+        long atLeast100 = 0;
+        for (GameHistoryEntry e : all) {
+            LocalDateTime t = LocalDateTime.parse(e.getDate(), fmt);
+            if ((from != null && t.isBefore(from)) || (to != null && !t.isBefore(to))) continue;
+            long[] s = scores.computeIfAbsent(e.getDifficulty(), k -> new long[2]);
+            s[0] += e.getScore();
+            s[1]++;
+            for (String p : new java.util.LinkedHashSet<>(List.of(e.getPlayerName().split(" & ")))) {
+                long[] w = wins.computeIfAbsent(p, k -> new long[2]);
+                if (HistoryColumns.isWin(e.getResult())) w[0]++;
+                w[1]++;
+            }
+            durations.add(e.getDurationSeconds());
+            if (e.getScore() >= 100) atLeast100++;
+        }
+
+        assertEquals(durations.size(), columns.games(from, to));
+        Map<String, Double> avg = columns.averageScoreByDifficulty(from, to);
+        assertEquals(scores.keySet(), avg.keySet());
+        scores.forEach((k, v) -> assertEquals((double) v[0] / v[1], avg.get(k), 1e-9));
+        Map<String, Double> rate = columns.winRateByPlayer(from, to);
+        assertEquals(wins.keySet(), rate.keySet());
+        wins.forEach((k, v) -> assertEquals((double) v[0] / v[1], rate.get(k), 1e-9));
+
+        durations.sort(null);
+        int n = durations.size();
+        assertEquals((durations.get((n - 1) / 2) + durations.get(n / 2)) / 2.0, columns.medianDuration(from, to), 0);
+        assertEquals(atLeast100, columns.countScoreAtLeast(100, from, to));
+    }
+
+    private static void assertBoardsMatch(List<GameHistoryEntry> all, Leaderboard board) {
+        assertSame(all, e -> true, board.top());
+        for (String level : board.keys(Leaderboard.Scope.DIFFICULTY)) {
+            assertSame(all, e -> e.getDifficulty().equals(level), board.top(Leaderboard.Scope.DIFFICULTY, level));
+        }
+        for (String player : board.keys(Leaderboard.Scope.PLAYER)) {
+            assertSame(all, e -> List.of(e.getPlayerName().split(" & ")).contains(player),
+                    board.top(Leaderboard.Scope.PLAYER, player));
+        }
+        for (String month : board.keys(Leaderboard.Scope.MONTH)) {
+            assertSame(all, e -> e.getDate().startsWith(month), board.top(Leaderboard.Scope.MONTH, month));
+        }
+    }
+
+    /** Top-N of the matching rows by a stable sort, score descending. */
+    private static void assertSame(List<GameHistoryEntry> all, Predicate<GameHistoryEntry> filter,
+                                   List<GameHistoryEntry> actual) {
+        List<GameHistoryEntry> expected = new ArrayList<>();
+        for (GameHistoryEntry e : all) if (filter.test(e)) expected.add(e);
+        expected.sort(Comparator.comparingInt(GameHistoryEntry::getScore).reversed());
+        expected = expected.subList(0, Math.min(Leaderboard.TOP_N, expected.size()));
+
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).toString(), actual.get(i).toString());
+        }
+    }
+
+    private static void cleanup(Path file) throws IOException {
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(Path.of(file + ".idx"));
+        Path columns = Path.of(file + ".cols");
+        if (Files.isDirectory(columns)) {
+            try (java.util.stream.Stream<Path> files = Files.list(columns)) {
+                for (Path p : (Iterable<Path>) files::iterator) Files.delete(p);
+            }
+            Files.delete(columns);
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package tests;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import model.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class QuestionTests {
+
+    /** A compiled pack decodes every question back exactly, including non-ASCII text. */
+    @Test
+    public void testPackRoundTrip() throws IOException {
+        Path dir = Files.createTempDirectory("pack");
+        Path file = dir.resolve("questions.pack");
+        try {
+            QuestionLevel[] levels = QuestionLevel.values();
+            try (QuestionPack.Writer w = new QuestionPack.Writer(file, 123, 456)) {
+                for (int i = 0; i < 1000; i++) {
+                    w.add("שאלה " + i + " – \"quoted\", comma?", answers(i), i % 4, levels[i % levels.length]);
+                }
+                assertEquals(file, w.finish());
+            }
+
+            QuestionPack pack = QuestionPack.open(file);
+            assertEquals(1000, pack.size());
+            assertTrue(pack.builtFrom(123, 456));
+            assertFalse(pack.builtFrom(123, 457));
+            for (int i : new int[]{0, 1, 499, 999}) {
+                Question q = pack.get(i);
+                assertEquals("שאלה " + i + " – \"quoted\", comma?", q.getQuestionText());
+                assertArrayEquals(answers(i), q.getAnswers());
+                assertEquals(i % 4, q.getCorrectAnswerIndex());
+                assertEquals(levels[i % levels.length], q.getLevel());
+                assertEquals(q.getLevel(), pack.level(i));
+            }
+            assertEquals(0, QuestionPack.empty().size());
+        } finally {
+            deleteAll(dir);
+        }
+    }
+
+    /** A truncated or foreign file is refused instead of being half-read. */
+    @Test
+    public void testPackRejectsDamagedFiles() throws IOException {
+        Path dir = Files.createTempDirectory("pack");
+        Path file = dir.resolve("questions.pack");
+        try {
+            try (QuestionPack.Writer w = new QuestionPack.Writer(file, 0, 0)) {
+                w.add("Q", answers(0), 0, QuestionLevel.EASY);
+                w.finish();
+            }
+            byte[] bytes = Files.readAllBytes(file);
+
+            Files.write(file, Arrays.copyOf(bytes, bytes.length - 1));
+            assertOpenFails(file);
+            Files.write(file, Arrays.copyOf(bytes, 20));
+            assertOpenFails(file);
+            Files.writeString(file, "ID,Question,Difficulty,A,B,C,D,Correct Answer\n");
+            assertOpenFails(file);
+        } finally {
+            deleteAll(dir);
+        }
+    }
+
+    /**
+     * Sampler: levels follow the tier's weights, empty levels are never picked,
+     * and no question repeats until its level has been used up.
+     */
+    @Test
+    public void testSamplerWeightsAndNoRepeats() throws IOException {
+        Path dir = Files.createTempDirectory("pack");
+        try {
+            // 5 EASY, 3 MEDIUM, 0 HARD, 2 EXPERT – interleaved like a real CSV
+            QuestionLevel[] order = {QuestionLevel.EASY, QuestionLevel.MEDIUM, QuestionLevel.EASY,
+                    QuestionLevel.EXPERT, QuestionLevel.EASY, QuestionLevel.MEDIUM, QuestionLevel.EASY,
+                    QuestionLevel.EXPERT, QuestionLevel.MEDIUM, QuestionLevel.EASY};
+            QuestionPack pack = pack(dir, order);
+            assertEquals(5, pack.levelSize(QuestionLevel.EASY));
+            assertEquals(0, pack.levelSize(QuestionLevel.HARD));
+
+            QuestionSampler sampler = new QuestionSampler(pack, Difficulty.HARD, new RandomSource(3));
+            Map<QuestionLevel, List<String>> drawn = new EnumMap<>(QuestionLevel.class);
+            int draws = 7000;
+            for (int i = 0; i < draws; i++) {
+                Question q = sampler.get();
+                drawn.computeIfAbsent(q.getLevel(), k -> new ArrayList<>()).add(q.getQuestionText());
+            }
+            assertFalse(drawn.containsKey(QuestionLevel.HARD));
+
+            // HARD tier weights without the HARD level: EASY 10, MEDIUM 25, EXPERT 30 (of 65)
+            assertEquals(draws * 10 / 65.0, drawn.get(QuestionLevel.EASY).size(), draws * 0.02);
+            assertEquals(draws * 25 / 65.0, drawn.get(QuestionLevel.MEDIUM).size(), draws * 0.02);
+            assertEquals(draws * 30 / 65.0, drawn.get(QuestionLevel.EXPERT).size(), draws * 0.02);
+
+            // every full round of a level is a permutation of that level
+            for (Map.Entry<QuestionLevel, List<String>> e : drawn.entrySet()) {
+                int n = pack.levelSize(e.getKey());
+                List<String> seq = e.getValue();
+                for (int from = 0; from + n <= seq.size(); from += n) {
+                    assertEquals(n, new HashSet<>(seq.subList(from, from + n)).size());
+                }
+            }
+
+            // same seed, same questions
+            QuestionSampler again = new QuestionSampler(pack, Difficulty.HARD, new RandomSource(3));
+            QuestionSampler first = new QuestionSampler(pack, Difficulty.HARD, new RandomSource(3));
+            for (int i = 0; i < 50; i++) assertEquals(first.get().getQuestionText(), again.get().getQuestionText());
+
+            QuestionSampler empty = new QuestionSampler(QuestionPack.empty(), Difficulty.EASY, new RandomSource(1));
+            assertTrue(empty.isEmpty());
+            assertNull(empty.get());
+        } finally {
+            deleteAll(dir);
+        }
+    }
+
+    /** One sampler shared by several threads still hands out each question once per round. */
+    @Test
+    public void testSamplerIsThreadSafe() throws Exception {
+        Path dir = Files.createTempDirectory("pack");
+        try {
+            QuestionLevel[] order = new QuestionLevel[400];
+            Arrays.fill(order, QuestionLevel.MEDIUM);
+            QuestionSampler sampler = new QuestionSampler(pack(dir, order), Difficulty.MEDIUM, new RandomSource(5));
+
+            Set<String> seen = ConcurrentHashMap.newKeySet();
+            Thread[] threads = new Thread[8];
+            for (int t = 0; t < threads.length; t++) {
+                threads[t] = new Thread(() -> {
+                    for (int i = 0; i < 50; i++) seen.add(sampler.get().getQuestionText());
+                });
+                threads[t].start();
+            }
+            for (Thread t : threads) t.join();
+            assertEquals(400, seen.size());
+        } finally {
+            deleteAll(dir);
+        }
+    }
+
+    /** A reload publishes a good file; a bad one is rejected and the last good questions stay live. */
+    @Test
+    public void testReloadKeepsLastGoodSnapshot() throws Exception {
+        Path dir = Files.createTempDirectory("bank");
+        Path csv = dir.resolve("questions.csv");
+        QuestionBank bank = null;
+        try {
+            writeCsv(csv, 3);
+            bank = new QuestionBank(csv, dir.resolve("questions.pack"));
+            assertEquals(3, countDistinct(bank));
+
+            Files.writeString(csv, "");
+            assertFalse(bank.reloadQuestions().get());
+            Files.writeString(csv, "just some text\n");
+            assertFalse(bank.reloadQuestions().get());
+            Files.writeString(csv, HEADER + "1,Q,1,a,b,c,d,Z\n2,Q,x,a,b,c,d,A\n");
+            assertFalse(bank.reloadQuestions().get());
+            assertEquals(3, countDistinct(bank));
+
+            writeCsv(csv, 5);
+            assertTrue(bank.reloadQuestions().get());
+            assertEquals(5, countDistinct(bank));
+        } finally {
+            if (bank != null) bank.close();
+            deleteAll(dir);
+        }
+    }
+
+    /** Saving the csv is enough – the watcher reloads it in the background. */
+    @Test
+    public void testWatcherReloadsChangedFile() throws Exception {
+        Path dir = Files.createTempDirectory("bank");
+        Path csv = dir.resolve("questions.csv");
+        QuestionBank bank = null;
+        try {
+            writeCsv(csv, 2);
+            bank = new QuestionBank(csv, dir.resolve("questions.pack"));
+            bank.watch();
+            writeCsv(csv, 4);
+
+            long deadline = System.currentTimeMillis() + 20_000;   // polling watchers are slow
+            while (countDistinct(bank) != 4 && System.currentTimeMillis() < deadline) Thread.sleep(50);
+            assertEquals(4, countDistinct(bank));
+        } finally {
+            if (bank != null) bank.close();
+            deleteAll(dir);
+        }
+    }
+
+    private static final String HEADER = "ID,Question,Difficulty,A,B,C,D,Correct Answer\n";
+
+    private static void writeCsv(Path csv, int questions) throws IOException {
+        StringBuilder sb = new StringBuilder(HEADER);
+        for (int i = 0; i < questions; i++) sb.append(i).append(",Q").append(i).append(",1,a,b,c,d,A\n");
+        Files.writeString(csv, sb.toString());
+    }
+
+    /** How many questions the bank currently serves (draws enough to see them all). */
+    private static int countDistinct(QuestionBank bank) {
+        Set<String> seen = new HashSet<>();
+        RandomSource rs = new RandomSource(1);
+        for (int i = 0; i < 200; i++) seen.add(bank.getRandomQuestion(rs).getQuestionText());
+        return seen.size();
+    }
+
+    private static QuestionPack pack(Path dir, QuestionLevel[] levels) throws IOException {
+        Path file = dir.resolve("questions.pack");
+        try (QuestionPack.Writer w = new QuestionPack.Writer(file, 0, 0)) {
+            for (int i = 0; i < levels.length; i++) w.add("Q" + i, answers(i), 0, levels[i]);
+            w.finish();
+        }
+        return QuestionPack.open(file);
+    }
+
+    private static String[] answers(int i) {
+        return new String[]{"a" + i, "b" + i, "ג" + i, ""};
+    }
+
+    private static void assertOpenFails(Path file) {
+        try {
+            QuestionPack.open(file);
+            fail("opened a damaged pack");
+        } catch (IOException expected) {
+            // ok
+        }
+    }
+
+    /** A mapped pack cannot be deleted on Windows until it is unmapped – leave it for exit. */
+    private static void deleteAll(Path dir) throws IOException {
+        dir.toFile().deleteOnExit();   // registered first = deleted last
+        try (java.util.stream.Stream<Path> files = Files.list(dir)) {
+            for (Path p : (Iterable<Path>) files::iterator) {
+                try {
+                    Files.delete(p);
+                } catch (IOException e) {
+                    p.toFile().deleteOnExit();
+                }
+            }
+        }
+        dir.toFile().delete();
+    }
+}
@@ -0,0 +1,139 @@
+package tests;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import model.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+public class ReplayTests {
+
+    private static final String DATE = "2026/01/02 03:04";
+
+    /**
+     * A logged game replays bit-exactly: same boards, same final score,
+     * and the score matches both the END record and the history row.
+     * Covers seeded, no-guess and pooled boards.
+     */
+    @Test
+    public void testLoggedGamesReplayExactly() throws IOException {
+        BoardSpec spec = BoardSpec.of(Difficulty.MEDIUM);
+        for (int game = 0; game < 12; game++) {
+            GameEngine engine = switch (game % 3) {
+                case 0 -> GameEngine.newGame(spec, new RandomSource(game));
+                case 1 -> GameEngine.newNoGuessGame(spec, new RandomSource(game));
+                default -> GameEngine.withBoards(
+                        BoardPool.getInstance().take(spec, BoardPool.Mode.STANDARD).join(),
+                        BoardPool.getInstance().take(spec, BoardPool.Mode.STANDARD).join(),
+                        spec, new RandomSource(game));
+            };
+
+            Path dir = Files.createTempDirectory("replay");
+            Path file = MoveLog.newFile(dir, game);
+            try {
+                engine.startLog(file, "Ann & Bob");
+                play(engine, new Random(game));
+                engine.finishGame();
+                engine.endLog(DATE);
+
+                MoveLog.Recording rec = MoveLog.read(file);
+                assertEquals("Ann & Bob", rec.header.players);
+                assertEquals(spec, rec.header.spec);
+                assertNotNull(rec.end());
+
+                GameEngine replayed = Replay.run(rec);
+                assertEquals(engine.getSession().getScore(), replayed.getSession().getScore());
+                assertEquals(engine.getStatus(), replayed.getStatus());
+                assertSameMines(engine.getBoard1(), replayed.getBoard1());
+                assertSameMines(engine.getBoard2(), replayed.getBoard2());
+
+                int score = engine.getSession().getScore();
+                List<GameHistoryEntry> history = List.of(
+                        new GameHistoryEntry("Ann & Bob", score, "MEDIUM", "x", 10, DATE));
+                Replay.Verification v = Replay.verify(rec, history);
+                assertTrue("game " + game + ": " + v.message, v.ok);
+
+                List<GameHistoryEntry> tampered = List.of(
+                        new GameHistoryEntry("Ann & Bob", score + 1, "MEDIUM", "x", 10, DATE));
+                assertFalse(Replay.verify(rec, tampered).ok);
+
+                // a crash mid-record loses only that record
+                byte[] bytes = Files.readAllBytes(file);
+                MoveLog.Recording cut = MoveLog.read(new ByteArrayInputStream(bytes, 0, bytes.length - 1));
+                assertEquals(rec.moves.size() - 1, cut.moves.size());
+                assertNull(cut.end());
+            } finally {
+                Files.deleteIfExists(file);
+                Files.deleteIfExists(dir);
+            }
+        }
+    }
+
+    /**
+     * Two logs with the same seed in the same second get different names,
+     * and the writer never appends to a file that is already there.
+     */
+    @Test
+    public void testLogNeverWritesIntoExistingFile() throws IOException {
+        Path dir = Files.createTempDirectory("replay");
+        GameEngine engine = GameEngine.newGame(BoardSpec.of(Difficulty.EASY), new RandomSource(1));
+        MoveLog.Header header = engine.logHeader("Ann & Bob");
+        Path first = MoveLog.newFile(dir, 1);
+        Path second = null;
+        try {
+            new MoveLog.Writer(first, header).close();
+            long size = Files.size(first);
+
+            second = MoveLog.newFile(dir, 1);
+            assertNotEquals(first, second);
+            new MoveLog.Writer(second, header).close();
+
+            try {
+                new MoveLog.Writer(first, header).close();
+                fail("wrote into an existing log");
+            } catch (FileAlreadyExistsException expected) {
+                // ok
+            }
+            assertEquals(size, Files.size(first));
+        } finally {
+            Files.deleteIfExists(first);
+            if (second != null) Files.deleteIfExists(second);
+            Files.deleteIfExists(dir);
+        }
+    }
+
+    /** Random but legal-looking play: reveals, flags, specials and answers. */
+    private static void play(GameEngine engine, Random rnd) {
+        for (int m = 0; m < 3000 && !engine.isOver(); m++) {
+            boolean first = engine.isPlayer1Turn();
+            Board board = engine.getBoard(first);
+            int r = rnd.nextInt(board.getRows());
+            int c = rnd.nextInt(board.getCols());
+            if (board.isMaterialized() && board.canActivateSpecial(r, c)) {
+                SpecialResult res = engine.activateSpecial(first, r, c);
+                if (res.kind == SpecialResult.Kind.QUESTION_PENDING) engine.answerQuestion(rnd.nextBoolean());
+            } else if (rnd.nextInt(5) == 0) {
+                engine.flag(first, r, c);
+            } else {
+                engine.reveal(first, r, c);
+            }
+            if (m % 200 == 0) engine.logPause(m % 400 == 0);
+        }
+    }
+
+    private static void assertSameMines(Board a, Board b) {
+        for (int r = 0; r < a.getRows(); r++) {
+            for (int c = 0; c < a.getCols(); c++) {
+                assertEquals(a.getCell(r, c).getType(), b.getCell(r, c).getType());
+                assertEquals(a.getCell(r, c).isRevealed(), b.getCell(r, c).isRevealed());
+            }
+        }
+    }
+}
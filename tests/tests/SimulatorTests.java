@@ -0,0 +1,37 @@
+package tests;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import controller.BotPolicy;
+import controller.Simulator;
+import model.Difficulty;
+
+import java.util.concurrent.ForkJoinPool;
+
+public class SimulatorTests {
+
+    /**
+     * Same seed, same statistics: every policy gives identical results on repeated
+     * runs, whatever the number of worker threads.
+     */
+    @Test
+    public void testSeededRunsAreRepeatable() {
+        ForkJoinPool one = new ForkJoinPool(1);
+        ForkJoinPool four = new ForkJoinPool(4);
+        try {
+            for (BotPolicy policy : BotPolicy.values()) {
+                Simulator sim = new Simulator(Difficulty.EASY, policy, 0.6, true);
+                Simulator.Stats first = sim.run(300, 7, one);
+                Simulator.Stats second = sim.run(300, 7, four);
+
+                assertEquals(300, first.getGames());
+                assertEquals(policy.toString(), first.toString(), second.toString());
+                assertEquals(first.toString(), sim.run(300, 7, four).toString());
+            }
+        } finally {
+            one.shutdown();
+            four.shutdown();
+        }
+    }
+}